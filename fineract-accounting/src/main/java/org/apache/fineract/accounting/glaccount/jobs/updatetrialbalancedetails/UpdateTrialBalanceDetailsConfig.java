@@ -18,8 +18,8 @@
  */
 package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
 
-import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
-import org.apache.fineract.infrastructure.core.service.database.RoutingDataSourceServiceFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.jobs.service.JobName;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
@@ -28,8 +28,11 @@ import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @Configuration
@@ -40,9 +43,12 @@ public class UpdateTrialBalanceDetailsConfig {
     @Autowired
     private PlatformTransactionManager transactionManager;
     @Autowired
-    private RoutingDataSourceServiceFactory dataSourceServiceFactory;
+    private JdbcTemplate jdbcTemplate;
     @Autowired
-    private TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper;
+    @Qualifier(TaskExecutorConstant.TRIAL_BALANCE_UPDATE_TASK_EXECUTOR_BEAN_NAME)
+    private AsyncTaskExecutor trialBalanceUpdateTaskExecutor;
+    @Autowired
+    private MeterRegistry meterRegistry;
 
     @Bean
     protected Step updateTrialBalanceDetailsStep() {
@@ -58,6 +64,6 @@ public class UpdateTrialBalanceDetailsConfig {
 
     @Bean
     public UpdateTrialBalanceDetailsTasklet updateTrialBalanceDetailsTasklet() {
-        return new UpdateTrialBalanceDetailsTasklet(dataSourceServiceFactory, trialBalanceRepositoryWrapper);
+        return new UpdateTrialBalanceDetailsTasklet(jdbcTemplate, transactionManager, trialBalanceUpdateTaskExecutor, meterRegistry);
     }
 }
@@ -18,83 +18,149 @@
  */
 package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
 
-import java.math.BigDecimal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.accounting.glaccount.domain.TrialBalance;
-import org.apache.fineract.accounting.glaccount.domain.TrialBalanceRepositoryWrapper;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
-import org.apache.fineract.infrastructure.core.service.database.RoutingDataSourceServiceFactory;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.util.CollectionUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Builds the missing m_trial_balance rows office by office on the trial balance worker pool. For every office the whole gap,
+ * from the latest trial balance date of the office up to (excluding) the business date, is inserted with a single
+ * INSERT ... SELECT, then the missing closing balances are computed with one windowed query and written back in a
+ * single batch. Every office is handled in its own transaction, on the tenant aware {@link JdbcTemplate} so that every
+ * statement of the office joins that transaction, and a failed office is simply picked up again by the next run.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class UpdateTrialBalanceDetailsTasklet implements Tasklet {
 
-    private final RoutingDataSourceServiceFactory dataSourceServiceFactory;
-    private final TrialBalanceRepositoryWrapper trialBalanceRepositoryWrapper;
+    private static final LocalDate DEFAULT_TRIAL_BALANCE_DATE = LocalDate.of(2010, 1, 1);
+
+    private static final String INSERT_TRIAL_BALANCE_SQL = "Insert Into m_trial_balance(office_id, account_id, Amount, "
+            + "entry_date, created_date,closing_balance) Select je.office_id, je.account_id, "
+            + "SUM(CASE WHEN je.type_enum=1 THEN (-1) * je.amount ELSE je.amount END) "
+            + "as Amount, Date(je.entry_date) as Entry_Date, je.transaction_date as Created_Date,sum(je.amount) as closing_balance "
+            + "from acc_gl_journal_entry je WHERE je.office_id = ? and je.transaction_date > ? and je.transaction_date < ? "
+            + "group by je.account_id, je.office_id, je.transaction_date, Date(je.entry_date)";
+
+    private static final String CLOSING_BALANCE_SQL = "select tb.id as id, coalesce(base.closing_balance, 0) + "
+            + "SUM(tb.amount) OVER (PARTITION BY tb.account_id ORDER BY tb.created_date, tb.entry_date, tb.id "
+            + "ROWS BETWEEN UNBOUNDED PRECEDING AND CURRENT ROW) as closing_balance from m_trial_balance tb "
+            + "left join (select ranked.account_id, ranked.closing_balance from (select account_id, closing_balance, "
+            + "ROW_NUMBER() OVER (PARTITION BY account_id ORDER BY created_date DESC, entry_date DESC) as rn from m_trial_balance "
+            + "where office_id = ? and closing_balance is not null) ranked where ranked.rn = 1) base on base.account_id = tb.account_id "
+            + "where tb.office_id = ? and tb.closing_balance is null";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor trialBalanceTaskExecutor;
+    private final Counter insertedRowsCounter;
+    private final Counter updatedClosingBalancesCounter;
+    private final Timer officeTimer;
+    private final AtomicInteger remainingOffices;
+
+    public UpdateTrialBalanceDetailsTasklet(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+            AsyncTaskExecutor trialBalanceTaskExecutor, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.trialBalanceTaskExecutor = trialBalanceTaskExecutor;
+        this.insertedRowsCounter = Counter.builder("fineract.trial.balance.rows.inserted")
+                .description("Trial balance rows inserted by the Update Trial Balance Details job").register(meterRegistry);
+        this.updatedClosingBalancesCounter = Counter.builder("fineract.trial.balance.closing.balances.updated")
+                .description("Trial balance closing balances calculated by the Update Trial Balance Details job").register(meterRegistry);
+        this.officeTimer = Timer.builder("fineract.trial.balance.office")
+                .description("Time taken to build the trial balance of a single office").register(meterRegistry);
+        this.remainingOffices = meterRegistry.gauge("fineract.trial.balance.offices.remaining", new AtomicInteger());
+    }
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSourceServiceFactory.determineDataSourceService().retrieveDataSource());
-        final StringBuilder tbGapSqlBuilder = new StringBuilder(500);
-        tbGapSqlBuilder.append("select distinct(je.transaction_date) ").append("from acc_gl_journal_entry je ")
-                .append("where je.transaction_date > (select coalesce(MAX(created_date),'2010-01-01') from m_trial_balance)");
-        final List<LocalDate> tbGaps = jdbcTemplate.queryForList(tbGapSqlBuilder.toString(), LocalDate.class);
-        for (LocalDate tbGap : tbGaps) {
-            int days = Math.toIntExact(ChronoUnit.DAYS.between(tbGap, DateUtils.getBusinessLocalDate()));
-            if (days < 1) {
-                continue;
-            }
-            final StringBuilder sqlBuilder = new StringBuilder(600);
-            sqlBuilder.append("Insert Into m_trial_balance(office_id, account_id, Amount, entry_date, created_date,closing_balance) ")
-                    .append("Select je.office_id, je.account_id, SUM(CASE WHEN je.type_enum=1 THEN (-1) * je.amount ELSE je.amount END) ")
-                    .append("as Amount, Date(je.entry_date) as Entry_Date, je.transaction_date as Created_Date,sum(je.amount) as closing_balance ")
-                    .append("from acc_gl_journal_entry je WHERE je.transaction_date = ? ")
-                    .append("group by je.account_id, je.office_id, je.transaction_date, Date(je.entry_date)");
-            final int result = jdbcTemplate.update(sqlBuilder.toString(), tbGap);
-            log.debug("{}: Records affected by updateTrialBalanceDetails: {}", ThreadLocalContextUtil.getTenant().getName(), result);
+        final LocalDate businessDate = DateUtils.getBusinessLocalDate();
+        final List<Long> officeIds = jdbcTemplate.queryForList("select id from m_office", Long.class);
+        if (officeIds.isEmpty()) {
+            return RepeatStatus.FINISHED;
         }
-        String distinctOfficeQuery = "select distinct(office_id) from m_trial_balance where closing_balance is null group by office_id";
-        final List<Long> officeIds = jdbcTemplate.queryForList(distinctOfficeQuery, Long.class);
-        for (Long officeId : officeIds) {
-            String distinctAccountQuery = "select distinct(account_id) from m_trial_balance where office_id=? and closing_balance is null group by account_id";
-            final List<Long> accountIds = jdbcTemplate.queryForList(distinctAccountQuery, Long.class, officeId);
-            for (Long accountId : accountIds) {
-                final String closingBalanceQuery = "select closing_balance from m_trial_balance where office_id=? and account_id=? and closing_balance "
-                        + "is not null order by created_date desc, entry_date desc limit 1";
-                List<BigDecimal> closingBalanceData = jdbcTemplate.queryForList(closingBalanceQuery, BigDecimal.class, officeId, accountId);
-                List<TrialBalance> tbRows = trialBalanceRepositoryWrapper.findNewByOfficeAndAccount(officeId, accountId);
-                BigDecimal closingBalance = null;
-                if (!CollectionUtils.isEmpty(closingBalanceData)) {
-                    closingBalance = closingBalanceData.get(0);
-                }
-                if (CollectionUtils.isEmpty(closingBalanceData)) {
-                    closingBalance = BigDecimal.ZERO;
-                    for (TrialBalance row : tbRows) {
-                        closingBalance = closingBalance.add(row.getAmount());
-                        row.setClosingBalance(closingBalance);
+
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final List<Future<Integer>> tasks = new ArrayList<>(officeIds.size());
+        remainingOffices.set(officeIds.size());
+        try {
+            for (Long officeId : officeIds) {
+                tasks.add(trialBalanceTaskExecutor.submit(() -> {
+                    ThreadLocalContextUtil.init(context);
+                    try {
+                        return officeTimer.recordCallable(() -> updateOfficeTrialBalance(officeId, businessDate));
+                    } finally {
+                        remainingOffices.decrementAndGet();
+                        ThreadLocalContextUtil.reset();
                     }
-                } else {
-                    for (TrialBalance tbRow : tbRows) {
-                        if (closingBalance != null) {
-                            closingBalance = closingBalance.add(tbRow.getAmount());
-                        }
-                        tbRow.setClosingBalance(closingBalance);
+                }));
+            }
+            Throwable failure = null;
+            for (int i = 0; i < tasks.size(); i++) {
+                try {
+                    contribution.incrementWriteCount(tasks.get(i).get());
+                } catch (ExecutionException e) {
+                    log.error("{}: Error occurred while updating the trial balance of office {}",
+                            ThreadLocalContextUtil.getTenant().getName(), officeIds.get(i), e.getCause());
+                    if (failure == null) {
+                        failure = e.getCause();
                     }
                 }
-                trialBalanceRepositoryWrapper.save(tbRows);
             }
+            if (failure instanceof Exception exception) {
+                throw exception;
+            } else if (failure != null) {
+                throw (Error) failure;
+            }
+        } finally {
+            // Cancels the offices not yet built when the job was interrupted, the tasks are already finished otherwise
+            tasks.forEach(task -> task.cancel(true));
+            remainingOffices.set(0);
         }
         return RepeatStatus.FINISHED;
     }
+
+    private int updateOfficeTrialBalance(Long officeId, LocalDate businessDate) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            LocalDate lastTrialBalanceDate = jdbcTemplate.queryForObject(
+                    "select MAX(created_date) from m_trial_balance where office_id = ?", LocalDate.class, officeId);
+            if (lastTrialBalanceDate == null) {
+                lastTrialBalanceDate = DEFAULT_TRIAL_BALANCE_DATE;
+            }
+            final int result = lastTrialBalanceDate.isBefore(businessDate)
+                    ? jdbcTemplate.update(INSERT_TRIAL_BALANCE_SQL, officeId, lastTrialBalanceDate, businessDate)
+                    : 0;
+
+            final List<Object[]> closingBalances = jdbcTemplate.query(CLOSING_BALANCE_SQL,
+                    (rs, rowNum) -> new Object[] { rs.getBigDecimal("closing_balance"), rs.getLong("id") }, officeId, officeId);
+            if (!closingBalances.isEmpty()) {
+                jdbcTemplate.batchUpdate("update m_trial_balance set closing_balance = ? where id = ?", closingBalances);
+                updatedClosingBalancesCounter.increment(closingBalances.size());
+            }
+            return result;
+        });
+        int insertedRows = inserted == null ? 0 : inserted;
+        insertedRowsCounter.increment(insertedRows);
+        log.debug("{}: Records affected by updateTrialBalanceDetails for office {}: {}", ThreadLocalContextUtil.getTenant().getName(),
+                officeId, insertedRows);
+        return insertedRows;
+    }
 }
@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files, a saved baseline and the current run, and fails when any benchmark regressed by
+ * more than the given threshold: either its throughput dropped or the bytes it allocated per operation (as reported by
+ * the gc profiler) grew.
+ *
+ * Usage: {@code BenchmarkResultComparator <baseline.json> <current.json> [thresholdPercent]}
+ */
+public final class BenchmarkResultComparator {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double DEFAULT_THRESHOLD_PERCENT = 5.0;
+
+    private BenchmarkResultComparator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkResultComparator <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        Path baselineFile = Path.of(args[0]);
+        if (!Files.exists(baselineFile)) {
+            System.err.println("No baseline found at " + baselineFile + ", run the jmhSaveBaseline task first");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, Result> baseline = read(baselineFile);
+        Map<String, Result> current = read(Path.of(args[1]));
+
+        boolean regressed = false;
+        System.out.printf(Locale.ROOT, "%-100s %14s %14s %8s %14s %14s %8s%n", "Benchmark", "Base ops/s", "Curr ops/s", "Diff",
+                "Base B/op", "Curr B/op", "Diff");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result base = baseline.get(entry.getKey());
+            Result curr = entry.getValue();
+            if (base == null) {
+                System.out.printf(Locale.ROOT, "%-100s %14s %14.1f%n", entry.getKey(), "-", curr.score());
+                continue;
+            }
+            double scoreChange = change(base.score(), curr.score());
+            double allocationChange = change(base.allocation(), curr.allocation());
+            // Lower throughput and higher allocation are both regressions
+            boolean slower = scoreChange < -threshold;
+            boolean allocatesMore = allocationChange > threshold;
+            regressed |= slower || allocatesMore;
+            System.out.printf(Locale.ROOT, "%-100s %14.1f %14.1f %7.1f%% %14.1f %14.1f %7.1f%%%s%n", entry.getKey(), base.score(),
+                    curr.score(), scoreChange, base.allocation(), curr.allocation(), allocationChange,
+                    slower || allocatesMore ? "  REGRESSION" : "");
+        }
+        if (regressed) {
+            System.out.printf(Locale.ROOT, "%nAt least one benchmark regressed by more than %.1f%% against the baseline%n", threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(Path file) throws IOException {
+        Map<String, Result> results = new TreeMap<>();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonArray runs = JsonParser.parseReader(reader).getAsJsonArray();
+            for (JsonElement element : runs) {
+                JsonObject run = element.getAsJsonObject();
+                double score = run.getAsJsonObject("primaryMetric").get("score").getAsDouble();
+                double allocation = Double.NaN;
+                JsonObject secondaryMetrics = run.getAsJsonObject("secondaryMetrics");
+                if (secondaryMetrics != null) {
+                    for (Map.Entry<String, JsonElement> metric : secondaryMetrics.entrySet()) {
+                        // Older JMH versions prefix the profiler metrics with a middle dot
+                        if (metric.getKey().replace("·", "").equals(ALLOCATION_METRIC)) {
+                            allocation = metric.getValue().getAsJsonObject().get("score").getAsDouble();
+                        }
+                    }
+                }
+                results.put(key(run), new Result(score, allocation));
+            }
+        }
+        return results;
+    }
+
+    private static String key(JsonObject run) {
+        StringBuilder key = new StringBuilder(run.get("benchmark").getAsString());
+        JsonObject params = run.getAsJsonObject("params");
+        if (params != null) {
+            Map<String, String> sortedParams = new LinkedHashMap<>();
+            new TreeMap<>(params.asMap()).forEach((name, value) -> sortedParams.put(name, value.getAsString()));
+            key.append(sortedParams);
+        }
+        return key.toString();
+    }
+
+    private static double change(double base, double current) {
+        if (Double.isNaN(base) || Double.isNaN(current) || base == 0) {
+            return 0;
+        }
+        return (current - base) / base * 100;
+    }
+
+    private record Result(double score, double allocation) {
+    }
+}
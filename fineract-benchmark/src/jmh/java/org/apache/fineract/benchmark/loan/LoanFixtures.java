@@ -0,0 +1,243 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark.loan;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.organisation.workingdays.domain.RepaymentRescheduleType;
+import org.apache.fineract.organisation.workingdays.domain.WorkingDays;
+import org.apache.fineract.portfolio.charge.domain.Charge;
+import org.apache.fineract.portfolio.charge.domain.ChargeCalculationType;
+import org.apache.fineract.portfolio.charge.domain.ChargePaymentMode;
+import org.apache.fineract.portfolio.charge.domain.ChargeTimeType;
+import org.apache.fineract.portfolio.common.domain.DayOfWeekType;
+import org.apache.fineract.portfolio.common.domain.DaysInMonthType;
+import org.apache.fineract.portfolio.common.domain.DaysInYearType;
+import org.apache.fineract.portfolio.common.domain.PeriodFrequencyType;
+import org.apache.fineract.portfolio.loanaccount.data.DisbursementData;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanCharge;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanPaymentAllocationRule;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleInstallment;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepaymentScheduleTransactionProcessorFactory;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanSummary;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanSummaryWrapper;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransaction;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanTransactionType;
+import org.apache.fineract.portfolio.loanaccount.domain.transactionprocessor.impl.AdvancedPaymentScheduleTransactionProcessor;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanApplicationTerms;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleProcessingType;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleType;
+import org.apache.fineract.portfolio.loanproduct.domain.AmortizationMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.FutureInstallmentAllocationRule;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestCalculationPeriodMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.InterestMethod;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanPreClosureInterestCalculationStrategy;
+import org.apache.fineract.portfolio.loanproduct.domain.LoanProduct;
+import org.apache.fineract.portfolio.loanproduct.domain.PaymentAllocationTransactionType;
+import org.apache.fineract.portfolio.loanproduct.domain.PaymentAllocationType;
+import org.apache.fineract.portfolio.loanproduct.domain.RepaymentStartDateType;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * In-memory loan fixtures shared by the loan benchmarks. Nothing here touches the database: the loans are assembled
+ * from the same domain objects the platform uses, wired up with the helpers Spring would otherwise inject.
+ */
+public final class LoanFixtures {
+
+    static final LocalDate DISBURSEMENT_DATE = LocalDate.of(2020, 1, 1);
+    static final BigDecimal PRINCIPAL = BigDecimal.valueOf(120_000);
+    static final BigDecimal MONTHLY_INTEREST_RATE = BigDecimal.ONE;
+
+    private static final ApplicationCurrency CURRENCY = new ApplicationCurrency("USD", "US Dollar", 2, 0, "currency.USD", "$");
+    private static final BigDecimal CHARGE_AMOUNT = BigDecimal.valueOf(25);
+    private static final int CHARGE_EVERY_N_PERIODS = 6;
+
+    private LoanFixtures() {}
+
+    /**
+     * Sets up the tenant, business date and rounding configuration of the calling thread. Business date is set past the
+     * end of the longest tenor so every transaction of the fixtures is in the past.
+     */
+    public static void initContext() {
+        ConfigurationDomainService configurationDomainService = (ConfigurationDomainService) Proxy.newProxyInstance(
+                ConfigurationDomainService.class.getClassLoader(), new Class<?>[] { ConfigurationDomainService.class },
+                (proxy, method, args) -> {
+                    if ("getRoundingMode".equals(method.getName())) {
+                        return RoundingMode.HALF_EVEN.ordinal();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        MoneyHelper moneyHelper = new MoneyHelper();
+        Field field = ReflectionUtils.findField(MoneyHelper.class, "configurationDomainService");
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, moneyHelper, configurationDomainService);
+        moneyHelper.initialize();
+
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, DISBURSEMENT_DATE.plusYears(40))));
+    }
+
+    static HolidayDetailDTO holidayDetails() {
+        WorkingDays workingDays = new WorkingDays("FREQ=WEEKLY;INTERVAL=1;BYDAY=MO,TU,WE,TH,FR,SA,SU",
+                RepaymentRescheduleType.MOVE_TO_NEXT_WORKING_DAY.getValue(), false, false);
+        return new HolidayDetailDTO(false, List.of(), workingDays, false, false);
+    }
+
+    /**
+     * Monthly declining balance loan terms with equal installments. With more than one disbursement the principal is
+     * split into equal tranches, disbursed every month from the disbursement date on.
+     */
+    static LoanApplicationTerms loanApplicationTerms(LoanScheduleType loanScheduleType, int numberOfRepayments,
+            int numberOfDisbursements, HolidayDetailDTO holidayDetailDTO) {
+        MonetaryCurrency currency = MonetaryCurrency.fromApplicationCurrency(CURRENCY);
+        boolean multiDisburseLoan = numberOfDisbursements > 1;
+        List<DisbursementData> disbursementData = new ArrayList<>();
+        if (multiDisburseLoan) {
+            for (Tranche tranche : tranches(numberOfDisbursements)) {
+                disbursementData.add(new DisbursementData(null, tranche.date(), null, tranche.amount(), null, null, null, null));
+            }
+        }
+        return LoanApplicationTerms.assembleFrom(CURRENCY, numberOfRepayments, PeriodFrequencyType.MONTHS, numberOfRepayments, 1,
+                PeriodFrequencyType.MONTHS, null, DayOfWeekType.INVALID, AmortizationMethod.EQUAL_INSTALLMENTS,
+                InterestMethod.DECLINING_BALANCE, MONTHLY_INTEREST_RATE, PeriodFrequencyType.MONTHS,
+                MONTHLY_INTEREST_RATE.multiply(BigDecimal.valueOf(12)), InterestCalculationPeriodMethod.SAME_AS_REPAYMENT_PERIOD, false,
+                Money.of(currency, PRINCIPAL), DISBURSEMENT_DATE, null, DISBURSEMENT_DATE.plusMonths(1), null, null, null, null, null,
+                Money.zero(currency), multiDisburseLoan, null, disbursementData, PRINCIPAL, null, DaysInMonthType.ACTUAL,
+                DaysInYearType.ACTUAL, false, null, null, null, null, null, BigDecimal.ZERO, null,
+                LoanPreClosureInterestCalculationStrategy.NONE, null, PRINCIPAL, new ArrayList<>(), true, 0, false, holidayDetailDTO, false,
+                false, false, null, false, false, null, false, RepaymentStartDateType.DISBURSEMENT_DATE, DISBURSEMENT_DATE,
+                loanScheduleType, LoanScheduleProcessingType.HORIZONTAL, null, false);
+    }
+
+    /**
+     * An active progressive loan with the advanced payment allocation strategy, that was disbursed in
+     * {@code numberOfDisbursements} tranches and paid on time for the first three quarters of its tenor, with a flat fee
+     * charged every {@value #CHARGE_EVERY_N_PERIODS} periods. On top of that a backdated repayment is added in the first
+     * period, which shifts the allocation of every later transaction when the loan is reprocessed.
+     */
+    static Loan activeLoanWithBackdatedRepayment(int numberOfRepayments, int numberOfDisbursements) {
+        LoanApplicationTerms terms = loanApplicationTerms(LoanScheduleType.PROGRESSIVE, numberOfRepayments, numberOfDisbursements,
+                holidayDetails());
+        AdvancedPaymentScheduleTransactionProcessor processor = new AdvancedPaymentScheduleTransactionProcessor(null);
+
+        Loan loan = new BenchmarkLoan();
+        loan.setLoanRepaymentScheduleDetail(terms.toLoanProductRelatedDetail());
+        loan.setLoanProduct(new LoanProduct());
+        loan.setTransactionProcessingStrategyCode(AdvancedPaymentScheduleTransactionProcessor.ADVANCED_PAYMENT_ALLOCATION_STRATEGY);
+        loan.setActualDisbursementDate(DISBURSEMENT_DATE);
+        loan.setSummary(LoanSummary.create(BigDecimal.ZERO));
+        loan.setHelpers(null, new LoanSummaryWrapper(),
+                new LoanRepaymentScheduleTransactionProcessorFactory(processor, List.of(processor)));
+        loan.getPaymentAllocationRules().add(new LoanPaymentAllocationRule(loan, PaymentAllocationTransactionType.DEFAULT,
+                List.of(PaymentAllocationType.values()), FutureInstallmentAllocationRule.NEXT_INSTALLMENT));
+
+        long id = 1;
+        for (Tranche tranche : tranches(numberOfDisbursements)) {
+            loan.getLoanTransactions().add(transaction(loan, id++, LoanTransactionType.DISBURSEMENT, tranche.date(), tranche.amount()));
+        }
+
+        BigDecimal installmentPrincipal = PRINCIPAL.divide(BigDecimal.valueOf(numberOfRepayments), 2, RoundingMode.HALF_EVEN);
+        BigDecimal outstanding = PRINCIPAL;
+        int paidPeriods = numberOfRepayments * 3 / 4;
+        for (int period = 1; period <= numberOfRepayments; period++) {
+            LocalDate fromDate = DISBURSEMENT_DATE.plusMonths(period - 1L);
+            LocalDate dueDate = DISBURSEMENT_DATE.plusMonths(period);
+            BigDecimal interest = outstanding.multiply(MONTHLY_INTEREST_RATE).movePointLeft(2).setScale(2, RoundingMode.HALF_EVEN);
+            loan.getRepaymentScheduleInstallments().add(new LoanRepaymentScheduleInstallment(loan, period, fromDate, dueDate,
+                    installmentPrincipal, interest, BigDecimal.ZERO, BigDecimal.ZERO, false, null, BigDecimal.ZERO));
+            if (period % CHARGE_EVERY_N_PERIODS == 0) {
+                loan.getCharges().add(fee(loan, id++, fromDate.plusDays(10)));
+            }
+            if (period <= paidPeriods) {
+                loan.getLoanTransactions().add(
+                        transaction(loan, id++, LoanTransactionType.REPAYMENT, dueDate.plusDays(3), installmentPrincipal.add(interest)));
+            }
+            outstanding = outstanding.subtract(installmentPrincipal);
+        }
+
+        // Not yet processed (no id), so the reprocessing has to replay everything after it
+        LoanTransaction backdatedRepayment = transaction(loan, null, LoanTransactionType.REPAYMENT, DISBURSEMENT_DATE.plusDays(20),
+                installmentPrincipal);
+        loan.getLoanTransactions().add(backdatedRepayment);
+        return loan;
+    }
+
+    private static LoanTransaction transaction(Loan loan, Long id, LoanTransactionType type, LocalDate date, BigDecimal amount) {
+        LoanTransaction transaction = new LoanTransaction(loan, null, type.getValue(), date, amount, null, null, null, null, null, false,
+                null, ExternalId.empty());
+        transaction.setId(id);
+        if (id != null) {
+            transaction.setCreatedDate(OffsetDateTime.of(date, LocalTime.NOON, ZoneOffset.UTC));
+        }
+        return transaction;
+    }
+
+    private static LoanCharge fee(Loan loan, long id, LocalDate dueDate) {
+        LoanCharge loanCharge = new LoanCharge(loan, new BenchmarkCharge(), PRINCIPAL, CHARGE_AMOUNT, ChargeTimeType.SPECIFIED_DUE_DATE,
+                ChargeCalculationType.FLAT, dueDate, ChargePaymentMode.REGULAR, null, BigDecimal.ZERO, ExternalId.empty());
+        loanCharge.setId(id);
+        loanCharge.setCreatedDate(OffsetDateTime.of(dueDate, LocalTime.NOON, ZoneOffset.UTC));
+        return loanCharge;
+    }
+
+    private static List<Tranche> tranches(int numberOfDisbursements) {
+        BigDecimal trancheAmount = PRINCIPAL.divide(BigDecimal.valueOf(numberOfDisbursements), 2, RoundingMode.HALF_EVEN);
+        List<Tranche> tranches = new ArrayList<>(numberOfDisbursements);
+        BigDecimal remaining = PRINCIPAL;
+        for (int i = 0; i < numberOfDisbursements; i++) {
+            BigDecimal amount = i == numberOfDisbursements - 1 ? remaining : trancheAmount;
+            tranches.add(new Tranche(DISBURSEMENT_DATE.plusMonths(i), amount));
+            remaining = remaining.subtract(amount);
+        }
+        return tranches;
+    }
+
+    private record Tranche(LocalDate date, BigDecimal amount) {
+    }
+
+    private static final class BenchmarkLoan extends Loan {
+    }
+
+    private static final class BenchmarkCharge extends Charge {
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark.loan;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.loanaccount.data.HolidayDetailDTO;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.CumulativeDecliningBalanceInterestLoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultPaymentPeriodsInOneYearCalculator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.DefaultScheduledDateGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleModel;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanScheduleType;
+import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.ProgressiveLoanScheduleGenerator;
+import org.apache.fineract.portfolio.loanproduct.calc.ProgressiveEMICalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Throughput of generating the repayment schedule of a new loan, the work done on every loan application, schedule
+ * preview and reschedule. Tenor and the number of tranches are the main drivers of the cost.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LoanScheduleGenerationBenchmark {
+
+    @Param({ "12", "120", "360" })
+    private int numberOfRepayments;
+
+    @Param({ "CUMULATIVE", "PROGRESSIVE" })
+    private LoanScheduleType loanScheduleType;
+
+    @Param({ "1", "4" })
+    private int numberOfDisbursements;
+
+    private LoanScheduleGenerator generator;
+    private HolidayDetailDTO holidayDetailDTO;
+
+    @Setup
+    public void setUp() {
+        LoanFixtures.initContext();
+        DefaultScheduledDateGenerator scheduledDateGenerator = new DefaultScheduledDateGenerator();
+        DefaultPaymentPeriodsInOneYearCalculator paymentPeriodsInOneYearCalculator = new DefaultPaymentPeriodsInOneYearCalculator();
+        generator = switch (loanScheduleType) {
+            case CUMULATIVE -> new CumulativeDecliningBalanceInterestLoanScheduleGenerator(scheduledDateGenerator,
+                    paymentPeriodsInOneYearCalculator);
+            case PROGRESSIVE -> new ProgressiveLoanScheduleGenerator(scheduledDateGenerator, paymentPeriodsInOneYearCalculator,
+                    new ProgressiveEMICalculator());
+        };
+        holidayDetailDTO = LoanFixtures.holidayDetails();
+    }
+
+    @Benchmark
+    public LoanScheduleModel generateSchedule() {
+        // The terms are mutated while the schedule is generated, so they are part of the measured work
+        return generator.generate(MoneyHelper.getMathContext(),
+                LoanFixtures.loanApplicationTerms(loanScheduleType, numberOfRepayments, numberOfDisbursements, holidayDetailDTO), Set.of(),
+                holidayDetailDTO);
+    }
+}
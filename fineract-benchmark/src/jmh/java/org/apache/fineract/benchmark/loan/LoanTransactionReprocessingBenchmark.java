@@ -0,0 +1,63 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark.loan;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.portfolio.loanaccount.domain.ChangedTransactionDetail;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Throughput of replaying the transactions of an active loan after a backdated repayment, the path taken by every
+ * backdated payment, charge, adjustment and reversal. Reprocessing changes the loan in place, so a fresh loan is built
+ * before every invocation; invocations are long enough for the setup overhead to stay out of the measurement.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LoanTransactionReprocessingBenchmark {
+
+    @Param({ "12", "120", "360" })
+    private int numberOfRepayments;
+
+    @Param({ "1", "4" })
+    private int numberOfDisbursements;
+
+    private Loan loan;
+
+    @Setup(Level.Trial)
+    public void initContext() {
+        LoanFixtures.initContext();
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        loan = LoanFixtures.activeLoanWithBackdatedRepayment(numberOfRepayments, numberOfDisbursements);
+    }
+
+    @Benchmark
+    public ChangedTransactionDetail reprocessTransactions() {
+        return loan.reprocessTransactions();
+    }
+}
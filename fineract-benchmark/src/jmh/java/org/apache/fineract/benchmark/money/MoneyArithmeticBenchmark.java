@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.benchmark.money;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.benchmark.loan.LoanFixtures;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyAccumulator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Summing up the amounts of a schedule with chained {@link Money} calls compared to a {@link MoneyAccumulator}. The gc
+ * profiler shows the allocation per operation of both.
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MoneyArithmeticBenchmark {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+
+    @Param({ "12", "360" })
+    private int numberOfAmounts;
+
+    private List<Money> amounts;
+
+    @Setup
+    public void setUp() {
+        LoanFixtures.initContext();
+        amounts = new ArrayList<>(numberOfAmounts);
+        for (int i = 0; i < numberOfAmounts; i++) {
+            amounts.add(Money.of(CURRENCY, BigDecimal.valueOf(100_000L + i * 37L, 2)));
+        }
+    }
+
+    @Benchmark
+    public Money chainedMoney() {
+        Money total = Money.zero(CURRENCY);
+        for (Money amount : amounts) {
+            total = total.plus(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money moneyAccumulator() {
+        MoneyAccumulator total = MoneyAccumulator.zero(CURRENCY);
+        for (Money amount : amounts) {
+            total.plus(amount);
+        }
+        return total.toMoney();
+    }
+}
@@ -36,6 +36,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -51,14 +53,21 @@ import org.apache.fineract.batch.domain.Header;
 import org.apache.fineract.batch.exception.BatchReferenceInvalidException;
 import org.apache.fineract.batch.exception.ErrorInfo;
 import org.apache.fineract.batch.service.ResolutionHelper.BatchRequestNode;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchCallHandler;
 import org.apache.fineract.infrastructure.core.filters.BatchFilter;
 import org.apache.fineract.infrastructure.core.filters.BatchRequestPreprocessor;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.jetbrains.annotations.NotNull;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionException;
@@ -89,6 +98,9 @@ public class BatchApiServiceImpl implements BatchApiService {
 
     private final List<BatchRequestPreprocessor> batchPreprocessors;
 
+    @Qualifier(TaskExecutorConstant.BATCH_API_TASK_EXECUTOR_BEAN_NAME)
+    private final AsyncTaskExecutor batchApiTaskExecutor;
+
     @PersistenceContext
     private final EntityManager entityManager;
 
@@ -104,6 +116,23 @@ public class BatchApiServiceImpl implements BatchApiService {
         return handleBatchRequests(requestList, uriInfo, false);
     }
 
+    /**
+     * Run the independent request root steps concurrently, each in a separated transaction
+     *
+     * @param requestList
+     * @param uriInfo
+     * @return
+     */
+    @Override
+    public List<BatchResponse> handleBatchRequestsInParallel(final List<BatchRequest> requestList, final UriInfo uriInfo) {
+        BatchRequestContextHolder.setIsEnclosingTransaction(false);
+        try {
+            return handleRequestNodes(requestList, uriInfo, true);
+        } finally {
+            BatchRequestContextHolder.resetIsEnclosingTransaction();
+        }
+    }
+
     /**
      * Run the batch request in transaction
      *
@@ -120,8 +149,9 @@ public class BatchApiServiceImpl implements BatchApiService {
             boolean enclosingTransaction) {
         BatchRequestContextHolder.setIsEnclosingTransaction(enclosingTransaction);
         try {
-            return enclosingTransaction ? callInTransaction(Function.identity()::apply, () -> handleRequestNodes(requestList, uriInfo))
-                    : handleRequestNodes(requestList, uriInfo);
+            return enclosingTransaction
+                    ? callInTransaction(Function.identity()::apply, () -> handleRequestNodes(requestList, uriInfo, false))
+                    : handleRequestNodes(requestList, uriInfo, false);
         } finally {
             BatchRequestContextHolder.resetIsEnclosingTransaction();
         }
@@ -166,9 +196,11 @@ public class BatchApiServiceImpl implements BatchApiService {
      *
      * @param requestList
      * @param uriInfo
+     * @param parallel
+     *            whether the independent root nodes (and their dependent children) are executed concurrently
      * @return {@code List<BatchResponse>}
      */
-    private List<BatchResponse> handleRequestNodes(final List<BatchRequest> requestList, final UriInfo uriInfo) {
+    private List<BatchResponse> handleRequestNodes(final List<BatchRequest> requestList, final UriInfo uriInfo, boolean parallel) {
         final List<BatchRequestNode> rootNodes;
         try {
             rootNodes = this.resolutionHelper.buildNodesTree(requestList);
@@ -177,13 +209,81 @@ public class BatchApiServiceImpl implements BatchApiService {
         }
 
         final ArrayList<BatchResponse> responseList = new ArrayList<>(requestList.size());
-        for (BatchRequestNode rootNode : rootNodes) {
-            this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+        if (parallel && rootNodes.size() > 1) {
+            responseList.addAll(callRootNodesInParallel(rootNodes, uriInfo));
+        } else {
+            for (BatchRequestNode rootNode : rootNodes) {
+                this.callRequestRecursive(rootNode.getRequest(), rootNode, responseList, uriInfo);
+            }
         }
         responseList.sort(Comparator.comparing(BatchResponse::getRequestId));
         return responseList;
     }
 
+    /**
+     * Submits every root node subtree to the batch API executor. Child requests are still resolved and executed in order
+     * within their own subtree, only the independent subtrees run concurrently. The tenant and security context of the
+     * calling thread is propagated to the workers. The servlet request attributes are not: they are not thread-safe and
+     * the attributes of every batch request are kept in {@link BatchRequestContextHolder} anyway.
+     *
+     * @param rootNodes
+     *            the independent root nodes
+     * @param uriInfo
+     * @return {@code List<BatchResponse>} the collected responses in no particular order
+     */
+    private List<BatchResponse> callRootNodesInParallel(List<BatchRequestNode> rootNodes, UriInfo uriInfo) {
+        final Thread callerThread = Thread.currentThread();
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        List<Future<List<BatchResponse>>> futures = new ArrayList<>(rootNodes.size());
+        for (BatchRequestNode rootNode : rootNodes) {
+            futures.add(batchApiTaskExecutor.submit(() -> {
+                // The executor runs the task on the caller thread when it is saturated, its context must be kept then
+                boolean worker = Thread.currentThread() != callerThread;
+                if (worker) {
+                    ThreadLocalContextUtil.init(context);
+                    SecurityContextHolder.setContext(securityContext);
+                    BatchRequestContextHolder.setIsEnclosingTransaction(false);
+                }
+                try {
+                    List<BatchResponse> subtreeResponses = new ArrayList<>();
+                    callRequestRecursive(rootNode.getRequest(), rootNode, subtreeResponses, uriInfo);
+                    return subtreeResponses;
+                } finally {
+                    if (worker) {
+                        BatchRequestContextHolder.resetIsEnclosingTransaction();
+                        SecurityContextHolder.clearContext();
+                        ThreadLocalContextUtil.reset();
+                    }
+                }
+            }));
+        }
+
+        List<BatchResponse> responseList = new ArrayList<>();
+        for (int i = 0; i < futures.size(); i++) {
+            BatchRequestNode rootNode = rootNodes.get(i);
+            try {
+                responseList.addAll(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                responseList.addAll(buildSubtreeErrorResponses(e, rootNode));
+            } catch (ExecutionException e) {
+                log.error("Exception during the parallel batch request processing", e.getCause());
+                responseList.addAll(buildSubtreeErrorResponses(e.getCause(), rootNode));
+            }
+        }
+        return responseList;
+    }
+
+    private List<BatchResponse> buildSubtreeErrorResponses(Throwable ex, BatchRequestNode rootNode) {
+        BatchResponse response = buildErrorResponse(ex, rootNode.getRequest());
+        List<BatchResponse> responseList = new ArrayList<>();
+        responseList.add(response);
+        responseList.addAll(parentRequestFailedRecursive(rootNode.getRequest(), rootNode, response, null));
+        return responseList;
+    }
+
     /**
      * Executes the request and call child requests recursively.
      *
@@ -0,0 +1,114 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractIdempotencyKeyIndexProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tenant scoped, size bounded negative filter of the idempotency keys processed by this node.
+ *
+ * The index is backed by Bloom filters, so {@link #mightContain(CommandWrapper, String)} returning false means that the
+ * key has not been processed by this node recently, while true only means that it might have been. Once a filter has
+ * taken {@code fineract.idempotency-key-index.expected-keys-per-tenant} keys it is replaced by an empty one and kept
+ * around for one more generation, which bounds the memory used per tenant. As keys processed by other nodes or before
+ * the last restart are not known here, the unique constraint of m_portfolio_command_source remains the authority on
+ * duplicates; the index only decides whether it is worth looking the key up before storing the command.
+ */
+@Component
+public class IdempotencyKeyIndex {
+
+    private final FineractIdempotencyKeyIndexProperties properties;
+    private final Map<String, TenantIndex> tenantIndexes = new ConcurrentHashMap<>();
+
+    public IdempotencyKeyIndex(FineractProperties fineractProperties) {
+        this.properties = fineractProperties.getIdempotencyKeyIndex();
+    }
+
+    /**
+     * Returns true when the key might have been processed by this node, and always when the index is disabled.
+     */
+    public boolean mightContain(CommandWrapper wrapper, String idempotencyKey) {
+        TenantIndex tenantIndex = getTenantIndex();
+        return tenantIndex == null || tenantIndex.mightContain(toEntry(wrapper, idempotencyKey));
+    }
+
+    public void put(CommandWrapper wrapper, String idempotencyKey) {
+        TenantIndex tenantIndex = getTenantIndex();
+        if (tenantIndex != null) {
+            tenantIndex.put(toEntry(wrapper, idempotencyKey));
+        }
+    }
+
+    private TenantIndex getTenantIndex() {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (properties == null || !properties.isEnabled() || tenant == null) {
+            return null;
+        }
+        return tenantIndexes.computeIfAbsent(tenant.getTenantIdentifier(), k -> new TenantIndex());
+    }
+
+    private static String toEntry(CommandWrapper wrapper, String idempotencyKey) {
+        // Same columns as the unique constraint on m_portfolio_command_source
+        return wrapper.actionName() + '|' + wrapper.entityName() + '|' + idempotencyKey;
+    }
+
+    private final class TenantIndex {
+
+        private final int expectedKeys = Math.max(1000, properties.getExpectedKeysPerTenant());
+        private volatile BloomFilter<CharSequence> current = createFilter();
+        private volatile BloomFilter<CharSequence> previous;
+
+        private boolean mightContain(String entry) {
+            BloomFilter<CharSequence> previousFilter = previous;
+            return current.mightContain(entry) || (previousFilter != null && previousFilter.mightContain(entry));
+        }
+
+        private void put(String entry) {
+            current.put(entry);
+            if (current.approximateElementCount() >= expectedKeys) {
+                rotate();
+            }
+        }
+
+        private synchronized void rotate() {
+            if (current.approximateElementCount() >= expectedKeys) {
+                previous = current;
+                current = createFilter();
+            }
+        }
+
+        private BloomFilter<CharSequence> createFilter() {
+            double falsePositiveProbability = properties.getFalsePositiveProbability();
+            if (falsePositiveProbability <= 0.0 || falsePositiveProbability >= 1.0) {
+                falsePositiveProbability = 0.01;
+            }
+            return BloomFilter.create(Funnels.stringFunnel(StandardCharsets.UTF_8), expectedKeys, falsePositiveProbability);
+        }
+    }
+}
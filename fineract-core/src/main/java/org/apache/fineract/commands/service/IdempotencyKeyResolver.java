@@ -36,6 +36,14 @@ public class IdempotencyKeyResolver {
         return Optional.ofNullable(wrapper.getIdempotencyKey()).orElseGet(() -> getAttribute().orElseGet(idempotencyKeyGenerator::create));
     }
 
+    /**
+     * Tells whether {@link #resolve(CommandWrapper)} generates a brand new key for the command, as neither the command
+     * nor the request carries one.
+     */
+    public boolean isGenerated(CommandWrapper wrapper) {
+        return wrapper.getIdempotencyKey() == null && getAttribute().isEmpty();
+    }
+
     private Optional<String> getAttribute() {
         return Optional.ofNullable(fineractRequestContextHolder.getAttribute(SynchronousCommandProcessingService.IDEMPOTENCY_KEY_ATTRIBUTE))
                 .map(String::valueOf);
@@ -25,11 +25,14 @@ import static org.apache.http.HttpStatus.SC_OK;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.lang.reflect.Type;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.batch.exception.ErrorInfo;
@@ -42,6 +45,7 @@ import org.apache.fineract.commands.provider.CommandHandlerProvider;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
+import org.apache.fineract.infrastructure.core.diagnostics.performance.MetricsUtil;
 import org.apache.fineract.infrastructure.core.domain.BatchRequestContextHolder;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
@@ -57,6 +61,7 @@ import org.apache.fineract.infrastructure.hooks.event.HookEventSource;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.useradministration.domain.AppUser;
 import org.springframework.context.ApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -76,6 +81,8 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
     private final CommandHandlerProvider commandHandlerProvider;
     private final IdempotencyKeyResolver idempotencyKeyResolver;
     private final CommandSourceService commandSourceService;
+    private final IdempotencyKeyIndex idempotencyKeyIndex;
+    private final MeterRegistry meterRegistry;
 
     private final FineractRequestContextHolder fineractRequestContextHolder;
     private final Gson gson = GoogleGsonSerializerHelper.createSimpleGson();
@@ -93,6 +100,7 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
 
         CommandSource commandSource = null;
         String idempotencyKey;
+        boolean isLookupSkipped = false;
         if (isRetry) {
             commandSource = commandSourceService.getCommandSource(commandId);
             idempotencyKey = commandSource.getIdempotencyKey();
@@ -100,18 +108,33 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
             commandSource = commandSourceService.getCommandSource(commandId);
             idempotencyKey = commandSource.getIdempotencyKey();
         } else {
+            boolean isGeneratedKey = idempotencyKeyResolver.isGenerated(wrapper);
             idempotencyKey = idempotencyKeyResolver.resolve(wrapper);
+            // A freshly generated key cannot be stored yet. A key this node has not seen is left to the unique
+            // constraint on the command source, which is only possible when the initial command source is saved on its own
+            isLookupSkipped = isGeneratedKey || (!isEnclosingTransaction && !idempotencyKeyIndex.mightContain(wrapper, idempotencyKey));
+        }
+        if (!isLookupSkipped) {
+            exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
         }
-        exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
 
         AppUser user = context.authenticatedUser(wrapper);
         if (commandSource == null) {
             if (isEnclosingTransaction) {
                 commandSource = commandSourceService.getInitialCommandSource(wrapper, command, user, idempotencyKey);
             } else {
-                commandSource = commandSourceService.saveInitialNewTransaction(wrapper, command, user, idempotencyKey);
+                try {
+                    commandSource = commandSourceService.saveInitialNewTransaction(wrapper, command, user, idempotencyKey);
+                } catch (IdempotentCommandProcessUnderProcessingException | DataIntegrityViolationException e) {
+                    if (isLookupSkipped) {
+                        // The key was already used; report the outcome of the stored command like the upfront lookup does
+                        exceptionWhenTheRequestAlreadyProcessed(wrapper, idempotencyKey, isRetry);
+                    }
+                    throw e;
+                }
                 commandId = commandSource.getId();
             }
+            idempotencyKeyIndex.put(wrapper, idempotencyKey);
         }
         if (commandId != null) {
             storeCommandIdInContext(commandSource); // Store command id as a request attribute
@@ -124,11 +147,14 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         setIdempotencyKeyStoreFlag(true);
 
         final CommandProcessingResult result;
+        Timer.Sample sample = Timer.start(meterRegistry);
         try {
             result = commandSourceService.processCommand(findCommandHandler(wrapper), command, commandSource, user, isApprovedByChecker,
                     isMakerChecker);
+            recordCommand(sample, wrapper, null);
         } catch (Throwable t) { // NOSONAR
             RuntimeException mappable = ErrorHandler.getMappable(t);
+            recordCommand(sample, wrapper, mappable);
             ErrorInfo errorInfo = commandSourceService.generateErrorInfo(mappable);
             Integer statusCode = errorInfo.getStatusCode();
             commandSource.setResultStatusCode(statusCode);
@@ -158,6 +184,14 @@ public class SynchronousCommandProcessingService implements CommandProcessingSer
         return result;
     }
 
+    private void recordCommand(Timer.Sample sample, CommandWrapper wrapper, RuntimeException exception) {
+        sample.stop(Timer.builder("fineract.commands").description("Time taken by the command handlers to process a command")
+                .tag("tenant", MetricsUtil.getTenantTag()).tag("entity", Objects.requireNonNullElse(wrapper.entityName(), MetricsUtil.NONE))
+                .tag("action", Objects.requireNonNullElse(wrapper.actionName(), MetricsUtil.NONE))
+                .tag("outcome", exception == null ? "success" : "failure")
+                .tag("exception", exception == null ? MetricsUtil.NONE : exception.getClass().getSimpleName()).register(meterRegistry));
+    }
+
     private void storeCommandIdInContext(CommandSource savedCommandSource) {
         if (savedCommandSource.getId() == null) {
             throw new IllegalStateException("Command source not saved");
@@ -0,0 +1,203 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractCacheProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broadcasts cache invalidations between the nodes of a cluster through the m_cache_invalidation table of the tenant.
+ *
+ * An invalidation is inserted with the connection of the current transaction, so the other nodes only see it once the
+ * change that caused it is committed. While the multi node cache is active every node polls the table of each tenant
+ * and applies the invalidations raised by the other nodes to its own near caches.
+ *
+ * Rows are read by id rather than by time, so the clocks of the nodes do not matter. Ids of concurrent transactions are
+ * not committed in order though: an id that is skipped while a higher one is already visible is remembered as a gap and
+ * read again on the following polls, until it shows up or has been missing for longer than the gap timeout, after
+ * which it is taken to belong to a rolled back transaction.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBroadcaster implements DisposableBean {
+
+    private static final int MAX_CACHE_KEY_LENGTH = 500;
+    // Larger jumps are sequence skips rather than transactions in flight
+    private static final int MAX_TRACKED_GAP = 1000;
+    private static final String INSERT_SQL = "INSERT INTO m_cache_invalidation (cache_name, cache_key, origin_node, created_at)"
+            + " VALUES (?, ?, ?, ?)";
+    private static final String SELECT_SQL = "SELECT id, cache_name, cache_key, origin_node FROM m_cache_invalidation"
+            + " WHERE id > ? ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantDetailsService tenantDetailsService;
+    private final FineractCacheProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Only accessed by the poller thread
+    private final Map<String, TenantCursor> cursors = new HashMap<>();
+    private List<FineractPlatformTenant> tenants = List.of();
+    private OffsetDateTime tenantsLoadedAt;
+    private OffsetDateTime lastCleanupAt;
+
+    private ScheduledExecutorService poller;
+    private CacheManager nearCacheManager;
+
+    public CacheInvalidationBroadcaster(JdbcTemplate jdbcTemplate, TenantDetailsService tenantDetailsService,
+            FineractProperties fineractProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantDetailsService = tenantDetailsService;
+        this.properties = fineractProperties.getCache();
+    }
+
+    /**
+     * Records the invalidation of the given key, or of the whole cache when the key is null, for the other nodes. Keys
+     * that cannot be stored as they are invalidate the whole cache on the other nodes.
+     */
+    public void publish(String cacheName, Object key) {
+        if (ThreadLocalContextUtil.getTenant() == null) {
+            log.debug("No tenant in context, invalidation of cache {} is not broadcast", cacheName);
+            return;
+        }
+        String cacheKey = key instanceof String stringKey && stringKey.length() <= MAX_CACHE_KEY_LENGTH ? stringKey : null;
+        jdbcTemplate.update(INSERT_SQL, cacheName, cacheKey, nodeId, DateUtils.getAuditOffsetDateTime());
+    }
+
+    public synchronized void start(CacheManager nearCacheManager) {
+        this.nearCacheManager = nearCacheManager;
+        if (poller == null) {
+            long pollInterval = Math.max(100, properties.getInvalidationPollIntervalInMillis());
+            poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("cacheInvalidationPoller-"));
+            poller.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+            log.info("Started polling cache invalidations every {}ms as node {}", pollInterval, nodeId);
+        }
+    }
+
+    public synchronized void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+            poller = null;
+            log.info("Stopped polling cache invalidations");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        stop();
+    }
+
+    void poll() {
+        // Any exception escaping would cancel the scheduled polling
+        try {
+            OffsetDateTime now = DateUtils.getAuditOffsetDateTime();
+            boolean cleanup = lastCleanupAt == null || lastCleanupAt.isBefore(now.minusMinutes(1));
+            for (FineractPlatformTenant tenant : getTenants(now)) {
+                ThreadLocalContextUtil.setTenant(tenant);
+                try {
+                    pollTenant(tenant.getTenantIdentifier(), now, cleanup);
+                } catch (Exception e) {
+                    log.warn("Error occurred while polling cache invalidations of tenant {}: ", tenant.getTenantIdentifier(), e);
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                }
+            }
+            if (cleanup) {
+                lastCleanupAt = now;
+            }
+        } catch (Exception e) {
+            log.warn("Error occurred while polling cache invalidations: ", e);
+        }
+    }
+
+    private List<FineractPlatformTenant> getTenants(OffsetDateTime now) {
+        if (tenantsLoadedAt == null || tenantsLoadedAt.isBefore(now.minusSeconds(properties.getTenantRefreshIntervalInSeconds()))) {
+            tenants = tenantDetailsService.findAllTenants();
+            tenantsLoadedAt = now;
+        }
+        return tenants;
+    }
+
+    private void pollTenant(String tenantIdentifier, OffsetDateTime now, boolean cleanup) {
+        TenantCursor cursor = cursors.computeIfAbsent(tenantIdentifier, k -> new TenantCursor());
+        OffsetDateTime missingSince = now.minusSeconds(Math.max(1, properties.getInvalidationGapTimeoutInSeconds()));
+        cursor.gaps.values().removeIf(seenAt -> seenAt.isBefore(missingSince));
+        long fromId = cursor.gaps.isEmpty() ? cursor.lastId : cursor.gaps.firstKey() - 1;
+
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            long id = rs.getLong("id");
+            if (id > cursor.lastId) {
+                // The ids below the first row seen are tracked as well, they may be in flight since before this node started
+                for (long missingId = Math.max(cursor.lastId + 1, id - MAX_TRACKED_GAP); missingId < id; missingId++) {
+                    cursor.gaps.put(missingId, now);
+                }
+                cursor.lastId = id;
+            } else if (cursor.gaps.remove(id) == null) {
+                // Already applied, only read again because a lower id is still missing
+                return;
+            }
+            if (!nodeId.equals(rs.getString("origin_node"))) {
+                evict(rs.getString("cache_name"), rs.getString("cache_key"));
+            }
+        }, fromId);
+
+        if (cleanup) {
+            int retentionInMinutes = Math.max(1, properties.getInvalidationRetentionInMinutes());
+            jdbcTemplate.update("DELETE FROM m_cache_invalidation WHERE created_at < ?", now.minusMinutes(retentionInMinutes));
+        }
+    }
+
+    private void evict(String cacheName, String cacheKey) {
+        Cache cache = nearCacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (cacheKey == null) {
+            cache.clear();
+        } else {
+            cache.evict(cacheKey);
+        }
+    }
+
+    private static final class TenantCursor {
+
+        private long lastId;
+        // Ids below the last one that were not committed yet, with the time they were first found missing
+        private final TreeMap<Long, OffsetDateTime> gaps = new TreeMap<>();
+    }
+}
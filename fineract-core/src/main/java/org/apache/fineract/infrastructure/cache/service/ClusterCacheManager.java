@@ -0,0 +1,132 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * {@link CacheManager} of the multi node cache: every node keeps its own near caches in the delegate
+ * {@link CacheManager}, and evicting or clearing a cache is broadcast to the other nodes through the
+ * {@link CacheInvalidationBroadcaster}.
+ *
+ * Values put into a cache are not broadcast; they are local fills of data read from the database.
+ */
+public class ClusterCacheManager implements CacheManager {
+
+    private final CacheManager nearCacheManager;
+    private final CacheInvalidationBroadcaster broadcaster;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public ClusterCacheManager(CacheManager nearCacheManager, CacheInvalidationBroadcaster broadcaster) {
+        this.nearCacheManager = nearCacheManager;
+        this.broadcaster = broadcaster;
+    }
+
+    @Override
+    public Cache getCache(final String name) {
+        Cache nearCache = nearCacheManager.getCache(name);
+        if (nearCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, k -> new ClusterInvalidatingCache(nearCache, broadcaster));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return nearCacheManager.getCacheNames();
+    }
+
+    private static final class ClusterInvalidatingCache implements Cache {
+
+        private final Cache nearCache;
+        private final CacheInvalidationBroadcaster broadcaster;
+
+        private ClusterInvalidatingCache(Cache nearCache, CacheInvalidationBroadcaster broadcaster) {
+            this.nearCache = nearCache;
+            this.broadcaster = broadcaster;
+        }
+
+        @Override
+        public String getName() {
+            return nearCache.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return nearCache.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return nearCache.get(key);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return nearCache.get(key, type);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            return nearCache.get(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            nearCache.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return nearCache.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            nearCache.evict(key);
+            broadcaster.publish(getName(), key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            // The other nodes might hold the key even if this one does not
+            boolean present = nearCache.evictIfPresent(key);
+            broadcaster.publish(getName(), key);
+            return present;
+        }
+
+        @Override
+        public void clear() {
+            nearCache.clear();
+            broadcaster.publish(getName(), null);
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean present = nearCache.invalidate();
+            broadcaster.publish(getName(), null);
+            return present;
+        }
+    }
+}
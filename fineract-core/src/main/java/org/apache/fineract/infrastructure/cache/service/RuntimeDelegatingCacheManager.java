@@ -43,6 +43,9 @@ import org.springframework.stereotype.Component;
  *
  * By default it is {@link NoOpCacheManager} but we can change that by checking some persisted configuration in the
  * database on startup and allow user to switch implementation through UI/API
+ *
+ * The multi node cache uses the same ehcache instances as near caches and broadcasts their invalidations to the other
+ * nodes through the {@link CacheInvalidationBroadcaster}.
  */
 @Component(value = "runtimeDelegatingCacheManager")
 @RequiredArgsConstructor
@@ -53,10 +56,13 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
     private final CacheManager ehCacheManager;
     @Qualifier("defaultCacheManager")
     private final CacheManager defaultCacheManager;
+    private final CacheInvalidationBroadcaster cacheInvalidationBroadcaster;
+    private CacheManager clusterCacheManager;
     private CacheManager currentCacheManager;
 
     @Override
     public void afterPropertiesSet() throws Exception {
+        clusterCacheManager = new ClusterCacheManager(ehCacheManager, cacheInvalidationBroadcaster);
         currentCacheManager = defaultCacheManager;
     }
 
@@ -74,44 +80,61 @@ public class RuntimeDelegatingCacheManager implements CacheManager, Initializing
 
         final boolean noCacheEnabled = currentCacheManager == defaultCacheManager;
         final boolean ehCacheEnabled = currentCacheManager == ehCacheManager;
+        final boolean distributedCacheEnabled = currentCacheManager == clusterCacheManager;
 
         final EnumOptionData noCacheType = CacheEnumerations.cacheType(CacheType.NO_CACHE);
         final EnumOptionData singleNodeCacheType = CacheEnumerations.cacheType(CacheType.SINGLE_NODE);
+        final EnumOptionData multiNodeCacheType = CacheEnumerations.cacheType(CacheType.MULTI_NODE);
 
         final CacheData noCache = CacheData.instance(noCacheType, noCacheEnabled);
         final CacheData singleNodeCache = CacheData.instance(singleNodeCacheType, ehCacheEnabled);
+        final CacheData multiNodeCache = CacheData.instance(multiNodeCacheType, distributedCacheEnabled);
 
-        return Arrays.asList(noCache, singleNodeCache);
+        return Arrays.asList(noCache, singleNodeCache, multiNodeCache);
     }
 
-    public Map<String, Object> switchToCache(final boolean ehcacheEnabled, final CacheType toCacheType) {
+    public Map<String, Object> switchToCache(final CacheType currentCacheType, final CacheType toCacheType) {
 
         final Map<String, Object> changes = new HashMap<>();
 
-        final boolean noCacheEnabled = !ehcacheEnabled;
-
         switch (toCacheType) {
             case INVALID -> {
                 log.warn("Invalid cache type used");
             }
             case NO_CACHE -> {
-                if (!noCacheEnabled) {
+                if (!currentCacheType.isNoCache()) {
                     changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
                 }
+                cacheInvalidationBroadcaster.stop();
                 currentCacheManager = defaultCacheManager;
             }
             case SINGLE_NODE -> {
-                if (!ehcacheEnabled) {
+                if (!currentCacheType.isEhcache()) {
                     changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
                     clearEhCache();
                 }
+                cacheInvalidationBroadcaster.stop();
                 currentCacheManager = ehCacheManager;
 
                 if (currentCacheManager.getCacheNames().isEmpty()) {
                     log.error("No caches configured for activated CacheManager {}", currentCacheManager);
                 }
             }
-            case MULTI_NODE -> throw new UnsupportedOperationException("Multi node cache is not supported");
+            case MULTI_NODE -> {
+                if (!currentCacheType.isDistributedCache()) {
+                    changes.put(CacheApiConstants.CACHE_TYPE_PARAMETER, toCacheType.getValue());
+                }
+                if (currentCacheManager != clusterCacheManager) {
+                    // Invalidations missed while the node was not polling could have left stale entries behind
+                    clearEhCache();
+                }
+                cacheInvalidationBroadcaster.start(ehCacheManager);
+                currentCacheManager = clusterCacheManager;
+
+                if (currentCacheManager.getCacheNames().isEmpty()) {
+                    log.error("No caches configured for activated CacheManager {}", currentCacheManager);
+                }
+            }
         }
 
         return changes;
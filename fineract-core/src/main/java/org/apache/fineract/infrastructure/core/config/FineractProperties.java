@@ -38,6 +38,8 @@ public class FineractProperties {
 
     private String idempotencyKeyHeaderName;
 
+    private FineractIdempotencyKeyIndexProperties idempotencyKeyIndex;
+
     private Boolean insecureHttpClient;
 
     private FineractTenantProperties tenant;
@@ -54,6 +56,10 @@ public class FineractProperties {
 
     private FineractTaskExecutor taskExecutor;
 
+    private FineractHooksProperties hooks;
+
+    private FineractCacheProperties cache;
+
     private FineractContentProperties content;
 
     private FineractReportProperties report;
@@ -78,6 +84,8 @@ public class FineractProperties {
 
     private FineractSqlValidationProperties sqlValidation;
 
+    private FineractSearchProperties search;
+
     @Getter
     @Setter
     public static class FineractTenantProperties {
@@ -165,6 +173,7 @@ public class FineractProperties {
         private Integer threadPoolQueueCapacity;
         private Integer retryLimit;
         private Integer pollInterval;
+        private Boolean costWeightedPartitioning;
 
     }
 
@@ -279,6 +288,44 @@ public class FineractProperties {
 
         private int defaultTaskExecutorCorePoolSize;
         private int defaultTaskExecutorMaxPoolSize;
+        private int batchApiTaskExecutorPoolSize;
+        private int batchApiTaskExecutorQueueCapacity;
+        private int bulkImportTaskExecutorPoolSize;
+        private int loanAssociationsTaskExecutorPoolSize;
+        private int loanAssociationsTaskExecutorQueueCapacity;
+        private int loanAssociationsMaxConcurrentFetchesPerRequest;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractIdempotencyKeyIndexProperties {
+
+        private boolean enabled;
+        private int expectedKeysPerTenant;
+        private double falsePositiveProbability;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractHooksProperties {
+
+        private int workerCount;
+        private int queueCapacity;
+        private int maxConcurrentDeliveriesPerHook;
+        private int maxIdleConnections;
+        private int maxRetryAttempts;
+        private int retryBackoffInSeconds;
+        private int retryBatchSize;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractCacheProperties {
+
+        private int invalidationPollIntervalInMillis;
+        private int invalidationGapTimeoutInSeconds;
+        private int invalidationRetentionInMinutes;
+        private int tenantRefreshIntervalInSeconds;
     }
 
     @Getter
@@ -288,6 +335,27 @@ public class FineractProperties {
         private boolean enabled;
         private FineractExternalEventsProducerProperties producer;
         private int partitionSize;
+        private FineractExternalEventsDispatcherProperties dispatcher;
+        private FineractExternalEventsOutboxProperties outbox;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsDispatcherProperties {
+
+        private int workerCount;
+        private int maxInFlightEvents;
+        private int maxRunDurationInSeconds;
+        private int claimLeaseInSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractExternalEventsOutboxProperties {
+
+        private boolean enabled;
+        private int queueCapacity;
+        private int sweeperGracePeriodInSeconds;
     }
 
     @Getter
@@ -340,6 +408,7 @@ public class FineractProperties {
         private List<String> mimeWhitelist;
         private FineractContentFilesystemProperties filesystem;
         private FineractContentS3Properties s3;
+        private FineractContentImageRenditionCacheProperties imageRenditionCache;
     }
 
     @Getter
@@ -360,11 +429,21 @@ public class FineractProperties {
         private String secretKey;
     }
 
+    @Getter
+    @Setter
+    public static class FineractContentImageRenditionCacheProperties {
+
+        private boolean enabled;
+        private String directory;
+        private long maxSizeInMb;
+    }
+
     @Getter
     @Setter
     public static class FineractReportProperties {
 
         private FineractExportProperties export;
+        private int fetchSize;
     }
 
     @Getter
@@ -388,6 +467,9 @@ public class FineractProperties {
 
         private int stuckRetryThreshold;
         private boolean loanCobEnabled;
+        private int runningBalanceUpdateThreadCount;
+        private int runningBalanceUpdatePageSize;
+        private int trialBalanceUpdateThreadCount;
     }
 
     @Getter
@@ -410,6 +492,32 @@ public class FineractProperties {
     public static class FineractDatabaseProperties {
 
         private String defaultMasterPassword;
+        private FineractReadReplicaProperties readReplica;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractReadReplicaProperties {
+
+        private boolean enabled;
+        private int maxLagInSeconds;
+        private int lagCheckIntervalInSeconds;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSearchProperties {
+
+        private FineractSearchIndexProperties index;
+    }
+
+    @Getter
+    @Setter
+    public static class FineractSearchIndexProperties {
+
+        private boolean enabled;
+        private int maxAgeInMinutes;
+        private int queueCapacity;
     }
 
     @Getter
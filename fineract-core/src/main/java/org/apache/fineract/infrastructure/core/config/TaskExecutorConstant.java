@@ -28,4 +28,11 @@ public final class TaskExecutorConstant {
     public static final String CONFIGURABLE_TASK_EXECUTOR_BEAN_NAME = "fineractConfigurableThreadPoolTaskExecutor";
     public static final String EVENT_TASK_EXECUTOR_BEAN_NAME = "externalEventJmsProducerExecutor";
     public static final String LOAN_COB_CATCH_UP_TASK_EXECUTOR_BEAN_NAME = "loanCOBCatchUpThreadPoolTaskExecutor";
+    public static final String BATCH_API_TASK_EXECUTOR_BEAN_NAME = "batchApiThreadPoolTaskExecutor";
+    public static final String BULK_IMPORT_TASK_EXECUTOR_BEAN_NAME = "bulkImportThreadPoolTaskExecutor";
+    public static final String LOAN_ASSOCIATIONS_TASK_EXECUTOR_BEAN_NAME = "loanAssociationsThreadPoolTaskExecutor";
+    public static final String RUNNING_BALANCE_UPDATE_TASK_EXECUTOR_BEAN_NAME = "runningBalanceUpdateThreadPoolTaskExecutor";
+    public static final String TRIAL_BALANCE_UPDATE_TASK_EXECUTOR_BEAN_NAME = "trialBalanceUpdateThreadPoolTaskExecutor";
+    public static final String EXTERNAL_EVENT_DISPATCHER_TASK_EXECUTOR_BEAN_NAME = "externalEventDispatcherThreadPoolTaskExecutor";
+    public static final String EXTERNAL_EVENT_OUTBOX_TASK_EXECUTOR_BEAN_NAME = "externalEventOutboxThreadPoolTaskExecutor";
 }
@@ -18,9 +18,19 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.util.List;
+
 public interface DataEnricher<T> {
 
     boolean isDataTypeSupported(Class<T> dataType);
 
     void enrich(T data);
+
+    /**
+     * Enriches a batch of data of the supported type. Enrichers backed by a lookup should override this to fetch the
+     * data of the whole batch with a single query, see {@link DataEnrichmentContext}.
+     */
+    default void enrichAll(List<T> data) {
+        data.forEach(this::enrich);
+    }
 }
@@ -19,7 +19,9 @@
 package org.apache.fineract.infrastructure.core.service;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -42,4 +44,23 @@ public class DataEnricherProcessor {
         }
         return source;
     }
+
+    /**
+     * Enriches the given data in batches per data type, so that the enrichers can look their data up once for all of
+     * them.
+     */
+    public <T> List<T> enrichAll(List<T> sources) {
+        Map<Class<?>, List<Object>> sourcesByType = new LinkedHashMap<>();
+        for (T source : sources) {
+            sourcesByType.computeIfAbsent(source.getClass(), k -> new ArrayList<>()).add(source);
+        }
+        for (Map.Entry<Class<?>, List<Object>> entry : sourcesByType.entrySet()) {
+            for (DataEnricher enhancer : enhancers) {
+                if (enhancer.isDataTypeSupported(entry.getKey())) {
+                    enhancer.enrichAll(entry.getValue());
+                }
+            }
+        }
+        return sources;
+    }
 }
@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Memoizes the data looked up by the {@link DataEnricher}s for the lifetime of the current transaction.
+ *
+ * A COB chunk or a single API call raises many events about the same few aggregates within one transaction; through
+ * the context the enrichers look the shared data up once per transaction (or once per batch, see
+ * {@link DataEnricher#enrichAll(List)}) instead of once per event. Code changing memoized data within the transaction
+ * has to {@link #evict(String, Object) evict} it. Without an active transaction synchronization nothing is memoized.
+ */
+@Component
+public class DataEnrichmentContext {
+
+    /**
+     * Returns the memoized values of the given keys and loads the missing ones with a single call of the loader.
+     *
+     * @param name
+     *            the name of the memoized data
+     * @param keys
+     *            the keys to look up, {@code null} keys are ignored
+     * @param loader
+     *            loads the values of the given keys; keys without value are simply missing from the returned map
+     * @return the values of the non-null keys, empty for the keys without value
+     */
+    public <K, V> Map<K, Optional<V>> getAll(String name, Collection<K> keys, Function<Collection<K>, Map<K, V>> loader) {
+        Map<Object, Optional<?>> memoized = getMemoized(name);
+        Map<K, Optional<V>> result = new LinkedHashMap<>();
+        Set<K> missingKeys = new LinkedHashSet<>();
+        for (K key : keys) {
+            if (key == null) {
+                continue;
+            }
+            @SuppressWarnings("unchecked")
+            Optional<V> value = memoized == null ? null : (Optional<V>) memoized.get(key);
+            if (value == null) {
+                missingKeys.add(key);
+            } else {
+                result.put(key, value);
+            }
+        }
+        if (!missingKeys.isEmpty()) {
+            Map<K, V> loaded = loader.apply(missingKeys);
+            for (K key : missingKeys) {
+                Optional<V> value = Optional.ofNullable(loaded.get(key));
+                result.put(key, value);
+                if (memoized != null) {
+                    memoized.put(key, value);
+                }
+            }
+        }
+        return result;
+    }
+
+    public <K, V> Optional<V> get(String name, K key, Function<Collection<K>, Map<K, V>> loader) {
+        if (key == null) {
+            return Optional.empty();
+        }
+        return getAll(name, List.of(key), loader).get(key);
+    }
+
+    public void evict(String name, Object key) {
+        Map<Object, Optional<?>> memoized = getMemoized(name);
+        if (memoized != null) {
+            memoized.remove(key);
+        }
+    }
+
+    private Map<Object, Optional<?>> getMemoized(String name) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        // Looking the memo up among the synchronizations of the current transaction (instead of binding it as a
+        // resource) makes sure that an inner transaction never sees the data memoized by a suspended outer one
+        Memo memo = TransactionSynchronizationManager.getSynchronizations().stream().filter(Memo.class::isInstance)
+                .map(Memo.class::cast).findFirst().orElse(null);
+        if (memo == null) {
+            memo = new Memo();
+            TransactionSynchronizationManager.registerSynchronization(memo);
+        }
+        return memo.values.computeIfAbsent(Objects.requireNonNull(name), k -> new HashMap<>());
+    }
+
+    private static final class Memo implements TransactionSynchronization {
+
+        private final Map<String, Map<Object, Optional<?>>> values = new HashMap<>();
+
+        @Override
+        public void afterCompletion(int status) {
+            values.clear();
+        }
+    }
+}
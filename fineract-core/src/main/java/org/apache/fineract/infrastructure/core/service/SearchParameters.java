@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.core.service;
 
+import java.util.Set;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -55,6 +56,7 @@ public class SearchParameters {
     private Long categoryId;
     @Getter(AccessLevel.NONE)
     private Boolean isSelfUser;
+    private Set<String> responseFields;
 
     public Integer getLimit() {
         if (limit == null) {
@@ -61,8 +61,21 @@ public class DataSourcePerTenantServiceFactory {
         this.databasePasswordEncryptor = databasePasswordEncryptor;
     }
 
-    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT")
     public DataSource createNewDataSourceFor(final FineractPlatformTenantConnection tenantConnection) {
+        return createDataSource(tenantConnection, fineractProperties.getMode().isReadOnlyMode(), "_pool");
+    }
+
+    /**
+     * Creates a read-only pool for the read replica configured with the read-only schema properties of the tenant
+     * connection.
+     */
+    public DataSource createNewReadReplicaDataSourceFor(final FineractPlatformTenantConnection tenantConnection) {
+        return createDataSource(tenantConnection, true, "_replica_pool");
+    }
+
+    @SuppressFBWarnings(value = "SLF4J_SIGN_ONLY_FORMAT")
+    private DataSource createDataSource(final FineractPlatformTenantConnection tenantConnection, final boolean readOnly,
+            final String poolNameSuffix) {
         if (!databasePasswordEncryptor.isMasterPasswordHashValid(tenantConnection.getMasterPasswordHash())) {
             throw new IllegalArgumentException(
                     "Invalid master password on tenant connection %d.".formatted(tenantConnection.getConnectionId()));
@@ -76,7 +89,7 @@ public class DataSourcePerTenantServiceFactory {
         String schemaPassword = tenantConnection.getSchemaPassword();
         String schemaConnectionParameters = tenantConnection.getSchemaConnectionParameters();
         // Properties to ReadOnly case
-        if (fineractProperties.getMode().isReadOnlyMode()) {
+        if (readOnly) {
             schemaServer = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaServer(), schemaServer);
             schemaPort = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaServerPort(), schemaPort);
             schemaName = StringUtils.defaultIfBlank(tenantConnection.getReadOnlySchemaName(), schemaName);
@@ -89,9 +102,9 @@ public class DataSourcePerTenantServiceFactory {
         log.debug("{}", jdbcUrl);
 
         HikariConfig config = new HikariConfig();
-        config.setReadOnly(fineractProperties.getMode().isReadOnlyMode());
+        config.setReadOnly(readOnly);
         config.setJdbcUrl(jdbcUrl);
-        config.setPoolName(schemaName + "_pool");
+        config.setPoolName(schemaName + poolNameSuffix);
         config.setUsername(schemaUsername);
         config.setPassword(databasePasswordEncryptor.decrypt(schemaPassword));
         config.setMinimumIdle(getMinPoolSize(tenantConnection));
@@ -0,0 +1,180 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Narrows the schema of a row mapper down to the response fields requested with the {@code fields} query parameter.
+ *
+ * The optional left joins of a schema are registered together with the response fields they feed. Those must be
+ * supported response parameters of the endpoint, a partial response asking for anything else is rejected by the
+ * serializer. A join registered without any field is dropped from every partial response. When none of its fields is
+ * requested the join is dropped and the columns it selects are replaced by {@code null}, which is exactly what the row
+ * mapper already receives when the left join has no match. Expensive column expressions can be swapped for a cheaper
+ * one the same way. A join that is still referenced elsewhere in the schema, or whose table or output aliases appear in
+ * the order by, is always kept.
+ */
+public final class FieldProjection {
+
+    private final List<OptionalJoin> joins;
+    private final List<OptionalColumn> columns;
+
+    private FieldProjection(final List<OptionalJoin> joins, final List<OptionalColumn> columns) {
+        this.joins = joins;
+        this.columns = columns;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns whether only some of the response fields were asked for.
+     */
+    public static boolean isPartialResponse(final Set<String> fields) {
+        return fields != null && !fields.isEmpty();
+    }
+
+    /**
+     * Returns the response fields the optional joins and columns are registered with.
+     */
+    public Set<String> getFields() {
+        final Set<String> fields = new LinkedHashSet<>();
+        joins.forEach(join -> fields.addAll(join.fields()));
+        columns.forEach(column -> fields.addAll(column.fields()));
+        return fields;
+    }
+
+    /**
+     * Projects the schema of a row mapper before the where and order by clauses are appended to it.
+     *
+     * @param schemaSql
+     *            the select list and the from clause of the row mapper
+     * @param fields
+     *            the requested response fields, all fields when {@code null} or empty
+     * @param orderBy
+     *            the order by of the query, may be {@code null}
+     * @return the projected schema
+     */
+    public String apply(final String schemaSql, final Set<String> fields, final String orderBy) {
+        if (!isPartialResponse(fields)) {
+            return schemaSql;
+        }
+        String projectedSql = schemaSql;
+        for (OptionalColumn column : columns) {
+            if (isAnyRequested(fields, column.fields())) {
+                continue;
+            }
+            final Matcher alias = column.aliasPattern().matcher(projectedSql);
+            if (alias.find() && !isReferenced(orderBy, aliasPattern(alias.group(1)))) {
+                projectedSql = projectedSql.replace(column.expression(), column.replacement());
+            }
+        }
+        // Joins registered later may depend on the earlier ones, so they are pruned first
+        for (int i = joins.size() - 1; i >= 0; i--) {
+            final OptionalJoin join = joins.get(i);
+            if (isAnyRequested(fields, join.fields()) || !projectedSql.contains(join.clause())
+                    || isReferenced(orderBy, join.referencePattern()) || isAnyAliasReferenced(orderBy, join, projectedSql)) {
+                continue;
+            }
+            final String prunedSql = join.columnPattern().matcher(projectedSql.replace(join.clause(), " ")).replaceAll("null as $1");
+            if (!join.referencePattern().matcher(prunedSql).find()) {
+                projectedSql = prunedSql;
+            }
+        }
+        return projectedSql;
+    }
+
+    private static boolean isAnyRequested(final Set<String> fields, final List<String> fieldsToCheck) {
+        return fieldsToCheck.stream().anyMatch(fields::contains);
+    }
+
+    private static boolean isAnyAliasReferenced(final String orderBy, final OptionalJoin join, final String sql) {
+        if (orderBy == null) {
+            return false;
+        }
+        final Matcher column = join.columnPattern().matcher(sql);
+        while (column.find()) {
+            if (isReferenced(orderBy, aliasPattern(column.group(1)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isReferenced(final String orderBy, final Pattern referencePattern) {
+        return orderBy != null && referencePattern.matcher(orderBy).find();
+    }
+
+    private static Pattern aliasPattern(final String alias) {
+        return Pattern.compile("\\b" + Pattern.quote(alias) + "\\b", Pattern.CASE_INSENSITIVE);
+    }
+
+    private record OptionalJoin(String clause, Pattern columnPattern, Pattern referencePattern, List<String> fields) {
+    }
+
+    private record OptionalColumn(String expression, Pattern aliasPattern, String replacement, List<String> fields) {
+    }
+
+    public static final class Builder {
+
+        private final List<OptionalJoin> joins = new ArrayList<>();
+        private final List<OptionalColumn> columns = new ArrayList<>();
+
+        private Builder() {}
+
+        /**
+         * Registers an optional left join.
+         *
+         * @param alias
+         *            the table alias used by the join; the columns it selects must be aliased with {@code as}
+         * @param clause
+         *            the join clause exactly as it appears in the query
+         * @param fields
+         *            the supported response fields fed by the columns of the join, none when the join only feeds fields
+         *            a partial response cannot ask for
+         */
+        public Builder optionalJoin(final String alias, final String clause, final String... fields) {
+            final String qualifier = "\\b" + Pattern.quote(alias) + "\\.";
+            final Pattern columnPattern = Pattern.compile(qualifier + "[`\"]?\\w+[`\"]?\\s+as\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+            final Pattern referencePattern = Pattern.compile(qualifier, Pattern.CASE_INSENSITIVE);
+            joins.add(new OptionalJoin(clause, columnPattern, referencePattern, List.of(fields)));
+            return this;
+        }
+
+        /**
+         * Registers a column expression that is replaced by a cheaper one when none of the given fields is requested.
+         */
+        public Builder optionalColumn(final String expression, final String replacement, final String... fields) {
+            final Pattern aliasPattern = Pattern.compile(Pattern.quote(expression) + "\\s+as\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+            columns.add(new OptionalColumn(expression, aliasPattern, replacement, List.of(fields)));
+            return this;
+        }
+
+        public FieldProjection build() {
+            return new FieldProjection(List.copyOf(joins), List.copyOf(columns));
+        }
+    }
+}
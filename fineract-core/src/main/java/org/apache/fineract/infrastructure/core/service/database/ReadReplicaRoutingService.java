@@ -0,0 +1,191 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractReadReplicaProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes the read-only transactions of a tenant to the read replica configured with the read-only schema properties of
+ * its {@link FineractPlatformTenantConnection}.
+ *
+ * The replication lag of every replica in use is checked periodically; a replica lagging more than
+ * {@code fineract.database.read-replica.max-lag-in-seconds} behind, whose lag cannot be determined or which cannot
+ * hand out a connection is skipped in favour of the primary until a later check finds it healthy again. Queries
+ * outside of a read-only transaction, including read-only methods joining a read-write transaction, always use the
+ * primary.
+ */
+@Slf4j
+@Component
+public class ReadReplicaRoutingService implements DisposableBean {
+
+    private static final String POSTGRESQL_LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE CAST(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) AS BIGINT) END";
+
+    private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final DatabaseTypeResolver databaseTypeResolver;
+    private final FineractReadReplicaProperties properties;
+    private final boolean enabled;
+    private final Map<Long, ReadReplica> replicas = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService lagChecker;
+
+    public ReadReplicaRoutingService(DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory,
+            DatabaseTypeResolver databaseTypeResolver, FineractProperties fineractProperties) {
+        this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
+        this.databaseTypeResolver = databaseTypeResolver;
+        this.properties = fineractProperties.getDatabase().getReadReplica();
+        // A read-only instance already connects to the replica with its primary pools
+        this.enabled = properties != null && properties.isEnabled() && !fineractProperties.getMode().isReadOnlyMode();
+        if (enabled) {
+            long interval = Math.max(1, properties.getLagCheckIntervalInSeconds());
+            this.lagChecker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("readReplicaLagChecker-"));
+            this.lagChecker.scheduleWithFixedDelay(() -> replicas.values().forEach(this::checkLag), interval, interval, TimeUnit.SECONDS);
+        } else {
+            this.lagChecker = null;
+        }
+    }
+
+    /**
+     * Returns the data source to use for the current transaction of the tenant: its read replica within a healthy,
+     * read-only transaction and the given primary data source otherwise.
+     */
+    public DataSource route(FineractPlatformTenantConnection tenantConnection, DataSource primaryDataSource) {
+        if (!enabled || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || StringUtils.isBlank(tenantConnection.getReadOnlySchemaServer())) {
+            return primaryDataSource;
+        }
+        ReadReplica replica = replicas.computeIfAbsent(tenantConnection.getConnectionId(), key -> {
+            ReadReplica newReplica = new ReadReplica(tenantConnection.getConnectionId(),
+                    dataSourcePerTenantServiceFactory.createNewReadReplicaDataSourceFor(tenantConnection), primaryDataSource);
+            // The replica is only used once its lag is known
+            lagChecker.execute(() -> checkLag(newReplica));
+            return newReplica;
+        });
+        return replica.healthy ? replica : primaryDataSource;
+    }
+
+    @Override
+    public void destroy() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+    }
+
+    private void checkLag(ReadReplica replica) {
+        Long lagInSeconds = null;
+        try (Connection connection = replica.getTargetDataSource().getConnection()) {
+            lagInSeconds = databaseTypeResolver.isPostgreSQL() ? getPostgreSQLLag(connection) : getMySQLLag(connection);
+        } catch (Exception e) {
+            log.warn("Error occurred while checking the lag of the read replica of tenant connection {}: {}", replica.connectionId,
+                    e.getMessage());
+        }
+        boolean healthy = lagInSeconds != null && lagInSeconds <= properties.getMaxLagInSeconds();
+        if (healthy != replica.healthy) {
+            log.info("Read replica of tenant connection {} is {} (lag: {}s)", replica.connectionId, healthy ? "in use" : "skipped",
+                    lagInSeconds);
+        }
+        replica.healthy = healthy;
+    }
+
+    private Long getPostgreSQLLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(POSTGRESQL_LAG_SQL)) {
+            if (!rs.next()) {
+                return null;
+            }
+            long lag = rs.getLong(1);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+
+    private Long getMySQLLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            ResultSet rs;
+            try {
+                rs = statement.executeQuery("SHOW REPLICA STATUS");
+            } catch (SQLException e) {
+                // MySQL before 8.0.22 and MariaDB before 10.5.1
+                rs = statement.executeQuery("SHOW SLAVE STATUS");
+            }
+            try (rs) {
+                if (!rs.next()) {
+                    // Not a replica, so there is nothing to lag behind
+                    return 0L;
+                }
+                ResultSetMetaData metaData = rs.getMetaData();
+                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                    String column = metaData.getColumnLabel(i);
+                    if ("Seconds_Behind_Source".equalsIgnoreCase(column) || "Seconds_Behind_Master".equalsIgnoreCase(column)) {
+                        long lag = rs.getLong(i);
+                        // NULL means that replication is not running
+                        return rs.wasNull() ? null : lag;
+                    }
+                }
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Read replica pool falling back to the primary when no connection can be obtained from the replica.
+     */
+    private static final class ReadReplica extends DelegatingDataSource {
+
+        private final Long connectionId;
+        private final DataSource primaryDataSource;
+        private volatile boolean healthy;
+
+        private ReadReplica(Long connectionId, DataSource replicaDataSource, DataSource primaryDataSource) {
+            super(replicaDataSource);
+            this.connectionId = connectionId;
+            this.primaryDataSource = primaryDataSource;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            try {
+                return super.getConnection();
+            } catch (SQLException e) {
+                healthy = false;
+                log.warn("Read replica of tenant connection {} is not available, falling back to the primary: {}", connectionId,
+                        e.getMessage());
+                return primaryDataSource.getConnection();
+            }
+        }
+    }
+}
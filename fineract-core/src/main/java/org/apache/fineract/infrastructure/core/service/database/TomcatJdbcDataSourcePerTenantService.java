@@ -50,13 +50,16 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
     private final TenantDetailsService tenantDetailsService;
 
     private final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    private final ReadReplicaRoutingService readReplicaRoutingService;
 
     @Autowired
     public TomcatJdbcDataSourcePerTenantService(final @Qualifier("hikariTenantDataSource") DataSource tenantDataSource,
-            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService) {
+            final DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory, final TenantDetailsService tenantDetailsService,
+            final ReadReplicaRoutingService readReplicaRoutingService) {
         this.tenantDataSource = tenantDataSource;
         this.dataSourcePerTenantServiceFactory = dataSourcePerTenantServiceFactory;
         this.tenantDetailsService = tenantDetailsService;
+        this.readReplicaRoutingService = readReplicaRoutingService;
     }
 
     @Override
@@ -74,7 +77,8 @@ public class TomcatJdbcDataSourcePerTenantService implements RoutingDataSourceSe
                 DataSource tenantSpecificDataSource = dataSourcePerTenantServiceFactory.createNewDataSourceFor(tenantConnection);
                 return tenantSpecificDataSource;
             });
-
+            // read-only transactions go to the read replica of the tenant when there is a healthy one
+            actualDataSource = readReplicaRoutingService.route(tenantConnection, actualDataSource);
         }
 
         return actualDataSource;
@@ -27,12 +27,20 @@ public interface GenericDataService {
 
     GenericResultsetData fillGenericResultSet(String sql);
 
+    /**
+     * Runs the query on a forward-only cursor and passes the rows to the handler as they are fetched, so the memory used
+     * does not depend on the size of the resultset.
+     */
+    void streamGenericResultSet(String sql, GenericResultsetStreamHandler handler);
+
     List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(String tableName);
 
     List<ResultsetRowData> fillResultsetRowData(String sql, List<ResultsetColumnHeaderData> columnHeaders);
 
     String generateJsonFromGenericResultsetData(GenericResultsetData grs);
 
+    String generateJsonFromGenericResultsetRow(List<ResultsetColumnHeaderData> columnHeaders, List<Object> row);
+
     String replace(String str, String pattern, String replace);
 
     String wrapSQL(String sql);
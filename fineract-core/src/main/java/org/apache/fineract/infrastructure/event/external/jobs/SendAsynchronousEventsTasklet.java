@@ -18,29 +18,21 @@
  */
 package org.apache.fineract.infrastructure.event.external.jobs;
 
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toMap;
 import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
 
-import com.google.common.collect.Lists;
-import java.io.IOException;
-import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.avro.MessageV1;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
 import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
-import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
-import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
-import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.apache.fineract.infrastructure.event.external.service.ExternalEventDispatcher;
+import org.apache.fineract.infrastructure.event.external.service.ExternalEventOutbox;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
@@ -56,18 +48,15 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
 
     private final FineractProperties fineractProperties;
     private final ExternalEventRepository repository;
-    private final ExternalEventProducer eventProducer;
-    private final MessageFactory messageFactory;
-    private final ByteBufferConverter byteBufferConverter;
+    private final ExternalEventDispatcher dispatcher;
+    private final ExternalEventOutbox outbox;
     private final ConfigurationDomainService configurationDomainService;
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
         try {
             if (isDownstreamChannelEnabled()) {
-                List<ExternalEventView> events = getQueuedEventsBatch();
-                log.debug("Queued events size: {}", events.size());
-                sendEvents(events);
+                dispatchQueuedEvents();
             }
         } catch (Exception e) {
             log.error("Error occurred while processing events: ", e);
@@ -80,71 +69,57 @@ public class SendAsynchronousEventsTasklet implements Tasklet {
                 || fineractProperties.getEvents().getExternal().getProducer().getKafka().isEnabled();
     }
 
-    private List<ExternalEventView> getQueuedEventsBatch() {
+    /**
+     * Keeps reading the queued events page by page while the previously read pages are still being serialized and
+     * sent by the dispatcher, until the queue is drained, a send fails or the configured run duration is exceeded.
+     *
+     * When the outbox is enabled the job only acts as a sweeper: events younger than the configured grace period are
+     * left to the outbox fast path.
+     */
+    private void dispatchQueuedEvents() {
         int readBatchSize = getBatchSize();
-        Pageable batchSize = PageRequest.ofSize(readBatchSize);
-        return measure(() -> repository.findByStatusOrderById(ExternalEventStatus.TO_BE_SENT, batchSize),
-                (events, timeTaken) -> log.debug("Loaded {} events in {}ms", events.size(), timeTaken.toMillis()));
-    }
-
-    private void sendEvents(List<ExternalEventView> queuedEvents) {
-        Map<Long, List<byte[]>> partitions = generatePartitions(queuedEvents);
-        List<Long> eventIds = queuedEvents.stream().map(ExternalEventView::getId).toList();
-        sendEventsToProducer(partitions);
-        markEventsAsSent(eventIds);
-    }
-
-    private void sendEventsToProducer(Map<Long, List<byte[]>> partitions) {
-        eventProducer.sendEvents(partitions);
+        OffsetDateTime createdBefore = outbox.isEnabled() ? getSweeperCreatedBefore() : null;
+        long deadline = System.nanoTime() + getMaxRunDuration().toNanos();
+        ExternalEventDispatcher.DispatchRun run = dispatcher.startRun();
+        int sentEvents;
+        try {
+            Long lastId = 0L;
+            while (true) {
+                List<ExternalEventView> events = getQueuedEventsBatch(lastId, createdBefore, readBatchSize);
+                log.debug("Queued events size: {}", events.size());
+                if (events.isEmpty()) {
+                    break;
+                }
+                run.dispatch(events);
+                lastId = events.get(events.size() - 1).getId();
+                if (events.size() < readBatchSize || run.isFailed() || System.nanoTime() - deadline > 0) {
+                    break;
+                }
+            }
+        } finally {
+            sentEvents = run.awaitCompletion();
+        }
+        log.debug("Sent {} events", sentEvents);
     }
 
-    private void markEventsAsSent(List<Long> eventIds) {
-        OffsetDateTime sentAt = DateUtils.getAuditOffsetDateTime();
-
-        // Partitioning dataset to avoid exception: PreparedStatement can have at most 65,535 parameters
-        final int partitionSize = fineractProperties.getEvents().getExternal().getPartitionSize();
-        List<List<Long>> partitions = Lists.partition(eventIds, partitionSize);
-        partitions //
-                .forEach(partitionedEventIds -> {
-                    measure(() -> {
-                        repository.markEventsSent(partitionedEventIds, sentAt);
-                    }, timeTaken -> {
-                        log.debug("Took {}ms to update {} events", timeTaken.toMillis(), partitionedEventIds.size());
-                    });
-                });
+    private List<ExternalEventView> getQueuedEventsBatch(Long lastId, OffsetDateTime createdBefore, int readBatchSize) {
+        Pageable batchSize = PageRequest.ofSize(readBatchSize);
+        return measure(() -> {
+            if (createdBefore == null) {
+                return repository.findByStatusAndIdGreaterThanOrderById(ExternalEventStatus.TO_BE_SENT, lastId, batchSize);
+            }
+            return repository.findByStatusAndIdGreaterThanAndCreatedAtBeforeOrderById(ExternalEventStatus.TO_BE_SENT, lastId,
+                    createdBefore, batchSize);
+        }, (events, timeTaken) -> log.debug("Loaded {} events in {}ms", events.size(), timeTaken.toMillis()));
     }
 
-    private Map<Long, List<byte[]>> generatePartitions(List<ExternalEventView> queuedEvents) {
-        Map<Long, List<ExternalEventView>> initialPartitions = queuedEvents.stream().collect(groupingBy(externalEvent -> {
-            Long aggregateRootId = externalEvent.getAggregateRootId();
-            if (aggregateRootId == null) {
-                aggregateRootId = -1L;
-            }
-            return aggregateRootId;
-        }));
-        Map<Long, List<byte[]>> partitions = measure(
-                () -> initialPartitions.entrySet().stream().collect(toMap(Map.Entry::getKey, e -> createMessages(e.getValue()))),
-                timeTaken -> {
-                    log.debug("Took {}ms to create message partitions", timeTaken.toMillis());
-                });
-        return partitions;
+    private OffsetDateTime getSweeperCreatedBefore() {
+        int gracePeriod = fineractProperties.getEvents().getExternal().getOutbox().getSweeperGracePeriodInSeconds();
+        return DateUtils.getAuditOffsetDateTime().minusSeconds(gracePeriod);
     }
 
-    private List<byte[]> createMessages(List<ExternalEventView> events) {
-        try {
-            List<byte[]> messages = new ArrayList<>();
-            for (ExternalEventView event : events) {
-                MessageV1 message = messageFactory.createMessage(event);
-                ByteBuffer toByteBuffer = message.toByteBuffer();
-                byte[] convert = byteBufferConverter.convert(toByteBuffer);
-                messages.add(convert);
-                log.trace("Created message to send with id: [{}], type: [{}], idempotency key: [{}]", message.getId(), message.getType(),
-                        message.getIdempotencyKey());
-            }
-            return messages;
-        } catch (IOException e) {
-            throw new RuntimeException("Error while serializing the message", e);
-        }
+    private Duration getMaxRunDuration() {
+        return Duration.ofSeconds(fineractProperties.getEvents().getExternal().getDispatcher().getMaxRunDurationInSeconds());
     }
 
     private int getBatchSize() {
@@ -35,6 +35,16 @@ public interface ExternalEventRepository extends JpaRepository<ExternalEvent, Lo
 
     List<ExternalEventView> findByStatusOrderById(ExternalEventStatus status, Pageable batchSize);
 
+    List<ExternalEventView> findByStatusAndIdGreaterThanOrderById(ExternalEventStatus status, Long id, Pageable batchSize);
+
+    List<ExternalEventView> findByStatusAndIdGreaterThanAndCreatedAtBeforeOrderById(ExternalEventStatus status, Long id,
+            OffsetDateTime createdAt, Pageable batchSize);
+
+    List<ExternalEventView> findByStatusAndIdInOrderById(ExternalEventStatus status, List<Long> ids);
+
+    List<ExternalEventView> findByStatusAndAggregateRootIdInAndIdLessThanOrderById(ExternalEventStatus status, List<Long> aggregateRootIds,
+            Long id);
+
     @Modifying(flushAutomatically = true)
     @Query("delete from ExternalEvent e where e.status = :status and e.businessDate <= :dateForPurgeCriteria")
     void deleteOlderEventsWithSentStatus(@Param("status") ExternalEventStatus status,
@@ -43,4 +53,18 @@ public interface ExternalEventRepository extends JpaRepository<ExternalEvent, Lo
     @Modifying
     @Query("UPDATE ExternalEvent e SET e.status = org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus.SENT, e.sentAt = :sentAt WHERE e.id IN :ids")
     void markEventsSent(@Param("ids") List<Long> ids, @Param("sentAt") OffsetDateTime sentAt);
+
+    @Modifying
+    @Query("UPDATE ExternalEvent e SET e.claimedBy = :claimedBy, e.claimedUntil = :claimedUntil WHERE e.id IN :ids"
+            + " AND e.status = org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus.TO_BE_SENT"
+            + " AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)")
+    int claimEvents(@Param("ids") List<Long> ids, @Param("claimedBy") String claimedBy, @Param("claimedUntil") OffsetDateTime claimedUntil,
+            @Param("now") OffsetDateTime now);
+
+    @Query("SELECT e.id FROM ExternalEvent e WHERE e.id IN :ids AND e.claimedBy = :claimedBy")
+    List<Long> findClaimedEventIds(@Param("ids") List<Long> ids, @Param("claimedBy") String claimedBy);
+
+    @Modifying
+    @Query("UPDATE ExternalEvent e SET e.claimedBy = NULL, e.claimedUntil = NULL WHERE e.id IN :ids AND e.claimedBy = :claimedBy")
+    void releaseEvents(@Param("ids") List<Long> ids, @Param("claimedBy") String claimedBy);
 }
@@ -73,6 +73,12 @@ public class ExternalEvent extends AbstractPersistableCustom<Long> {
     @Column(name = "aggregate_root_id", nullable = true)
     private Long aggregateRootId;
 
+    @Column(name = "claimed_by", nullable = true)
+    private String claimedBy;
+
+    @Column(name = "claimed_until", nullable = true)
+    private OffsetDateTime claimedUntil;
+
     public ExternalEvent(String type, String category, String schema, byte[] data, String idempotencyKey, Long aggregateRootId) {
         this.type = type;
         this.category = category;
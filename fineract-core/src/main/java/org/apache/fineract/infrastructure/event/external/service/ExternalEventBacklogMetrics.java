@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the number of external events waiting to be sent as the {@code fineract.external.events.backlog} gauge of
+ * every tenant.
+ *
+ * The backlog is only counted when the gauge is read and the count is reused for {@link #REFRESH_INTERVAL_IN_SECONDS}
+ * seconds, so the m_external_event table is not queried unless a registry actually scrapes the meter.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExternalEventBacklogMetrics implements ApplicationListener<ContextRefreshedEvent> {
+
+    static final long REFRESH_INTERVAL_IN_SECONDS = 30;
+
+    private final TenantDetailsService tenantDetailsService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TenantBacklog> backlogs = new ConcurrentHashMap<>();
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        for (FineractPlatformTenant tenant : tenantDetailsService.findAllTenants()) {
+            backlogs.computeIfAbsent(tenant.getTenantIdentifier(), tenantIdentifier -> {
+                TenantBacklog backlog = new TenantBacklog(tenant);
+                Gauge.builder("fineract.external.events.backlog", backlog, TenantBacklog::get)
+                        .description("Number of external events waiting to be sent").tag("tenant", tenantIdentifier)
+                        .register(meterRegistry);
+                return backlog;
+            });
+        }
+    }
+
+    private long countEventsToBeSent(FineractPlatformTenant tenant) {
+        // The gauge is read on the thread of the registry (e.g. a scrape request) which must get its tenant back
+        FineractPlatformTenant previousTenant = ThreadLocalContextUtil.getTenant();
+        ThreadLocalContextUtil.setTenant(tenant);
+        try {
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM m_external_event WHERE status = ?", Long.class,
+                    ExternalEventStatus.TO_BE_SENT.name());
+            return count == null ? 0 : count;
+        } finally {
+            ThreadLocalContextUtil.setTenant(previousTenant);
+        }
+    }
+
+    private final class TenantBacklog {
+
+        private final FineractPlatformTenant tenant;
+        private long count = -1;
+        private long countedAt;
+
+        private TenantBacklog(FineractPlatformTenant tenant) {
+            this.tenant = tenant;
+        }
+
+        private synchronized double get() {
+            long now = System.nanoTime();
+            if (count < 0 || now - countedAt >= TimeUnit.SECONDS.toNanos(REFRESH_INTERVAL_IN_SECONDS)) {
+                try {
+                    count = countEventsToBeSent(tenant);
+                    countedAt = now;
+                } catch (Exception e) {
+                    log.warn("Error occurred while counting the external events of tenant {}: ", tenant.getTenantIdentifier(), e);
+                    return count < 0 ? Double.NaN : count;
+                }
+            }
+            return count;
+        }
+    }
+}
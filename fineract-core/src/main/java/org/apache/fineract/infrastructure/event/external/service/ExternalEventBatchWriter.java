@@ -0,0 +1,150 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Collects the external events raised within a transaction and writes them with a single JDBC batch insert right
+ * before the transaction commits. The persistence context is flushed once before the events are serialized, so the
+ * serializers and enrichers reading through JDBC see the changes of the transaction. The generated ids are set back on
+ * the {@link ExternalEvent} instances and the events are handed over to the {@link ExternalEventOutbox}.
+ *
+ * Outside of a transaction with active synchronization the event is serialized and saved right away.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ExternalEventBatchWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final ExternalEventRepository repository;
+    private final ExternalEventOutbox outbox;
+
+    private EntityManager entityManager;
+
+    /**
+     * Queues an external event of the current transaction.
+     *
+     * @param externalEventFactory
+     *            serializes the event, called right before the transaction commits
+     */
+    public void write(Supplier<ExternalEvent> externalEventFactory) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            repository.save(externalEventFactory.get());
+            return;
+        }
+        // Looking the buffer up among the synchronizations of the current transaction (instead of binding it as a
+        // resource) makes sure that a suspended outer transaction never receives the events of an inner one
+        PendingEvents pendingEvents = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingEvents.class::isInstance).map(PendingEvents.class::cast).findFirst().orElse(null);
+        if (pendingEvents == null) {
+            pendingEvents = new PendingEvents();
+            TransactionSynchronizationManager.registerSynchronization(pendingEvents);
+        }
+        pendingEvents.externalEventFactories.add(externalEventFactory);
+    }
+
+    @PersistenceContext
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    private void insert(List<ExternalEvent> events) {
+        String sql = "INSERT INTO m_external_event (type, category, " + sqlGenerator.escape("schema")
+                + ", data, created_at, status, idempotency_key, business_date, aggregate_root_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        measure(() -> {
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(sql, new String[] { "id" }), new BatchPreparedStatementSetter() {
+
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ExternalEvent event = events.get(i);
+                    ps.setString(1, event.getType());
+                    ps.setString(2, event.getCategory());
+                    ps.setString(3, event.getSchema());
+                    ps.setBytes(4, event.getData());
+                    // Same conversion as the entity mapping: the instant as a timestamp of the system time zone, which is
+                    // how JdbcSupport.getOffsetDateTime reads it back
+                    ps.setTimestamp(5, Timestamp.from(event.getCreatedAt().toInstant()));
+                    ps.setString(6, event.getStatus().name());
+                    ps.setString(7, event.getIdempotencyKey());
+                    ps.setObject(8, event.getBusinessDate());
+                    ps.setObject(9, event.getAggregateRootId());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return events.size();
+                }
+            }, keyHolder);
+        }, timeTaken -> log.debug("Took {}ms to insert {} events", timeTaken.toMillis(), events.size()));
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < keys.size() && i < events.size(); i++) {
+            // The generated key column is reported under different names by the different drivers
+            Object id = keys.get(i).values().iterator().next();
+            events.get(i).setId(((Number) id).longValue());
+        }
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<Supplier<ExternalEvent>> externalEventFactories = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (externalEventFactories.isEmpty()) {
+                return;
+            }
+            entityManager.flush();
+            List<ExternalEvent> events = new ArrayList<>(externalEventFactories.size());
+            // A serializer might raise further events, those are appended to the list while iterating over it
+            for (int i = 0; i < externalEventFactories.size(); i++) {
+                events.add(externalEventFactories.get(i).get());
+            }
+            insert(events);
+            events.forEach(outbox::register);
+            log.debug("Queued {} external events", events.size());
+        }
+    }
+}
@@ -0,0 +1,362 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static org.apache.fineract.infrastructure.core.diagnostics.performance.MeasuringUtil.measure;
+
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.avro.MessageV1;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsDispatcherProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
+import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Sends queued external events on a fixed set of worker lanes.
+ *
+ * Events are assigned to a lane by their aggregate root id and every lane is served by a single thread, so events of
+ * the same aggregate are serialized, sent and marked as sent in the order they were raised while unrelated aggregates
+ * are processed in parallel. Before being handed over to a lane the events are claimed for the current run with a
+ * lease of {@code fineract.events.external.dispatcher.claim-lease-in-seconds}, so the outbox fast path and the sweeper
+ * job, on this or on any other node, never send the same event twice or overtake each other on an aggregate. The
+ * number of events handed over to the lanes but not yet marked as sent is limited by
+ * {@code fineract.events.external.dispatcher.max-in-flight-events}; callers block in
+ * {@link DispatchRun#dispatch(List)} until there is room again.
+ */
+@Slf4j
+@Component
+public class ExternalEventDispatcher implements DisposableBean {
+
+    private static final long NO_AGGREGATE_ROOT_ID = -1L;
+
+    private final FineractProperties fineractProperties;
+    private final ExternalEventRepository repository;
+    private final ExternalEventProducer eventProducer;
+    private final MessageFactory messageFactory;
+    private final ByteBufferConverter byteBufferConverter;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final List<ThreadPoolTaskExecutor> workers;
+    private final int maxInFlightEvents;
+    private final Semaphore inFlightPermits;
+    private final AtomicInteger inFlightEvents = new AtomicInteger();
+    private final AtomicLong lagInMillis = new AtomicLong();
+    private final Timer dispatchTimer;
+
+    public ExternalEventDispatcher(FineractProperties fineractProperties, ExternalEventRepository repository,
+            ExternalEventProducer eventProducer, MessageFactory messageFactory, ByteBufferConverter byteBufferConverter,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Qualifier(TaskExecutorConstant.EXTERNAL_EVENT_DISPATCHER_TASK_EXECUTOR_BEAN_NAME)
+            ObjectProvider<ThreadPoolTaskExecutor> laneExecutors) {
+        this.fineractProperties = fineractProperties;
+        this.repository = repository;
+        this.eventProducer = eventProducer;
+        this.messageFactory = messageFactory;
+        this.byteBufferConverter = byteBufferConverter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+
+        FineractExternalEventsDispatcherProperties dispatcherProperties = fineractProperties.getEvents().getExternal().getDispatcher();
+        int workerCount = Math.max(1, dispatcherProperties.getWorkerCount());
+        // Every lane gets a single threaded executor of its own, which keeps the events of the lane in order
+        this.workers = IntStream.range(0, workerCount).mapToObj(i -> {
+            ThreadPoolTaskExecutor laneExecutor = laneExecutors.getObject();
+            laneExecutor.setThreadNamePrefix("externalEventDispatcher-" + i + "-");
+            return laneExecutor;
+        }).toList();
+        this.maxInFlightEvents = Math.max(1, dispatcherProperties.getMaxInFlightEvents());
+        this.inFlightPermits = new Semaphore(maxInFlightEvents);
+
+        meterRegistry.gauge("fineract.external.events.in-flight", inFlightEvents);
+        TimeGauge.builder("fineract.external.events.lag", lagInMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time between raising and sending the most recently sent external event").register(meterRegistry);
+        this.dispatchTimer = Timer.builder("fineract.external.events.dispatch")
+                .description("Time taken to serialize, send and mark a batch of external events as sent").register(meterRegistry);
+    }
+
+    /**
+     * Starts a new dispatch run bound to the Fineract context of the calling thread.
+     */
+    public DispatchRun startRun() {
+        return new DispatchRun(ThreadLocalContextUtil.getContext());
+    }
+
+    @Override
+    public void destroy() {
+        workers.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    private int getLane(ExternalEventView event) {
+        Long aggregateRootId = event.getAggregateRootId();
+        return Math.floorMod(Long.hashCode(aggregateRootId == null ? NO_AGGREGATE_ROOT_ID : aggregateRootId), workers.size());
+    }
+
+    private Map<Long, List<byte[]>> generatePartitions(List<ExternalEventView> events) {
+        Map<Long, List<byte[]>> partitions = new LinkedHashMap<>();
+        for (ExternalEventView event : events) {
+            Long aggregateRootId = event.getAggregateRootId();
+            if (aggregateRootId == null) {
+                aggregateRootId = NO_AGGREGATE_ROOT_ID;
+            }
+            partitions.computeIfAbsent(aggregateRootId, k -> new ArrayList<>()).add(createMessage(event));
+        }
+        return partitions;
+    }
+
+    private byte[] createMessage(ExternalEventView event) {
+        try {
+            MessageV1 message = messageFactory.createMessage(event);
+            ByteBuffer toByteBuffer = message.toByteBuffer();
+            byte[] convert = byteBufferConverter.convert(toByteBuffer);
+            log.trace("Created message to send with id: [{}], type: [{}], idempotency key: [{}]", message.getId(), message.getType(),
+                    message.getIdempotencyKey());
+            return convert;
+        } catch (IOException e) {
+            throw new RuntimeException("Error while serializing the message", e);
+        }
+    }
+
+    private void markEventsAsSent(List<Long> eventIds) {
+        OffsetDateTime sentAt = DateUtils.getAuditOffsetDateTime();
+
+        // Partitioning dataset to avoid exception: PreparedStatement can have at most 65,535 parameters
+        final int partitionSize = fineractProperties.getEvents().getExternal().getPartitionSize();
+        List<List<Long>> partitions = Lists.partition(eventIds, partitionSize);
+        transactionTemplate.executeWithoutResult(status -> partitions.forEach(partitionedEventIds -> {
+            measure(() -> {
+                repository.markEventsSent(partitionedEventIds, sentAt);
+            }, timeTaken -> {
+                log.debug("Took {}ms to update {} events", timeTaken.toMillis(), partitionedEventIds.size());
+            });
+        }));
+    }
+
+    /**
+     * Claims the given events in a transaction of its own, so the claims are visible to every other sender before any
+     * of the events is sent.
+     *
+     * @return the ids of the events claimed by {@code claimToken}
+     */
+    private Set<Long> claimEvents(String claimToken, List<Long> eventIds) {
+        OffsetDateTime now = DateUtils.getAuditOffsetDateTime();
+        OffsetDateTime claimedUntil = now
+                .plusSeconds(fineractProperties.getEvents().getExternal().getDispatcher().getClaimLeaseInSeconds());
+        final int partitionSize = fineractProperties.getEvents().getExternal().getPartitionSize();
+        Set<Long> claimedIds = new HashSet<>();
+        transactionTemplate.executeWithoutResult(status -> Lists.partition(eventIds, partitionSize).forEach(partitionedEventIds -> {
+            repository.claimEvents(partitionedEventIds, claimToken, claimedUntil, now);
+            claimedIds.addAll(repository.findClaimedEventIds(partitionedEventIds, claimToken));
+        }));
+        return claimedIds;
+    }
+
+    private void releaseEvents(String claimToken, List<Long> eventIds) {
+        final int partitionSize = fineractProperties.getEvents().getExternal().getPartitionSize();
+        try {
+            transactionTemplate.executeWithoutResult(status -> Lists.partition(eventIds, partitionSize)
+                    .forEach(partitionedEventIds -> repository.releaseEvents(partitionedEventIds, claimToken)));
+        } catch (Exception e) {
+            // The claims simply expire with their lease
+            log.warn("Error occurred while releasing the claim of {} events: ", eventIds.size(), e);
+        }
+    }
+
+    private void recordLag(ExternalEventView lastSentEvent) {
+        OffsetDateTime createdAt = lastSentEvent.getCreatedAt();
+        if (createdAt != null) {
+            lagInMillis.set(Math.max(0, Duration.between(createdAt, DateUtils.getAuditOffsetDateTime()).toMillis()));
+        }
+    }
+
+    /**
+     * A single pass over the queued events. Batches handed over with {@link #dispatch(List)} are processed
+     * asynchronously; once any batch fails the remaining ones are skipped so that no event overtakes an unsent
+     * predecessor of the same aggregate.
+     */
+    public class DispatchRun {
+
+        private final FineractContext context;
+        private final String tenantIdentifier;
+        private final String claimToken = UUID.randomUUID().toString();
+        private final Set<Long> blockedAggregateRootIds = new HashSet<>();
+        private final AtomicBoolean failed = new AtomicBoolean();
+        private final AtomicInteger sentEvents = new AtomicInteger();
+        private final List<Future<?>> tasks = new ArrayList<>();
+
+        private DispatchRun(FineractContext context) {
+            this.context = context;
+            this.tenantIdentifier = context.getTenantContext() == null ? "" : context.getTenantContext().getTenantIdentifier();
+        }
+
+        /**
+         * Claims and sends the given events, which must be ordered by id.
+         */
+        public void dispatch(List<ExternalEventView> events) {
+            Map<Integer, List<ExternalEventView>> lanes = claim(events).stream()
+                    .collect(groupingBy(ExternalEventDispatcher.this::getLane, LinkedHashMap::new, toList()));
+            for (Map.Entry<Integer, List<ExternalEventView>> lane : lanes.entrySet()) {
+                List<ExternalEventView> laneEvents = lane.getValue();
+                int permits = Math.min(laneEvents.size(), maxInFlightEvents);
+                try {
+                    inFlightPermits.acquire(permits);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failed.set(true);
+                    return;
+                }
+                inFlightEvents.addAndGet(laneEvents.size());
+                tasks.add(workers.get(lane.getKey()).submit(() -> process(laneEvents, permits)));
+            }
+        }
+
+        public boolean isFailed() {
+            return failed.get();
+        }
+
+        /**
+         * Claims the events for this run. Once an event of an aggregate can't be claimed, because another run is sending
+         * it or has just sent it, neither that event nor any later event of the same aggregate is sent during this run.
+         */
+        private List<ExternalEventView> claim(List<ExternalEventView> events) {
+            List<ExternalEventView> candidates = events.stream().filter(event -> !isBlocked(event)).toList();
+            if (candidates.isEmpty()) {
+                return List.of();
+            }
+            Set<Long> claimedIds = claimEvents(claimToken, candidates.stream().map(ExternalEventView::getId).toList());
+            List<ExternalEventView> claimedEvents = new ArrayList<>();
+            List<Long> releasedIds = new ArrayList<>();
+            for (ExternalEventView event : candidates) {
+                boolean claimed = claimedIds.contains(event.getId());
+                if (isBlocked(event)) {
+                    if (claimed) {
+                        releasedIds.add(event.getId());
+                    }
+                } else if (claimed) {
+                    claimedEvents.add(event);
+                } else if (event.getAggregateRootId() != null) {
+                    blockedAggregateRootIds.add(event.getAggregateRootId());
+                }
+            }
+            if (!releasedIds.isEmpty()) {
+                releaseEvents(claimToken, releasedIds);
+            }
+            if (claimedEvents.size() < candidates.size()) {
+                log.debug("Claimed {} of {} events, the rest is being sent by another run", claimedEvents.size(), candidates.size());
+            }
+            return claimedEvents;
+        }
+
+        private boolean isBlocked(ExternalEventView event) {
+            return event.getAggregateRootId() != null && blockedAggregateRootIds.contains(event.getAggregateRootId());
+        }
+
+        /**
+         * Waits until every dispatched batch is either sent or skipped.
+         *
+         * @return the number of events sent and marked as sent during this run
+         */
+        public int awaitCompletion() {
+            for (Future<?> task : tasks) {
+                try {
+                    task.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    failed.set(true);
+                    break;
+                } catch (ExecutionException e) {
+                    failed.set(true);
+                    log.error("Error occurred while dispatching events: ", e.getCause());
+                }
+            }
+            return sentEvents.get();
+        }
+
+        private void process(List<ExternalEventView> events, int permits) {
+            List<Long> eventIds = events.stream().map(ExternalEventView::getId).toList();
+            try {
+                ThreadLocalContextUtil.init(context);
+                if (failed.get()) {
+                    log.debug("Skipping {} events due to an earlier failure in this run", events.size());
+                    releaseEvents(claimToken, eventIds);
+                    return;
+                }
+                dispatchTimer.record(() -> {
+                    Map<Long, List<byte[]>> partitions = measure(() -> generatePartitions(events),
+                            timeTaken -> log.debug("Took {}ms to create message partitions", timeTaken.toMillis()));
+                    eventProducer.sendEvents(partitions);
+                    markEventsAsSent(eventIds);
+                });
+                sentEvents.addAndGet(events.size());
+                meterRegistry.counter("fineract.external.events.dispatched", "tenant", tenantIdentifier, "outcome", "sent")
+                        .increment(events.size());
+                recordLag(events.get(events.size() - 1));
+            } catch (Exception e) {
+                failed.set(true);
+                meterRegistry.counter("fineract.external.events.dispatched", "tenant", tenantIdentifier, "outcome", "failed")
+                        .increment(events.size());
+                log.error("Error occurred while processing events: ", e);
+                releaseEvents(claimToken, eventIds);
+            } finally {
+                inFlightEvents.addAndGet(-events.size());
+                inFlightPermits.release(permits);
+                ThreadLocalContextUtil.reset();
+            }
+        }
+    }
+}
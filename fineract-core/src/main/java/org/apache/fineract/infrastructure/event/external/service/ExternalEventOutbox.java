@@ -0,0 +1,221 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import com.google.common.collect.Lists;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractExternalEventsProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Transactional outbox fast path for external events.
+ *
+ * When enabled, the events written by {@link ExternalEventBatchWriter} are collected per transaction and, once the
+ * transaction is committed, their ids are put onto an in-process queue. A single consumer thread drains the queue and
+ * sends the events right away through the {@link ExternalEventDispatcher}. The m_external_event table remains the
+ * durable log: anything that doesn't make it through the fast path (full queue, failed send, node shutdown) stays in
+ * TO_BE_SENT status and is picked up by the Send Asynchronous Events job acting as a sweeper. The dispatcher claims
+ * the events before sending them, so the fast path and the sweeper never send the same event twice.
+ */
+@Slf4j
+@Component
+public class ExternalEventOutbox implements DisposableBean {
+
+    private static final int MAX_DRAIN_SIZE = 1000;
+
+    private final FineractProperties fineractProperties;
+    private final ExternalEventRepository repository;
+    private final ExternalEventDispatcher dispatcher;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter droppedCounter;
+
+    private final boolean enabled;
+    private final BlockingQueue<CommittedEvents> queue;
+    private final Future<?> consumer;
+    private volatile boolean running = true;
+
+    public ExternalEventOutbox(FineractProperties fineractProperties, ExternalEventRepository repository,
+            ExternalEventDispatcher dispatcher, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Qualifier(TaskExecutorConstant.EXTERNAL_EVENT_OUTBOX_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor consumerTaskExecutor) {
+        this.fineractProperties = fineractProperties;
+        this.repository = repository;
+        this.dispatcher = dispatcher;
+        // The events are loaded right after their transaction commits, so they are read from the primary rather than a
+        // possibly lagging read replica
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.droppedCounter = Counter.builder("fineract.external.events.outbox.dropped")
+                .description("Committed external events left for the sweeper because the outbox queue was full").register(meterRegistry);
+
+        FineractExternalEventsProperties externalProperties = fineractProperties.getEvents().getExternal();
+        this.enabled = externalProperties.getOutbox() != null && externalProperties.getOutbox().isEnabled()
+                && (externalProperties.getProducer().getJms().isEnabled() || externalProperties.getProducer().getKafka().isEnabled());
+        if (enabled) {
+            this.queue = new LinkedBlockingQueue<>(Math.max(1, externalProperties.getOutbox().getQueueCapacity()));
+            this.consumer = consumerTaskExecutor.submit(this::consume);
+        } else {
+            this.queue = null;
+            this.consumer = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers a freshly saved event to be sent right after the current transaction commits. Without an active
+     * transaction synchronization the event is left for the sweeper.
+     */
+    public void register(ExternalEvent externalEvent) {
+        if (!enabled || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        PendingEvents pendingEvents = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingEvents.class::isInstance).map(PendingEvents.class::cast).findFirst().orElse(null);
+        if (pendingEvents == null) {
+            pendingEvents = new PendingEvents();
+            TransactionSynchronizationManager.registerSynchronization(pendingEvents);
+        }
+        pendingEvents.events.add(externalEvent);
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (consumer != null) {
+            consumer.cancel(true);
+        }
+    }
+
+    private void consume() {
+        while (running) {
+            try {
+                CommittedEvents first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<CommittedEvents> drained = new ArrayList<>();
+                drained.add(first);
+                queue.drainTo(drained, MAX_DRAIN_SIZE);
+                Map<String, List<CommittedEvents>> byTenant = new LinkedHashMap<>();
+                for (CommittedEvents committedEvents : drained) {
+                    byTenant.computeIfAbsent(committedEvents.context.getTenantContext().getTenantIdentifier(), k -> new ArrayList<>())
+                            .add(committedEvents);
+                }
+                byTenant.values().forEach(this::send);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Error occurred while consuming the external event outbox: ", e);
+            }
+        }
+    }
+
+    private void send(List<CommittedEvents> tenantEvents) {
+        ThreadLocalContextUtil.init(tenantEvents.get(0).context);
+        try {
+            List<Long> eventIds = tenantEvents.stream().flatMap(committedEvents -> committedEvents.eventIds.stream()).toList();
+            List<ExternalEventView> events = transactionTemplate.execute(status -> loadEvents(eventIds));
+            if (events == null || events.isEmpty()) {
+                return;
+            }
+            ExternalEventDispatcher.DispatchRun run = dispatcher.startRun();
+            run.dispatch(events);
+            int sentEvents = run.awaitCompletion();
+            log.debug("Sent {} events through the outbox", sentEvents);
+        } catch (Exception e) {
+            log.warn("Error occurred while sending events through the outbox, leaving them for the sweeper: ", e);
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    /**
+     * Loads the committed events together with the earlier, still unsent events of the same aggregates so that a
+     * transaction whose after-commit hook fired late can never be overtaken by a later one.
+     */
+    private List<ExternalEventView> loadEvents(List<Long> eventIds) {
+        final int partitionSize = fineractProperties.getEvents().getExternal().getPartitionSize();
+        TreeMap<Long, ExternalEventView> events = new TreeMap<>();
+        for (List<Long> partitionedEventIds : Lists.partition(eventIds, partitionSize)) {
+            repository.findByStatusAndIdInOrderById(ExternalEventStatus.TO_BE_SENT, partitionedEventIds)
+                    .forEach(event -> events.put(event.getId(), event));
+        }
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        Long maxId = events.lastKey();
+        List<Long> aggregateRootIds = events.values().stream().map(ExternalEventView::getAggregateRootId).filter(Objects::nonNull)
+                .distinct().toList();
+        for (List<Long> partitionedAggregateRootIds : Lists.partition(aggregateRootIds, partitionSize)) {
+            repository.findByStatusAndAggregateRootIdInAndIdLessThanOrderById(ExternalEventStatus.TO_BE_SENT, partitionedAggregateRootIds,
+                    maxId).forEach(event -> events.putIfAbsent(event.getId(), event));
+        }
+        return new ArrayList<>(events.values());
+    }
+
+    private record CommittedEvents(FineractContext context, List<Long> eventIds) {
+    }
+
+    private final class PendingEvents implements TransactionSynchronization {
+
+        private final List<ExternalEvent> events = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            // The ids are only guaranteed to be assigned once the persistence context has been flushed by the commit
+            List<Long> eventIds = events.stream().map(ExternalEvent::getId).filter(Objects::nonNull).toList();
+            if (eventIds.isEmpty()) {
+                return;
+            }
+            if (!queue.offer(new CommittedEvents(ThreadLocalContextUtil.getContext(), eventIds))) {
+                droppedCounter.increment(eventIds.size());
+                log.debug("External event outbox queue is full, leaving {} events for the sweeper", eventIds.size());
+            }
+        }
+    }
+}
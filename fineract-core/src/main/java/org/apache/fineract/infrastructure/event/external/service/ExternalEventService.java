@@ -18,11 +18,8 @@
  */
 package org.apache.fineract.infrastructure.event.external.service;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,7 +29,6 @@ import org.apache.fineract.avro.generator.ByteBufferSerializable;
 import org.apache.fineract.infrastructure.core.service.DataEnricherProcessor;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
-import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
 import org.apache.fineract.infrastructure.event.external.service.idempotency.ExternalEventIdempotencyKeyGenerator;
 import org.apache.fineract.infrastructure.event.external.service.message.BulkMessageItemFactory;
@@ -48,47 +44,38 @@ import org.springframework.transaction.annotation.Transactional;
 @Slf4j
 public class ExternalEventService {
 
-    private final ExternalEventRepository repository;
+    private final ExternalEventBatchWriter batchWriter;
     private final ExternalEventIdempotencyKeyGenerator idempotencyKeyGenerator;
     private final BusinessEventSerializerFactory serializerFactory;
     private final ByteBufferConverter byteBufferConverter;
     private final BulkMessageItemFactory bulkMessageItemFactory;
     private final DataEnricherProcessor dataEnricherProcessor;
 
-    private EntityManager entityManager;
-
     public <T> void postEvent(BusinessEvent<T> event) {
         if (event == null) {
             throw new IllegalArgumentException("event cannot be null");
         }
 
+        // The event is serialized right before the transaction commits, the idempotency key is generated right away
+        String idempotencyKey = idempotencyKeyGenerator.generate(event);
+        batchWriter.write(() -> serialize(event, idempotencyKey));
+        log.debug("Queued message with idempotency key: [{}] of type [{}] and category [{}]", idempotencyKey, event.getType(),
+                event.getCategory());
+    }
+
+    private <T> ExternalEvent serialize(BusinessEvent<T> event, String idempotencyKey) {
         try {
-            flushChangesBeforeSerialization();
-            ExternalEvent externalEvent;
             if (event instanceof BulkBusinessEvent) {
-                externalEvent = handleBulkBusinessEvent((BulkBusinessEvent) event);
-            } else {
-                externalEvent = handleRegularBusinessEvent(event);
+                return handleBulkBusinessEvent((BulkBusinessEvent) event, idempotencyKey);
             }
-            repository.save(externalEvent);
-            log.debug("Saved message with idempotency key: [{}] of type [{}] and category [{}]", externalEvent.getIdempotencyKey(),
-                    externalEvent.getType(), externalEvent.getCategory());
+            return handleRegularBusinessEvent(event, idempotencyKey);
         } catch (IOException e) {
             throw new RuntimeException("Error while serializing event " + event.getClass().getSimpleName(), e);
         }
-
     }
 
-    private ExternalEvent handleBulkBusinessEvent(BulkBusinessEvent bulkBusinessEvent) throws IOException {
-        List<BulkMessageItemV1> messages = new ArrayList<>();
-        List<BusinessEvent<?>> events = bulkBusinessEvent.get();
-        for (int i = 0; i < events.size(); i++) {
-            BusinessEvent<?> event = events.get(i);
-            int id = i + 1;
-            BulkMessageItemV1 message = bulkMessageItemFactory.createBulkMessageItem(id, event);
-            messages.add(message);
-        }
-        String idempotencyKey = idempotencyKeyGenerator.generate(bulkBusinessEvent);
+    private ExternalEvent handleBulkBusinessEvent(BulkBusinessEvent bulkBusinessEvent, String idempotencyKey) throws IOException {
+        List<BulkMessageItemV1> messages = bulkMessageItemFactory.createBulkMessageItems(bulkBusinessEvent.get());
         BulkMessagePayloadV1 avroDto = new BulkMessagePayloadV1(messages);
         byte[] data = byteBufferConverter.convert(avroDto.toByteBuffer());
 
@@ -96,10 +83,9 @@ public class ExternalEventService {
                 idempotencyKey, bulkBusinessEvent.getAggregateRootId());
     }
 
-    private <T> ExternalEvent handleRegularBusinessEvent(BusinessEvent<T> event) throws IOException {
+    private <T> ExternalEvent handleRegularBusinessEvent(BusinessEvent<T> event, String idempotencyKey) throws IOException {
         String eventType = event.getType();
         String eventCategory = event.getCategory();
-        String idempotencyKey = idempotencyKeyGenerator.generate(event);
         BusinessEventSerializer serializer = serializerFactory.create(event);
         String schema = serializer.getSupportedSchema().getName();
         ByteBufferSerializable avroDto = dataEnricherProcessor.enrich(serializer.toAvroDTO(event));
@@ -109,13 +95,4 @@ public class ExternalEventService {
 
         return new ExternalEvent(eventType, eventCategory, schema, data, idempotencyKey, aggregateRootId);
     }
-
-    private void flushChangesBeforeSerialization() {
-        entityManager.flush();
-    }
-
-    @PersistenceContext
-    public void setEntityManager(EntityManager entityManager) {
-        this.entityManager = entityManager;
-    }
 }
@@ -57,6 +57,8 @@ public enum JobName {
     SEND_ASYNCHRONOUS_EVENTS("Send Asynchronous Events"), //
     PURGE_EXTERNAL_EVENTS("Purge External Events"), //
     PURGE_PROCESSED_COMMANDS("Purge Processed Commands"), //
+    RETRY_HOOK_DELIVERIES("Retry Hook Deliveries"), //
+    REBUILD_SEARCH_INDEX("Rebuild Search Index"), //
     ;
 
     private final String name;
@@ -44,11 +44,11 @@ public class Money implements Comparable<Money> {
         if (monies.length == 0) {
             throw new IllegalArgumentException("Money array must not be empty");
         }
-        Money total = monies[0];
+        MoneyAccumulator total = MoneyAccumulator.of(monies[0]);
         for (int i = 1; i < monies.length; i++) {
-            total = total.plus(monies[i]);
+            total.plus(monies[i]);
         }
-        return total;
+        return total.toMoney();
     }
 
     public static Money total(final Iterable<? extends Money> monies) {
@@ -56,11 +56,11 @@ public class Money implements Comparable<Money> {
         if (it.hasNext() == false) {
             throw new IllegalArgumentException("Money iterator must not be empty");
         }
-        Money total = it.next();
+        MoneyAccumulator total = MoneyAccumulator.of(it.next());
         while (it.hasNext()) {
-            total = total.plus(it.next());
+            total.plus(it.next());
         }
-        return total;
+        return total.toMoney();
     }
 
     public static Money of(final MonetaryCurrency currency, final BigDecimal newAmount) {
@@ -91,17 +91,23 @@ public class Money implements Comparable<Money> {
         this.currencyCode = currencyCode;
         this.currencyDigitsAfterDecimal = digitsAfterDecimal;
         this.inMultiplesOf = inMultiplesOf;
+        this.amount = round(defaultToZeroIfNull(amount), digitsAfterDecimal, inMultiplesOf);
+    }
 
-        final BigDecimal amountZeroed = defaultToZeroIfNull(amount);
-        final BigDecimal amountStripped = amountZeroed.stripTrailingZeros();
-        BigDecimal amountScaled = amountStripped;
+    /**
+     * Rounds the amount the way every {@link Money} amount is rounded. Amounts that are already rounded are returned as
+     * they are, without creating a new {@link BigDecimal}.
+     */
+    static BigDecimal round(final BigDecimal amount, final int digitsAfterDecimal, final Integer inMultiplesOf) {
+        BigDecimal amountScaled = amount;
 
         // round monetary amounts into multiplesof say 20/50.
-        if (inMultiplesOf != null && this.currencyDigitsAfterDecimal == 0 && inMultiplesOf > 0 && amountScaled.doubleValue() > 0) {
+        if (inMultiplesOf != null && digitsAfterDecimal == 0 && inMultiplesOf > 0 && amountScaled.doubleValue() > 0) {
             final double existingVal = amountScaled.doubleValue();
             amountScaled = BigDecimal.valueOf(roundToMultiplesOf(existingVal, inMultiplesOf));
         }
-        this.amount = amountScaled.setScale(this.currencyDigitsAfterDecimal, MoneyHelper.getRoundingMode());
+        // Trailing zeros don't change the rounded value, so there is no need to strip them first
+        return amountScaled.setScale(digitsAfterDecimal, MoneyHelper.getRoundingMode());
     }
 
     public static double roundToMultiplesOf(final double existingVal, final Integer inMultiplesOf) {
@@ -180,7 +186,7 @@ public class Money implements Comparable<Money> {
             final Money money = checkCurrencyEqual(moneyProvider);
             total = total.add(money.amount);
         }
-        return Money.of(monetaryCurrency(), total);
+        return withAmount(total);
     }
 
     public Money plus(final Money moneyToAdd) {
@@ -193,7 +199,7 @@ public class Money implements Comparable<Money> {
             return this;
         }
         final BigDecimal newAmount = this.amount.add(amountToAdd);
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     public Money plus(final double amountToAdd) {
@@ -201,7 +207,7 @@ public class Money implements Comparable<Money> {
             return this;
         }
         final BigDecimal newAmount = this.amount.add(BigDecimal.valueOf(amountToAdd));
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     public Money minus(final Money moneyToSubtract) {
@@ -219,7 +225,7 @@ public class Money implements Comparable<Money> {
             return this;
         }
         final BigDecimal newAmount = this.amount.add(amountToAdd);
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     public Money minus(final BigDecimal amountToSubtract) {
@@ -227,7 +233,7 @@ public class Money implements Comparable<Money> {
             return this;
         }
         final BigDecimal newAmount = this.amount.subtract(amountToSubtract);
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     private Money checkCurrencyEqual(final Money money) {
@@ -246,7 +252,7 @@ public class Money implements Comparable<Money> {
             return this;
         }
         final BigDecimal newAmount = this.amount.divide(valueToDivideBy, roundingMode);
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     public Money dividedBy(final double valueToDivideBy, final RoundingMode roundingMode) {
@@ -254,7 +260,7 @@ public class Money implements Comparable<Money> {
             return this;
         }
         final BigDecimal newAmount = this.amount.divide(BigDecimal.valueOf(valueToDivideBy), roundingMode);
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     public Money dividedBy(final long valueToDivideBy, final RoundingMode roundingMode) {
@@ -262,7 +268,7 @@ public class Money implements Comparable<Money> {
             return this;
         }
         final BigDecimal newAmount = this.amount.divide(BigDecimal.valueOf(valueToDivideBy), roundingMode);
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     public Money multipliedBy(final BigDecimal valueToMultiplyBy) {
@@ -270,7 +276,7 @@ public class Money implements Comparable<Money> {
             return this;
         }
         final BigDecimal newAmount = this.amount.multiply(valueToMultiplyBy);
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     public Money multipliedBy(final double valueToMultiplyBy) {
@@ -278,7 +284,7 @@ public class Money implements Comparable<Money> {
             return this;
         }
         final BigDecimal newAmount = this.amount.multiply(BigDecimal.valueOf(valueToMultiplyBy));
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     public Money multipliedBy(final long valueToMultiplyBy) {
@@ -286,7 +292,7 @@ public class Money implements Comparable<Money> {
             return this;
         }
         final BigDecimal newAmount = this.amount.multiply(BigDecimal.valueOf(valueToMultiplyBy));
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     public Money multiplyRetainScale(final BigDecimal valueToMultiplyBy, final RoundingMode roundingMode) {
@@ -295,7 +301,7 @@ public class Money implements Comparable<Money> {
         }
         BigDecimal newAmount = this.amount.multiply(valueToMultiplyBy);
         newAmount = newAmount.setScale(this.currencyDigitsAfterDecimal, roundingMode);
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     public Money multiplyRetainScale(final double valueToMultiplyBy, final RoundingMode roundingMode) {
@@ -304,7 +310,7 @@ public class Money implements Comparable<Money> {
 
     public Money percentageOf(BigDecimal percentage, final RoundingMode roundingMode) {
         final BigDecimal newAmount = this.amount.multiply(percentage).divide(BigDecimal.valueOf(100), roundingMode);
-        return Money.of(monetaryCurrency(), newAmount);
+        return withAmount(newAmount);
     }
 
     @Override
@@ -317,7 +323,7 @@ public class Money implements Comparable<Money> {
     }
 
     public boolean isZero() {
-        return isEqualTo(Money.zero(getCurrency()));
+        return this.amount.signum() == 0;
     }
 
     public boolean isEqualTo(final Money other) {
@@ -337,7 +343,7 @@ public class Money implements Comparable<Money> {
     }
 
     public boolean isGreaterThanZero() {
-        return isGreaterThan(Money.zero(getCurrency()));
+        return this.amount.signum() > 0;
     }
 
     public boolean isLessThan(final Money other) {
@@ -345,7 +351,7 @@ public class Money implements Comparable<Money> {
     }
 
     public boolean isLessThanZero() {
-        return isLessThan(Money.zero(getCurrency()));
+        return this.amount.signum() < 0;
     }
 
     public String getCurrencyCode() {
@@ -385,7 +391,7 @@ public class Money implements Comparable<Money> {
         if (isZero()) {
             return this;
         }
-        return Money.of(monetaryCurrency(), this.amount.negate());
+        return withAmount(this.amount.negate());
     }
 
     public Money abs() {
@@ -396,6 +402,10 @@ public class Money implements Comparable<Money> {
         return monetaryCurrency();
     }
 
+    private Money withAmount(final BigDecimal newAmount) {
+        return new Money(this.currencyCode, this.currencyDigitsAfterDecimal, newAmount, this.inMultiplesOf);
+    }
+
     private MonetaryCurrency monetaryCurrency() {
         return new MonetaryCurrency(this.currencyCode, this.currencyDigitsAfterDecimal, this.inMultiplesOf);
     }
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Mutable running total of amounts in a single currency.
+ *
+ * Summing up with {@code total = total.plus(money)} creates a new {@link Money} and rounds its amount on every step.
+ * The accumulator only keeps the running {@link BigDecimal} and creates the {@link Money} once, when
+ * {@link #toMoney()} is called. Every step is rounded exactly like {@link Money#plus(BigDecimal)} and
+ * {@link Money#minus(BigDecimal)} would do it, so the result is identical to the chained {@link Money} calls it
+ * replaces; as the amount of a {@link Money} is rounded already, adding one doesn't even need a new rounding.
+ *
+ * An accumulator is meant to live within a single calculation and is not thread-safe.
+ */
+public final class MoneyAccumulator {
+
+    private final MonetaryCurrency currency;
+    private BigDecimal amount;
+    private Money money;
+
+    private MoneyAccumulator(final MonetaryCurrency currency, final BigDecimal amount, final Money money) {
+        this.currency = currency;
+        this.amount = amount;
+        this.money = money;
+    }
+
+    public static MoneyAccumulator zero(final MonetaryCurrency currency) {
+        return new MoneyAccumulator(currency, Money.round(BigDecimal.ZERO, currency.getDigitsAfterDecimal(),
+                currency.getCurrencyInMultiplesOf()), null);
+    }
+
+    public static MoneyAccumulator of(final Money initial) {
+        return new MoneyAccumulator(initial.getCurrency(), initial.getAmount(), initial);
+    }
+
+    public MoneyAccumulator plus(final Money moneyToAdd) {
+        return plus(checkCurrencyEqual(moneyToAdd).getAmount());
+    }
+
+    public MoneyAccumulator plus(final BigDecimal amountToAdd) {
+        if (amountToAdd == null || amountToAdd.compareTo(BigDecimal.ZERO) == 0) {
+            return this;
+        }
+        update(this.amount.add(amountToAdd));
+        return this;
+    }
+
+    public MoneyAccumulator minus(final Money moneyToSubtract) {
+        return minus(checkCurrencyEqual(moneyToSubtract).getAmount());
+    }
+
+    public MoneyAccumulator minus(final BigDecimal amountToSubtract) {
+        if (amountToSubtract == null || amountToSubtract.compareTo(BigDecimal.ZERO) == 0) {
+            return this;
+        }
+        update(this.amount.subtract(amountToSubtract));
+        return this;
+    }
+
+    public BigDecimal getAmount() {
+        return this.amount;
+    }
+
+    public Money toMoney() {
+        if (this.money == null) {
+            this.money = Money.of(this.currency, this.amount);
+        }
+        return this.money;
+    }
+
+    private void update(final BigDecimal newAmount) {
+        this.amount = Money.round(newAmount, this.currency.getDigitsAfterDecimal(), this.currency.getCurrencyInMultiplesOf());
+        this.money = null;
+    }
+
+    private Money checkCurrencyEqual(final Money other) {
+        if (!this.currency.getCode().equals(other.getCurrencyCode())) {
+            throw new UnsupportedOperationException("currencies are different.");
+        }
+        return other;
+    }
+}
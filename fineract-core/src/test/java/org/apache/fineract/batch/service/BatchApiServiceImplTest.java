@@ -0,0 +1,198 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.batch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.ws.rs.core.UriInfo;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.batch.command.CommandStrategy;
+import org.apache.fineract.batch.command.CommandStrategyProvider;
+import org.apache.fineract.batch.domain.BatchRequest;
+import org.apache.fineract.batch.domain.BatchResponse;
+import org.apache.fineract.batch.exception.ErrorInfo;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BatchApiServiceImplTest {
+
+    @Mock
+    private CommandStrategyProvider strategyProvider;
+    @Mock
+    private CommandStrategy commandStrategy;
+    @Mock
+    private FromJsonHelper fromJsonHelper;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ErrorHandler errorHandler;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private UriInfo uriInfo;
+
+    private BatchApiServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        when(strategyProvider.getCommandStrategy(any())).thenReturn(commandStrategy);
+        when(errorHandler.handle(any())).thenReturn(new ErrorInfo(500, 9999, "{\"Exception\": \"failed\"}", null));
+        underTest = new BatchApiServiceImpl(strategyProvider, new ResolutionHelper(fromJsonHelper), transactionManager, errorHandler,
+                List.of(), List.of(), new SimpleAsyncTaskExecutor("batch-test-"), entityManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testParallelRequestsShouldRunOnWorkersAndBeOrderedByRequestId() {
+        // given
+        Thread callerThread = Thread.currentThread();
+        CountDownLatch allStarted = new CountDownLatch(3);
+        Map<Long, Thread> executingThreads = new ConcurrentHashMap<>();
+        Map<Long, Boolean> servletRequestShared = new ConcurrentHashMap<>();
+        when(commandStrategy.execute(any(), any())).thenAnswer(invocation -> {
+            BatchRequest request = invocation.getArgument(0);
+            executingThreads.put(request.getRequestId(), Thread.currentThread());
+            servletRequestShared.put(request.getRequestId(), RequestContextHolder.getRequestAttributes() != null);
+            assertEquals("default", ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            allStarted.countDown();
+            // Only returns once every root runs at the same time, the later requests finish first
+            assertTrue(allStarted.await(10, TimeUnit.SECONDS));
+            Thread.sleep((3 - request.getRequestId()) * 50);
+            return okResponse(request);
+        });
+        // when
+        List<BatchResponse> responses = underTest
+                .handleBatchRequestsInParallel(List.of(request(1L, null), request(2L, null), request(3L, null)), uriInfo);
+        // then
+        assertEquals(List.of(1L, 2L, 3L), responses.stream().map(BatchResponse::getRequestId).toList());
+        assertTrue(responses.stream().allMatch(response -> response.getStatusCode() == 200));
+        executingThreads.values().forEach(thread -> assertNotEquals(callerThread, thread));
+        assertEquals(Map.of(1L, false, 2L, false, 3L, false), servletRequestShared);
+        assertTrue(RequestContextHolder.getRequestAttributes() != null);
+    }
+
+    @Test
+    public void testParallelRequestsShouldFailOnlyTheSubtreeOfTheFailingRoot() {
+        // given
+        when(commandStrategy.execute(any(), any())).thenAnswer(invocation -> {
+            BatchRequest request = invocation.getArgument(0);
+            if (request.getRequestId() == 1L) {
+                throw new IllegalStateException("failed");
+            }
+            return okResponse(request);
+        });
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsInParallel(
+                List.of(request(1L, null), request(2L, 1L), request(3L, null), request(4L, 3L)), uriInfo);
+        // then
+        assertEquals(List.of(1L, 2L, 3L, 4L), responses.stream().map(BatchResponse::getRequestId).toList());
+        assertEquals(500, responses.get(0).getStatusCode());
+        assertEquals(500, responses.get(1).getStatusCode());
+        assertEquals("Parent request with id 1 was erroneous!", responses.get(1).getBody());
+        assertEquals(200, responses.get(2).getStatusCode());
+        assertEquals(200, responses.get(3).getStatusCode());
+        verify(commandStrategy, times(3)).execute(any(), any());
+    }
+
+    @Test
+    public void testEnclosingTransactionShouldRunEveryRequestOnTheCallerThreadInOneTransaction() {
+        // given
+        Thread callerThread = Thread.currentThread();
+        Map<Long, Thread> executingThreads = new ConcurrentHashMap<>();
+        TransactionStatus transactionStatus = Mockito.mock(TransactionStatus.class);
+        when(transactionManager.getTransaction(any())).thenReturn(transactionStatus);
+        when(commandStrategy.execute(any(), any())).thenAnswer(invocation -> {
+            BatchRequest request = invocation.getArgument(0);
+            executingThreads.put(request.getRequestId(), Thread.currentThread());
+            return okResponse(request);
+        });
+        // when
+        List<BatchResponse> responses = underTest
+                .handleBatchRequestsWithEnclosingTransaction(List.of(request(1L, null), request(2L, null), request(3L, null)), uriInfo);
+        // then
+        assertEquals(List.of(1L, 2L, 3L), responses.stream().map(BatchResponse::getRequestId).toList());
+        assertEquals(Map.of(1L, callerThread, 2L, callerThread, 3L, callerThread), executingThreads);
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager).commit(transactionStatus);
+    }
+
+    @Test
+    public void testParallelWithSingleRootShouldRunOnTheCallerThread() {
+        // given
+        Map<Long, Thread> executingThreads = new ConcurrentHashMap<>();
+        when(commandStrategy.execute(any(), any())).thenAnswer(invocation -> {
+            BatchRequest request = invocation.getArgument(0);
+            executingThreads.put(request.getRequestId(), Thread.currentThread());
+            return okResponse(request);
+        });
+        // when
+        List<BatchResponse> responses = underTest.handleBatchRequestsInParallel(List.of(request(1L, null), request(2L, 1L)), uriInfo);
+        // then
+        assertEquals(List.of(1L, 2L), responses.stream().map(BatchResponse::getRequestId).toList());
+        assertEquals(Map.of(1L, Thread.currentThread(), 2L, Thread.currentThread()), executingThreads);
+        assertNull(responses.stream().filter(response -> response.getStatusCode() != 200).findFirst().orElse(null));
+    }
+
+    private static BatchRequest request(Long requestId, Long reference) {
+        return new BatchRequest().setRequestId(requestId).setReference(reference).setMethod("GET")
+                .setRelativeUrl("v1/clients/" + requestId);
+    }
+
+    private static BatchResponse okResponse(BatchRequest request) {
+        return new BatchResponse().setRequestId(request.getRequestId()).setStatusCode(200).setBody("{}");
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service.database;
+
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FieldProjectionTest {
+
+    private static final String SQL = "l.id as id, f.name as fundName, s.display_name as loanOfficerName,"
+            + " topup.topup_amount as topupAmount, topuploan.account_no as closureLoanAccountNo,"
+            + " (select max(t.id) from m_loan_transaction t where t.loan_id = l.id) as lastTransactionId from m_loan l"
+            + " left join m_fund f on f.id = l.fund_id left join m_staff s on s.id = l.loan_officer_id"
+            + " left join m_loan_topup as topup on l.id = topup.loan_id"
+            + " left join m_loan as topuploan on topuploan.id = topup.closure_loan_id";
+
+    private final FieldProjection fieldProjection = FieldProjection.builder()
+            .optionalColumn("(select max(t.id) from m_loan_transaction t where t.loan_id = l.id)", "null", "lastTransactionId")
+            .optionalJoin("f", "left join m_fund f on f.id = l.fund_id", "fundName")
+            .optionalJoin("s", "left join m_staff s on s.id = l.loan_officer_id", "loanOfficerName")
+            .optionalJoin("topup", "left join m_loan_topup as topup on l.id = topup.loan_id", "topupAmount")
+            .optionalJoin("topuploan", "left join m_loan as topuploan on topuploan.id = topup.closure_loan_id").build();
+
+    @Test
+    public void testApplyWithoutRequestedFieldsKeepsTheSchema() {
+        Assertions.assertSame(SQL, fieldProjection.apply(SQL, Set.of(), null));
+        Assertions.assertSame(SQL, fieldProjection.apply(SQL, null, "loanOfficerName"));
+    }
+
+    @Test
+    public void testApplyPrunesTheJoinsOfFieldsNotRequested() {
+        String sql = fieldProjection.apply(SQL, Set.of("id", "loanOfficerName"), null);
+        Assertions.assertTrue(sql.contains("null as fundName"));
+        Assertions.assertTrue(sql.contains("null as topupAmount"));
+        Assertions.assertTrue(sql.contains("null as closureLoanAccountNo"));
+        Assertions.assertTrue(sql.contains("null as lastTransactionId"));
+        Assertions.assertTrue(sql.contains("s.display_name as loanOfficerName"));
+        Assertions.assertTrue(sql.contains("left join m_staff s on s.id = l.loan_officer_id"));
+        Assertions.assertFalse(sql.contains("m_fund"));
+        Assertions.assertFalse(sql.contains("m_loan_topup"));
+        Assertions.assertFalse(sql.contains("topuploan"));
+        Assertions.assertFalse(sql.contains("m_loan_transaction"));
+    }
+
+    @Test
+    public void testApplyKeepsTheJoinsOtherJoinsDependOn() {
+        String sql = fieldProjection.apply(SQL, Set.of("id"), "closureLoanAccountNo");
+        Assertions.assertTrue(sql.contains("topup.topup_amount as topupAmount"));
+        Assertions.assertTrue(sql.contains("left join m_loan_topup as topup on l.id = topup.loan_id"));
+        Assertions.assertTrue(sql.contains("topuploan.account_no as closureLoanAccountNo"));
+    }
+
+    @Test
+    public void testApplyKeepsTheJoinsTheOrderBySortsOn() {
+        for (String orderBy : List.of("loanOfficerName", "s.display_name desc", "LOANOFFICERNAME")) {
+            String sql = fieldProjection.apply(SQL, Set.of("id"), orderBy);
+            Assertions.assertTrue(sql.contains("s.display_name as loanOfficerName"), orderBy);
+            Assertions.assertTrue(sql.contains("left join m_staff s on s.id = l.loan_officer_id"), orderBy);
+            Assertions.assertFalse(sql.contains("m_fund"), orderBy);
+        }
+        String sql = fieldProjection.apply(SQL, Set.of("id"), "lastTransactionId");
+        Assertions.assertTrue(sql.contains("m_loan_transaction"));
+    }
+
+    @Test
+    public void testApplyKeepsTheJoinsReferencedElsewhereInTheSchema() {
+        String sql = fieldProjection.apply(SQL.replace(" from m_loan l", ", (select s.id) as staffId from m_loan l"), Set.of("id"), null);
+        Assertions.assertTrue(sql.contains("s.display_name as loanOfficerName"));
+        Assertions.assertTrue(sql.contains("left join m_staff s on s.id = l.loan_officer_id"));
+        Assertions.assertFalse(sql.contains("m_fund"));
+    }
+
+    @Test
+    public void testGetFields() {
+        Assertions.assertEquals(Set.of("lastTransactionId", "fundName", "loanOfficerName", "topupAmount"), fieldProjection.getFields());
+    }
+
+    @Test
+    public void testIsPartialResponse() {
+        Assertions.assertFalse(FieldProjection.isPartialResponse(null));
+        Assertions.assertFalse(FieldProjection.isPartialResponse(Set.of()));
+        Assertions.assertTrue(FieldProjection.isPartialResponse(Set.of("id")));
+    }
+}
@@ -31,13 +31,19 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import java.io.IOException;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.UploadRequest;
@@ -46,8 +52,8 @@ import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSer
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils;
 import org.apache.fineract.infrastructure.documentmanagement.contentrepository.ContentRepositoryUtils.ImageFileExtension;
 import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageRenditionCache;
 import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
-import org.apache.fineract.infrastructure.documentmanagement.exception.ContentManagementException;
 import org.apache.fineract.infrastructure.documentmanagement.exception.InvalidEntityTypeForImageManagementException;
 import org.apache.fineract.infrastructure.documentmanagement.service.ImageReadPlatformService;
 import org.apache.fineract.infrastructure.documentmanagement.service.ImageWritePlatformService;
@@ -70,6 +76,7 @@ public class ImagesApiResource {
     private final DefaultToApiJsonSerializer<ClientData> toApiJsonSerializer;
     private final FileUploadValidator fileUploadValidator;
     private final ImageResizer imageResizer;
+    private final ImageRenditionCache imageRenditionCache;
 
     /**
      * Upload images through multi-part form upload
@@ -116,6 +123,10 @@ public class ImagesApiResource {
     /**
      * Returns a images, either as Base64 encoded text/plain or as inline or attachment with image MIME type as
      * Content-Type.
+     *
+     * The resized image is served from the {@link ImageRenditionCache} and tagged with an ETag, a request whose
+     * If-None-Match header carries the current tag is answered with 304 Not Modified. Images without a version are
+     * resized on every request and sent without an ETag.
      */
     @GET
     @Consumes(MediaType.APPLICATION_JSON)
@@ -123,7 +134,8 @@ public class ImagesApiResource {
     // octet-stream)
     public Response retrieveImage(@PathParam("entity") final String entityName, @PathParam("entityId") final Long entityId,
             @QueryParam("maxWidth") final Integer maxWidth, @QueryParam("maxHeight") final Integer maxHeight,
-            @QueryParam("output") final String output, @HeaderParam("Accept") String acceptHeader) {
+            @QueryParam("output") final String output, @HeaderParam("Accept") String acceptHeader,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch) {
         validateEntityTypeforImage(entityName);
         if (EntityTypeForImages.CLIENTS.toString().equalsIgnoreCase(entityName)) {
             this.context.authenticatedUser().validateHasReadPermission("CLIENTIMAGE");
@@ -132,14 +144,25 @@ public class ImagesApiResource {
         }
 
         final FileData imageData = this.imageReadPlatformService.retrieveImage(entityName, entityId);
-        final FileData resizedImage = imageResizer.resize(imageData, maxWidth, maxHeight);
+        final String renditionKey = imageRenditionCache.renditionKey(imageData, maxWidth, maxHeight);
 
         // If client wants (Accept header) octet-stream, or output="octet" or "inline_octet", then send that instead of
         // text
-        if ("application/octet-stream".equalsIgnoreCase(acceptHeader)
-                || (output != null && (output.equals("octet") || output.equals("inline_octet")))) {
-            return ContentResources.fileDataToResponse(resizedImage, resizedImage.name() + ImageFileExtension.JPEG,
-                    "inline_octet".equals(output) ? "inline" : "attachment");
+        final boolean octet = "application/octet-stream".equalsIgnoreCase(acceptHeader)
+                || (output != null && (output.equals("octet") || output.equals("inline_octet")));
+        final EntityTag eTag = renditionKey == null ? null : new EntityTag(renditionKey + (octet ? "-octet" : "-base64"));
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(true);
+        cacheControl.setNoCache(true);
+        if (eTag != null && matches(ifNoneMatch, eTag)) {
+            return Response.notModified(eTag).cacheControl(cacheControl).build();
+        }
+
+        final FileData resizedImage = imageRenditionCache.getRendition(renditionKey, imageData,
+                () -> imageResizer.resize(imageData, maxWidth, maxHeight));
+        if (octet) {
+            return Response.fromResponse(ContentResources.fileDataToResponse(resizedImage, resizedImage.name() + ImageFileExtension.JPEG,
+                    "inline_octet".equals(output) ? "inline" : "attachment")).tag(eTag).cacheControl(cacheControl).build();
         }
 
         // Else return response with Base64 encoded
@@ -151,19 +174,16 @@ public class ImagesApiResource {
             imageDataURISuffix = ContentRepositoryUtils.ImageDataURIsuffix.PNG.getValue();
         }
 
-        try {
-            byte[] resizedImageBytes = resizedImage.getByteSource().read();
-            if (resizedImageBytes != null) {
-                final String clientImageAsBase64Text = imageDataURISuffix + Base64.getMimeEncoder().encodeToString(resizedImageBytes);
-                return Response.ok(clientImageAsBase64Text, MediaType.TEXT_PLAIN_TYPE).build();
-            } else {
-                log.error("resizedImageBytes is null for entityName={}, entityId={}, maxWidth={}, maxHeight={}", entityName, entityId,
-                        maxWidth, maxHeight);
-                return Response.serverError().build();
+        final String dataURISuffix = imageDataURISuffix;
+        // The rendition is encoded while it's written to the client instead of being held in memory
+        final StreamingOutput clientImageAsBase64Text = out -> {
+            out.write(dataURISuffix.getBytes(StandardCharsets.US_ASCII));
+            try (InputStream is = resizedImage.getByteSource().openBufferedStream();
+                    OutputStream base64 = Base64.getMimeEncoder().wrap(CloseShieldOutputStream.wrap(out))) {
+                is.transferTo(base64);
             }
-        } catch (IOException e) {
-            throw new ContentManagementException(imageData.name(), e.getMessage(), e);
-        }
+        };
+        return Response.ok(clientImageAsBase64Text, MediaType.TEXT_PLAIN_TYPE).tag(eTag).cacheControl(cacheControl).build();
     }
 
     /**
@@ -221,6 +241,19 @@ public class ImagesApiResource {
         }
     }
 
+    private static boolean matches(final String ifNoneMatch, final EntityTag eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = StringUtils.removeStart(candidate.trim(), "W/");
+            if ("*".equals(tag) || ("\"" + eTag.getValue() + "\"").equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static boolean checkValidEntityType(final String entityType) {
         for (final EntityTypeForImages entities : EntityTypeForImages.values()) {
             if (entities.name().equalsIgnoreCase(entityType)) {
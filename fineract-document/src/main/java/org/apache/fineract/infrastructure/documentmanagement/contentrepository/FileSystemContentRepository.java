@@ -115,7 +115,8 @@ public class FileSystemContentRepository implements ContentRepository {
         String sanitizedPath = pathSanitizer.sanitize(imageData.location());
 
         final File file = new File(sanitizedPath);
-        return new FileData(Files.asByteSource(file), imageData.getEntityDisplayName(), imageData.contentType().getValue());
+        return new FileData(Files.asByteSource(file), imageData.getEntityDisplayName(), imageData.contentType().getValue(),
+                sanitizedPath + ":" + file.length() + ":" + file.lastModified());
     }
 
     @Override
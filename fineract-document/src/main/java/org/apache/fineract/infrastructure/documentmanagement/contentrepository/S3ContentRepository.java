@@ -47,6 +47,7 @@ import software.amazon.awssdk.core.sync.ResponseTransformer;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -122,7 +123,7 @@ public class S3ContentRepository implements ContentRepository {
                 return s3Client.getObject(GetObjectRequest.builder().bucket(fineractProperties.getContent().getS3().getBucketName())
                         .key(imageData.location()).build(), ResponseTransformer.toBytes()).asInputStream();
             }
-        }, imageData.getEntityDisplayName(), imageData.contentType().getValue());
+        }, imageData.getEntityDisplayName(), imageData.contentType().getValue(), getVersion(imageData.location()));
     }
 
     @Override
@@ -139,6 +140,19 @@ public class S3ContentRepository implements ContentRepository {
         return "images" + File.separator + "clients" + File.separator + resourceId;
     }
 
+    /**
+     * Identifies the current content of the object by its ETag, which changes whenever the object is replaced.
+     */
+    private String getVersion(final String location) {
+        try {
+            HeadObjectResponse head = this.s3Client
+                    .headObject(builder -> builder.bucket(fineractProperties.getContent().getS3().getBucketName()).key(location));
+            return head.eTag() == null ? null : location + ":" + head.eTag();
+        } catch (SdkException e) {
+            throw new ContentManagementException(location, e.getMessage(), e);
+        }
+    }
+
     private void deleteObject(final String location) {
         try {
             this.s3Client.deleteObject(builder -> builder.bucket(fineractProperties.getContent().getS3().getBucketName()).key(location));
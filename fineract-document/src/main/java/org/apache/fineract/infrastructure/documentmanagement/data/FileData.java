@@ -25,11 +25,22 @@ public class FileData {
     private final String fileName;
     private final String contentType;
     private final ByteSource byteSource;
+    private final String version;
 
     public FileData(final ByteSource byteSource, final String fileName, final String contentType) {
+        this(byteSource, fileName, contentType, null);
+    }
+
+    /**
+     * @param version
+     *            identifies the current content of the file without reading it, e.g. its path, size and modification
+     *            time; null if the content repository has no cheap way to tell
+     */
+    public FileData(final ByteSource byteSource, final String fileName, final String contentType, final String version) {
         this.fileName = fileName;
         this.contentType = contentType;
         this.byteSource = byteSource;
+        this.version = version;
     }
 
     public String contentType() {
@@ -43,4 +54,8 @@ public class FileData {
     public ByteSource getByteSource() {
         return this.byteSource;
     }
+
+    public String version() {
+        return this.version;
+    }
 }
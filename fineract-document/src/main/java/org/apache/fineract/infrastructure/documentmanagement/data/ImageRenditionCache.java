@@ -0,0 +1,224 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.data;
+
+import com.google.common.base.Optional;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractContentImageRenditionCacheProperties;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps the resized renditions of images on the local disk, so that an image is only decoded and resized once per
+ * requested size.
+ *
+ * Renditions are keyed by the content version of the original image and the requested bounds, therefore a replaced
+ * image never hits a stale rendition; old renditions simply age out. The total size of the renditions is limited by
+ * {@code fineract.content.image-rendition-cache.max-size-in-mb}, the least recently served ones are evicted first.
+ * Images whose content repository reports no version are not cached, as telling them apart would mean reading them.
+ */
+@Slf4j
+@Service
+public class ImageRenditionCache {
+
+    private static final String RENDITION_SUFFIX = ".rendition";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private final long maxSizeInBytes;
+    // Access ordered, guarded by this
+    private final LinkedHashMap<String, Long> renditionSizes = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalSize;
+
+    public ImageRenditionCache(FineractProperties fineractProperties) {
+        FineractContentImageRenditionCacheProperties properties = fineractProperties.getContent().getImageRenditionCache();
+        Path cacheDirectory = null;
+        if (properties != null && properties.isEnabled()) {
+            try {
+                cacheDirectory = Files.createDirectories(Paths.get(properties.getDirectory()));
+                loadExistingRenditions(cacheDirectory);
+            } catch (IOException | UncheckedIOException e) {
+                log.warn("Unable to use {} for image renditions, images will be resized on every request", properties.getDirectory(), e);
+                cacheDirectory = null;
+            }
+        }
+        this.directory = cacheDirectory;
+        this.maxSizeInBytes = properties == null ? 0 : Math.max(1, properties.getMaxSizeInMb()) * 1024 * 1024;
+        evict();
+    }
+
+    /**
+     * Returns the key of the rendition of the image fitting into the given bounds, or null when the image has no
+     * version.
+     */
+    public String renditionKey(FileData original, Integer maxWidth, Integer maxHeight) {
+        if (original.version() == null) {
+            return null;
+        }
+        return Hashing.sha256().hashString(original.version() + ":" + maxWidth + ":" + maxHeight, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Returns the cached rendition with the given key, rendering and storing it first when it's not cached yet.
+     *
+     * The cached file is opened before it's returned, so the rendition can still be read once it's evicted; the
+     * returned rendition therefore has to be read.
+     */
+    public FileData getRendition(String key, FileData original, Supplier<FileData> renderer) {
+        if (directory == null || key == null) {
+            return renderer.get();
+        }
+        Path file = directory.resolve(key + RENDITION_SUFFIX);
+        FileData cached = openCached(key, file, original);
+        if (cached != null) {
+            return cached;
+        }
+        FileData rendition = renderer.get();
+        try {
+            store(key, file, rendition);
+            cached = openCached(key, file, original);
+        } catch (IOException e) {
+            log.warn("Unable to cache image rendition {}: {}", key, e.getMessage());
+        }
+        // The rendition could have been consumed or evicted already, so it's rendered again
+        return cached != null ? cached : renderer.get();
+    }
+
+    private synchronized FileData openCached(String key, Path file, FileData original) {
+        Long size = renditionSizes.get(key);
+        if (size == null) {
+            return null;
+        }
+        try {
+            InputStream is = Files.newInputStream(file);
+            return new FileData(new OpenedRendition(file, is, size), original.name(), original.contentType(), key);
+        } catch (IOException e) {
+            log.debug("Unable to open image rendition {}: {}", key, e.getMessage());
+            renditionSizes.remove(key);
+            totalSize -= size;
+            return null;
+        }
+    }
+
+    private void store(String key, Path file, FileData rendition) throws IOException {
+        Path tempFile = Files.createTempFile(directory, key, TEMP_SUFFIX);
+        try {
+            try (InputStream is = rendition.getByteSource().openStream()) {
+                Files.copy(is, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+        long size = Files.size(file);
+        synchronized (this) {
+            Long previousSize = renditionSizes.put(key, size);
+            totalSize += size - (previousSize == null ? 0 : previousSize);
+        }
+        evict();
+    }
+
+    private synchronized void evict() {
+        Iterator<Map.Entry<String, Long>> iterator = renditionSizes.entrySet().iterator();
+        // The most recently stored rendition is kept even if it's bigger than the whole cache
+        while (totalSize > maxSizeInBytes && renditionSizes.size() > 1 && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+            totalSize -= eldest.getValue();
+            try {
+                Files.deleteIfExists(directory.resolve(eldest.getKey() + RENDITION_SUFFIX));
+            } catch (IOException e) {
+                log.debug("Unable to delete image rendition {}: {}", eldest.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private void loadExistingRenditions(Path cacheDirectory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.list(cacheDirectory)) {
+            files = stream.filter(Files::isRegularFile).toList();
+        }
+        for (Path file : files) {
+            if (file.getFileName().toString().endsWith(TEMP_SUFFIX)) {
+                Files.deleteIfExists(file);
+            }
+        }
+        List<Path> renditions = files.stream().filter(file -> file.getFileName().toString().endsWith(RENDITION_SUFFIX))
+                .sorted(Comparator.comparingLong(ImageRenditionCache::lastModified)).toList();
+        for (Path rendition : renditions) {
+            String fileName = rendition.getFileName().toString();
+            long size = Files.size(rendition);
+            renditionSizes.put(fileName.substring(0, fileName.length() - RENDITION_SUFFIX.length()), size);
+            totalSize += size;
+        }
+    }
+
+    /**
+     * The first read gets the stream opened while the rendition was known to be cached.
+     */
+    private static final class OpenedRendition extends ByteSource {
+
+        private final Path file;
+        private final long size;
+        private InputStream openedStream;
+
+        private OpenedRendition(Path file, InputStream openedStream, long size) {
+            this.file = file;
+            this.openedStream = openedStream;
+            this.size = size;
+        }
+
+        @Override
+        public synchronized InputStream openStream() throws IOException {
+            InputStream is = openedStream;
+            openedStream = null;
+            return is != null ? is : Files.newInputStream(file);
+        }
+
+        @Override
+        public Optional<Long> sizeIfKnown() {
+            return Optional.of(size);
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.io.ByteSource;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Base64;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractContentImageRenditionCacheProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractContentProperties;
+import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
+import org.apache.fineract.infrastructure.documentmanagement.data.FileData;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageRenditionCache;
+import org.apache.fineract.infrastructure.documentmanagement.data.ImageResizer;
+import org.apache.fineract.infrastructure.documentmanagement.service.ImageReadPlatformService;
+import org.apache.fineract.infrastructure.documentmanagement.service.ImageWritePlatformService;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.portfolio.client.data.ClientData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ImagesApiResourceTest {
+
+    private static final byte[] RESIZED = "resized".getBytes(StandardCharsets.UTF_8);
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private PlatformSecurityContext context;
+    @Mock
+    private ImageReadPlatformService imageReadPlatformService;
+    @Mock
+    private ImageWritePlatformService imageWritePlatformService;
+    @Mock
+    private DefaultToApiJsonSerializer<ClientData> toApiJsonSerializer;
+    @Mock
+    private FileUploadValidator fileUploadValidator;
+    @Mock
+    private ImageResizer imageResizer;
+    @TempDir
+    private Path directory;
+
+    private ImagesApiResource underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new ImagesApiResource(context, imageReadPlatformService, imageWritePlatformService, toApiJsonSerializer,
+                fileUploadValidator, imageResizer, new ImageRenditionCache(properties(directory)));
+        when(imageResizer.resize(any(), any(), any())).thenAnswer(invocation -> new FileData(ByteSource.wrap(RESIZED), "photo.jpg",
+                "image/jpeg"));
+    }
+
+    @Test
+    public void testRenditionShouldBeTaggedAndResizedOnlyOnce() throws IOException {
+        // given
+        when(imageReadPlatformService.retrieveImage("clients", 1L)).thenReturn(original("images/clients/1/photo.jpg:10:1"));
+        // when
+        Response first = underTest.retrieveImage("clients", 1L, 100, 100, "octet", null, null);
+        Response second = underTest.retrieveImage("clients", 1L, 100, 100, "octet", null, null);
+        // then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getEntityTag()).isNotNull().isEqualTo(second.getEntityTag());
+        assertThat(first.getHeaderString("Cache-Control")).contains("private").contains("no-cache");
+        assertThat(read(first)).isEqualTo(RESIZED);
+        assertThat(read(second)).isEqualTo(RESIZED);
+        verify(imageResizer, times(1)).resize(any(), any(), any());
+    }
+
+    @Test
+    public void testMatchingIfNoneMatchShouldBeAnsweredWithNotModified() {
+        // given
+        when(imageReadPlatformService.retrieveImage("clients", 1L)).thenReturn(original("images/clients/1/photo.jpg:10:1"));
+        EntityTag eTag = underTest.retrieveImage("clients", 1L, 100, 100, "octet", null, null).getEntityTag();
+        // when
+        Response notModified = underTest.retrieveImage("clients", 1L, 100, 100, "octet", null, "W/\"other\", \"" + eTag.getValue() + "\"");
+        // then
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getEntityTag()).isEqualTo(eTag);
+        assertThat(notModified.hasEntity()).isFalse();
+        verify(imageResizer, times(1)).resize(any(), any(), any());
+    }
+
+    @Test
+    public void testReplacedImageOrOtherOutputShouldNotMatchThePreviousTag() {
+        // given
+        when(imageReadPlatformService.retrieveImage("clients", 1L)).thenReturn(original("images/clients/1/photo.jpg:10:1"),
+                original("images/clients/1/photo.jpg:10:1"), original("images/clients/1/photo.jpg:12:2"));
+        EntityTag octetTag = underTest.retrieveImage("clients", 1L, 100, 100, "octet", null, null).getEntityTag();
+        String ifNoneMatch = "\"" + octetTag.getValue() + "\"";
+        // when
+        Response base64 = underTest.retrieveImage("clients", 1L, 100, 100, null, null, ifNoneMatch);
+        Response replaced = underTest.retrieveImage("clients", 1L, 100, 100, "octet", null, ifNoneMatch);
+        // then
+        assertThat(base64.getStatus()).isEqualTo(200);
+        assertThat(base64.getEntityTag()).isNotEqualTo(octetTag);
+        assertThat(replaced.getStatus()).isEqualTo(200);
+        assertThat(replaced.getEntityTag()).isNotEqualTo(octetTag);
+    }
+
+    @Test
+    public void testBase64OutputShouldBeEncodedWhileWritten() throws IOException {
+        // given
+        when(imageReadPlatformService.retrieveImage("clients", 1L)).thenReturn(original("images/clients/1/photo.jpg:10:1"));
+        // when
+        Response response = underTest.retrieveImage("clients", 1L, 100, 100, null, null, null);
+        // then
+        assertThat(response.getMediaType()).isEqualTo(MediaType.TEXT_PLAIN_TYPE);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.getEntity()).write(out);
+        assertThat(out.toString(StandardCharsets.US_ASCII)).isEqualTo("data:image/jpeg;base64," + Base64.getMimeEncoder()
+                .encodeToString(RESIZED));
+    }
+
+    @Test
+    public void testImageWithoutVersionShouldBeResizedOnEveryRequestWithoutTag() {
+        // given
+        when(imageReadPlatformService.retrieveImage("clients", 1L)).thenReturn(original(null));
+        // when
+        Response first = underTest.retrieveImage("clients", 1L, 100, 100, "octet", null, "*");
+        Response second = underTest.retrieveImage("clients", 1L, 100, 100, "octet", null, "*");
+        // then
+        assertThat(first.getStatus()).isEqualTo(200);
+        assertThat(first.getEntityTag()).isNull();
+        assertThat(second.getEntityTag()).isNull();
+        verify(imageResizer, times(2)).resize(any(), any(), any());
+    }
+
+    private static byte[] read(Response response) throws IOException {
+        try (InputStream is = (InputStream) response.getEntity()) {
+            return is.readAllBytes();
+        }
+    }
+
+    private static FileData original(String version) {
+        return new FileData(ByteSource.wrap(new byte[] { 0 }), "photo.jpg", "image/jpeg", version);
+    }
+
+    private static FineractProperties properties(Path directory) {
+        FineractContentImageRenditionCacheProperties cacheProperties = new FineractContentImageRenditionCacheProperties();
+        cacheProperties.setEnabled(true);
+        cacheProperties.setDirectory(directory.toString());
+        cacheProperties.setMaxSizeInMb(1);
+        FineractContentProperties contentProperties = new FineractContentProperties();
+        contentProperties.setImageRenditionCache(cacheProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setContent(contentProperties);
+        return fineractProperties;
+    }
+}
@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.documentmanagement.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.io.ByteSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractContentImageRenditionCacheProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractContentProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImageRenditionCacheTest {
+
+    // Two renditions of this size fit into the cache of 1 MB, three don't
+    private static final int RENDITION_SIZE = 400 * 1024;
+
+    @TempDir
+    private Path directory;
+
+    private final AtomicInteger renderings = new AtomicInteger();
+    private ImageRenditionCache underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new ImageRenditionCache(properties(directory));
+    }
+
+    @Test
+    public void testRenditionShouldOnlyBeRenderedOnTheFirstRequest() throws IOException {
+        // given
+        FileData original = original("images/clients/1/photo.jpg:1024:1");
+        String key = underTest.renditionKey(original, 100, 100);
+        // when
+        FileData miss = underTest.getRendition(key, original, renderer((byte) 1));
+        byte[] missContent = miss.getByteSource().read();
+        FileData hit = underTest.getRendition(key, original, renderer((byte) 2));
+        // then
+        assertThat(renderings).hasValue(1);
+        assertThat(hit.getByteSource().read()).isEqualTo(missContent).containsOnly(1);
+        assertThat(hit.getByteSource().sizeIfKnown().get()).isEqualTo((long) RENDITION_SIZE);
+        assertThat(hit.name()).isEqualTo("photo.jpg");
+        assertThat(Files.exists(directory.resolve(key + ".rendition"))).isTrue();
+    }
+
+    @Test
+    public void testKeyShouldChangeWithTheVersionAndTheBounds() {
+        // given
+        FileData original = original("images/clients/1/photo.jpg:1024:1");
+        // then
+        assertThat(underTest.renditionKey(original, 100, 100)).isEqualTo(underTest.renditionKey(original, 100, 100))
+                .isNotEqualTo(underTest.renditionKey(original, 100, 200))
+                .isNotEqualTo(underTest.renditionKey(original("images/clients/1/photo.jpg:2048:2"), 100, 100));
+    }
+
+    @Test
+    public void testImageWithoutVersionShouldNotBeCached() {
+        // given
+        FileData original = original(null);
+        String key = underTest.renditionKey(original, 100, 100);
+        // when
+        underTest.getRendition(key, original, renderer((byte) 1));
+        underTest.getRendition(key, original, renderer((byte) 1));
+        // then
+        assertThat(key).isNull();
+        assertThat(renderings).hasValue(2);
+        assertThat(directory).isEmptyDirectory();
+    }
+
+    @Test
+    public void testLeastRecentlyServedRenditionShouldBeEvicted() throws IOException {
+        // given
+        String first = cache("first");
+        String second = cache("second");
+        // The first rendition is served again, which makes the second one the least recently served
+        cache("first");
+        // when
+        String third = cache("third");
+        // then
+        assertThat(renderings).hasValue(3);
+        assertThat(Files.exists(directory.resolve(first + ".rendition"))).isTrue();
+        assertThat(Files.exists(directory.resolve(second + ".rendition"))).isFalse();
+        assertThat(Files.exists(directory.resolve(third + ".rendition"))).isTrue();
+        cache("second");
+        assertThat(renderings).hasValue(4);
+    }
+
+    @Test
+    public void testRenditionEvictedBeforeItIsReadShouldStillBeServed() throws IOException {
+        // given
+        FileData original = original("first");
+        FileData served = underTest.getRendition(underTest.renditionKey(original, 100, 100), original, renderer((byte) 7));
+        // when
+        cache("second");
+        cache("third");
+        // then
+        try (InputStream is = served.getByteSource().openStream()) {
+            assertThat(is.readAllBytes()).hasSize(RENDITION_SIZE).containsOnly(7);
+        }
+    }
+
+    @Test
+    public void testRenditionsShouldSurviveARestart() throws IOException {
+        // given
+        String key = cache("first");
+        // when
+        ImageRenditionCache restarted = new ImageRenditionCache(properties(directory));
+        FileData original = original("first");
+        FileData rendition = restarted.getRendition(key, original, renderer((byte) 2));
+        // then
+        assertThat(renderings).hasValue(1);
+        assertThat(rendition.getByteSource().read()).containsOnly(1);
+    }
+
+    private String cache(String version) throws IOException {
+        FileData original = original(version);
+        String key = underTest.renditionKey(original, 100, 100);
+        underTest.getRendition(key, original, renderer((byte) 1)).getByteSource().read();
+        return key;
+    }
+
+    private Supplier<FileData> renderer(byte content) {
+        return () -> {
+            renderings.incrementAndGet();
+            byte[] bytes = new byte[RENDITION_SIZE];
+            Arrays.fill(bytes, content);
+            return new FileData(ByteSource.wrap(bytes), "photo.jpg", "image/jpeg");
+        };
+    }
+
+    private static FileData original(String version) {
+        return new FileData(ByteSource.wrap(new byte[] { 0 }), "photo.jpg", "image/jpeg", version);
+    }
+
+    private static FineractProperties properties(Path directory) {
+        FineractContentImageRenditionCacheProperties cacheProperties = new FineractContentImageRenditionCacheProperties();
+        cacheProperties.setEnabled(true);
+        cacheProperties.setDirectory(directory.toString());
+        cacheProperties.setMaxSizeInMb(1);
+        FineractContentProperties contentProperties = new FineractContentProperties();
+        contentProperties.setImageRenditionCache(cacheProperties);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setContent(contentProperties);
+        return fineractProperties;
+    }
+}
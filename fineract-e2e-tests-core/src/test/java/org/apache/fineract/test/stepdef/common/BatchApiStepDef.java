@@ -207,7 +207,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(batchRequest2);
         requestList.add(batchRequest3);
         requestList.add(batchRequest4);
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, false).execute();
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, false, false).execute();
         testContext().set(TestContextKey.BATCH_API_CALL_RESPONSE, batchResponseList);
     }
 
@@ -299,7 +299,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(batchRequest4);
         requestList.add(batchRequest5);
         requestList.add(batchRequest6);
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, false).execute();
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, false, false).execute();
         testContext().set(TestContextKey.BATCH_API_CALL_RESPONSE, batchResponseList);
     }
 
@@ -317,7 +317,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(getLoanDetailsByExternalId(4L, 2L, idempotencyKey));
 
         Boolean isEnclosingTransaction = Boolean.valueOf(enclosingTransaction);
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction).execute();
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction, false).execute();
         testContext().set(TestContextKey.BATCH_API_CALL_RESPONSE, batchResponseList);
         testContext().set(TestContextKey.BATCH_API_CALL_IDEMPOTENCY_KEY, idempotencyKey);
         testContext().set(TestContextKey.BATCH_API_CALL_CLIENT_EXTERNAL_ID, clientExternalId);
@@ -338,7 +338,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(getLoanDetailsByExternalId(4L, 2L, idempotencyKey));
 
         Boolean isEnclosingTransaction = Boolean.valueOf(enclosingTransaction);
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction).execute();
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction, false).execute();
         testContext().set(TestContextKey.BATCH_API_CALL_RESPONSE, batchResponseList);
         testContext().set(TestContextKey.BATCH_API_CALL_IDEMPOTENCY_KEY, idempotencyKey);
         testContext().set(TestContextKey.BATCH_API_CALL_CLIENT_EXTERNAL_ID, clientExternalId);
@@ -366,7 +366,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(getLoanDetailsByExternalId(8L, 6L, idempotencyKey2));
 
         Boolean isEnclosingTransaction = Boolean.valueOf(enclosingTransaction);
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction).execute();
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction, false).execute();
         testContext().set(TestContextKey.BATCH_API_CALL_RESPONSE, batchResponseList);
         testContext().set(TestContextKey.BATCH_API_CALL_IDEMPOTENCY_KEY, idempotencyKey);
         testContext().set(TestContextKey.BATCH_API_CALL_CLIENT_EXTERNAL_ID, clientExternalId);
@@ -397,7 +397,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(getLoanDetailsByExternalId(8L, 6L, idempotencyKey2));
 
         Boolean isEnclosingTransaction = Boolean.valueOf(enclosingTransaction);
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction).execute();
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction, false).execute();
 
         testContext().set(TestContextKey.BATCH_API_CALL_RESPONSE, batchResponseList);
         testContext().set(TestContextKey.BATCH_API_CALL_IDEMPOTENCY_KEY, idempotencyKey);
@@ -423,7 +423,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(getLoanDetailsByExternalId(5L, 2L, idempotencyKey));
 
         Boolean isEnclosingTransaction = Boolean.valueOf(enclosingTransaction);
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction).execute();
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction, false).execute();
         testContext().set(TestContextKey.BATCH_API_CALL_RESPONSE, batchResponseList);
         testContext().set(TestContextKey.BATCH_API_CALL_IDEMPOTENCY_KEY, idempotencyKey);
         testContext().set(TestContextKey.BATCH_API_CALL_CLIENT_EXTERNAL_ID, clientExternalId);
@@ -444,7 +444,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(approveLoanReschedule(2L, idempotencyKey, approvedOnDate, 1L));
 
         Boolean isEnclosingTransaction = Boolean.valueOf(enclosingTransaction);
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction).execute();
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction, false).execute();
         testContext().set(TestContextKey.BATCH_API_CALL_RESPONSE, batchResponseList);
         testContext().set(TestContextKey.BATCH_API_CALL_IDEMPOTENCY_KEY, idempotencyKey);
         eventAssertion.assertEvent(LoanRescheduledDueAdjustScheduleEvent.class, loanId).extractingData(loanAccountDataV1 -> {
@@ -484,7 +484,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(approveLoanReschedule(2L, idempotencyKey, approvedOnDate, 1L));
 
         Boolean isEnclosingTransaction = Boolean.valueOf(enclosingTransaction);
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction, headerMap)
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction, false, headerMap)
                 .execute();
 
         if (batchResponseList.errorBody() != null) {
@@ -543,7 +543,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(approveLoanReschedule(2L, idempotencyKey, approvedOnDate, 1L));
 
         Boolean isEnclosingTransaction = Boolean.valueOf(enclosingTransaction);
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction, headerMap)
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, isEnclosingTransaction, false, headerMap)
                 .execute();
         String errorToString = batchResponseList.errorBody().string();
         ErrorResponse errorResponse = GSON.fromJson(errorToString, ErrorResponse.class);
@@ -566,7 +566,7 @@ public class BatchApiStepDef extends AbstractStepDef {
         requestList.add(queryDatatable(1L));
         requestList.add(updateDatatable(2L, 1L));
 
-        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, false).execute();
+        Response<List<BatchResponse>> batchResponseList = batchApiApi.handleBatchRequests(requestList, false, false).execute();
         testContext().set(TestContextKey.BATCH_API_CALL_RESPONSE, batchResponseList);
         testContext().set(TestContextKey.BATCH_API_CALL_IDEMPOTENCY_KEY, idempotencyKey);
     }
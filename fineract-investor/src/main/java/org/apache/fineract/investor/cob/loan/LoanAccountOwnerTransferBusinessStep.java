@@ -40,6 +40,7 @@ import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMapping
 import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
 import org.apache.fineract.investor.domain.LoanOwnershipTransferBusinessEvent;
 import org.apache.fineract.investor.service.AccountingService;
+import org.apache.fineract.investor.service.ActiveExternalAssetOwnerTransferLookup;
 import org.apache.fineract.portfolio.loanaccount.domain.Loan;
 import org.springframework.context.annotation.Conditional;
 import org.springframework.data.domain.Sort;
@@ -56,6 +57,7 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
     private final ExternalAssetOwnerTransferLoanMappingRepository externalAssetOwnerTransferLoanMappingRepository;
     private final AccountingService accountingService;
     private final BusinessEventNotifierService businessEventNotifierService;
+    private final ActiveExternalAssetOwnerTransferLookup activeExternalAssetOwnerTransferLookup;
 
     @Override
     public Loan execute(Loan loan) {
@@ -130,6 +132,7 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
         externalAssetOwnerTransferRepository.save(activeExternalAssetOwnerTransfer);
         buybackExternalAssetOwnerTransfer = externalAssetOwnerTransferRepository.save(buybackExternalAssetOwnerTransfer);
         externalAssetOwnerTransferLoanMappingRepository.deleteByLoanIdAndOwnerTransfer(loan.getId(), activeExternalAssetOwnerTransfer);
+        activeExternalAssetOwnerTransferLookup.evict(loan.getId());
         accountingService.createJournalEntriesForBuybackAssetTransfer(loan, buybackExternalAssetOwnerTransfer);
         return buybackExternalAssetOwnerTransfer;
     }
@@ -174,6 +177,7 @@ public class LoanAccountOwnerTransferBusinessStep implements LoanCOBBusinessStep
         externalAssetOwnerTransferLoanMapping.setLoanId(loanId);
         externalAssetOwnerTransferLoanMapping.setOwnerTransfer(externalAssetOwnerTransfer);
         externalAssetOwnerTransferLoanMappingRepository.save(externalAssetOwnerTransferLoanMapping);
+        activeExternalAssetOwnerTransferLookup.evict(loanId);
     }
 
     private boolean isTransferable(final Loan loan) {
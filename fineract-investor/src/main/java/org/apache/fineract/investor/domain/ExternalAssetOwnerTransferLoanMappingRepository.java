@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.investor.domain;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -32,6 +34,10 @@ public interface ExternalAssetOwnerTransferLoanMappingRepository extends JpaRepo
 
     Optional<ExternalAssetOwnerTransferLoanMapping> findByLoanId(Long loanId);
 
+    @Query("select m from ExternalAssetOwnerTransferLoanMapping m inner join fetch m.ownerTransfer o inner join fetch o.owner"
+            + " where m.loanId in :loanIds")
+    List<ExternalAssetOwnerTransferLoanMapping> findAllByLoanIdIn(@Param("loanIds") Collection<Long> loanIds);
+
     @Query("SELECT mapping FROM ExternalAssetOwnerTransferLoanMapping mapping WHERE mapping.ownerTransfer.externalLoanId =:externalLoanId")
     Optional<ExternalAssetOwnerTransferLoanMapping> findByLoanExternalId(@Param("externalLoanId") ExternalId externalLoanId);
 
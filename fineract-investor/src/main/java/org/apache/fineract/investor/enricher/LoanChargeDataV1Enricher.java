@@ -18,18 +18,22 @@
  */
 package org.apache.fineract.investor.enricher;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.avro.loan.v1.LoanChargeDataV1;
 import org.apache.fineract.infrastructure.core.service.DataEnricher;
 import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.support.ExternalIdMapper;
-import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransfer;
+import org.apache.fineract.investor.service.ActiveExternalAssetOwnerTransferLookup;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class LoanChargeDataV1Enricher implements DataEnricher<LoanChargeDataV1> {
 
-    private final ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+    private final ActiveExternalAssetOwnerTransferLookup activeExternalAssetOwnerTransferLookup;
     private final ExternalIdMapper externalIdMapper;
 
     @Override
@@ -39,7 +43,17 @@ public class LoanChargeDataV1Enricher implements DataEnricher<LoanChargeDataV1>
 
     @Override
     public void enrich(LoanChargeDataV1 data) {
-        externalAssetOwnerTransferRepository.findActiveOwnerByLoanId(data.getLoanId())
-                .ifPresent(owner -> data.setExternalOwnerId(externalIdMapper.mapExternalId(owner.getExternalId())));
+        activeExternalAssetOwnerTransferLookup.findActiveTransfer(data.getLoanId()).ifPresent(transfer -> enrich(data, transfer));
+    }
+
+    @Override
+    public void enrichAll(List<LoanChargeDataV1> data) {
+        Map<Long, Optional<ExternalAssetOwnerTransfer>> transfers = activeExternalAssetOwnerTransferLookup
+                .findActiveTransfers(data.stream().map(LoanChargeDataV1::getLoanId).toList());
+        data.forEach(item -> transfers.getOrDefault(item.getLoanId(), Optional.empty()).ifPresent(transfer -> enrich(item, transfer)));
+    }
+
+    private void enrich(LoanChargeDataV1 data, ExternalAssetOwnerTransfer transfer) {
+        data.setExternalOwnerId(externalIdMapper.mapExternalId(transfer.getOwner().getExternalId()));
     }
 }
@@ -18,18 +18,22 @@
  */
 package org.apache.fineract.investor.enricher;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.avro.loan.v1.LoanTransactionDataV1;
 import org.apache.fineract.infrastructure.core.service.DataEnricher;
 import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.support.ExternalIdMapper;
-import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferRepository;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransfer;
+import org.apache.fineract.investor.service.ActiveExternalAssetOwnerTransferLookup;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class LoanTransactionDataV1Enricher implements DataEnricher<LoanTransactionDataV1> {
 
-    private final ExternalAssetOwnerTransferRepository externalAssetOwnerTransferRepository;
+    private final ActiveExternalAssetOwnerTransferLookup activeExternalAssetOwnerTransferLookup;
     private final ExternalIdMapper externalIdMapper;
 
     @Override
@@ -39,7 +43,17 @@ public class LoanTransactionDataV1Enricher implements DataEnricher<LoanTransacti
 
     @Override
     public void enrich(LoanTransactionDataV1 data) {
-        externalAssetOwnerTransferRepository.findActiveOwnerByLoanId(data.getLoanId())
-                .ifPresent(owner -> data.setExternalOwnerId(externalIdMapper.mapExternalId(owner.getExternalId())));
+        activeExternalAssetOwnerTransferLookup.findActiveTransfer(data.getLoanId()).ifPresent(transfer -> enrich(data, transfer));
+    }
+
+    @Override
+    public void enrichAll(List<LoanTransactionDataV1> data) {
+        Map<Long, Optional<ExternalAssetOwnerTransfer>> transfers = activeExternalAssetOwnerTransferLookup
+                .findActiveTransfers(data.stream().map(LoanTransactionDataV1::getLoanId).toList());
+        data.forEach(item -> transfers.getOrDefault(item.getLoanId(), Optional.empty()).ifPresent(transfer -> enrich(item, transfer)));
+    }
+
+    private void enrich(LoanTransactionDataV1 data, ExternalAssetOwnerTransfer transfer) {
+        data.setExternalOwnerId(externalIdMapper.mapExternalId(transfer.getOwner().getExternalId()));
     }
 }
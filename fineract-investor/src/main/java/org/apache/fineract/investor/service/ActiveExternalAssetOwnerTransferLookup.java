@@ -0,0 +1,71 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.investor.service;
+
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.service.DataEnrichmentContext;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransfer;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMapping;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransferLoanMappingRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Looks up the active external asset owner transfer of loans for the event enrichers. The transfers are memoized in
+ * the {@link DataEnrichmentContext} of the current transaction, so whoever changes the loan mapping must
+ * {@link #evict(Long) evict} the loan.
+ */
+@Component
+@RequiredArgsConstructor
+public class ActiveExternalAssetOwnerTransferLookup {
+
+    private static final String CONTEXT_NAME = "activeExternalAssetOwnerTransfer";
+    private static final int MAX_LOAN_IDS_PER_QUERY = 1000;
+
+    private final ExternalAssetOwnerTransferLoanMappingRepository externalAssetOwnerTransferLoanMappingRepository;
+    private final DataEnrichmentContext dataEnrichmentContext;
+
+    public Optional<ExternalAssetOwnerTransfer> findActiveTransfer(Long loanId) {
+        return dataEnrichmentContext.get(CONTEXT_NAME, loanId, this::load);
+    }
+
+    public Map<Long, Optional<ExternalAssetOwnerTransfer>> findActiveTransfers(Collection<Long> loanIds) {
+        return dataEnrichmentContext.getAll(CONTEXT_NAME, loanIds, this::load);
+    }
+
+    public void evict(Long loanId) {
+        dataEnrichmentContext.evict(CONTEXT_NAME, loanId);
+    }
+
+    private Map<Long, ExternalAssetOwnerTransfer> load(Collection<Long> loanIds) {
+        Map<Long, ExternalAssetOwnerTransfer> transfers = new HashMap<>();
+        for (Collection<Long> partition : Lists.partition(new ArrayList<>(loanIds), MAX_LOAN_IDS_PER_QUERY)) {
+            for (ExternalAssetOwnerTransferLoanMapping mapping : externalAssetOwnerTransferLoanMappingRepository
+                    .findAllByLoanIdIn(partition)) {
+                transfers.putIfAbsent(mapping.getLoanId(), mapping.getOwnerTransfer());
+            }
+        }
+        return transfers;
+    }
+}
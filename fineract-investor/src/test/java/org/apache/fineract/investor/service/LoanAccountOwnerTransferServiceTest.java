@@ -67,6 +67,8 @@ public class LoanAccountOwnerTransferServiceTest {
     @Mock
     private AccountingService accountingService;
     @Mock
+    private ActiveExternalAssetOwnerTransferLookup activeExternalAssetOwnerTransferLookup;
+    @Mock
     private BusinessEventNotifierService businessEventNotifierService;
 
     private LoanAccountOwnerTransferService underTest;
@@ -76,7 +78,8 @@ public class LoanAccountOwnerTransferServiceTest {
     public void setUp() {
         ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BUSINESS_DATE, actualDate)));
         underTest = new LoanAccountOwnerTransferServiceImpl(externalAssetOwnerTransferRepository,
-                externalAssetOwnerTransferLoanMappingRepository, accountingService, businessEventNotifierService);
+                externalAssetOwnerTransferLoanMappingRepository, accountingService, businessEventNotifierService,
+                activeExternalAssetOwnerTransferLookup);
     }
 
     @Test
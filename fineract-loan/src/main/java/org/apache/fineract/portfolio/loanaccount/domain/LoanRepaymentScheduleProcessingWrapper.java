@@ -27,6 +27,7 @@ import java.util.function.Predicate;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
 import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyAccumulator;
 import org.jetbrains.annotations.NotNull;
 
 /**
@@ -37,12 +38,14 @@ public class LoanRepaymentScheduleProcessingWrapper {
     public void reprocess(final MonetaryCurrency currency, final LocalDate disbursementDate,
             final List<LoanRepaymentScheduleInstallment> repaymentPeriods, final Set<LoanCharge> loanCharges) {
 
-        Money totalInterest = Money.zero(currency);
-        Money totalPrincipal = Money.zero(currency);
+        MoneyAccumulator interestAccumulator = MoneyAccumulator.zero(currency);
+        MoneyAccumulator principalAccumulator = MoneyAccumulator.zero(currency);
         for (final LoanRepaymentScheduleInstallment installment : repaymentPeriods) {
-            totalInterest = totalInterest.plus(installment.getInterestCharged(currency));
-            totalPrincipal = totalPrincipal.plus(installment.getPrincipal(currency));
+            interestAccumulator.plus(installment.getInterestCharged(currency));
+            principalAccumulator.plus(installment.getPrincipal(currency));
         }
+        final Money totalInterest = interestAccumulator.toMoney();
+        final Money totalPrincipal = principalAccumulator.toMoney();
         LocalDate startDate = disbursementDate;
         LoanRepaymentScheduleInstallment firstNormalPeriod = repaymentPeriods.stream()
                 .sorted(Comparator.comparing(LoanRepaymentScheduleInstallment::getInstallmentNumber))
@@ -84,14 +87,14 @@ public class LoanRepaymentScheduleProcessingWrapper {
             final MonetaryCurrency monetaryCurrency, LoanRepaymentScheduleInstallment period, final Money totalPrincipal,
             final Money totalInterest, boolean isInstallmentChargeApplicable, boolean isFirstPeriod) {
 
-        Money cumulative = Money.zero(monetaryCurrency);
+        MoneyAccumulator cumulative = MoneyAccumulator.zero(monetaryCurrency);
         for (final LoanCharge loanCharge : loanCharges) {
             if (loanCharge.isFeeCharge() && !loanCharge.isDueAtDisbursement()) {
                 boolean isDue = loanChargeIsDue(periodStart, periodEnd, isFirstPeriod, loanCharge);
                 if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
-                    cumulative = cumulative.plus(getInstallmentFee(monetaryCurrency, period, loanCharge));
+                    cumulative.plus(getInstallmentFee(monetaryCurrency, period, loanCharge));
                 } else if (loanCharge.isOverdueInstallmentCharge() && isDue && loanCharge.getChargeCalculation().isPercentageBased()) {
-                    cumulative = cumulative.plus(loanCharge.chargeAmount());
+                    cumulative.plus(loanCharge.chargeAmount());
                 } else if (isDue && loanCharge.getChargeCalculation().isPercentageBased()) {
                     BigDecimal amount = BigDecimal.ZERO;
                     if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
@@ -115,21 +118,21 @@ public class LoanRepaymentScheduleProcessingWrapper {
                         }
                     }
                     BigDecimal loanChargeAmt = amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100));
-                    cumulative = cumulative.plus(loanChargeAmt);
+                    cumulative.plus(loanChargeAmt);
                 } else if (isDue) {
-                    cumulative = cumulative.plus(loanCharge.amount());
+                    cumulative.plus(loanCharge.amount());
                 }
             }
         }
 
-        return cumulative;
+        return cumulative.toMoney();
     }
 
     private Money cumulativeChargesWaivedWithin(final LocalDate periodStart, final LocalDate periodEnd, final Set<LoanCharge> loanCharges,
             final MonetaryCurrency currency, boolean isInstallmentChargeApplicable, boolean isFirstPeriod,
             Predicate<LoanCharge> predicate) {
 
-        Money cumulative = Money.zero(currency);
+        MoneyAccumulator cumulative = MoneyAccumulator.zero(currency);
 
         for (final LoanCharge loanCharge : loanCharges) {
             if (predicate.test(loanCharge)) {
@@ -137,22 +140,22 @@ public class LoanRepaymentScheduleProcessingWrapper {
                 if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
                     LoanInstallmentCharge loanChargePerInstallment = loanCharge.getInstallmentLoanCharge(periodEnd);
                     if (loanChargePerInstallment != null) {
-                        cumulative = cumulative.plus(loanChargePerInstallment.getAmountWaived(currency));
+                        cumulative.plus(loanChargePerInstallment.getAmountWaived(currency));
                     }
                 } else if (isDue) {
-                    cumulative = cumulative.plus(loanCharge.getAmountWaived(currency));
+                    cumulative.plus(loanCharge.getAmountWaived(currency));
                 }
             }
         }
 
-        return cumulative;
+        return cumulative.toMoney();
     }
 
     private Money cumulativeChargesWrittenOffWithin(final LocalDate periodStart, final LocalDate periodEnd,
             final Set<LoanCharge> loanCharges, final MonetaryCurrency currency, boolean isInstallmentChargeApplicable,
             boolean isFirstPeriod, Predicate<LoanCharge> chargePredicate) {
 
-        Money cumulative = Money.zero(currency);
+        MoneyAccumulator cumulative = MoneyAccumulator.zero(currency);
 
         for (final LoanCharge loanCharge : loanCharges) {
             if (chargePredicate.test(loanCharge)) {
@@ -160,15 +163,15 @@ public class LoanRepaymentScheduleProcessingWrapper {
                 if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
                     LoanInstallmentCharge loanChargePerInstallment = loanCharge.getInstallmentLoanCharge(periodEnd);
                     if (loanChargePerInstallment != null) {
-                        cumulative = cumulative.plus(loanChargePerInstallment.getAmountWrittenOff(currency));
+                        cumulative.plus(loanChargePerInstallment.getAmountWrittenOff(currency));
                     }
                 } else if (isDue) {
-                    cumulative = cumulative.plus(loanCharge.getAmountWrittenOff(currency));
+                    cumulative.plus(loanCharge.getAmountWrittenOff(currency));
                 }
             }
         }
 
-        return cumulative;
+        return cumulative.toMoney();
     }
 
     private Predicate<LoanCharge> feeCharge() {
@@ -184,15 +187,15 @@ public class LoanRepaymentScheduleProcessingWrapper {
             final Set<LoanCharge> loanCharges, final MonetaryCurrency currency, LoanRepaymentScheduleInstallment period,
             final Money totalPrincipal, final Money totalInterest, boolean isInstallmentChargeApplicable, boolean isFirstPeriod) {
 
-        Money cumulative = Money.zero(currency);
+        MoneyAccumulator cumulative = MoneyAccumulator.zero(currency);
 
         for (final LoanCharge loanCharge : loanCharges) {
             if (loanCharge.isPenaltyCharge()) {
                 boolean isDue = loanChargeIsDue(periodStart, periodEnd, isFirstPeriod, loanCharge);
                 if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
-                    cumulative = cumulative.plus(getInstallmentFee(currency, period, loanCharge));
+                    cumulative.plus(getInstallmentFee(currency, period, loanCharge));
                 } else if (loanCharge.isOverdueInstallmentCharge() && isDue && loanCharge.getChargeCalculation().isPercentageBased()) {
-                    cumulative = cumulative.plus(loanCharge.chargeAmount());
+                    cumulative.plus(loanCharge.chargeAmount());
                 } else if (isDue && loanCharge.getChargeCalculation().isPercentageBased()) {
                     BigDecimal amount = BigDecimal.ZERO;
                     if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
@@ -203,14 +206,14 @@ public class LoanRepaymentScheduleProcessingWrapper {
                         amount = amount.add(totalPrincipal.getAmount());
                     }
                     BigDecimal loanChargeAmt = amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100));
-                    cumulative = cumulative.plus(loanChargeAmt);
+                    cumulative.plus(loanChargeAmt);
                 } else if (isDue) {
-                    cumulative = cumulative.plus(loanCharge.amount());
+                    cumulative.plus(loanCharge.amount());
                 }
             }
         }
 
-        return cumulative;
+        return cumulative.toMoney();
     }
 
     private BigDecimal getInstallmentFee(MonetaryCurrency currency, LoanRepaymentScheduleInstallment period, LoanCharge loanCharge) {
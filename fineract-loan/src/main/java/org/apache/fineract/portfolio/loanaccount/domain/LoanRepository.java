@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.portfolio.loanaccount.domain;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
@@ -29,6 +30,7 @@ import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificationExecutor<Loan> {
@@ -101,6 +103,8 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
 
     String FIND_ALL_LOAN_IDS_BY_STATUS_ID = "SELECT loan.id FROM Loan loan WHERE loan.loanStatus = :statusId";
 
+    String FIND_ALL_BY_IDS = "select loan from Loan loan where loan.id IN :loanIds";
+
     @Query(FIND_GROUP_LOANS_DISBURSED_AFTER)
     List<Loan> getGroupLoansDisbursedAfter(@Param("disbursementDate") LocalDate disbursementDate, @Param("groupId") Long groupId,
             @Param("loanType") Integer loanType);
@@ -227,4 +231,21 @@ public interface LoanRepository extends JpaRepository<Loan, Long>, JpaSpecificat
 
     @Query(FIND_ALL_LOAN_IDS_BY_STATUS_ID)
     List<Long> findLoanIdByStatusId(@Param("statusId") Integer statusId);
+
+    /**
+     * Loads the given loans together with the associations used by the COB business steps. Each association is
+     * fetched for all the loans with a single IN query (EclipseLink batch fetching) the first time it is accessed on any
+     * of them, instead of one query per loan.
+     */
+    @Query(FIND_ALL_BY_IDS)
+    @QueryHints({ @QueryHint(name = "eclipselink.batch.type", value = "IN"), //
+            @QueryHint(name = "eclipselink.batch", value = "loan.repaymentScheduleInstallments"), //
+            @QueryHint(name = "eclipselink.batch", value = "loan.repaymentScheduleInstallments.installmentCharges"), //
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanTransactions"), //
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanTransactions.loanTransactionToRepaymentScheduleMappings"), //
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanTransactions.loanChargesPaid"), //
+            @QueryHint(name = "eclipselink.batch", value = "loan.charges"), //
+            @QueryHint(name = "eclipselink.batch", value = "loan.disbursementDetails"), //
+            @QueryHint(name = "eclipselink.batch", value = "loan.loanTermVariations") })
+    List<Loan> findAllWithAssociationsByIdIn(@Param("loanIds") Collection<Long> loanIds);
 }
@@ -34,6 +34,7 @@ import org.apache.fineract.infrastructure.core.service.MathUtil;
 import org.apache.fineract.organisation.monetary.domain.ApplicationCurrency;
 import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
 import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyAccumulator;
 import org.apache.fineract.organisation.workingdays.data.AdjustedDateDetailsDTO;
 import org.apache.fineract.portfolio.calendar.domain.CalendarInstance;
 import org.apache.fineract.portfolio.calendar.service.CalendarUtils;
@@ -403,32 +404,31 @@ public abstract class AbstractProgressiveLoanScheduleGenerator implements LoanSc
             final MonetaryCurrency monetaryCurrency, final PrincipalInterest principalInterestForThisPeriod, final Money principalDisbursed,
             final Money totalInterestChargedForFullLoanTerm, boolean isInstallmentChargeApplicable, final boolean isFirstPeriod,
             final MathContext mc) {
-        Money cumulative = Money.zero(monetaryCurrency);
+        MoneyAccumulator cumulative = MoneyAccumulator.zero(monetaryCurrency);
         for (final LoanCharge loanCharge : loanCharges) {
             if (!loanCharge.isDueAtDisbursement() && loanCharge.isFeeCharge()) {
-                cumulative = getCumulativeAmountOfCharge(periodStart, periodEnd, principalInterestForThisPeriod, principalDisbursed,
+                accumulateChargeAmount(periodStart, periodEnd, principalInterestForThisPeriod, principalDisbursed,
                         totalInterestChargedForFullLoanTerm, isInstallmentChargeApplicable, isFirstPeriod, loanCharge, cumulative, mc);
             }
         }
-        return cumulative;
+        return cumulative.toMoney();
     }
 
-    private Money getCumulativeAmountOfCharge(LocalDate periodStart, LocalDate periodEnd, PrincipalInterest principalInterestForThisPeriod,
+    private void accumulateChargeAmount(LocalDate periodStart, LocalDate periodEnd, PrincipalInterest principalInterestForThisPeriod,
             Money principalDisbursed, Money totalInterestChargedForFullLoanTerm, boolean isInstallmentChargeApplicable,
-            boolean isFirstPeriod, LoanCharge loanCharge, Money cumulative, MathContext mc) {
+            boolean isFirstPeriod, LoanCharge loanCharge, MoneyAccumulator cumulative, MathContext mc) {
         boolean isDue = isFirstPeriod ? loanCharge.isDueForCollectionFromIncludingAndUpToAndIncluding(periodStart, periodEnd)
                 : loanCharge.isDueForCollectionFromAndUpToAndIncluding(periodStart, periodEnd);
         if (loanCharge.isInstalmentFee() && isInstallmentChargeApplicable) {
-            cumulative = calculateInstallmentCharge(principalInterestForThisPeriod, cumulative, loanCharge, mc);
+            calculateInstallmentCharge(principalInterestForThisPeriod, cumulative, loanCharge, mc);
         } else if (loanCharge.isOverdueInstallmentCharge() && isDue && loanCharge.getChargeCalculation().isPercentageBased()) {
-            cumulative = cumulative.plus(loanCharge.chargeAmount());
+            cumulative.plus(loanCharge.chargeAmount());
         } else if (isDue && loanCharge.getChargeCalculation().isPercentageBased()) {
-            cumulative = calculateSpecificDueDateChargeWithPercentage(principalDisbursed, totalInterestChargedForFullLoanTerm, cumulative,
-                    loanCharge, mc);
+            calculateSpecificDueDateChargeWithPercentage(principalDisbursed, totalInterestChargedForFullLoanTerm, cumulative, loanCharge,
+                    mc);
         } else if (isDue) {
-            cumulative = cumulative.plus(loanCharge.amount());
+            cumulative.plus(loanCharge.amount());
         }
-        return cumulative;
     }
 
     private Money cumulativePenaltyChargesDueWithin(final LocalDate periodStart, final LocalDate periodEnd,
@@ -436,17 +436,17 @@ public abstract class AbstractProgressiveLoanScheduleGenerator implements LoanSc
             final PrincipalInterest principalInterestForThisPeriod, final Money principalDisbursed,
             final Money totalInterestChargedForFullLoanTerm, boolean isInstallmentChargeApplicable, final boolean isFirstPeriod,
             final MathContext mc) {
-        Money cumulative = Money.zero(monetaryCurrency);
+        MoneyAccumulator cumulative = MoneyAccumulator.zero(monetaryCurrency);
         for (final LoanCharge loanCharge : loanCharges) {
             if (loanCharge.isPenaltyCharge()) {
-                cumulative = getCumulativeAmountOfCharge(periodStart, periodEnd, principalInterestForThisPeriod, principalDisbursed,
+                accumulateChargeAmount(periodStart, periodEnd, principalInterestForThisPeriod, principalDisbursed,
                         totalInterestChargedForFullLoanTerm, isInstallmentChargeApplicable, isFirstPeriod, loanCharge, cumulative, mc);
             }
         }
-        return cumulative;
+        return cumulative.toMoney();
     }
 
-    private Money calculateInstallmentCharge(final PrincipalInterest principalInterestForThisPeriod, Money cumulative,
+    private void calculateInstallmentCharge(final PrincipalInterest principalInterestForThisPeriod, MoneyAccumulator cumulative,
             final LoanCharge loanCharge, final MathContext mc) {
         if (loanCharge.getChargeCalculation().isPercentageBased()) {
             BigDecimal amount = BigDecimal.ZERO;
@@ -459,15 +459,15 @@ public abstract class AbstractProgressiveLoanScheduleGenerator implements LoanSc
                 amount = amount.add(principalInterestForThisPeriod.principal().getAmount());
             }
             BigDecimal loanChargeAmt = amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100), mc);
-            cumulative = cumulative.plus(loanChargeAmt);
+            cumulative.plus(loanChargeAmt);
         } else {
-            cumulative = cumulative.plus(loanCharge.amountOrPercentage());
+            cumulative.plus(loanCharge.amountOrPercentage());
         }
-        return cumulative;
     }
 
-    private Money calculateSpecificDueDateChargeWithPercentage(final Money principalDisbursed,
-            final Money totalInterestChargedForFullLoanTerm, Money cumulative, final LoanCharge loanCharge, final MathContext mc) {
+    private void calculateSpecificDueDateChargeWithPercentage(final Money principalDisbursed,
+            final Money totalInterestChargedForFullLoanTerm, MoneyAccumulator cumulative, final LoanCharge loanCharge,
+            final MathContext mc) {
         BigDecimal amount = BigDecimal.ZERO;
         if (loanCharge.getChargeCalculation().isPercentageOfAmountAndInterest()) {
             amount = amount.add(principalDisbursed.getAmount()).add(totalInterestChargedForFullLoanTerm.getAmount());
@@ -477,8 +477,7 @@ public abstract class AbstractProgressiveLoanScheduleGenerator implements LoanSc
             amount = amount.add(principalDisbursed.getAmount());
         }
         BigDecimal loanChargeAmt = amount.multiply(loanCharge.getPercentage()).divide(BigDecimal.valueOf(100), mc);
-        cumulative = cumulative.plus(loanChargeAmt);
-        return cumulative;
+        cumulative.plus(loanChargeAmt);
     }
 
     private void updateAmountsWithEffectiveDate(final LoanApplicationTerms loanApplicationTerms, final HolidayDetailDTO holidayDetailDTO,
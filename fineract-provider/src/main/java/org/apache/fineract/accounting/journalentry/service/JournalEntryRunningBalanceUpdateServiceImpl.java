@@ -19,41 +19,49 @@
 package org.apache.fineract.accounting.journalentry.service;
 
 import java.math.BigDecimal;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.fineract.accounting.common.AccountingEnumerations;
 import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
 import org.apache.fineract.accounting.journalentry.api.JournalEntryJsonInputParams;
-import org.apache.fineract.accounting.journalentry.data.JournalEntryData;
 import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
 import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResultBuilder;
-import org.apache.fineract.infrastructure.core.data.EnumOptionData;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
 import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
 import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntryRunningBalanceUpdateService {
 
+    private static final RowMapper<AccountToUpdate> ACCOUNT_TO_UPDATE_MAPPER = (rs, rowNum) -> new AccountToUpdate(rs.getLong("accountId"),
+            GLAccountType.fromInt(JdbcSupport.getInteger(rs, "classification")), JdbcSupport.getLocalDate(rs, "entityDate"));
+
     private final JdbcTemplate jdbcTemplate;
 
     private final OfficeRepositoryWrapper officeRepositoryWrapper;
@@ -63,20 +71,27 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
     private final FromJsonHelper fromApiJsonHelper;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
 
-    private final GLJournalEntryMapper entryMapper = new GLJournalEntryMapper();
-
     private final PlatformSecurityContext platformSecurityContext;
 
+    private final PlatformTransactionManager transactionManager;
+
+    private final FineractProperties fineractProperties;
+
+    @Qualifier(TaskExecutorConstant.RUNNING_BALANCE_UPDATE_TASK_EXECUTOR_BEAN_NAME)
+    private final AsyncTaskExecutor runningBalanceUpdateTaskExecutor;
+
     @Override
     public void updateRunningBalance() {
-        String dateFinder = "select MIN(je.entry_date) as entityDate from acc_gl_journal_entry  je "
-                + "where je.is_running_balance_calculated=false ";
-        try {
-            LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class);
-            updateOrganizationRunningBalance(entityDate);
-        } catch (EmptyResultDataAccessException e) {
+        final String accountFinder = "select je.account_id as accountId, glAccount.classification_enum as classification, "
+                + "MIN(je.entry_date) as entityDate from acc_gl_journal_entry je "
+                + "inner join acc_gl_account glAccount on glAccount.id = je.account_id where je.is_running_balance_calculated=false "
+                + "group by je.account_id, glAccount.classification_enum";
+        List<AccountToUpdate> accounts = this.jdbcTemplate.query(accountFinder, ACCOUNT_TO_UPDATE_MAPPER);
+        if (accounts.isEmpty()) {
             log.debug("No results found for updation of running balance ");
+            return;
         }
+        updateOrganizationRunningBalance(accounts);
     }
 
     @Override
@@ -90,140 +105,169 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
             updateRunningBalance();
         } else {
             this.officeRepositoryWrapper.findOneWithNotFoundDetection(officeId);
-            String dateFinder = "select MIN(je.entry_date) as entityDate " + "from acc_gl_journal_entry  je "
-                    + "where je.is_running_balance_calculated=false  and je.office_id=?";
-            try {
-                LocalDate entityDate = this.jdbcTemplate.queryForObject(dateFinder, LocalDate.class, officeId);
-                updateRunningBalance(officeId, entityDate);
-            } catch (EmptyResultDataAccessException e) {
+            // is_running_balance_calculated covers the organization running balance as well, so the accounts with
+            // uncalculated entries in the office are recalculated as a whole, from their earliest uncalculated entry
+            final String accountFinder = "select je.account_id as accountId, glAccount.classification_enum as classification, "
+                    + "MIN(je.entry_date) as entityDate from acc_gl_journal_entry je "
+                    + "inner join acc_gl_account glAccount on glAccount.id = je.account_id where je.is_running_balance_calculated=false "
+                    + "and je.account_id in (select oje.account_id from acc_gl_journal_entry oje "
+                    + "where oje.is_running_balance_calculated=false and oje.office_id=?) "
+                    + "group by je.account_id, glAccount.classification_enum";
+            List<AccountToUpdate> accounts = this.jdbcTemplate.query(accountFinder, ACCOUNT_TO_UPDATE_MAPPER, officeId);
+            if (accounts.isEmpty()) {
                 log.debug("No results found for updation of office running balance with office id: {}", officeId);
+            } else {
+                updateOrganizationRunningBalance(accounts);
             }
             commandProcessingResultBuilder.withOfficeId(officeId);
         }
         return commandProcessingResultBuilder.build();
     }
 
-    private void updateOrganizationRunningBalance(LocalDate entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
-        Map<Long, Map<Long, BigDecimal>> officesRunningBalance = new HashMap<>();
+    /**
+     * The organization and office running balances of an account only depend on the entries of that account, so every
+     * account with uncalculated entries is processed independently on its own worker thread. For each account only the
+     * entries from its earliest uncalculated entry date onwards are read, page by page in (entry_date, id) order. The
+     * starting balances are taken from the acc_gl_running_balance_checkpoint table or, when an entry has been backdated
+     * before the checkpoint, from the last entry before that date.
+     */
+    private void updateOrganizationRunningBalance(List<AccountToUpdate> accounts) {
+        final Long userId = platformSecurityContext.authenticatedUser().getId();
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        List<Future<?>> tasks = new ArrayList<>(accounts.size());
+        for (AccountToUpdate account : accounts) {
+            tasks.add(runningBalanceUpdateTaskExecutor.submit(() -> {
+                ThreadLocalContextUtil.init(context);
+                try {
+                    updateAccountRunningBalance(account, userId);
+                } finally {
+                    ThreadLocalContextUtil.reset();
+                }
+            }));
+        }
+        RuntimeException failure = null;
+        for (int i = 0; i < tasks.size(); i++) {
+            try {
+                tasks.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // Every page is committed with its checkpoints, the next run resumes the accounts that were cut short
+                tasks.forEach(task -> task.cancel(true));
+                throw new IllegalStateException("Interrupted while updating the running balances", e);
+            } catch (ExecutionException e) {
+                log.error("Error occurred while updating the running balance of GL account {}", accounts.get(i).accountId(),
+                        e.getCause());
+                if (failure == null) {
+                    failure = new IllegalStateException(
+                            "Failed to update the running balance of GL account " + accounts.get(i).accountId(), e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
 
-        final String organizationRunningBalanceQuery = "select je.organization_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
+    private void updateAccountRunningBalance(AccountToUpdate account, Long userId) {
+        final Long accountId = account.accountId();
+        final LocalDate entityDate = account.entityDate();
+        final int pageSize = Math.max(1, fineractProperties.getJob().getRunningBalanceUpdatePageSize());
+        final TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(organizationRunningBalanceQuery, // NOSONAR
-                entityDate, entityDate);
+        final String entriesQuery = "select je.id as id, je.office_id as officeId, je.entry_date as entryDate, je.type_enum as entryType, "
+                + "je.amount as amount from acc_gl_journal_entry je "
+                + "where je.account_id = ? and (je.entry_date > ? or (je.entry_date = ? and je.id > ?)) order by je.entry_date, je.id "
+                + sqlGenerator.limit(pageSize);
+        final String updateSql = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=?, organization_running_balance=?,"
+                + "office_running_balance=?, last_modified_by=?, last_modified_on_utc=?  WHERE  id=?";
 
-        for (Map<String, Object> entries : list) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString()); // Drizzle
-                                                                                  // is
-                                                                                  // returning
-                                                                                  // Big
-                                                                                  // Integer
-                                                                                  // where
-                                                                                  // as
-                                                                                  // MySQL
-                                                                                  // returns
-                                                                                  // Long.
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
-        }
+        final Map<Long, RunningBalanceCheckpoint> checkpoints = new HashMap<>();
+        jdbcTemplate.query(
+                "select office_id as officeId, entry_date as entryDate, journal_entry_id as journalEntryId, "
+                        + "office_running_balance as officeRunningBalance from acc_gl_running_balance_checkpoint where account_id = ?",
+                rs -> {
+                    checkpoints.put(rs.getLong("officeId"), new RunningBalanceCheckpoint(JdbcSupport.getLocalDate(rs, "entryDate"),
+                            rs.getLong("journalEntryId"), rs.getBigDecimal("officeRunningBalance")));
+                }, accountId);
 
-        final String offlineRunningBalanceQuery = "select je.office_running_balance as runningBalance,je.account_id as accountId,je.office_id as officeId "
-                + "from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where entry_date < ? group by office_id,account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where entry_date < ? group by office_id,account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
+        BigDecimal organizationRunningBalance = findRunningBalanceBefore("organization_running_balance", "je.account_id = ?", entityDate,
+                accountId);
+        final Map<Long, BigDecimal> officeRunningBalances = new HashMap<>();
 
-        List<Map<String, Object>> officesRunningBalanceList = jdbcTemplate.queryForList(offlineRunningBalanceQuery, // NOSONAR
-                entityDate, entityDate);
-        for (Map<String, Object> entries : officesRunningBalanceList) {
-            Long accountId = Long.parseLong(entries.get("accountId").toString());
-            Long officeId = Long.parseLong(entries.get("officeId").toString());
-            Map<Long, BigDecimal> runningBalance;
-            if (officesRunningBalance.containsKey(officeId)) {
-                runningBalance = officesRunningBalance.get(officeId);
-            } else {
-                runningBalance = new HashMap<>();
-                officesRunningBalance.put(officeId, runningBalance);
+        LocalDate lastEntryDate = entityDate;
+        long lastEntryId = 0L;
+        while (true) {
+            List<RunningBalanceEntry> entries = jdbcTemplate.query(entriesQuery, // NOSONAR
+                    (rs, rowNum) -> new RunningBalanceEntry(rs.getLong("id"), rs.getLong("officeId"),
+                            JdbcSupport.getLocalDate(rs, "entryDate"), JournalEntryType.fromInt(JdbcSupport.getInteger(rs, "entryType")),
+                            rs.getBigDecimal("amount")),
+                    accountId, lastEntryDate, lastEntryDate, lastEntryId);
+            if (entries.isEmpty()) {
+                break;
             }
-            if (!runningBalance.containsKey(accountId)) {
-                runningBalance.put(accountId, (BigDecimal) entries.get("runningBalance"));
-            }
-        }
 
-        List<JournalEntryData> entryDataList = jdbcTemplate.query(entryMapper.organizationRunningBalanceSchema(), entryMapper, entityDate);
-        if (entryDataList.size() > 0) {
-            // run a batch update of 1000 SQL statements at a time
-            final int batchUpdateSize = 1000;
-            List<Object[]> params = new ArrayList<>();
-            int batchIndex = 0;
-            String sql = "UPDATE acc_gl_journal_entry SET is_running_balance_calculated=?, organization_running_balance=?,"
-                    + "office_running_balance=?, last_modified_by=?, last_modified_on_utc=?  WHERE  id=?";
-            for (int index = 0; index < entryDataList.size(); index++) {
-                JournalEntryData entryData = entryDataList.get(index);
-                Map<Long, BigDecimal> officeRunningBalanceMap;
-                if (officesRunningBalance.containsKey(entryData.getOfficeId())) {
-                    officeRunningBalanceMap = officesRunningBalance.get(entryData.getOfficeId());
-                } else {
-                    officeRunningBalanceMap = new HashMap<>();
-                    officesRunningBalance.put(entryData.getOfficeId(), officeRunningBalanceMap);
+            List<Object[]> params = new ArrayList<>(entries.size());
+            Map<Long, RunningBalanceCheckpoint> pageCheckpoints = new LinkedHashMap<>();
+            for (RunningBalanceEntry entry : entries) {
+                BigDecimal officeRunningBalance = officeRunningBalances.get(entry.officeId());
+                if (officeRunningBalance == null) {
+                    RunningBalanceCheckpoint checkpoint = checkpoints.get(entry.officeId());
+                    officeRunningBalance = checkpoint != null && checkpoint.entryDate().isBefore(entityDate)
+                            ? checkpoint.officeRunningBalance()
+                            : findRunningBalanceBefore("office_running_balance", "je.office_id = ? and je.account_id = ?", entityDate,
+                                    entry.officeId(), accountId);
                 }
-                BigDecimal officeRunningBalance = calculateRunningBalance(entryData, officeRunningBalanceMap);
-                BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
+                officeRunningBalance = calculateRunningBalance(account.accountType(), entry.entryType(), entry.amount(),
+                        officeRunningBalance);
+                organizationRunningBalance = calculateRunningBalance(account.accountType(), entry.entryType(), entry.amount(),
+                        organizationRunningBalance);
+                officeRunningBalances.put(entry.officeId(), officeRunningBalance);
+                pageCheckpoints.put(entry.officeId(), new RunningBalanceCheckpoint(entry.entryDate(), entry.id(), officeRunningBalance));
 
-                params.add(new Object[] { Boolean.TRUE, runningBalance, officeRunningBalance,
-                        platformSecurityContext.authenticatedUser().getId(), DateUtils.getAuditOffsetDateTime(), entryData.getId() });
-                batchIndex++;
-                if (batchIndex == batchUpdateSize || index == entryDataList.size() - 1) {
-                    this.jdbcTemplate.batchUpdate(sql, params);
-                    // reset counter and string array
-                    batchIndex = 0;
-                    params.clear();
-                }
+                params.add(new Object[] { Boolean.TRUE, organizationRunningBalance, officeRunningBalance, userId,
+                        DateUtils.getAuditOffsetDateTime(), entry.id() });
             }
-        }
-
-    }
-
-    private void updateRunningBalance(Long officeId, LocalDate entityDate) {
-        Map<Long, BigDecimal> runningBalanceMap = new HashMap<>(5);
 
-        final String offlineRunningBalanceQuery = "select je.office_running_balance as runningBalance,je.account_id as accountId from acc_gl_journal_entry je "
-                + "inner join (select max(id) as id from acc_gl_journal_entry where office_id=?  and entry_date < ? group by account_id,entry_date) je2 ON je2.id = je.id "
-                + "inner join (select max(entry_date) as date from acc_gl_journal_entry where office_id=? and entry_date < ? group by account_id) je3 ON je.entry_date = je3.date "
-                + "group by je.id order by je.entry_date DESC " + sqlGenerator.limit(10000, 0);
+            // Every page is committed together with the checkpoints, so an interrupted run is resumed from here
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(updateSql, params);
+                pageCheckpoints.forEach((officeId, checkpoint) -> saveCheckpoint(officeId, accountId, checkpoint));
+            });
 
-        List<Map<String, Object>> list = jdbcTemplate.queryForList(offlineRunningBalanceQuery, // NOSONAR
-                officeId, entityDate, officeId, entityDate);
-        for (Map<String, Object> entries : list) {
-            Long accountId = (Long) entries.get("accountId");
-            if (!runningBalanceMap.containsKey(accountId)) {
-                runningBalanceMap.put(accountId, (BigDecimal) entries.get("runningBalance"));
+            RunningBalanceEntry lastEntry = entries.get(entries.size() - 1);
+            lastEntryDate = lastEntry.entryDate();
+            lastEntryId = lastEntry.id();
+            if (entries.size() < pageSize) {
+                break;
             }
         }
-        List<JournalEntryData> entryDataList = jdbcTemplate.query(entryMapper.officeRunningBalanceSchema(), entryMapper, officeId,
-                entityDate);
-        List<Object[]> params = new ArrayList<>();
+    }
 
-        String sql = "UPDATE acc_gl_journal_entry SET office_running_balance=?, last_modified_by=?, last_modified_on_utc=? WHERE id=?";
-        for (JournalEntryData entryData : entryDataList) {
-            BigDecimal runningBalance = calculateRunningBalance(entryData, runningBalanceMap);
-            params.add(new Object[] { runningBalance, platformSecurityContext.authenticatedUser().getId(),
-                    DateUtils.getAuditOffsetDateTime(), entryData.getId() });
-        }
-        this.jdbcTemplate.batchUpdate(sql, params);
+    private BigDecimal findRunningBalanceBefore(String balanceColumn, String criteria, LocalDate entityDate, Object... params) {
+        final String sql = "select je." + balanceColumn + " from acc_gl_journal_entry je where " + criteria
+                + " and je.entry_date < ? order by je.entry_date DESC, je.id DESC " + sqlGenerator.limit(1);
+        Object[] args = new Object[params.length + 1];
+        System.arraycopy(params, 0, args, 0, params.length);
+        args[params.length] = entityDate;
+        List<BigDecimal> balances = jdbcTemplate.queryForList(sql, BigDecimal.class, args); // NOSONAR
+        return balances.isEmpty() || balances.get(0) == null ? BigDecimal.ZERO : balances.get(0);
     }
 
-    private BigDecimal calculateRunningBalance(JournalEntryData entry, Map<Long, BigDecimal> runningBalanceMap) {
-        BigDecimal runningBalance = BigDecimal.ZERO;
-        if (runningBalanceMap.containsKey(entry.getGlAccountId())) {
-            runningBalance = runningBalanceMap.get(entry.getGlAccountId());
+    private void saveCheckpoint(Long officeId, Long accountId, RunningBalanceCheckpoint checkpoint) {
+        int updated = jdbcTemplate.update(
+                "UPDATE acc_gl_running_balance_checkpoint SET entry_date=?, journal_entry_id=?, office_running_balance=? "
+                        + "WHERE office_id=? AND account_id=?",
+                checkpoint.entryDate(), checkpoint.journalEntryId(), checkpoint.officeRunningBalance(), officeId, accountId);
+        if (updated == 0) {
+            jdbcTemplate.update(
+                    "INSERT INTO acc_gl_running_balance_checkpoint (office_id, account_id, entry_date, journal_entry_id, "
+                            + "office_running_balance) VALUES (?, ?, ?, ?, ?)",
+                    officeId, accountId, checkpoint.entryDate(), checkpoint.journalEntryId(), checkpoint.officeRunningBalance());
         }
-        GLAccountType accountType = GLAccountType.fromInt(entry.getGlAccountType().getId().intValue());
-        JournalEntryType entryType = JournalEntryType.fromInt(entry.getEntryType().getId().intValue());
+    }
+
+    private static BigDecimal calculateRunningBalance(GLAccountType accountType, JournalEntryType entryType, BigDecimal amount,
+            BigDecimal runningBalance) {
         boolean isIncrease = false;
         switch (accountType) {
             case ASSET:
@@ -241,45 +285,17 @@ public class JournalEntryRunningBalanceUpdateServiceImpl implements JournalEntry
             break;
         }
         if (isIncrease) {
-            runningBalance = runningBalance.add(entry.getAmount());
-        } else {
-            runningBalance = runningBalance.subtract(entry.getAmount());
+            return runningBalance.add(amount);
         }
-        runningBalanceMap.put(entry.getGlAccountId(), runningBalance);
-        return runningBalance;
+        return runningBalance.subtract(amount);
     }
 
-    private static final class GLJournalEntryMapper implements RowMapper<JournalEntryData> {
-
-        public String officeRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId,je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.office_id=? and je.entry_date >= ? order by je.entry_date,je.id";
-        }
-
-        public String organizationRunningBalanceSchema() {
-            return "select je.id as id,je.account_id as glAccountId," + "je.type_enum as entryType,je.amount as amount, "
-                    + "glAccount.classification_enum as classification,je.office_id as officeId  "
-                    + "from acc_gl_journal_entry je , acc_gl_account glAccount " + "where je.account_id = glAccount.id "
-                    + "and je.entry_date >= ? order by je.entry_date,je.id";
-        }
-
-        @Override
-        public JournalEntryData mapRow(final ResultSet rs, @SuppressWarnings("unused") final int rowNum) throws SQLException {
-
-            final Long id = rs.getLong("id");
-            final Long glAccountId = rs.getLong("glAccountId");
-            final Long officeId = rs.getLong("officeId");
-            final int accountTypeId = JdbcSupport.getInteger(rs, "classification");
-            final EnumOptionData accountType = AccountingEnumerations.gLAccountType(accountTypeId);
-            final BigDecimal amount = rs.getBigDecimal("amount");
-            final int entryTypeId = JdbcSupport.getInteger(rs, "entryType");
-            final EnumOptionData entryType = AccountingEnumerations.journalEntryType(entryTypeId);
+    private record AccountToUpdate(Long accountId, GLAccountType accountType, LocalDate entityDate) {
+    }
 
-            return new JournalEntryData(id, officeId, null, null, glAccountId, null, accountType, null, entryType, amount, null, null, null,
-                    null, null, null, null, null, null, null, null, null, null, null, null);
-        }
+    private record RunningBalanceEntry(Long id, Long officeId, LocalDate entryDate, JournalEntryType entryType, BigDecimal amount) {
     }
 
+    private record RunningBalanceCheckpoint(LocalDate entryDate, Long journalEntryId, BigDecimal officeRunningBalance) {
+    }
 }
@@ -18,9 +18,12 @@
  */
 package org.apache.fineract.cob;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
@@ -32,6 +35,7 @@ import org.apache.fineract.cob.domain.BatchBusinessStepRepository;
 import org.apache.fineract.cob.exceptions.BusinessStepException;
 import org.apache.fineract.cob.service.ReloaderService;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.diagnostics.performance.MetricsUtil;
 import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
@@ -53,6 +57,7 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
     private final ConfigurationDomainService configurationDomainService;
 
     private final ReloaderService reloaderService;
+    private final MeterRegistry meterRegistry;
 
     @SuppressWarnings({ "unchecked" })
     @Override
@@ -68,14 +73,22 @@ public class COBBusinessStepServiceImpl implements COBBusinessStepService {
             }
 
             for (String businessStep : executionMap.values()) {
+                String stepName = businessStep;
+                String outcome = "failure";
+                Timer.Sample sample = Timer.start(meterRegistry);
                 try {
                     ThreadLocalContextUtil.setActionContext(ActionContext.COB);
                     COBBusinessStep<S> businessStepBean = (COBBusinessStep<S>) applicationContext.getBean(businessStep);
+                    stepName = Objects.requireNonNullElse(businessStepBean.getEnumStyledName(), businessStep);
                     item = reloaderService.reload(item);
                     item = businessStepBean.execute(item);
+                    outcome = "success";
                 } catch (Exception e) {
                     throw new BusinessStepException("Error happened during business step execution", e);
                 } finally {
+                    sample.stop(Timer.builder("fineract.cob.business.step").description("Time taken to execute a COB business step")
+                            .tag("tenant", MetricsUtil.getTenantTag()).tag("step", stepName).tag("outcome", outcome)
+                            .register(meterRegistry));
                     // Fallback to COB action context after each business step
                     ThreadLocalContextUtil.setActionContext(ActionContext.COB);
                 }
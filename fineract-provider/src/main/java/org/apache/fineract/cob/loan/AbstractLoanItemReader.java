@@ -18,6 +18,12 @@
  */
 package org.apache.fineract.cob.loan;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -32,6 +38,8 @@ import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.annotation.AfterStep;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -42,15 +50,22 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
     @Setter(AccessLevel.PROTECTED)
     private LinkedBlockingQueue<Long> remainingData;
 
+    /**
+     * Number of loans loaded together when the reader is called within a transaction, usually the chunk size. The
+     * prefetched loans are bound to the transaction of the chunk, so they are never handed out in a different
+     * persistence context than the one they were loaded in.
+     */
+    @Setter
+    private int prefetchSize = 1;
+
     @Override
     public Loan read() throws Exception {
+        if (prefetchSize > 1 && TransactionSynchronizationManager.isSynchronizationActive()) {
+            return readPrefetched();
+        }
         final Long loanId = remainingData.poll();
         if (loanId != null) {
-            try {
-                return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
-            } catch (Exception e) {
-                throw new LoanReadException(loanId, e);
-            }
+            return findLoan(loanId);
         }
         return null;
     }
@@ -60,4 +75,57 @@ public abstract class AbstractLoanItemReader implements ItemReader<Loan> {
         return ExitStatus.COMPLETED;
     }
 
+    private Loan readPrefetched() throws LoanReadException {
+        PrefetchedLoans prefetchedLoans = (PrefetchedLoans) TransactionSynchronizationManager.getResource(this);
+        if (prefetchedLoans == null) {
+            prefetchedLoans = new PrefetchedLoans();
+            TransactionSynchronizationManager.bindResource(this, prefetchedLoans);
+            TransactionSynchronizationManager.registerSynchronization(prefetchedLoans);
+        }
+        if (prefetchedLoans.loanIds.isEmpty()) {
+            List<Long> loanIds = new ArrayList<>(prefetchSize);
+            remainingData.drainTo(loanIds, prefetchSize);
+            if (loanIds.isEmpty()) {
+                return null;
+            }
+            prefetchedLoans.prefetch(loanIds);
+        }
+        final Long loanId = prefetchedLoans.loanIds.poll();
+        Loan loan = prefetchedLoans.loans.remove(loanId);
+        return loan != null ? loan : findLoan(loanId);
+    }
+
+    private Loan findLoan(Long loanId) throws LoanReadException {
+        try {
+            return loanRepository.findById(loanId).orElseThrow(() -> new LoanNotFoundException(loanId));
+        } catch (Exception e) {
+            throw new LoanReadException(loanId, e);
+        }
+    }
+
+    private final class PrefetchedLoans implements TransactionSynchronization {
+
+        private final Queue<Long> loanIds = new LinkedList<>();
+        private final Map<Long, Loan> loans = new HashMap<>();
+
+        private void prefetch(List<Long> ids) {
+            loanIds.addAll(ids);
+            try {
+                loanRepository.findAllWithAssociationsByIdIn(ids).forEach(loan -> loans.put(loan.getId(), loan));
+            } catch (Exception e) {
+                // Every loan is then read one by one, so the failure is reported against the individual loan ids
+                log.warn("Failed to prefetch {} loans, falling back to reading them one by one", ids.size(), e);
+                loans.clear();
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(AbstractLoanItemReader.this);
+            if (!loanIds.isEmpty()) {
+                log.debug("Returning {} prefetched but unread loans to the queue", loanIds.size());
+                remainingData.addAll(loanIds);
+            }
+        }
+    }
 }
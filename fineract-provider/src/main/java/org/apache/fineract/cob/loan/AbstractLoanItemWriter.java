@@ -18,6 +18,8 @@
  */
 package org.apache.fineract.cob.loan;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +36,13 @@ public abstract class AbstractLoanItemWriter extends RepositoryItemWriter<Loan>
 
     private final LoanLockingService loanLockingService;
 
+    private EntityManager entityManager;
+
+    @PersistenceContext
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
     @Override
     public void write(@NotNull Chunk<? extends Loan> items) throws Exception {
         if (!items.isEmpty()) {
@@ -43,6 +52,23 @@ public abstract class AbstractLoanItemWriter extends RepositoryItemWriter<Loan>
         }
     }
 
+    /**
+     * Loans read within the transaction of the chunk are still managed: their changes are written by the commit, so
+     * merging them again would only walk the whole aggregate for nothing. Only the loans that were read in an earlier
+     * transaction (a retried chunk) are merged.
+     */
+    @Override
+    protected void doWrite(@NotNull Chunk<? extends Loan> items) throws Exception {
+        if (entityManager == null) {
+            super.doWrite(items);
+            return;
+        }
+        List<? extends Loan> detachedLoans = items.getItems().stream().filter(loan -> !entityManager.contains(loan)).toList();
+        if (!detachedLoans.isEmpty()) {
+            super.doWrite(new Chunk<>(detachedLoans));
+        }
+    }
+
     protected abstract LockOwner getLockOwner();
 
 }
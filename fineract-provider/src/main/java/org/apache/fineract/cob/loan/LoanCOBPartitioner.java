@@ -79,10 +79,15 @@ public class LoanCOBPartitioner implements Partitioner {
             stopJobExecution();
             return Map.of();
         }
+        boolean costWeighted = propertyService.isCostWeightedPartitioning(LoanCOBConstant.JOB_NAME);
+        boolean catchUp = isCatchUp != null && isCatchUp;
         StopWatch sw = new StopWatch();
         sw.start();
-        List<LoanCOBPartition> loanCOBPartitions = new ArrayList<>(
-                retrieveLoanIdService.retrieveLoanCOBPartitions(numberOfDays, businessDate, isCatchUp != null && isCatchUp, partitionSize));
+        // Cost weighted partitions hold about the same amount of work instead of the same number of loans, so loans
+        // with long histories don't keep a single worker busy while the others have already run out of partitions
+        List<LoanCOBPartition> loanCOBPartitions = new ArrayList<>(costWeighted
+                ? retrieveLoanIdService.retrieveCostWeightedLoanCOBPartitions(numberOfDays, businessDate, catchUp, partitionSize)
+                : retrieveLoanIdService.retrieveLoanCOBPartitions(numberOfDays, businessDate, catchUp, partitionSize));
         sw.stop();
         // if there is no loan to be closed, we still would like to create at least one partition
 
@@ -90,8 +95,8 @@ public class LoanCOBPartitioner implements Partitioner {
             loanCOBPartitions.add(new LoanCOBPartition(0L, 0L, 1L, 0L));
         }
         log.info(
-                "LoanCOBPartitioner found {} loans to be processed as part of COB. {} partitions were created using partition size {}. RetrieveLoanCOBPartitions was executed in {} ms.",
-                getLoanCount(loanCOBPartitions), loanCOBPartitions.size(), partitionSize, sw.getTotalTimeMillis());
+                "LoanCOBPartitioner found {} loans to be processed as part of COB. {} partitions were created using partition size {} (cost weighted: {}). RetrieveLoanCOBPartitions was executed in {} ms.",
+                getLoanCount(loanCOBPartitions), loanCOBPartitions.size(), partitionSize, costWeighted, sw.getTotalTimeMillis());
         return loanCOBPartitions.stream()
                 .collect(Collectors.toMap(l -> PARTITION_PREFIX + l.getPageNo(), l -> createNewPartition(cobBusinessSteps, l)));
     }
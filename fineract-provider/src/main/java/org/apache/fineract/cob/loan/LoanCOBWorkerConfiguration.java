@@ -177,7 +177,10 @@ public class LoanCOBWorkerConfiguration {
     @Bean
     @StepScope
     public LoanItemReader cobWorkerItemReader() {
-        return new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver, loanLockingService);
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.setPrefetchSize(propertyService.getChunkSize(LoanCOBConstant.JOB_NAME));
+        return loanItemReader;
     }
 
     @Bean
@@ -100,7 +100,9 @@ public class LoanInlineCOBConfig {
     @JobScope
     @Bean
     public InlineCOBLoanItemReader inlineCobWorkerItemReader() {
-        return new InlineCOBLoanItemReader(loanRepository);
+        InlineCOBLoanItemReader inlineCOBLoanItemReader = new InlineCOBLoanItemReader(loanRepository);
+        inlineCOBLoanItemReader.setPrefetchSize(propertyService.getChunkSize(LoanCOBConstant.JOB_NAME));
+        return inlineCOBLoanItemReader;
     }
 
     @JobScope
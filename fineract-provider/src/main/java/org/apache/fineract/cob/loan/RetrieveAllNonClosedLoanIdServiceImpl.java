@@ -47,20 +47,53 @@ public class RetrieveAllNonClosedLoanIdServiceImpl implements RetrieveLoanIdServ
         sql.append("select min(id) as min, max(id) as max, page, count(id) as count from ");
         sql.append("  (select floor(((row_number() over(order by id))-1) / :pageSize) as page, t.* from ");
         sql.append("      (select id from m_loan where loan_status_id in (:statusIds) and ");
+        appendLastClosedBusinessDateCondition(sql, isCatchUp);
+        sql.append("order by id) t) t2 ");
+        sql.append("group by page ");
+        sql.append("order by page");
+
+        return namedParameterJdbcTemplate.query(sql.toString(), getPartitionParameters(numberOfDays, businessDate, partitionSize),
+                RetrieveAllNonClosedLoanIdServiceImpl::mapRow);
+    }
+
+    /**
+     * The estimated cost of a loan is one plus the number of rows of its repayment schedule, counted on the loan_id
+     * index of m_loan_repayment_schedule. The pages are cut at multiples of the average cost of {@code partitionSize}
+     * loans, so every partition carries roughly the same amount of work while the number of partitions stays about the
+     * same as with {@link #retrieveLoanCOBPartitions(Long, LocalDate, boolean, int)}.
+     */
+    @Override
+    public List<LoanCOBPartition> retrieveCostWeightedLoanCOBPartitions(Long numberOfDays, LocalDate businessDate, boolean isCatchUp,
+            int partitionSize) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("select min(id) as min, max(id) as max, page, count(id) as count from ");
+        sql.append("  (select floor((sum(cost) over(order by id) - cost) * count(id) over() / (:pageSize * sum(cost) over())) as page, ");
+        sql.append("  t.* from ");
+        sql.append("      (select l.id, 1 + (select count(rs.id) from m_loan_repayment_schedule rs where rs.loan_id = l.id) as cost ");
+        sql.append("from m_loan l where l.loan_status_id in (:statusIds) and ");
+        appendLastClosedBusinessDateCondition(sql, isCatchUp);
+        sql.append(") t) t2 ");
+        sql.append("group by page ");
+        sql.append("order by page");
+
+        return namedParameterJdbcTemplate.query(sql.toString(), getPartitionParameters(numberOfDays, businessDate, partitionSize),
+                RetrieveAllNonClosedLoanIdServiceImpl::mapRow);
+    }
+
+    private static void appendLastClosedBusinessDateCondition(StringBuilder sql, boolean isCatchUp) {
         if (isCatchUp) {
             sql.append("last_closed_business_date = :businessDate ");
         } else {
             sql.append("(last_closed_business_date = :businessDate or last_closed_business_date is null) ");
         }
-        sql.append("order by id) t) t2 ");
-        sql.append("group by page ");
-        sql.append("order by page");
+    }
 
+    private static MapSqlParameterSource getPartitionParameters(Long numberOfDays, LocalDate businessDate, int partitionSize) {
         MapSqlParameterSource parameters = new MapSqlParameterSource();
         parameters.addValue("pageSize", partitionSize);
         parameters.addValue("statusIds", List.of(100, 200, 300, 303, 304));
         parameters.addValue("businessDate", businessDate.minusDays(numberOfDays));
-        return namedParameterJdbcTemplate.query(sql.toString(), parameters, RetrieveAllNonClosedLoanIdServiceImpl::mapRow);
+        return parameters;
     }
 
     private static LoanCOBPartition mapRow(ResultSet rs, int rowNum) throws SQLException {
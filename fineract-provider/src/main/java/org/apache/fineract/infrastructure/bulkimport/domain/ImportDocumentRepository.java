@@ -20,7 +20,20 @@ package org.apache.fineract.infrastructure.bulkimport.domain;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface ImportDocumentRepository extends JpaRepository<ImportDocument, Long>, JpaSpecificationExecutor<ImportDocument> {
-    // no added behaviour
+
+    /**
+     * Records the running totals of an import in progress in its own transaction, so that they are visible while the
+     * import is still running.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying(flushAutomatically = true)
+    @Query("update ImportDocument d set d.successCount = :successCount, d.failureCount = :failureCount where d.id = :id")
+    void updateProgress(@Param("id") Long id, @Param("successCount") Integer successCount, @Param("failureCount") Integer failureCount);
 }
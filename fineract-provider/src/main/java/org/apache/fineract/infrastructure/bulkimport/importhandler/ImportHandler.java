@@ -24,4 +24,14 @@ import org.apache.poi.ss.usermodel.Workbook;
 public interface ImportHandler {
 
     Count process(Workbook workbook, String locale, String dateFormat);
+
+    /**
+     * Processes the workbook and reports the number of imported and failed rows while the import is running. Handlers
+     * that don't import their rows through the {@link ImportRowProcessor} only report the final counts.
+     */
+    default Count process(Workbook workbook, String locale, String dateFormat, ImportProgressListener progressListener) {
+        Count count = process(workbook, locale, dateFormat);
+        progressListener.onProgress(count.getSuccessCount(), count.getErrorCount());
+        return count;
+    }
 }
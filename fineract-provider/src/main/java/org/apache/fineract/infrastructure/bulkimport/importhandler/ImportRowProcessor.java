@@ -0,0 +1,161 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Imports the rows of a workbook in parallel on the bulk import task executor.
+ *
+ * Rows are grouped into partitions by a key such as the client or the loan they belong to, and the partitions are
+ * spread over at most {@code fineract.task-executor.bulk-import-task-executor-pool-size} lanes. Every lane imports its
+ * rows one after the other in their original order, so the rows of a partition never run concurrently or out of
+ * order. Row tasks must not touch the workbook, which is not thread safe; they return a result for the caller to write
+ * back once all rows are imported.
+ */
+@Component
+public class ImportRowProcessor {
+
+    private static final long PROGRESS_INTERVAL_IN_MILLIS = 1000L;
+
+    private final AsyncTaskExecutor bulkImportTaskExecutor;
+    private final int laneCount;
+
+    public ImportRowProcessor(@Qualifier(TaskExecutorConstant.BULK_IMPORT_TASK_EXECUTOR_BEAN_NAME) AsyncTaskExecutor bulkImportTaskExecutor,
+            FineractProperties fineractProperties) {
+        this.bulkImportTaskExecutor = bulkImportTaskExecutor;
+        this.laneCount = Math.max(1, fineractProperties.getTaskExecutor().getBulkImportTaskExecutorPoolSize());
+    }
+
+    /**
+     * Imports the given rows and reports the running totals to the progress listener about once a second.
+     *
+     * @param rows
+     *            the rows to import
+     * @param partitionKey
+     *            returns the key of the partition of a row; rows with a null key are partitions of their own
+     * @param importRow
+     *            imports a single row, must not throw
+     * @param isSuccess
+     *            tells whether a row result stands for an imported row
+     * @param progressListener
+     *            receives the running totals
+     * @return the results in the order of the rows
+     */
+    public <T, R> List<R> process(List<T> rows, Function<T, Object> partitionKey, Function<T, R> importRow, Predicate<R> isSuccess,
+            ImportProgressListener progressListener) {
+        int[] lanes = assignLanes(rows, partitionKey);
+        Object[] results = new Object[rows.size()];
+        AtomicInteger successCount = new AtomicInteger();
+        AtomicInteger errorCount = new AtomicInteger();
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+
+        int usedLanes = Arrays.stream(lanes).max().orElse(-1) + 1;
+        List<Future<?>> futures = new ArrayList<>(usedLanes);
+        for (int lane = 0; lane < usedLanes; lane++) {
+            final int currentLane = lane;
+            futures.add(bulkImportTaskExecutor.submit(() -> {
+                ThreadLocalContextUtil.init(context);
+                SecurityContextHolder.setContext(securityContext);
+                try {
+                    for (int i = 0; i < rows.size(); i++) {
+                        if (lanes[i] == currentLane) {
+                            R result = importRow.apply(rows.get(i));
+                            results[i] = result;
+                            (isSuccess.test(result) ? successCount : errorCount).incrementAndGet();
+                        }
+                    }
+                } finally {
+                    SecurityContextHolder.clearContext();
+                    ThreadLocalContextUtil.reset();
+                }
+            }));
+        }
+        awaitCompletion(futures, () -> progressListener.onProgress(successCount.get(), errorCount.get()));
+        progressListener.onProgress(successCount.get(), errorCount.get());
+
+        List<R> orderedResults = new ArrayList<>(rows.size());
+        for (Object result : results) {
+            @SuppressWarnings("unchecked")
+            R typedResult = (R) result;
+            orderedResults.add(typedResult);
+        }
+        return orderedResults;
+    }
+
+    private <T> int[] assignLanes(List<T> rows, Function<T, Object> partitionKey) {
+        // Partitions are dealt out to the lanes round-robin in the order of their first row
+        Map<Object, Integer> partitionLanes = new HashMap<>();
+        int[] lanes = new int[rows.size()];
+        int partitions = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            Object key = partitionKey.apply(rows.get(i));
+            if (key == null) {
+                lanes[i] = partitions++ % laneCount;
+            } else {
+                Integer lane = partitionLanes.get(key);
+                if (lane == null) {
+                    lane = partitions++ % laneCount;
+                    partitionLanes.put(key, lane);
+                }
+                lanes[i] = lane;
+            }
+        }
+        return lanes;
+    }
+
+    private static void awaitCompletion(List<Future<?>> futures, Runnable onTick) {
+        for (Future<?> future : futures) {
+            while (true) {
+                try {
+                    future.get(PROGRESS_INTERVAL_IN_MILLIS, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (TimeoutException e) {
+                    onTick.run();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while importing rows", e);
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Error occurred while importing rows", e.getCause());
+                }
+            }
+        }
+    }
+}
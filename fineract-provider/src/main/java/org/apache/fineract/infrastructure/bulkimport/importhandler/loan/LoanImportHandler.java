@@ -28,6 +28,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.fineract.commands.domain.CommandWrapper;
@@ -38,6 +39,8 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgressListener;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportRowProcessor;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.EnumOptionDataValueSerializer;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
@@ -72,15 +75,23 @@ public class LoanImportHandler implements ImportHandler {
 
     private final LoanRepaymentScheduleTransactionProcessorFactory loanRepaymentScheduleTransactionProcessorFactory;
 
+    private final ImportRowProcessor importRowProcessor;
+
     @Override
     public Count process(final Workbook workbook, final String locale, final String dateFormat) {
+        return process(workbook, locale, dateFormat, ImportProgressListener.NONE);
+    }
+
+    @Override
+    public Count process(final Workbook workbook, final String locale, final String dateFormat,
+            final ImportProgressListener progressListener) {
         List<LoanAccountData> loans = new ArrayList<>();
         List<LoanApprovalData> approvalDates = new ArrayList<>();
         List<LoanTransactionData> loanRepayments = new ArrayList<>();
         List<DisbursementData> disbursalDates = new ArrayList<>();
         List<String> statuses = new ArrayList<>();
         readExcelFile(workbook, loans, approvalDates, loanRepayments, disbursalDates, statuses, locale, dateFormat);
-        return importEntity(workbook, loans, approvalDates, loanRepayments, disbursalDates, statuses, dateFormat);
+        return importEntity(workbook, loans, approvalDates, loanRepayments, disbursalDates, statuses, dateFormat, progressListener);
     }
 
     private void readExcelFile(final Workbook workbook, final List<LoanAccountData> loans, final List<LoanApprovalData> approvalDates,
@@ -378,58 +389,77 @@ public class LoanImportHandler implements ImportHandler {
 
     private Count importEntity(final Workbook workbook, final List<LoanAccountData> loans, final List<LoanApprovalData> approvalDates,
             final List<LoanTransactionData> loanRepayments, final List<DisbursementData> disbursalDates, final List<String> statuses,
-            final String dateFormat) {
+            final String dateFormat, final ImportProgressListener progressListener) {
         Sheet loanSheet = workbook.getSheet(TemplatePopulateImportConstants.LOANS_SHEET_NAME);
+        // The workbook is not thread safe, so the ids of already created loans are read up front
+        List<String> existingLoanIds = new ArrayList<>(loans.size());
+        for (int i = 0; i < loans.size(); i++) {
+            existingLoanIds.add(getProgressLevel(statuses.get(i)) == 0 ? EMPTY_STR
+                    : ImportHandlerUtils.readAsString(LoanConstants.LOAN_ID_COL, loanSheet.getRow(loans.get(i).getRowIndex())));
+        }
+        // Loans of the same client or group are imported one after the other in the order of their rows
+        List<LoanImportResult> results = importRowProcessor.process(IntStream.range(0, loans.size()).boxed().toList(),
+                i -> loans.get(i).getClientId() != null ? loans.get(i).getClientId() : loans.get(i).getGroupId(),
+                i -> importLoanRow(loans, approvalDates, loanRepayments, disbursalDates, statuses, existingLoanIds, i, dateFormat),
+                LoanImportResult::success, progressListener);
+
         int successCount = 0;
         int errorCount = 0;
-        int progressLevel = 0;
-        String loanId;
-        String errorMessage;
         for (int i = 0; i < loans.size(); i++) {
             Row row = loanSheet.getRow(loans.get(i).getRowIndex());
             Cell errorReportCell = row.createCell(LoanConstants.FAILURE_REPORT_COL);
             Cell statusCell = row.createCell(LoanConstants.STATUS_COL);
-            CommandProcessingResult result = null;
-            loanId = EMPTY_STR;
-            try {
-                String status = statuses.get(i);
-                progressLevel = getProgressLevel(status);
-
-                if (progressLevel == 0 && loans.get(i) != null) {
-                    result = importLoan(loans, i, dateFormat);
-                    loanId = result.getLoanId().toString();
-                    progressLevel = 1;
-                } else {
-                    loanId = ImportHandlerUtils.readAsString(LoanConstants.LOAN_ID_COL, loanSheet.getRow(loans.get(i).getRowIndex()));
-                }
-
-                if (progressLevel <= 1 && approvalDates.get(i) != null) {
-                    progressLevel = importLoanApproval(approvalDates, result, i, dateFormat);
-                }
-
-                if (progressLevel <= 2 && disbursalDates.get(i) != null) {
-                    progressLevel = importDisbursalData(approvalDates, disbursalDates, result, i, dateFormat);
-                }
-
-                if (loanRepayments.get(i) != null) {
-                    progressLevel = importLoanRepayment(loanRepayments, result, i, dateFormat);
-                }
-
+            LoanImportResult result = results.get(i);
+            if (result.success()) {
                 successCount++;
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
-            } catch (RuntimeException ex) {
+            } else {
                 errorCount++;
-                log.error("Problem occurred in importEntity function", ex);
-                errorMessage = ImportHandlerUtils.getErrorMessage(ex);
-                writeLoanErrorMessage(workbook, loanId, errorMessage, progressLevel, statusCell, errorReportCell, row);
+                writeLoanErrorMessage(workbook, result.loanId(), result.errorMessage(), result.progressLevel(), statusCell, errorReportCell,
+                        row);
             }
-
         }
         setReportHeaders(loanSheet);
         return Count.instance(successCount, errorCount);
     }
 
+    private LoanImportResult importLoanRow(final List<LoanAccountData> loans, final List<LoanApprovalData> approvalDates,
+            final List<LoanTransactionData> loanRepayments, final List<DisbursementData> disbursalDates, final List<String> statuses,
+            final List<String> existingLoanIds, final int i, final String dateFormat) {
+        CommandProcessingResult result = null;
+        int progressLevel = 0;
+        String loanId = EMPTY_STR;
+        try {
+            String status = statuses.get(i);
+            progressLevel = getProgressLevel(status);
+
+            if (progressLevel == 0 && loans.get(i) != null) {
+                result = importLoan(loans, i, dateFormat);
+                loanId = result.getLoanId().toString();
+                progressLevel = 1;
+            } else {
+                loanId = existingLoanIds.get(i);
+            }
+
+            if (progressLevel <= 1 && approvalDates.get(i) != null) {
+                progressLevel = importLoanApproval(approvalDates, result, i, dateFormat);
+            }
+
+            if (progressLevel <= 2 && disbursalDates.get(i) != null) {
+                progressLevel = importDisbursalData(approvalDates, disbursalDates, result, i, dateFormat);
+            }
+
+            if (loanRepayments.get(i) != null) {
+                progressLevel = importLoanRepayment(loanRepayments, result, i, dateFormat);
+            }
+            return new LoanImportResult(true, progressLevel, loanId, null);
+        } catch (RuntimeException ex) {
+            log.error("Problem occurred in importEntity function", ex);
+            return new LoanImportResult(false, progressLevel, loanId, ImportHandlerUtils.getErrorMessage(ex));
+        }
+    }
+
     private void writeLoanErrorMessage(final Workbook workbook, final String loanId, final String errorMessage, final int progressLevel,
             final Cell statusCell, final Cell errorReportCell, final Row row) {
         String status = EMPTY_STR;
@@ -562,4 +592,6 @@ public class LoanImportHandler implements ImportHandler {
         return 0;
     }
 
+    private record LoanImportResult(boolean success, int progressLevel, String loanId, String errorMessage) {
+    }
 }
@@ -19,6 +19,7 @@
 package org.apache.fineract.infrastructure.bulkimport.importhandler.loanrepayment;
 
 import com.google.common.base.Splitter;
+import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import java.math.BigDecimal;
@@ -33,6 +34,8 @@ import org.apache.fineract.infrastructure.bulkimport.constants.TemplatePopulateI
 import org.apache.fineract.infrastructure.bulkimport.data.Count;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandler;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportHandlerUtils;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportProgressListener;
+import org.apache.fineract.infrastructure.bulkimport.importhandler.ImportRowProcessor;
 import org.apache.fineract.infrastructure.bulkimport.importhandler.helper.DateSerializer;
 import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
 import org.apache.fineract.portfolio.loanaccount.data.LoanTransactionData;
@@ -57,18 +60,26 @@ public class LoanRepaymentImportHandler implements ImportHandler {
 
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
 
+    private final ImportRowProcessor importRowProcessor;
+
     @Autowired
     public LoanRepaymentImportHandler(final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService,
-            final LoanReadPlatformService loanReadPlatformService) {
+            final LoanReadPlatformService loanReadPlatformService, final ImportRowProcessor importRowProcessor) {
         this.commandsSourceWritePlatformService = commandsSourceWritePlatformService;
         this.loanReadPlatformService = loanReadPlatformService;
+        this.importRowProcessor = importRowProcessor;
     }
 
     @Override
     public Count process(final Workbook workbook, final String locale, final String dateFormat) {
+        return process(workbook, locale, dateFormat, ImportProgressListener.NONE);
+    }
 
+    @Override
+    public Count process(final Workbook workbook, final String locale, final String dateFormat,
+            final ImportProgressListener progressListener) {
         List<LoanTransactionData> loanRepayments = readExcelFile(workbook, locale, dateFormat);
-        return importEntity(workbook, loanRepayments, dateFormat);
+        return importEntity(workbook, loanRepayments, dateFormat, progressListener);
     }
 
     private List<LoanTransactionData> readExcelFile(final Workbook workbook, final String locale, final String dateFormat) {
@@ -110,37 +121,32 @@ public class LoanRepaymentImportHandler implements ImportHandler {
                 receiptNumber, bankNumber, loanAccountId, EMPTY_STR, row.getRowNum(), locale, dateFormat);
     }
 
-    private Count importEntity(final Workbook workbook, final List<LoanTransactionData> loanRepayments, final String dateFormat) {
+    private Count importEntity(final Workbook workbook, final List<LoanTransactionData> loanRepayments, final String dateFormat,
+            final ImportProgressListener progressListener) {
         Sheet loanRepaymentSheet = workbook.getSheet(TemplatePopulateImportConstants.LOAN_REPAYMENT_SHEET_NAME);
         int successCount = 0;
         int errorCount = 0;
-        String errorMessage;
         GsonBuilder gsonBuilder = GoogleGsonSerializerHelper.createGsonBuilder();
         gsonBuilder.registerTypeAdapter(LocalDate.class, new DateSerializer(dateFormat));
+        Gson gson = gsonBuilder.create();
 
-        for (LoanTransactionData loanRepayment : loanRepayments) {
-            try {
+        // Repayments of the same loan are posted one after the other in the order of their rows
+        List<RepaymentImportResult> results = importRowProcessor.process(loanRepayments, LoanTransactionData::getAccountId,
+                loanRepayment -> importLoanRepayment(gson, loanRepayment), RepaymentImportResult::success, progressListener);
 
-                JsonObject loanRepaymentJsonob = gsonBuilder.create().toJsonTree(loanRepayment).getAsJsonObject();
-                loanRepaymentJsonob.remove("manuallyReversed");
-                String payload = loanRepaymentJsonob.toString();
-                final CommandWrapper commandRequest = new CommandWrapperBuilder() //
-                        .loanRepaymentTransaction(loanRepayment.getAccountId()) //
-                        .withJson(payload) //
-                        .build(); //
-                commandsSourceWritePlatformService.logCommandSource(commandRequest);
+        for (int i = 0; i < loanRepayments.size(); i++) {
+            LoanTransactionData loanRepayment = loanRepayments.get(i);
+            RepaymentImportResult result = results.get(i);
+            if (result.success()) {
                 successCount++;
                 Cell statusCell = loanRepaymentSheet.getRow(loanRepayment.getRowIndex()).createCell(LoanRepaymentConstants.STATUS_COL);
                 statusCell.setCellValue(TemplatePopulateImportConstants.STATUS_CELL_IMPORTED);
                 statusCell.setCellStyle(ImportHandlerUtils.getCellStyle(workbook, IndexedColors.LIGHT_GREEN));
-            } catch (RuntimeException ex) {
+            } else {
                 errorCount++;
-                LOG.error("Problem occurred in importEntity function", ex);
-                errorMessage = ImportHandlerUtils.getErrorMessage(ex);
-                ImportHandlerUtils.writeErrorMessage(loanRepaymentSheet, loanRepayment.getRowIndex(), errorMessage,
+                ImportHandlerUtils.writeErrorMessage(loanRepaymentSheet, loanRepayment.getRowIndex(), result.errorMessage(),
                         LoanRepaymentConstants.STATUS_COL);
             }
-
         }
         loanRepaymentSheet.setColumnWidth(LoanRepaymentConstants.STATUS_COL, TemplatePopulateImportConstants.SMALL_COL_SIZE);
         ImportHandlerUtils.writeString(LoanRepaymentConstants.STATUS_COL,
@@ -149,4 +155,23 @@ public class LoanRepaymentImportHandler implements ImportHandler {
         return Count.instance(successCount, errorCount);
     }
 
+    private RepaymentImportResult importLoanRepayment(final Gson gson, final LoanTransactionData loanRepayment) {
+        try {
+            JsonObject loanRepaymentJsonob = gson.toJsonTree(loanRepayment).getAsJsonObject();
+            loanRepaymentJsonob.remove("manuallyReversed");
+            String payload = loanRepaymentJsonob.toString();
+            final CommandWrapper commandRequest = new CommandWrapperBuilder() //
+                    .loanRepaymentTransaction(loanRepayment.getAccountId()) //
+                    .withJson(payload) //
+                    .build(); //
+            commandsSourceWritePlatformService.logCommandSource(commandRequest);
+            return new RepaymentImportResult(true, null);
+        } catch (RuntimeException ex) {
+            LOG.error("Problem occurred in importEntity function", ex);
+            return new RepaymentImportResult(false, ImportHandlerUtils.getErrorMessage(ex));
+        }
+    }
+
+    private record RepaymentImportResult(boolean success, String errorMessage) {
+    }
 }
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.infrastructure.core.config;
 
+import java.util.concurrent.ThreadPoolExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Bean;
@@ -47,4 +48,81 @@ public class TaskExecutorConfig {
         threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getTaskExecutor().getDefaultTaskExecutorMaxPoolSize());
         return threadPoolTaskExecutor;
     }
+
+    @Bean(TaskExecutorConstant.BATCH_API_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor batchApiThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(fineractProperties.getTaskExecutor().getBatchApiTaskExecutorPoolSize());
+        threadPoolTaskExecutor.setMaxPoolSize(fineractProperties.getTaskExecutor().getBatchApiTaskExecutorPoolSize());
+        threadPoolTaskExecutor.setQueueCapacity(fineractProperties.getTaskExecutor().getBatchApiTaskExecutorQueueCapacity());
+        // When the executor is saturated the request thread processes the subtree itself
+        threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        threadPoolTaskExecutor.setThreadNamePrefix("batchApi-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.BULK_IMPORT_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor bulkImportThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        int poolSize = Math.max(1, fineractProperties.getTaskExecutor().getBulkImportTaskExecutorPoolSize());
+        threadPoolTaskExecutor.setCorePoolSize(poolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(poolSize);
+        threadPoolTaskExecutor.setThreadNamePrefix("bulkImport-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.LOAN_ASSOCIATIONS_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor loanAssociationsThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        int poolSize = Math.max(1, fineractProperties.getTaskExecutor().getLoanAssociationsTaskExecutorPoolSize());
+        threadPoolTaskExecutor.setCorePoolSize(poolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(poolSize);
+        threadPoolTaskExecutor.setQueueCapacity(fineractProperties.getTaskExecutor().getLoanAssociationsTaskExecutorQueueCapacity());
+        // When the executor is saturated the request thread fetches the association itself
+        threadPoolTaskExecutor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        threadPoolTaskExecutor.setThreadNamePrefix("loanAssociations-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.RUNNING_BALANCE_UPDATE_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor runningBalanceUpdateThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        int poolSize = Math.max(1, fineractProperties.getJob().getRunningBalanceUpdateThreadCount());
+        threadPoolTaskExecutor.setCorePoolSize(poolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(poolSize);
+        threadPoolTaskExecutor.setThreadNamePrefix("runningBalanceUpdate-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.TRIAL_BALANCE_UPDATE_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor trialBalanceUpdateThreadPoolTaskExecutor() {
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        int poolSize = Math.max(1, fineractProperties.getJob().getTrialBalanceUpdateThreadCount());
+        threadPoolTaskExecutor.setCorePoolSize(poolSize);
+        threadPoolTaskExecutor.setMaxPoolSize(poolSize);
+        threadPoolTaskExecutor.setThreadNamePrefix("trialBalanceUpdate-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.EXTERNAL_EVENT_DISPATCHER_TASK_EXECUTOR_BEAN_NAME)
+    @Scope(scopeName = ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    public ThreadPoolTaskExecutor externalEventDispatcherThreadPoolTaskExecutor() {
+        // A single thread per dispatcher lane, the dispatcher takes one instance for every lane and shuts them down itself
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(1);
+        threadPoolTaskExecutor.setMaxPoolSize(1);
+        threadPoolTaskExecutor.setWaitForTasksToCompleteOnShutdown(true);
+        threadPoolTaskExecutor.setThreadNamePrefix("externalEventDispatcher-");
+        return threadPoolTaskExecutor;
+    }
+
+    @Bean(TaskExecutorConstant.EXTERNAL_EVENT_OUTBOX_TASK_EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor externalEventOutboxThreadPoolTaskExecutor() {
+        // Runs the single consumer draining the external event outbox queue
+        ThreadPoolTaskExecutor threadPoolTaskExecutor = new ThreadPoolTaskExecutor();
+        threadPoolTaskExecutor.setCorePoolSize(1);
+        threadPoolTaskExecutor.setMaxPoolSize(1);
+        threadPoolTaskExecutor.setThreadNamePrefix("externalEventOutbox-");
+        return threadPoolTaskExecutor;
+    }
 }
@@ -27,7 +27,12 @@ import static org.apache.fineract.infrastructure.dataqueries.data.ResultsetColum
 import static org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData.DisplayType.INTEGER;
 import static org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData.DisplayType.TIME;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -36,6 +41,7 @@ import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseIndependentQueryService;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseType;
@@ -51,9 +57,11 @@ import org.apache.fineract.infrastructure.dataqueries.exception.DatatableNotFoun
 import org.jetbrains.annotations.NotNull;
 import org.springframework.dao.DataAccessException;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
@@ -65,6 +73,7 @@ public class GenericDataServiceImpl implements GenericDataService {
     private final DatabaseIndependentQueryService databaseIndependentQueryService;
     private final DatatableKeywordGenerator datatableKeywordGenerator;
     private final DatabaseTypeResolver databaseTypeResolver;
+    private final FineractProperties fineractProperties;
 
     @Override
     public GenericResultsetData fillGenericResultSet(final String sql) {
@@ -92,6 +101,45 @@ public class GenericDataServiceImpl implements GenericDataService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamGenericResultSet(final String sql, final GenericResultsetStreamHandler handler) {
+        // PostgreSQL only uses a cursor inside a transaction, MySQL Connector/J only streams with Integer.MIN_VALUE
+        final int fetchSize = databaseTypeResolver.isMySQL() ? Integer.MIN_VALUE : fineractProperties.getReport().getFetchSize();
+        try {
+            this.jdbcTemplate.query(con -> {
+                final PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY); // NOSONAR
+                ps.setFetchSize(fetchSize);
+                return ps;
+            }, (ResultSetExtractor<Void>) rs -> {
+                final ResultSetMetaData rsmd = rs.getMetaData();
+                final int columnCount = rsmd.getColumnCount();
+                final List<ResultsetColumnHeaderData> columnHeaders = new ArrayList<>(columnCount);
+                for (int i = 0; i < columnCount; i++) {
+                    columnHeaders.add(ResultsetColumnHeaderData.basic(rsmd.getColumnName(i + 1), rsmd.getColumnTypeName(i + 1),
+                            databaseTypeResolver.databaseType()));
+                }
+                try {
+                    handler.start(columnHeaders);
+                    while (rs.next()) {
+                        final List<Object> columnValues = new ArrayList<>(columnCount);
+                        for (int i = 0; i < columnCount; i++) {
+                            columnValues.add(toColumnValue(rs.getObject(i + 1), columnHeaders.get(i).getColumnType()));
+                        }
+                        handler.row(columnValues);
+                    }
+                    handler.finish();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.error("Reporting error: {}", e.getMessage());
+            throw ErrorHandler.getMappable(e, "error.msg.report.unknown.data.integrity.issue", e.getClass().getName(), null, e);
+        }
+    }
+
     @Override
     public List<ResultsetColumnHeaderData> fillResultsetColumnHeaders(final String tableName) {
         final SqlRowSet columnDefinitions = getTableMetaData(tableName);
@@ -149,23 +197,25 @@ public class GenericDataServiceImpl implements GenericDataService {
             final List<Object> columnValues = new ArrayList<>();
             for (int i = 0; i < rsmd.getColumnCount(); i++) {
                 final String columnName = rsmd.getColumnName(i + 1);
-                final JdbcJavaType colType = columnHeaders.get(i).getColumnType();
-                if (colType == DATE) {
-                    Date tmpDate = (Date) rs.getObject(columnName);
-                    columnValues.add(tmpDate == null ? null : tmpDate.toLocalDate());
-                } else if (colType == DATETIME || colType == TIMESTAMP) {
-                    Object tmpDate = rs.getObject(columnName);
-                    columnValues.add(
-                            tmpDate == null ? null : (tmpDate instanceof Timestamp ? ((Timestamp) tmpDate).toLocalDateTime() : tmpDate));
-                } else {
-                    columnValues.add(rs.getObject(columnName));
-                }
+                columnValues.add(toColumnValue(rs.getObject(columnName), columnHeaders.get(i).getColumnType()));
             }
             resultsetDataRows.add(ResultsetRowData.create(columnValues));
         }
         return resultsetDataRows;
     }
 
+    private static Object toColumnValue(final Object value, final JdbcJavaType colType) {
+        if (value == null) {
+            return null;
+        }
+        if (colType == DATE) {
+            return ((Date) value).toLocalDate();
+        } else if (colType == DATETIME || colType == TIMESTAMP) {
+            return value instanceof Timestamp ? ((Timestamp) value).toLocalDateTime() : value;
+        }
+        return value;
+    }
+
     @Override
     public String replace(final String str, final String pattern, final String replace) {
         // JPW - this replace may / may not be any better or quicker than the
@@ -204,61 +254,63 @@ public class GenericDataServiceImpl implements GenericDataService {
         final List<ResultsetColumnHeaderData> columnHeaders = grs.getColumnHeaders();
 
         final List<ResultsetRowData> data = grs.getData();
-        List<Object> row;
-        Integer rSize;
+        for (int i = 0; i < data.size(); i++) {
+            writer.append("\n");
+            writer.append(generateJsonFromGenericResultsetRow(columnHeaders, data.get(i).getRow()));
+            if (i < (data.size() - 1)) {
+                writer.append(",");
+            }
+        }
+
+        writer.append("\n]");
+        return writer.toString();
+    }
+
+    @Override
+    public String generateJsonFromGenericResultsetRow(final List<ResultsetColumnHeaderData> columnHeaders, final List<Object> row) {
+        final StringBuilder writer = new StringBuilder();
         final String doubleQuote = "\"";
         final String slashDoubleQuote = "\\\"";
         ResultsetColumnHeaderData.DisplayType colDisplayType;
         Object currVal;
 
-        for (int i = 0; i < data.size(); i++) {
-            writer.append("\n{");
-
-            row = data.get(i).getRow();
-            rSize = row.size();
-            for (int j = 0; j < rSize; j++) {
-                ResultsetColumnHeaderData columnHeader = columnHeaders.get(j);
-                writer.append(doubleQuote + columnHeader.getColumnName() + doubleQuote + ": ");
-                colDisplayType = columnHeader.getColumnDisplayType();
-                final JdbcJavaType colType = columnHeader.getColumnType();
-                if (colDisplayType == null) {
-                    colDisplayType = ResultsetColumnHeaderData.calcColumnDisplayType(colType);
-                }
-                currVal = row.get(j);
-                if (currVal != null && colDisplayType != null) {
-                    if (colDisplayType == ResultsetColumnHeaderData.DisplayType.DATE) {
-                        final LocalDate localDate = (LocalDate) currVal;
-                        writer.append(format("[%d,%d,%d]", localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth()));
-                    } else if (colDisplayType == ResultsetColumnHeaderData.DisplayType.DATETIME) {
-                        final LocalDateTime localDateTime = (LocalDateTime) currVal;
-                        writer.append(format("[%d,%d,%d,%d,%d,%d,%d]", localDateTime.getYear(), localDateTime.getMonthValue(),
-                                localDateTime.getDayOfMonth(), localDateTime.getHour(), localDateTime.getMinute(),
-                                localDateTime.getSecond(), localDateTime.getNano()));
-                    } else if (colDisplayType == TIME) {
-                        final LocalTime localTime = (LocalTime) currVal;
-                        writer.append(format("[%d,%d,%d,%d]", localTime.getHour(), localTime.getMinute(), localTime.getSecond(),
-                                localTime.getNano()));
-                    } else if (colDisplayType == DECIMAL || colDisplayType == INTEGER || colDisplayType == CODELOOKUP) {
-                        writer.append(currVal);
-                    } else {
-                        writer.append(doubleQuote + replace(String.valueOf(currVal), doubleQuote, slashDoubleQuote) + doubleQuote);
-                    }
+        writer.append("{");
+        final int rSize = row.size();
+        for (int j = 0; j < rSize; j++) {
+            ResultsetColumnHeaderData columnHeader = columnHeaders.get(j);
+            writer.append(doubleQuote + columnHeader.getColumnName() + doubleQuote + ": ");
+            colDisplayType = columnHeader.getColumnDisplayType();
+            final JdbcJavaType colType = columnHeader.getColumnType();
+            if (colDisplayType == null) {
+                colDisplayType = ResultsetColumnHeaderData.calcColumnDisplayType(colType);
+            }
+            currVal = row.get(j);
+            if (currVal != null && colDisplayType != null) {
+                if (colDisplayType == ResultsetColumnHeaderData.DisplayType.DATE) {
+                    final LocalDate localDate = (LocalDate) currVal;
+                    writer.append(format("[%d,%d,%d]", localDate.getYear(), localDate.getMonthValue(), localDate.getDayOfMonth()));
+                } else if (colDisplayType == ResultsetColumnHeaderData.DisplayType.DATETIME) {
+                    final LocalDateTime localDateTime = (LocalDateTime) currVal;
+                    writer.append(format("[%d,%d,%d,%d,%d,%d,%d]", localDateTime.getYear(), localDateTime.getMonthValue(),
+                            localDateTime.getDayOfMonth(), localDateTime.getHour(), localDateTime.getMinute(), localDateTime.getSecond(),
+                            localDateTime.getNano()));
+                } else if (colDisplayType == TIME) {
+                    final LocalTime localTime = (LocalTime) currVal;
+                    writer.append(format("[%d,%d,%d,%d]", localTime.getHour(), localTime.getMinute(), localTime.getSecond(),
+                            localTime.getNano()));
+                } else if (colDisplayType == DECIMAL || colDisplayType == INTEGER || colDisplayType == CODELOOKUP) {
+                    writer.append(currVal);
                 } else {
-                    writer.append("null");
-                }
-                if (j < (rSize - 1)) {
-                    writer.append(",\n");
+                    writer.append(doubleQuote + replace(String.valueOf(currVal), doubleQuote, slashDoubleQuote) + doubleQuote);
                 }
-            }
-
-            if (i < (data.size() - 1)) {
-                writer.append("},");
             } else {
-                writer.append("}");
+                writer.append("null");
+            }
+            if (j < (rSize - 1)) {
+                writer.append(",\n");
             }
         }
-
-        writer.append("\n]");
+        writer.append("}");
         return writer.toString();
     }
 
@@ -47,6 +47,9 @@ public interface ReadReportingService {
     GenericResultsetData retrieveGenericResultset(String name, String type, Map<String, String> extractedQueryParams,
             boolean isSelfServiceUserReport);
 
+    void streamGenericResultset(String name, String type, Map<String, String> extractedQueryParams, boolean isSelfServiceUserReport,
+            GenericResultsetStreamHandler handler);
+
     // TODO This is weird, could they not be using the retrieveGenericResultset() above after all?
     // needed for smsCampaign and emailCampaign jobs where securityContext is null
     GenericResultsetData retrieveGenericResultSetForSmsEmailCampaign(String name, String type, Map<String, String> extractedQueryParams);
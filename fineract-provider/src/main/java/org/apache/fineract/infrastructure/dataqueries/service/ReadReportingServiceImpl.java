@@ -64,6 +64,7 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Slf4j
@@ -82,30 +83,42 @@ public class ReadReportingServiceImpl implements ReadReportingService {
             final boolean isSelfServiceUserReport) {
         return out -> {
             try {
-                final GenericResultsetData result = retrieveGenericResultset(name, type, queryParams, isSelfServiceUserReport);
-                generateCsvFileBuffer(result, out);
+                generateCsvFileBuffer(name, type, queryParams, isSelfServiceUserReport, out);
             } catch (final Exception e) {
                 throw ErrorHandler.getMappable(e);
             }
         };
     }
 
-    private void generateCsvFileBuffer(final GenericResultsetData result, OutputStream out) throws IOException {
+    private void generateCsvFileBuffer(final String name, final String type, final Map<String, String> queryParams,
+            final boolean isSelfServiceUserReport, OutputStream out) throws IOException {
         try (CSVPrinter printer = new CSVPrinter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSVFormat.EXCEL)) {
-            final List<ResultsetColumnHeaderData> columnHeaders = result.getColumnHeaders();
-            final List<ResultsetRowData> data = result.getData();
-            final List<String> header = new ArrayList<>();
-            for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
-                header.add(columnHeader.getColumnName());
-            }
-            printer.printRecord(header);
-            for (final ResultsetRowData row : data) {
-                printer.printRecord(row.getRow());
-            }
+            streamGenericResultset(name, type, queryParams, isSelfServiceUserReport, new GenericResultsetStreamHandler() {
+
+                @Override
+                public void start(List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+                    final List<String> header = new ArrayList<>();
+                    for (final ResultsetColumnHeaderData columnHeader : columnHeaders) {
+                        header.add(columnHeader.getColumnName());
+                    }
+                    printer.printRecord(header);
+                }
+
+                @Override
+                public void row(List<Object> row) throws IOException {
+                    printer.printRecord(row);
+                }
+
+                @Override
+                public void finish() throws IOException {
+                    printer.flush();
+                }
+            });
         }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public GenericResultsetData retrieveGenericResultset(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
 
@@ -127,6 +140,28 @@ public class ReadReportingServiceImpl implements ReadReportingService {
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamGenericResultset(final String name, final String type, final Map<String, String> queryParams,
+            final boolean isSelfServiceUserReport, final GenericResultsetStreamHandler handler) {
+
+        final long startTime = System.currentTimeMillis();
+        if (log.isDebugEnabled()) {
+            log.debug("STARTING STREAMED REPORT: {}   Type: {}", LogParameterEscapeUtil.escapeLogParameter(name),
+                    LogParameterEscapeUtil.escapeLogParameter(type));
+        }
+
+        final String sql = getSQLtoRun(name, type, queryParams, isSelfServiceUserReport);
+
+        this.genericDataService.streamGenericResultSet(sql, handler);
+
+        final long elapsed = System.currentTimeMillis() - startTime;
+        if (log.isDebugEnabled()) {
+            log.debug("FINISHING Streamed Report/Request Name: {} - {}     Elapsed Time: {}",
+                    LogParameterEscapeUtil.escapeLogParameter(name), type.replaceAll("[\n\r\t]", "_"), elapsed);
+        }
+    }
+
     private String getSQLtoRun(final String name, final String type, final Map<String, String> queryParams,
             final boolean isSelfServiceUserReport) {
 
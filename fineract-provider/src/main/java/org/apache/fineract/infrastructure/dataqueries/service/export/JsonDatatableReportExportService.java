@@ -18,49 +18,69 @@
  */
 package org.apache.fineract.infrastructure.dataqueries.service.export;
 
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonWriter;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.MultivaluedMap;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.infrastructure.core.api.ApiParameterHelper;
-import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
-import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
-import org.apache.fineract.infrastructure.dataqueries.data.ReportData;
+import org.apache.fineract.infrastructure.core.exception.ErrorHandler;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
 import org.apache.fineract.infrastructure.dataqueries.service.DatatableExportTargetParameter;
 import org.apache.fineract.infrastructure.dataqueries.service.GenericDataService;
+import org.apache.fineract.infrastructure.dataqueries.service.GenericResultsetStreamHandler;
 import org.apache.fineract.infrastructure.dataqueries.service.ReadReportingService;
 import org.springframework.stereotype.Service;
 
+/**
+ * Writes the report rows straight to the response while they are read from the database, in the same JSON formats that
+ * {@code GenericResultsetData} and {@link GenericDataService#generateJsonFromGenericResultsetData} produce.
+ */
 @Service
 @RequiredArgsConstructor
 public class JsonDatatableReportExportService implements DatatableReportExportService {
 
+    private static final Type COLUMN_HEADERS_TYPE = new TypeToken<List<ResultsetColumnHeaderData>>() {}.getType();
+    private static final Gson GSON = GoogleGsonSerializerHelper.createGsonBuilder(false).create();
+    private static final Gson PRETTY_GSON = GoogleGsonSerializerHelper.createGsonBuilder(true).create();
+
     private final ReadReportingService readExtraDataAndReportingService;
-    private final ToApiJsonSerializer<ReportData> toApiJsonSerializer;
     private final GenericDataService genericDataService;
 
     @Override
     public ResponseHolder export(String reportName, MultivaluedMap<String, String> queryParams, Map<String, String> reportParams,
             boolean isSelfServiceUserReport, String parameterTypeValue) {
 
-        final GenericResultsetData result = this.readExtraDataAndReportingService.retrieveGenericResultset(reportName, parameterTypeValue,
-                reportParams, isSelfServiceUserReport);
         DatatableExportTargetParameter exportMode = DatatableExportTargetParameter.resolverExportTarget(queryParams);
         boolean prettyPrint = exportMode == DatatableExportTargetParameter.PRETTY_JSON;
-        String json;
         final boolean genericResultSetIsPassed = ApiParameterHelper.genericResultSetPassed(queryParams);
-        final boolean genericResultSet = ApiParameterHelper.genericResultSet(queryParams);
-        if (genericResultSetIsPassed) {
-            if (genericResultSet) {
-                json = this.toApiJsonSerializer.serializePretty(prettyPrint, result);
-            } else {
-                json = this.genericDataService.generateJsonFromGenericResultsetData(result);
+        final boolean genericResultSet = !genericResultSetIsPassed || ApiParameterHelper.genericResultSet(queryParams);
+
+        final StreamingOutput result = out -> {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+                final GenericResultsetStreamHandler handler = genericResultSet
+                        ? new GenericResultsetJsonWriter(prettyPrint ? PRETTY_GSON : GSON, writer)
+                        : new ResultsetRowsJsonWriter(writer);
+                this.readExtraDataAndReportingService.streamGenericResultset(reportName, parameterTypeValue, reportParams,
+                        isSelfServiceUserReport, handler);
+            } catch (final Exception e) {
+                throw ErrorHandler.getMappable(e);
             }
-        } else {
-            json = this.toApiJsonSerializer.serializePretty(prettyPrint, result);
-        }
-        return new ResponseHolder(Response.Status.OK).entity(json).contentType(MediaType.APPLICATION_JSON);
+        };
+        return new ResponseHolder(Response.Status.OK).entity(result).contentType(MediaType.APPLICATION_JSON);
 
     }
 
@@ -68,4 +88,75 @@ public class JsonDatatableReportExportService implements DatatableReportExportSe
     public boolean supports(DatatableExportTargetParameter exportType) {
         return exportType == DatatableExportTargetParameter.JSON || exportType == DatatableExportTargetParameter.PRETTY_JSON;
     }
+
+    /**
+     * {"columnHeaders": [...], "data": [{"row": [...]}, ...]}
+     */
+    private static final class GenericResultsetJsonWriter implements GenericResultsetStreamHandler {
+
+        private final Gson gson;
+        private final JsonWriter jsonWriter;
+
+        private GenericResultsetJsonWriter(Gson gson, Writer writer) throws IOException {
+            this.gson = gson;
+            this.jsonWriter = gson.newJsonWriter(writer);
+        }
+
+        @Override
+        public void start(List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            jsonWriter.beginObject();
+            jsonWriter.name("columnHeaders");
+            gson.toJson(columnHeaders, COLUMN_HEADERS_TYPE, jsonWriter);
+            jsonWriter.name("data");
+            jsonWriter.beginArray();
+        }
+
+        @Override
+        public void row(List<Object> row) {
+            gson.toJson(ResultsetRowData.create(row), ResultsetRowData.class, jsonWriter);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            jsonWriter.endArray();
+            jsonWriter.endObject();
+            jsonWriter.flush();
+        }
+    }
+
+    /**
+     * [{"column": value, ...}, ...]
+     */
+    private final class ResultsetRowsJsonWriter implements GenericResultsetStreamHandler {
+
+        private final Writer writer;
+        private List<ResultsetColumnHeaderData> columnHeaders;
+        private boolean first = true;
+
+        private ResultsetRowsJsonWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start(List<ResultsetColumnHeaderData> columnHeaders) throws IOException {
+            this.columnHeaders = columnHeaders;
+            writer.write("[");
+        }
+
+        @Override
+        public void row(List<Object> row) throws IOException {
+            if (!first) {
+                writer.write(",");
+            }
+            first = false;
+            writer.write("\n");
+            writer.write(genericDataService.generateJsonFromGenericResultsetRow(columnHeaders, row));
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.write("\n]");
+            writer.flush();
+        }
+    }
 }
@@ -51,6 +51,8 @@ import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.serialization.ApiRequestJsonSerializationSettings;
 import org.apache.fineract.infrastructure.core.serialization.DefaultToApiJsonSerializer;
 import org.apache.fineract.infrastructure.hooks.data.HookData;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryStatisticsData;
+import org.apache.fineract.infrastructure.hooks.service.HookDeliveryService;
 import org.apache.fineract.infrastructure.hooks.service.HookReadPlatformService;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.springframework.stereotype.Component;
@@ -68,6 +70,7 @@ public class HookApiResource {
     private final DefaultToApiJsonSerializer<HookData> toApiJsonSerializer;
     private final ApiRequestParameterHelper apiRequestParameterHelper;
     private final PortfolioCommandSourceWritePlatformService commandsSourceWritePlatformService;
+    private final HookDeliveryService hookDeliveryService;
 
     @GET
     @Operation(summary = "Retrieve Hooks", description = "Returns the list of hooks.\n" + "\n" + "Example Requests:\n" + "\n" + "hooks")
@@ -120,6 +123,22 @@ public class HookApiResource {
         return this.toApiJsonSerializer.serialize(settings, hook, RESPONSE_DATA_PARAMETERS);
     }
 
+    @GET
+    @Path("statistics")
+    @Operation(summary = "Retrieve Hook Delivery Statistics", description = "Returns the delivery statistics of the hooks collected by "
+            + "the node serving the request since it was started, together with the number of deliveries waiting to be retried.\n" + "\n"
+            + "Example Requests:\n" + "\n" + "hooks/statistics")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "OK", content = @Content(array = @ArraySchema(schema = @Schema(implementation = HookApiResourceSwagger.GetHookStatisticsResponse.class)))) })
+    public String retrieveStatistics() {
+
+        this.context.authenticatedUser().validateHasReadPermission(HOOK_RESOURCE_NAME);
+
+        final Collection<HookDeliveryStatisticsData> statistics = this.hookDeliveryService.retrieveStatistics();
+
+        return this.toApiJsonSerializer.serialize(statistics);
+    }
+
     @POST
     @Operation(summary = "Create a Hook", description = "The following parameters can be passed for the creation of a hook :-\n" + "\n"
             + "name - string - Required. The name of the template that is being called. (See /hooks/template for the list of valid hook names.)\n"
@@ -156,4 +156,29 @@ final class HookApiResourceSwagger {
         public Long resourceId;
         public PutHookResponseChangesSwagger changes;
     }
+
+    @Schema(description = "GetHookStatisticsResponse")
+    public static final class GetHookStatisticsResponse {
+
+        private GetHookStatisticsResponse() {
+
+        }
+
+        @Schema(example = "1")
+        public Long hookId;
+        @Schema(example = "120")
+        public Long delivered;
+        @Schema(example = "3")
+        public Long failed;
+        @Schema(example = "1")
+        public Long deferred;
+        @Schema(example = "0")
+        public Long abandoned;
+        @Schema(example = "2")
+        public Long pendingRetries;
+        @Schema(example = "85.4")
+        public Double averageLatencyInMillis;
+        @Schema(example = "1250")
+        public Long maxLatencyInMillis;
+    }
 }
@@ -0,0 +1,43 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.data;
+
+import java.io.Serializable;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * Delivery statistics of a hook, collected by the current node since it was started.
+ */
+@Data
+@NoArgsConstructor
+@Accessors(chain = true)
+public final class HookDeliveryStatisticsData implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private Long hookId;
+    private Long delivered;
+    private Long failed;
+    private Long deferred;
+    private Long abandoned;
+    private Long pendingRetries;
+    private Double averageLatencyInMillis;
+    private Long maxLatencyInMillis;
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import java.time.OffsetDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.domain.AbstractPersistableCustom;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+
+/**
+ * A hook delivery that failed or could not be queued, waiting to be sent again by the Retry Hook Deliveries job.
+ */
+@Entity
+@Table(name = "m_hook_delivery_retry")
+@Getter
+@NoArgsConstructor
+public class HookDeliveryRetry extends AbstractPersistableCustom<Long> {
+
+    private static final int LAST_ERROR_LENGTH = 1000;
+
+    @Column(name = "hook_id", nullable = false)
+    private Long hookId;
+
+    @Column(name = "entity_name", nullable = false, length = 100)
+    private String entityName;
+
+    @Column(name = "action_name", nullable = false, length = 100)
+    private String actionName;
+
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private OffsetDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = LAST_ERROR_LENGTH)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    public HookDeliveryRetry(final Long hookId, final String entityName, final String actionName, final String payload, final int attempts,
+            final OffsetDateTime nextAttemptAt, final String lastError) {
+        this.hookId = hookId;
+        this.entityName = entityName;
+        this.actionName = actionName;
+        this.payload = payload;
+        this.attempts = attempts;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = StringUtils.abbreviate(lastError, LAST_ERROR_LENGTH);
+        this.createdAt = DateUtils.getAuditOffsetDateTime();
+    }
+
+    public void rescheduleAfterFailure(final int attempts, final OffsetDateTime nextAttemptAt, final String lastError) {
+        this.attempts = attempts;
+        this.nextAttemptAt = nextAttemptAt;
+        this.lastError = StringUtils.abbreviate(lastError, LAST_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,35 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.domain;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface HookDeliveryRetryRepository extends JpaRepository<HookDeliveryRetry, Long> {
+
+    @Query("select retry from HookDeliveryRetry retry where retry.nextAttemptAt <= :now order by retry.id")
+    List<HookDeliveryRetry> findDue(@Param("now") OffsetDateTime now, Pageable pageable);
+
+    @Query("select retry.hookId, count(retry) from HookDeliveryRetry retry group by retry.hookId")
+    List<Object[]> countPendingByHookId();
+}
@@ -0,0 +1,64 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.jobs;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRetry;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRetryRepository;
+import org.apache.fineract.infrastructure.hooks.service.HookDeliveryService;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class RetryHookDeliveriesTasklet implements Tasklet {
+
+    private final FineractProperties fineractProperties;
+    private final HookDeliveryRetryRepository retryRepository;
+    private final HookDeliveryService hookDeliveryService;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+        final int batchSize = Math.max(1, fineractProperties.getHooks().getRetryBatchSize());
+        final List<HookDeliveryRetry> dueRetries = retryRepository.findDue(DateUtils.getAuditOffsetDateTime(),
+                PageRequest.of(0, batchSize));
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        for (HookDeliveryRetry retry : dueRetries) {
+            try {
+                // Calls the subscriber outside of any transaction, then removes or reschedules the entry transactionally
+                hookDeliveryService.redeliver(retry, context);
+            } catch (Exception e) {
+                log.error("Error occurred while retrying the delivery of hook {}: ", retry.getHookId(), e);
+            }
+        }
+        log.debug("Retried {} hook deliveries", dueRetries.size());
+        return RepeatStatus.FINISHED;
+    }
+}
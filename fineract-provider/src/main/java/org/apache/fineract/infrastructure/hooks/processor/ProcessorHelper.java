@@ -18,21 +18,27 @@
  */
 package org.apache.fineract.infrastructure.hooks.processor;
 
+import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.X509TrustManager;
+import okhttp3.ConnectionPool;
 import okhttp3.OkHttpClient;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import retrofit2.Call;
-import retrofit2.Callback;
+import retrofit2.Response;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
@@ -67,16 +73,25 @@ public final class ProcessorHelper {
     private final boolean insecureHttpClient = Boolean.getBoolean("fineract.insecureHttpClient");
     private final SSLContext insecureSSLContext;
 
-    public ProcessorHelper() throws KeyManagementException, NoSuchAlgorithmException {
+    /**
+     * Single HTTP client shared by all the hook deliveries, so connections to the same target are kept alive and reused
+     * instead of opening a new connection pool and dispatcher for every delivery.
+     */
+    private final OkHttpClient client;
+    private final Map<String, WebHookService> webHookServices = new ConcurrentHashMap<>();
+
+    public ProcessorHelper(final FineractProperties fineractProperties) throws KeyManagementException, NoSuchAlgorithmException {
         if (insecureHttpClient) {
             insecureSSLContext = createInsecureSSLContext();
         } else {
             insecureSSLContext = null;
         }
+        client = createClient(Math.max(1, fineractProperties.getHooks().getMaxIdleConnections()));
     }
 
-    private OkHttpClient createClient() {
+    private OkHttpClient createClient(final int maxIdleConnections) {
         var okBuilder = new OkHttpClient.Builder();
+        okBuilder.connectionPool(new ConnectionPool(maxIdleConnections, 5, TimeUnit.MINUTES));
         if (insecureHttpClient) {
             configureInsecureClient(okBuilder);
         }
@@ -96,24 +111,28 @@ public final class ProcessorHelper {
         return insecureSSLContext;
     }
 
-    @SuppressWarnings("rawtypes")
-    public Callback createCallback(final String url) {
-        return new Callback() {
-
-            @Override
-            public void onResponse(@SuppressWarnings("unused") Call call, retrofit2.Response response) {
-                LOG.debug("URL: {} - Status: {}", url, response.code());
-            }
+    /**
+     * Returns the service sending requests to the given target. The services are created once per target URL and all
+     * share the same HTTP client.
+     */
+    public WebHookService createWebHookService(final String url) {
+        return webHookServices.computeIfAbsent(url, this::buildWebHookService);
+    }
 
-            @Override
-            public void onFailure(@SuppressWarnings("unused") Call call, Throwable t) {
-                LOG.error("URL: {} - Retrofit failure occurred", url, t);
-            }
-        };
+    /**
+     * Sends the request on the calling thread and fails when the target does not answer with a successful status, so
+     * the delivery can be retried.
+     */
+    public <T> T execute(final Call<T> call, final String url) throws IOException {
+        final Response<T> response = call.execute();
+        LOG.debug("URL: {} - Status: {}", url, response.code());
+        if (!response.isSuccessful()) {
+            throw new IOException("URL: " + url + " - Unsuccessful response status: " + response.code());
+        }
+        return response.body();
     }
 
-    public WebHookService createWebHookService(final String url) {
-        final OkHttpClient client = createClient();
+    private WebHookService buildWebHookService(final String url) {
         final Retrofit.Builder retrofitBuilder = new Retrofit.Builder();
         retrofitBuilder.baseUrl(url);
         retrofitBuilder.client(client);
@@ -121,21 +140,4 @@ public final class ProcessorHelper {
         final Retrofit retrofit = retrofitBuilder.build();
         return retrofit.create(WebHookService.class);
     }
-
-    @SuppressWarnings("rawtypes")
-    public Callback createCallback(final String url, String payload) {
-
-        return new Callback() {
-
-            @Override
-            public void onResponse(@SuppressWarnings("unused") Call call, retrofit2.Response response) {
-                LOG.debug("URL: {} - Status: {}", url, response.code());
-            }
-
-            @Override
-            public void onFailure(@SuppressWarnings("unused") Call call, Throwable t) {
-                LOG.error("URL: {} - Retrofit failure occured", url, t);
-            }
-        };
-    }
 }
@@ -0,0 +1,353 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractHooksProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryStatisticsData;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRetry;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRetryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Delivers hook events asynchronously.
+ *
+ * Deliveries are put onto a bounded queue served by a fixed pool of {@code fineract.hooks.worker-count} workers, so a
+ * slow subscriber never holds up the thread raising the event. At most
+ * {@code fineract.hooks.max-concurrent-deliveries-per-hook} deliveries of the same hook run at the same time; the
+ * deliveries beyond that limit wait, in order, in the backlog of the hook and are picked up by the worker finishing the
+ * previous one. A delivery that fails, or that cannot be queued because the queue or the backlog is full, is stored in
+ * m_hook_delivery_retry and sent again by the Retry Hook Deliveries job with an exponential backoff, until
+ * {@code fineract.hooks.max-retry-attempts} attempts have failed.
+ */
+@Slf4j
+@Service
+public class HookDeliveryService implements DisposableBean {
+
+    private final FineractProperties fineractProperties;
+    private final HookProcessorProvider hookProcessorProvider;
+    private final HookRepository hookRepository;
+    private final HookDeliveryRetryRepository retryRepository;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor executor;
+    private final Map<String, Map<Long, HookLane>> hookLanes = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, DeliveryStatistics>> statistics = new ConcurrentHashMap<>();
+
+    public HookDeliveryService(FineractProperties fineractProperties, HookProcessorProvider hookProcessorProvider,
+            HookRepository hookRepository, HookDeliveryRetryRepository retryRepository, MeterRegistry meterRegistry,
+            PlatformTransactionManager transactionManager) {
+        this.fineractProperties = fineractProperties;
+        this.hookProcessorProvider = hookProcessorProvider;
+        this.hookRepository = hookRepository;
+        this.retryRepository = retryRepository;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        FineractHooksProperties hooksProperties = fineractProperties.getHooks();
+        int workerCount = Math.max(1, hooksProperties.getWorkerCount());
+        this.executor = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, hooksProperties.getQueueCapacity())), new CustomizableThreadFactory("hookDelivery-"));
+        meterRegistry.gauge("fineract.hooks.delivery.queued", executor.getQueue(), Collection::size);
+    }
+
+    /**
+     * Queues the delivery of an event to the given hook. Never blocks: a delivery over the concurrency limit of the hook
+     * waits in its backlog, and when the queue or the backlog is full the delivery is stored to be retried later.
+     */
+    public void deliver(final Hook hook, final String payload, final String entityName, final String actionName,
+            final FineractContext context) {
+        FineractHooksProperties hooksProperties = fineractProperties.getHooks();
+        String tenantIdentifier = getTenantIdentifier(context);
+        HookLane lane = hookLanes.computeIfAbsent(tenantIdentifier, k -> new ConcurrentHashMap<>()).computeIfAbsent(hook.getId(),
+                k -> new HookLane());
+        Runnable delivery = () -> deliverQueued(hook, payload, entityName, actionName, context);
+        Admission admission = lane.offer(delivery, Math.max(1, hooksProperties.getMaxConcurrentDeliveriesPerHook()),
+                Math.max(1, hooksProperties.getQueueCapacity()));
+        if (admission == Admission.REJECTED) {
+            defer(hook.getId(), payload, entityName, actionName, tenantIdentifier);
+        } else if (admission == Admission.STARTED) {
+            try {
+                executor.execute(() -> lane.drain(delivery));
+            } catch (RejectedExecutionException e) {
+                lane.release();
+                defer(hook.getId(), payload, entityName, actionName, tenantIdentifier);
+            }
+        }
+    }
+
+    /**
+     * Sends a stored delivery again on the calling thread, which is expected not to hold a transaction: the subscriber
+     * is called first, then the outcome is recorded in a transaction of its own. A delivered entry, or the entry of a
+     * removed or inactive hook, is deleted; a failed one is rescheduled with the next backoff until it runs out of
+     * attempts.
+     */
+    public void redeliver(final HookDeliveryRetry retry, final FineractContext context) {
+        Hook hook = hookRepository.findById(retry.getHookId()).orElse(null);
+        Exception failure = null;
+        if (hook == null || !Boolean.TRUE.equals(hook.getIsActive())) {
+            log.debug("Dropping the retry of hook {} as the hook no longer exists or is inactive", retry.getHookId());
+        } else {
+            failure = attempt(hook, retry.getPayload(), retry.getEntityName(), retry.getActionName(), context, retry.getAttempts());
+        }
+        final Exception outcome = failure;
+        transactionTemplate.executeWithoutResult(status -> recordRedelivery(retry, outcome, getTenantIdentifier(context)));
+    }
+
+    public List<HookDeliveryStatisticsData> retrieveStatistics() {
+        String tenantIdentifier = getTenantIdentifier(ThreadLocalContextUtil.getContext());
+        Map<Long, HookDeliveryStatisticsData> result = new TreeMap<>();
+        statistics.getOrDefault(tenantIdentifier, Map.of())
+                .forEach((hookId, hookStatistics) -> result.put(hookId, hookStatistics.toData(hookId)));
+        for (Object[] pending : retryRepository.countPendingByHookId()) {
+            Long hookId = (Long) pending[0];
+            result.computeIfAbsent(hookId, id -> new DeliveryStatistics().toData(id)).setPendingRetries((Long) pending[1]);
+        }
+        return new ArrayList<>(result.values());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void deliverQueued(final Hook hook, final String payload, final String entityName, final String actionName,
+            final FineractContext context) {
+        ThreadLocalContextUtil.init(context);
+        try {
+            Exception failure = attempt(hook, payload, entityName, actionName, context, 0);
+            if (failure != null && !scheduleRetry(hook.getId(), payload, entityName, actionName, 1, failure.getMessage())) {
+                abandon(getTenantIdentifier(context), hook.getId());
+            }
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    /**
+     * Sends the delivery and records its statistics.
+     *
+     * @return the failure of the attempt, null when the hook was delivered or has no processor
+     */
+    private Exception attempt(final Hook hook, final String payload, final String entityName, final String actionName,
+            final FineractContext context, final int previousAttempts) {
+        final HookProcessor processor = hookProcessorProvider.getProcessor(hook);
+        if (processor == null) {
+            return null;
+        }
+        String tenantIdentifier = getTenantIdentifier(context);
+        DeliveryStatistics hookStatistics = getStatistics(tenantIdentifier, hook.getId());
+        long start = System.nanoTime();
+        try {
+            processor.process(hook, payload, entityName, actionName, context);
+            long elapsed = System.nanoTime() - start;
+            hookStatistics.recordDelivered(elapsed);
+            meterRegistry.timer("fineract.hooks.delivery", "tenant", tenantIdentifier, "outcome", "delivered").record(elapsed,
+                    TimeUnit.NANOSECONDS);
+            return null;
+        } catch (Exception e) {
+            long elapsed = System.nanoTime() - start;
+            hookStatistics.failed.increment();
+            meterRegistry.timer("fineract.hooks.delivery", "tenant", tenantIdentifier, "outcome", "failed").record(elapsed,
+                    TimeUnit.NANOSECONDS);
+            log.warn("Hook {} failed in HookProcessor {} for tenantIdentifier {}, entityName: {}, actionName: {}, attempt: {}",
+                    hook.getId(), processor.getClass().getSimpleName(), tenantIdentifier, entityName, actionName, previousAttempts + 1, e);
+            return e;
+        }
+    }
+
+    private void recordRedelivery(final HookDeliveryRetry retry, final Exception failure, final String tenantIdentifier) {
+        HookDeliveryRetry stored = retryRepository.findById(retry.getId()).orElse(null);
+        if (stored == null) {
+            return;
+        }
+        int attempts = stored.getAttempts() + 1;
+        if (failure == null) {
+            retryRepository.delete(stored);
+        } else if (isExhausted(stored.getHookId(), stored.getEntityName(), stored.getActionName(), attempts)) {
+            retryRepository.delete(stored);
+            abandon(tenantIdentifier, stored.getHookId());
+        } else {
+            stored.rescheduleAfterFailure(attempts, calculateNextAttemptAt(attempts), failure.getMessage());
+            retryRepository.save(stored);
+        }
+    }
+
+    private void defer(final Long hookId, final String payload, final String entityName, final String actionName,
+            final String tenantIdentifier) {
+        getStatistics(tenantIdentifier, hookId).deferred.increment();
+        meterRegistry.counter("fineract.hooks.delivery.deferred", "tenant", tenantIdentifier, "reason", "queue-full").increment();
+        scheduleRetry(hookId, payload, entityName, actionName, 0, "Hook delivery queue is full");
+    }
+
+    private void abandon(final String tenantIdentifier, final Long hookId) {
+        getStatistics(tenantIdentifier, hookId).abandoned.increment();
+        meterRegistry.counter("fineract.hooks.delivery.abandoned", "tenant", tenantIdentifier).increment();
+    }
+
+    /**
+     * Stores the delivery to be retried after a backoff doubling with every failed attempt.
+     *
+     * @return false if the delivery has run out of attempts and was given up
+     */
+    private boolean scheduleRetry(final Long hookId, final String payload, final String entityName, final String actionName,
+            final int attempts, final String error) {
+        if (isExhausted(hookId, entityName, actionName, attempts)) {
+            return false;
+        }
+        try {
+            retryRepository.save(
+                    new HookDeliveryRetry(hookId, entityName, actionName, payload, attempts, calculateNextAttemptAt(attempts), error));
+        } catch (Exception e) {
+            log.error("Could not store the retry of hook {} for entityName: {}, actionName: {}", hookId, entityName, actionName, e);
+        }
+        return true;
+    }
+
+    private boolean isExhausted(final Long hookId, final String entityName, final String actionName, final int attempts) {
+        if (attempts >= fineractProperties.getHooks().getMaxRetryAttempts()) {
+            log.error("Giving up the delivery of hook {} for entityName: {}, actionName: {} after {} attempts", hookId, entityName,
+                    actionName, attempts);
+            return true;
+        }
+        return false;
+    }
+
+    private OffsetDateTime calculateNextAttemptAt(final int attempts) {
+        int backoffExponent = Math.min(Math.max(0, attempts - 1), 16);
+        long backoffInSeconds = (long) Math.max(1, fineractProperties.getHooks().getRetryBackoffInSeconds()) << backoffExponent;
+        return DateUtils.getAuditOffsetDateTime().plusSeconds(backoffInSeconds);
+    }
+
+    private DeliveryStatistics getStatistics(String tenantIdentifier, Long hookId) {
+        return statistics.computeIfAbsent(tenantIdentifier, k -> new ConcurrentHashMap<>()).computeIfAbsent(hookId,
+                k -> new DeliveryStatistics());
+    }
+
+    private static String getTenantIdentifier(FineractContext context) {
+        return context == null || context.getTenantContext() == null ? "" : context.getTenantContext().getTenantIdentifier();
+    }
+
+    private enum Admission {
+        STARTED, WAITING, REJECTED
+    }
+
+    /**
+     * The deliveries of a single hook: how many run right now and the ones waiting for one of them to finish.
+     */
+    private static final class HookLane {
+
+        private final Deque<Runnable> backlog = new ArrayDeque<>();
+        private int running;
+
+        private synchronized Admission offer(Runnable delivery, int maxRunning, int maxBacklog) {
+            if (running < maxRunning) {
+                running++;
+                return Admission.STARTED;
+            }
+            if (backlog.size() >= maxBacklog) {
+                return Admission.REJECTED;
+            }
+            backlog.addLast(delivery);
+            return Admission.WAITING;
+        }
+
+        /**
+         * Hands the slot of a finished delivery over to the next waiting one, or frees it when there is none.
+         */
+        private synchronized Runnable next() {
+            Runnable next = backlog.pollFirst();
+            if (next == null) {
+                running--;
+            }
+            return next;
+        }
+
+        private synchronized void release() {
+            running--;
+        }
+
+        private void drain(Runnable first) {
+            Runnable delivery = first;
+            while (delivery != null) {
+                try {
+                    delivery.run();
+                } catch (RuntimeException e) {
+                    log.error("Hook delivery failed unexpectedly", e);
+                }
+                delivery = next();
+            }
+        }
+    }
+
+    private static final class DeliveryStatistics {
+
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder deferred = new LongAdder();
+        private final LongAdder abandoned = new LongAdder();
+        private final LongAdder totalLatencyInNanos = new LongAdder();
+        private final AtomicLong maxLatencyInNanos = new AtomicLong();
+
+        private void recordDelivered(long latencyInNanos) {
+            delivered.increment();
+            totalLatencyInNanos.add(latencyInNanos);
+            maxLatencyInNanos.accumulateAndGet(latencyInNanos, Math::max);
+        }
+
+        private HookDeliveryStatisticsData toData(Long hookId) {
+            long deliveredCount = delivered.sum();
+            double averageLatencyInMillis = deliveredCount == 0 ? 0.0
+                    : TimeUnit.NANOSECONDS.toMicros(totalLatencyInNanos.sum() / deliveredCount) / 1000.0;
+            return new HookDeliveryStatisticsData().setHookId(hookId).setDelivered(deliveredCount).setFailed(failed.sum())
+                    .setDeferred(deferred.sum()).setAbandoned(abandoned.sum()).setPendingRetries(0L)
+                    .setAverageLatencyInMillis(averageLatencyInMillis)
+                    .setMaxLatencyInMillis(TimeUnit.NANOSECONDS.toMillis(maxLatencyInNanos.get()));
+        }
+    }
+}
@@ -18,6 +18,9 @@
  */
 package org.apache.fineract.infrastructure.jobs.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +30,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.fineract.infrastructure.core.diagnostics.performance.MetricsUtil;
 import org.apache.fineract.infrastructure.jobs.data.JobParameterDTO;
 import org.apache.fineract.infrastructure.jobs.domain.JobParameterRepository;
 import org.apache.fineract.infrastructure.jobs.domain.ScheduledJobDetail;
@@ -40,6 +44,7 @@ import org.springframework.batch.core.JobParameter;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
@@ -57,6 +62,7 @@ public class JobStarter {
     private final JobParameterRepository jobParameterRepository;
     private final List<JobParameterProvider<?>> jobParameterProviders;
     private final JobNameService jobNameService;
+    private final MeterRegistry meterRegistry;
 
     public static final List<BatchStatus> FAILED_STATUSES = List.of(BatchStatus.FAILED, BatchStatus.ABANDONED, BatchStatus.STOPPED,
             BatchStatus.STOPPING, BatchStatus.UNKNOWN);
@@ -65,18 +71,42 @@ public class JobStarter {
             throws JobInstanceAlreadyCompleteException, JobExecutionAlreadyRunningException, JobParametersInvalidException,
             JobRestartException, JobExecutionException {
         Map<String, JobParameter<?>> jobParameterMap = getJobParameter(scheduledJobDetail);
+        String jobName = jobNameService.getJobByHumanReadableName(scheduledJobDetail.getJobName()).getEnumStyleName();
         JobParameters jobParameters = new JobParametersBuilder(jobExplorer).getNextJobParameters(job)
                 .addJobParameters(new JobParameters(jobParameterMap))
-                .addJobParameters(new JobParameters(provideCustomJobParameters(
-                        jobNameService.getJobByHumanReadableName(scheduledJobDetail.getJobName()).getEnumStyleName(), jobParameterDTOSet)))
-                .toJobParameters();
+                .addJobParameters(new JobParameters(provideCustomJobParameters(jobName, jobParameterDTOSet))).toJobParameters();
+        Timer.Sample sample = Timer.start(meterRegistry);
         JobExecution result = jobLauncher.run(job, jobParameters);
+        recordJobExecution(jobName, result, sample);
         if (FAILED_STATUSES.contains(result.getStatus())) {
             throw new JobExecutionException(result.getExitStatus().toString());
         }
         return result;
     }
 
+    private void recordJobExecution(String jobName, JobExecution jobExecution, Timer.Sample sample) {
+        String tenant = MetricsUtil.getTenantTag();
+        sample.stop(Timer.builder("fineract.jobs").description("Time taken to run a scheduled job").tag("tenant", tenant)
+                .tag("job", jobName).tag("status", String.valueOf(jobExecution.getStatus())).register(meterRegistry));
+        for (StepExecution stepExecution : jobExecution.getStepExecutions()) {
+            String stepName = stepExecution.getStepName();
+            if (stepExecution.getStartTime() != null && stepExecution.getEndTime() != null) {
+                Timer.builder("fineract.jobs.step").description("Time taken to run a step of a scheduled job").tag("tenant", tenant)
+                        .tag("job", jobName).tag("step", stepName).tag("status", String.valueOf(stepExecution.getStatus()))
+                        .register(meterRegistry).record(Duration.between(stepExecution.getStartTime(), stepExecution.getEndTime()));
+            }
+            recordStepItems(tenant, jobName, stepName, "read", stepExecution.getReadCount());
+            recordStepItems(tenant, jobName, stepName, "write", stepExecution.getWriteCount());
+            recordStepItems(tenant, jobName, stepName, "filter", stepExecution.getFilterCount());
+            recordStepItems(tenant, jobName, stepName, "skip", stepExecution.getSkipCount());
+        }
+    }
+
+    private void recordStepItems(String tenant, String jobName, String stepName, String type, long count) {
+        meterRegistry.counter("fineract.jobs.step.items", "tenant", tenant, "job", jobName, "step", stepName, "type", type)
+                .increment(count);
+    }
+
     protected Map<String, org.springframework.batch.core.JobParameter<?>> getJobParameter(ScheduledJobDetail scheduledJobDetail) {
         List<org.apache.fineract.infrastructure.jobs.domain.JobParameter> jobParameterList = jobParameterRepository
                 .findJobParametersByJobId(scheduledJobDetail.getId());
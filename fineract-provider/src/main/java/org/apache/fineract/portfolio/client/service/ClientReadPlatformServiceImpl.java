@@ -44,6 +44,7 @@ import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.FieldProjection;
 import org.apache.fineract.infrastructure.dataqueries.data.DatatableData;
 import org.apache.fineract.infrastructure.dataqueries.data.EntityTables;
 import org.apache.fineract.infrastructure.dataqueries.data.StatusEnum;
@@ -188,7 +189,9 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
         List<Object> paramList = new ArrayList<>(Arrays.asList(underHierarchySearchString, underHierarchySearchString));
         final StringBuilder sqlBuilder = new StringBuilder(200);
         sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
-        sqlBuilder.append(this.clientToDataMapper.schema());
+        sqlBuilder.append(ClientToDataMapper.FIELD_PROJECTION.apply(this.clientToDataMapper.schema(),
+                searchParameters == null ? null : searchParameters.getResponseFields(),
+                searchParameters == null ? null : searchParameters.getOrderBy()));
         sqlBuilder.append(" where (o.hierarchy like ? or transferToOffice.hierarchy like ?) ");
 
         if (searchParameters != null) {
@@ -685,7 +688,27 @@ public class ClientReadPlatformServiceImpl implements ClientReadPlatformService
         return clientRepositoryWrapper.findIdByExternalId(externalId);
     }
 
-    private static final class ClientToDataMapper implements RowMapper<ClientData> {
+    static final class ClientToDataMapper implements RowMapper<ClientData> {
+
+        static final FieldProjection FIELD_PROJECTION = FieldProjection.builder()
+                .optionalJoin("cnp", "left join m_client_non_person cnp on cnp.client_id = c.id", "clientNonPersonDetails")
+                .optionalJoin("s", "left join m_staff s on s.id = c.staff_id", "staffName")
+                .optionalJoin("sp", "left join m_savings_product sp on sp.id = c.default_savings_product")
+                .optionalJoin("sbu", "left join m_appuser sbu on sbu.id = c.created_by", "timeline")
+                .optionalJoin("acu", "left join m_appuser acu on acu.id = c.activatedon_userid", "timeline")
+                .optionalJoin("clu", "left join m_appuser clu on clu.id = c.closedon_userid", "timeline")
+                .optionalJoin("cv", "left join m_code_value cv on cv.id = c.gender_cv_id", "gender")
+                .optionalJoin("cvclienttype", "left join m_code_value cvclienttype on cvclienttype.id = c.client_type_cv_id", "clientType")
+                .optionalJoin("cvclassification",
+                        "left join m_code_value cvclassification on cvclassification.id = c.client_classification_cv_id",
+                        "clientClassification")
+                .optionalJoin("cvSubStatus", "left join m_code_value cvSubStatus on cvSubStatus.id = c.sub_status")
+                .optionalJoin("cvConstitution", "left join m_code_value cvConstitution on cvConstitution.id = cnp.constitution_cv_id",
+                        "clientNonPersonDetails")
+                .optionalJoin("cvMainBusinessLine",
+                        "left join m_code_value cvMainBusinessLine on cvMainBusinessLine.id = cnp.main_business_line_cv_id",
+                        "clientNonPersonDetails")
+                .build();
 
         private final String schema;
 
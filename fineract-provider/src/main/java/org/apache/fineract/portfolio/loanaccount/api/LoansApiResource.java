@@ -56,6 +56,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Future;
 import lombok.RequiredArgsConstructor;
 import org.apache.fineract.commands.domain.CommandWrapper;
 import org.apache.fineract.commands.service.CommandWrapperBuilder;
@@ -143,6 +144,7 @@ import org.apache.fineract.portfolio.loanaccount.loanschedule.domain.LoanSchedul
 import org.apache.fineract.portfolio.loanaccount.loanschedule.service.LoanScheduleCalculationPlatformService;
 import org.apache.fineract.portfolio.loanaccount.loanschedule.service.LoanScheduleHistoryReadPlatformService;
 import org.apache.fineract.portfolio.loanaccount.service.GLIMAccountInfoReadPlatformService;
+import org.apache.fineract.portfolio.loanaccount.service.LoanAssociationsFetcher;
 import org.apache.fineract.portfolio.loanaccount.service.LoanChargeReadPlatformService;
 import org.apache.fineract.portfolio.loanaccount.service.LoanReadPlatformService;
 import org.apache.fineract.portfolio.loanproduct.LoanProductConstants;
@@ -281,6 +283,7 @@ public class LoansApiResource {
     private final DefaultToApiJsonSerializer<LoanDelinquencyTagHistoryData> jsonSerializerTagHistory;
     private final DelinquencyReadPlatformService delinquencyReadPlatformService;
     private final SqlValidator sqlValidator;
+    private final LoanAssociationsFetcher loanAssociationsFetcher;
 
     /*
      * This template API is used for loan approval, ideally this should be invoked on loan that are pending for
@@ -482,12 +485,13 @@ public class LoansApiResource {
         sqlValidator.validate(sortOrder);
         sqlValidator.validate(accountNo);
         sqlValidator.validate(externalId);
+        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
         final SearchParameters searchParameters = SearchParameters.builder().accountNo(accountNo).sortOrder(sortOrder)
-                .externalId(externalId).offset(offset).limit(limit).orderBy(orderBy).status(status).build();
+                .externalId(externalId).offset(offset).limit(limit).orderBy(orderBy).status(status)
+                .responseFields(settings.getParametersForPartialResponse()).build();
 
         final Page<LoanAccountData> loanBasicDetails = this.loanReadPlatformService.retrieveAll(searchParameters);
 
-        final ApiRequestJsonSerializationSettings settings = this.apiRequestParameterHelper.process(uriInfo.getQueryParameters());
         return this.toApiJsonSerializer.serialize(settings, loanBasicDetails, LOAN_DATA_PARAMETERS);
     }
 
@@ -893,8 +897,18 @@ public class LoansApiResource {
                 loanBasicDetails = LoanAccountData.withLoanCalendarData(loanBasicDetails, calendarData);
             }
         }
-        Collection<InterestRatePeriodData> interestRatesPeriods = this.loanReadPlatformService
-                .retrieveLoanInterestRatePeriodData(loanBasicDetails);
+        try (LoanAssociationsFetcher.Fetches fetches = loanAssociationsFetcher.open()) {
+            return retrieveLoanAssociations(resolvedLoanId, loanBasicDetails, staffInSelectedOfficeOnly, exclude, uriInfo, fetches);
+        }
+    }
+
+    private String retrieveLoanAssociations(final Long resolvedLoanId, LoanAccountData loanBasicDetails, boolean staffInSelectedOfficeOnly,
+            final String exclude, final UriInfo uriInfo, final LoanAssociationsFetcher.Fetches fetches) {
+        // The independent associations are fetched concurrently, the futures are resolved in the order they used to
+        // be fetched in
+        final LoanAccountData loanDetails = loanBasicDetails;
+        final Future<Collection<InterestRatePeriodData>> interestRatesPeriodsFuture = fetches.fetch("interestRatePeriods",
+                () -> this.loanReadPlatformService.retrieveLoanInterestRatePeriodData(loanDetails));
         Collection<LoanTransactionData> loanRepayments = null;
         LoanScheduleData repaymentSchedule = null;
         Collection<LoanChargeData> charges = null;
@@ -904,13 +918,23 @@ public class LoansApiResource {
         PortfolioAccountData linkedAccount = null;
         Collection<DisbursementData> disbursementData = null;
         Collection<LoanTermVariationsData> emiAmountVariations = null;
-        Collection<LoanCollateralResponseData> loanCollateralManagements;
         Collection<LoanCollateralManagementData> loanCollateralManagementData = new ArrayList<>();
-        CollectionData collectionData = this.delinquencyReadPlatformService.calculateLoanCollectionData(resolvedLoanId);
+        final Future<CollectionData> collectionDataFuture = fetches.fetch("collection",
+                () -> this.delinquencyReadPlatformService.calculateLoanCollectionData(resolvedLoanId));
 
         final Set<String> mandatoryResponseParameters = new HashSet<>();
         final Set<String> associationParameters = ApiParameterHelper.extractAssociationsForResponseIfProvided(uriInfo.getQueryParameters());
-        final Collection<LoanTransactionData> currentLoanRepayments = this.loanReadPlatformService.retrieveLoanTransactions(resolvedLoanId);
+        final Future<Collection<LoanTransactionData>> currentLoanRepaymentsFuture = fetches.fetch("transactions",
+                () -> this.loanReadPlatformService.retrieveLoanTransactions(resolvedLoanId));
+        Future<Collection<GuarantorData>> guarantorsFuture = null;
+        Future<Collection<DisbursementData>> disbursementDataFuture = null;
+        Future<Collection<LoanTermVariationsData>> emiAmountVariationsFuture = null;
+        Future<RepaymentScheduleAssociation> repaymentScheduleFuture = null;
+        Future<Collection<LoanChargeData>> chargesFuture = null;
+        Future<Collection<LoanCollateralResponseData>> loanCollateralManagementsFuture = null;
+        Future<CalendarData> meetingFuture = null;
+        Future<Collection<NoteData>> notesFuture = null;
+        Future<PortfolioAccountData> linkedAccountFuture = null;
         if (!associationParameters.isEmpty()) {
             if (associationParameters.contains(DataTableApiConstant.allAssociateParamName)) {
                 associationParameters.addAll(Arrays.asList(DataTableApiConstant.repaymentScheduleAssociateParamName,
@@ -925,92 +949,73 @@ public class LoansApiResource {
 
             if (associationParameters.contains(DataTableApiConstant.guarantorsAssociateParamName)) {
                 mandatoryResponseParameters.add(DataTableApiConstant.guarantorsAssociateParamName);
-                guarantors = this.guarantorReadPlatformService.retrieveGuarantorsForLoan(resolvedLoanId);
-                if (CollectionUtils.isEmpty(guarantors)) {
-                    guarantors = null;
-                }
+                guarantorsFuture = fetches.fetch(DataTableApiConstant.guarantorsAssociateParamName,
+                        () -> this.guarantorReadPlatformService.retrieveGuarantorsForLoan(resolvedLoanId));
             }
 
             if (associationParameters.contains(DataTableApiConstant.transactionsAssociateParamName)) {
                 mandatoryResponseParameters.add(DataTableApiConstant.transactionsAssociateParamName);
-                if (!CollectionUtils.isEmpty(currentLoanRepayments)) {
-                    loanRepayments = currentLoanRepayments;
-                }
-            }
-
-            if (associationParameters.contains(DataTableApiConstant.multiDisburseDetailsAssociateParamName)
-                    || associationParameters.contains(DataTableApiConstant.repaymentScheduleAssociateParamName)) {
-                mandatoryResponseParameters.add(DataTableApiConstant.multiDisburseDetailsAssociateParamName);
-                disbursementData = this.loanReadPlatformService.retrieveLoanDisbursementDetails(resolvedLoanId);
-            }
-
-            if (associationParameters.contains(DataTableApiConstant.emiAmountVariationsAssociateParamName)
-                    || associationParameters.contains(DataTableApiConstant.repaymentScheduleAssociateParamName)) {
-                mandatoryResponseParameters.add(DataTableApiConstant.emiAmountVariationsAssociateParamName);
-                emiAmountVariations = this.loanReadPlatformService.retrieveLoanTermVariations(resolvedLoanId,
-                        LoanTermVariationType.EMI_AMOUNT.getValue());
             }
 
             if (associationParameters.contains(DataTableApiConstant.repaymentScheduleAssociateParamName)) {
+                // The schedule is built from the disbursement details, so both are fetched by the same task
+                mandatoryResponseParameters.add(DataTableApiConstant.multiDisburseDetailsAssociateParamName);
                 mandatoryResponseParameters.add(DataTableApiConstant.repaymentScheduleAssociateParamName);
-                final RepaymentScheduleRelatedLoanData repaymentScheduleRelatedData = loanBasicDetails.getTimeline()
-                        .repaymentScheduleRelatedData(loanBasicDetails.getCurrency(), loanBasicDetails.getPrincipal(),
-                                loanBasicDetails.getApprovedPrincipal(), loanBasicDetails.getInArrearsTolerance(),
-                                loanBasicDetails.getFeeChargesAtDisbursementCharged());
-                repaymentSchedule = this.loanReadPlatformService.retrieveRepaymentSchedule(resolvedLoanId, repaymentScheduleRelatedData,
-                        disbursementData, loanBasicDetails.isInterestRecalculationEnabled(),
-                        LoanScheduleType.fromEnumOptionData(loanBasicDetails.getLoanScheduleType()));
-
-                if (associationParameters.contains(DataTableApiConstant.futureScheduleAssociateParamName)
-                        && loanBasicDetails.isInterestRecalculationEnabled()) {
+                final boolean futureSchedule = associationParameters.contains(DataTableApiConstant.futureScheduleAssociateParamName)
+                        && loanDetails.isInterestRecalculationEnabled();
+                final boolean originalSchedule = associationParameters.contains(DataTableApiConstant.originalScheduleAssociateParamName)
+                        && loanDetails.isInterestRecalculationEnabled()
+                        && LoanStatus.fromInt(loanDetails.getStatus().getId().intValue()).isActive();
+                if (futureSchedule) {
                     mandatoryResponseParameters.add(DataTableApiConstant.futureScheduleAssociateParamName);
-                    this.calculationPlatformService.updateFutureSchedule(repaymentSchedule, resolvedLoanId);
                 }
-
-                if (associationParameters.contains(DataTableApiConstant.originalScheduleAssociateParamName)
-                        && loanBasicDetails.isInterestRecalculationEnabled()
-                        && LoanStatus.fromInt(loanBasicDetails.getStatus().getId().intValue()).isActive()) {
+                if (originalSchedule) {
                     mandatoryResponseParameters.add(DataTableApiConstant.originalScheduleAssociateParamName);
-                    LoanScheduleData loanScheduleData = this.loanScheduleHistoryReadPlatformService.retrieveRepaymentArchiveSchedule(
-                            resolvedLoanId, repaymentScheduleRelatedData, disbursementData,
-                            LoanScheduleType.fromEnumOptionData(loanBasicDetails.getLoanScheduleType()));
-                    loanBasicDetails = LoanAccountData.withOriginalSchedule(loanBasicDetails, loanScheduleData);
                 }
+                repaymentScheduleFuture = fetches.fetch(DataTableApiConstant.repaymentScheduleAssociateParamName,
+                        () -> retrieveRepaymentSchedule(resolvedLoanId, loanDetails, futureSchedule, originalSchedule));
+            } else if (associationParameters.contains(DataTableApiConstant.multiDisburseDetailsAssociateParamName)) {
+                mandatoryResponseParameters.add(DataTableApiConstant.multiDisburseDetailsAssociateParamName);
+                disbursementDataFuture = fetches.fetch(DataTableApiConstant.multiDisburseDetailsAssociateParamName,
+                        () -> this.loanReadPlatformService.retrieveLoanDisbursementDetails(resolvedLoanId));
+            }
+
+            if (associationParameters.contains(DataTableApiConstant.emiAmountVariationsAssociateParamName)
+                    || associationParameters.contains(DataTableApiConstant.repaymentScheduleAssociateParamName)) {
+                mandatoryResponseParameters.add(DataTableApiConstant.emiAmountVariationsAssociateParamName);
+                emiAmountVariationsFuture = fetches.fetch(DataTableApiConstant.emiAmountVariationsAssociateParamName,
+                        () -> this.loanReadPlatformService.retrieveLoanTermVariations(resolvedLoanId,
+                                LoanTermVariationType.EMI_AMOUNT.getValue()));
             }
 
             if (associationParameters.contains(DataTableApiConstant.chargesAssociateParamName)) {
                 mandatoryResponseParameters.add(DataTableApiConstant.chargesAssociateParamName);
-                charges = this.loanChargeReadPlatformService.retrieveLoanCharges(resolvedLoanId);
-                if (CollectionUtils.isEmpty(charges)) {
-                    charges = null;
-                }
+                chargesFuture = fetches.fetch(DataTableApiConstant.chargesAssociateParamName,
+                        () -> this.loanChargeReadPlatformService.retrieveLoanCharges(resolvedLoanId));
             }
 
             if (associationParameters.contains(DataTableApiConstant.collateralAssociateParamName)) {
                 mandatoryResponseParameters.add(DataTableApiConstant.collateralAssociateParamName);
-                loanCollateralManagements = this.loanCollateralManagementReadPlatformService
-                        .getLoanCollateralResponseDataList(resolvedLoanId);
-                for (LoanCollateralResponseData loanCollateralManagement : loanCollateralManagements) {
-                    loanCollateralManagementData.add(loanCollateralManagement.toCommand());
-                }
+                loanCollateralManagementsFuture = fetches.fetch(DataTableApiConstant.collateralAssociateParamName,
+                        () -> this.loanCollateralManagementReadPlatformService.getLoanCollateralResponseDataList(resolvedLoanId));
             }
 
             if (associationParameters.contains(DataTableApiConstant.meetingAssociateParamName)) {
                 mandatoryResponseParameters.add(DataTableApiConstant.meetingAssociateParamName);
-                meeting = this.calendarReadPlatformService.retrieveLoanCalendar(resolvedLoanId);
+                meetingFuture = fetches.fetch(DataTableApiConstant.meetingAssociateParamName,
+                        () -> this.calendarReadPlatformService.retrieveLoanCalendar(resolvedLoanId));
             }
 
             if (associationParameters.contains(DataTableApiConstant.notesAssociateParamName)) {
                 mandatoryResponseParameters.add(DataTableApiConstant.notesAssociateParamName);
-                notes = this.noteReadPlatformService.retrieveNotesByResource(resolvedLoanId, NoteType.LOAN.getValue());
-                if (CollectionUtils.isEmpty(notes)) {
-                    notes = null;
-                }
+                notesFuture = fetches.fetch(DataTableApiConstant.notesAssociateParamName,
+                        () -> this.noteReadPlatformService.retrieveNotesByResource(resolvedLoanId, NoteType.LOAN.getValue()));
             }
 
             if (associationParameters.contains(DataTableApiConstant.linkedAccountAssociateParamName)) {
                 mandatoryResponseParameters.add(DataTableApiConstant.linkedAccountAssociateParamName);
-                linkedAccount = this.accountAssociationsReadPlatformService.retriveLoanLinkedAssociation(resolvedLoanId);
+                linkedAccountFuture = fetches.fetch(DataTableApiConstant.linkedAccountAssociateParamName,
+                        () -> this.accountAssociationsReadPlatformService.retriveLoanLinkedAssociation(resolvedLoanId));
             }
         }
 
@@ -1037,10 +1042,21 @@ public class LoansApiResource {
         Collection<LoanAccountSummaryData> clientActiveLoanOptions = null;
 
         final boolean template = ApiParameterHelper.template(uriInfo.getQueryParameters());
+        Future<Collection<LoanProductData>> productOptionsFuture = null;
+        Future<Collection<FundData>> fundOptionsFuture = null;
+        Future<Collection<ChargeData>> chargeOptionsFuture = null;
+        Future<ChargeData> chargeTemplateFuture = null;
+        Future<Collection<StaffData>> allowedLoanOfficersFuture = null;
+        Future<Collection<CodeValueData>> loanPurposeOptionsFuture = null;
+        Future<Collection<CodeValueData>> loanCollateralOptionsFuture = null;
+        Future<Collection<PortfolioAccountData>> accountLinkingOptionsFuture = null;
+        Future<Collection<CalendarData>> calendarOptionsFuture = null;
+        Future<Collection<LoanAccountSummaryData>> clientActiveLoanOptionsFuture = null;
         if (template) {
-            productOptions = this.loanProductReadPlatformService.retrieveAllLoanProductsForLookup();
-            product = this.loanProductReadPlatformService.retrieveLoanProduct(loanBasicDetails.getLoanProductId());
-            loanBasicDetails.setProduct(product);
+            productOptionsFuture = fetches.fetch("productOptions",
+                    () -> this.loanProductReadPlatformService.retrieveAllLoanProductsForLookup());
+            product = this.loanProductReadPlatformService.retrieveLoanProduct(loanDetails.getLoanProductId());
+            loanDetails.setProduct(product);
             loanTermFrequencyTypeOptions = this.dropdownReadPlatformService.retrieveLoanTermFrequencyTypeOptions();
             repaymentFrequencyTypeOptions = this.dropdownReadPlatformService.retrieveRepaymentFrequencyTypeOptions();
             repaymentFrequencyNthDayTypeOptions = this.dropdownReadPlatformService.retrieveRepaymentFrequencyOptionsForNthDayOfMonth();
@@ -1055,61 +1071,142 @@ public class LoansApiResource {
             }
             interestCalculationPeriodTypeOptions = this.dropdownReadPlatformService.retrieveLoanInterestRateCalculatedInPeriodOptions();
 
-            fundOptions = this.fundReadPlatformService.retrieveAllFunds();
+            fundOptionsFuture = fetches.fetch("fundOptions", () -> this.fundReadPlatformService.retrieveAllFunds());
             repaymentStrategyOptions = this.dropdownReadPlatformService.retrieveTransactionProcessingStrategies();
-            if (product.getMultiDisburseLoan()) {
-                chargeOptions = this.chargeReadPlatformService.retrieveLoanAccountApplicableCharges(resolvedLoanId,
-                        new ChargeTimeType[] { ChargeTimeType.OVERDUE_INSTALLMENT });
-            } else {
-                chargeOptions = this.chargeReadPlatformService.retrieveLoanAccountApplicableCharges(resolvedLoanId,
-                        new ChargeTimeType[] { ChargeTimeType.OVERDUE_INSTALLMENT, ChargeTimeType.TRANCHE_DISBURSEMENT });
+            final ChargeTimeType[] excludedChargeTimeTypes = product.getMultiDisburseLoan()
+                    ? new ChargeTimeType[] { ChargeTimeType.OVERDUE_INSTALLMENT }
+                    : new ChargeTimeType[] { ChargeTimeType.OVERDUE_INSTALLMENT, ChargeTimeType.TRANCHE_DISBURSEMENT };
+            chargeOptionsFuture = fetches.fetch("chargeOptions",
+                    () -> this.chargeReadPlatformService.retrieveLoanAccountApplicableCharges(resolvedLoanId, excludedChargeTimeTypes));
+            chargeTemplateFuture = fetches.fetch("chargeTemplate",
+                    () -> this.loanChargeReadPlatformService.retrieveLoanChargeTemplate());
+
+            Long officeId = loanDetails.getClientOfficeId();
+
+            if (officeId == null && loanDetails.getGroup() != null) {
+                officeId = loanDetails.getGroup().getOfficeId();
             }
-            chargeTemplate = this.loanChargeReadPlatformService.retrieveLoanChargeTemplate();
-
-            Long officeId = loanBasicDetails.getClientOfficeId();
-
-            if (officeId == null && loanBasicDetails.getGroup() != null) {
-                officeId = loanBasicDetails.getGroup().getOfficeId();
-            }
-            allowedLoanOfficers = this.loanReadPlatformService.retrieveAllowedLoanOfficers(officeId, staffInSelectedOfficeOnly);
-
-            loanPurposeOptions = this.codeValueReadPlatformService.retrieveCodeValuesByCode("LoanPurpose");
-            loanCollateralOptions = this.codeValueReadPlatformService.retrieveCodeValuesByCode("LoanCollateral");
-            final CurrencyData currencyData = loanBasicDetails.getCurrency();
+            final Long loanOfficeId = officeId;
+            allowedLoanOfficersFuture = fetches.fetch("allowedLoanOfficers",
+                    () -> this.loanReadPlatformService.retrieveAllowedLoanOfficers(loanOfficeId, staffInSelectedOfficeOnly));
+
+            loanPurposeOptionsFuture = fetches.fetch("loanPurposeOptions",
+                    () -> this.codeValueReadPlatformService.retrieveCodeValuesByCode("LoanPurpose"));
+            loanCollateralOptionsFuture = fetches.fetch("loanCollateralOptions",
+                    () -> this.codeValueReadPlatformService.retrieveCodeValuesByCode("LoanCollateral"));
+            final CurrencyData currencyData = loanDetails.getCurrency();
             String currencyCode = null;
             if (currencyData != null) {
                 currencyCode = currencyData.getCode();
             }
             final long[] accountStatus = { SavingsAccountStatusType.ACTIVE.getValue() };
             PortfolioAccountDTO portfolioAccountDTO = new PortfolioAccountDTO(PortfolioAccountType.SAVINGS.getValue(),
-                    loanBasicDetails.getClientId(), currencyCode, accountStatus, DepositAccountType.SAVINGS_DEPOSIT.getValue());
-            accountLinkingOptions = this.portfolioAccountReadPlatformService.retrieveAllForLookup(portfolioAccountDTO);
+                    loanDetails.getClientId(), currencyCode, accountStatus, DepositAccountType.SAVINGS_DEPOSIT.getValue());
+            accountLinkingOptionsFuture = fetches.fetch("accountLinkingOptions",
+                    () -> this.portfolioAccountReadPlatformService.retrieveAllForLookup(portfolioAccountDTO));
 
             if (!associationParameters.contains(DataTableApiConstant.linkedAccountAssociateParamName)) {
                 mandatoryResponseParameters.add(DataTableApiConstant.linkedAccountAssociateParamName);
-                linkedAccount = this.accountAssociationsReadPlatformService.retriveLoanLinkedAssociation(resolvedLoanId);
+                linkedAccountFuture = fetches.fetch(DataTableApiConstant.linkedAccountAssociateParamName,
+                        () -> this.accountAssociationsReadPlatformService.retriveLoanLinkedAssociation(resolvedLoanId));
             }
-            if (loanBasicDetails.getGroup() != null && loanBasicDetails.getGroup().getId() != null) {
-                calendarOptions = this.loanReadPlatformService.retrieveCalendars(loanBasicDetails.getGroup().getId());
+            if (loanDetails.getGroup() != null && loanDetails.getGroup().getId() != null) {
+                calendarOptionsFuture = fetches.fetch("calendarOptions",
+                        () -> this.loanReadPlatformService.retrieveCalendars(loanDetails.getGroup().getId()));
             }
 
-            if (loanBasicDetails.getProduct().isCanUseForTopup() && loanBasicDetails.getClientId() != null) {
-                clientActiveLoanOptions = this.accountDetailsReadPlatformService
-                        .retrieveClientActiveLoanAccountSummary(loanBasicDetails.getClientId());
+            if (loanDetails.getProduct().isCanUseForTopup() && loanDetails.getClientId() != null) {
+                clientActiveLoanOptionsFuture = fetches.fetch("clientActiveLoanOptions",
+                        () -> this.accountDetailsReadPlatformService.retrieveClientActiveLoanAccountSummary(loanDetails.getClientId()));
             }
 
         }
 
-        Collection<ChargeData> overdueCharges = this.chargeReadPlatformService
-                .retrieveLoanProductCharges(loanBasicDetails.getLoanProductId(), ChargeTimeType.OVERDUE_INSTALLMENT);
+        final Future<Collection<ChargeData>> overdueChargesFuture = fetches.fetch("overdueCharges",
+                () -> this.chargeReadPlatformService.retrieveLoanProductCharges(loanDetails.getLoanProductId(),
+                        ChargeTimeType.OVERDUE_INSTALLMENT));
 
-        paidInAdvanceTemplate = this.loanReadPlatformService.retrieveTotalPaidInAdvance(resolvedLoanId);
+        final Future<PaidInAdvanceData> paidInAdvanceTemplateFuture = fetches.fetch("paidInAdvance",
+                () -> this.loanReadPlatformService.retrieveTotalPaidInAdvance(resolvedLoanId));
 
         // Get rates from Loan
         boolean isRatesEnabled = this.configurationDomainService.isSubRatesEnabled();
-        List<RateData> rates = null;
+        Future<List<RateData>> ratesFuture = null;
         if (isRatesEnabled) {
-            rates = this.rateReadService.retrieveLoanRates(resolvedLoanId);
+            ratesFuture = fetches.fetch("rates", () -> this.rateReadService.retrieveLoanRates(resolvedLoanId));
+        }
+
+        final Collection<InterestRatePeriodData> interestRatesPeriods = fetches.get(interestRatesPeriodsFuture);
+        final CollectionData collectionData = fetches.get(collectionDataFuture);
+        final Collection<LoanTransactionData> currentLoanRepayments = fetches.get(currentLoanRepaymentsFuture);
+        if (guarantorsFuture != null) {
+            guarantors = fetches.get(guarantorsFuture);
+            if (CollectionUtils.isEmpty(guarantors)) {
+                guarantors = null;
+            }
+        }
+        if (associationParameters.contains(DataTableApiConstant.transactionsAssociateParamName)
+                && !CollectionUtils.isEmpty(currentLoanRepayments)) {
+            loanRepayments = currentLoanRepayments;
+        }
+        if (disbursementDataFuture != null) {
+            disbursementData = fetches.get(disbursementDataFuture);
+        }
+        if (emiAmountVariationsFuture != null) {
+            emiAmountVariations = fetches.get(emiAmountVariationsFuture);
+        }
+        if (repaymentScheduleFuture != null) {
+            RepaymentScheduleAssociation repaymentScheduleAssociation = fetches.get(repaymentScheduleFuture);
+            disbursementData = repaymentScheduleAssociation.disbursementData();
+            repaymentSchedule = repaymentScheduleAssociation.repaymentSchedule();
+            if (repaymentScheduleAssociation.originalSchedule() != null) {
+                loanBasicDetails = LoanAccountData.withOriginalSchedule(loanBasicDetails, repaymentScheduleAssociation.originalSchedule());
+            }
+        }
+        if (chargesFuture != null) {
+            charges = fetches.get(chargesFuture);
+            if (CollectionUtils.isEmpty(charges)) {
+                charges = null;
+            }
+        }
+        if (loanCollateralManagementsFuture != null) {
+            for (LoanCollateralResponseData loanCollateralManagement : fetches.get(loanCollateralManagementsFuture)) {
+                loanCollateralManagementData.add(loanCollateralManagement.toCommand());
+            }
+        }
+        if (meetingFuture != null) {
+            meeting = fetches.get(meetingFuture);
+        }
+        if (notesFuture != null) {
+            notes = fetches.get(notesFuture);
+            if (CollectionUtils.isEmpty(notes)) {
+                notes = null;
+            }
+        }
+        if (linkedAccountFuture != null) {
+            linkedAccount = fetches.get(linkedAccountFuture);
+        }
+        if (template) {
+            productOptions = fetches.get(productOptionsFuture);
+            fundOptions = fetches.get(fundOptionsFuture);
+            chargeOptions = fetches.get(chargeOptionsFuture);
+            chargeTemplate = fetches.get(chargeTemplateFuture);
+            allowedLoanOfficers = fetches.get(allowedLoanOfficersFuture);
+            loanPurposeOptions = fetches.get(loanPurposeOptionsFuture);
+            loanCollateralOptions = fetches.get(loanCollateralOptionsFuture);
+            accountLinkingOptions = fetches.get(accountLinkingOptionsFuture);
+            if (calendarOptionsFuture != null) {
+                calendarOptions = fetches.get(calendarOptionsFuture);
+            }
+            if (clientActiveLoanOptionsFuture != null) {
+                clientActiveLoanOptions = fetches.get(clientActiveLoanOptionsFuture);
+            }
+        }
+        Collection<ChargeData> overdueCharges = fetches.get(overdueChargesFuture);
+        paidInAdvanceTemplate = fetches.get(paidInAdvanceTemplateFuture);
+        List<RateData> rates = null;
+        if (ratesFuture != null) {
+            rates = fetches.get(ratesFuture);
         }
 
         // updating summary with transaction amounts summary
@@ -1132,6 +1229,33 @@ public class LoansApiResource {
         return this.toApiJsonSerializer.serialize(settings, loanAccount, LOAN_DATA_PARAMETERS);
     }
 
+    private RepaymentScheduleAssociation retrieveRepaymentSchedule(final Long loanId, final LoanAccountData loanBasicDetails,
+            final boolean futureSchedule, final boolean originalSchedule) {
+        final Collection<DisbursementData> disbursementData = this.loanReadPlatformService.retrieveLoanDisbursementDetails(loanId);
+        final RepaymentScheduleRelatedLoanData repaymentScheduleRelatedData = loanBasicDetails.getTimeline().repaymentScheduleRelatedData(
+                loanBasicDetails.getCurrency(), loanBasicDetails.getPrincipal(), loanBasicDetails.getApprovedPrincipal(),
+                loanBasicDetails.getInArrearsTolerance(), loanBasicDetails.getFeeChargesAtDisbursementCharged());
+        final LoanScheduleData repaymentSchedule = this.loanReadPlatformService.retrieveRepaymentSchedule(loanId,
+                repaymentScheduleRelatedData, disbursementData, loanBasicDetails.isInterestRecalculationEnabled(),
+                LoanScheduleType.fromEnumOptionData(loanBasicDetails.getLoanScheduleType()));
+
+        if (futureSchedule) {
+            this.calculationPlatformService.updateFutureSchedule(repaymentSchedule, loanId);
+        }
+
+        LoanScheduleData loanScheduleData = null;
+        if (originalSchedule) {
+            loanScheduleData = this.loanScheduleHistoryReadPlatformService.retrieveRepaymentArchiveSchedule(loanId,
+                    repaymentScheduleRelatedData, disbursementData,
+                    LoanScheduleType.fromEnumOptionData(loanBasicDetails.getLoanScheduleType()));
+        }
+        return new RepaymentScheduleAssociation(disbursementData, repaymentSchedule, loanScheduleData);
+    }
+
+    private record RepaymentScheduleAssociation(Collection<DisbursementData> disbursementData, LoanScheduleData repaymentSchedule,
+            LoanScheduleData originalSchedule) {
+    }
+
     private String modifyLoanApplication(final Long loanId, final String loanExternalIdStr, final String commandParam,
             final String apiRequestBodyAsJson) {
         final CommandWrapperBuilder builder = new CommandWrapperBuilder().withJson(apiRequestBodyAsJson);
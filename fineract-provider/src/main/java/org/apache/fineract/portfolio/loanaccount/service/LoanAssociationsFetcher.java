@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Fetches the independent associations of a loan concurrently on the loan associations task executor, so that the
+ * latency of the loan view is bound by its slowest association instead of the sum of all of them.
+ *
+ * The fetches of a request are grouped by {@link #open()}. At most
+ * {@code fineract.task-executor.loan-associations-max-concurrent-fetches-per-request} of them run on the executor at
+ * the same time, the others are fetched on the calling thread, so a single request never holds more than that many
+ * database connections of the tenant besides its own. The tenant and the authentication of the calling thread are
+ * propagated to the workers; the request attributes are not, as they are bound to the request thread. Every
+ * association is read through its read platform service exactly as before, within the transaction that service
+ * defines. When the caller runs inside a transaction the associations are fetched on the calling thread, since other
+ * threads could not see its uncommitted changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoanAssociationsFetcher {
+
+    @Qualifier(TaskExecutorConstant.LOAN_ASSOCIATIONS_TASK_EXECUTOR_BEAN_NAME)
+    private final AsyncTaskExecutor loanAssociationsTaskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final FineractProperties fineractProperties;
+
+    /**
+     * Starts a group of fetches, to be closed once the request is done with them.
+     */
+    public Fetches open() {
+        int maxConcurrentFetches = fineractProperties.getTaskExecutor().getLoanAssociationsMaxConcurrentFetchesPerRequest();
+        return new Fetches(Math.max(0, maxConcurrentFetches));
+    }
+
+    /**
+     * The fetches of one request. A fetch that fails cancels the ones that have not started yet, and closing the group
+     * cancels whatever is still outstanding.
+     */
+    public final class Fetches implements AutoCloseable {
+
+        private final Semaphore permits;
+        private final List<Future<?>> futures = new ArrayList<>();
+
+        private Fetches(int maxConcurrentFetches) {
+            this.permits = new Semaphore(maxConcurrentFetches);
+        }
+
+        /**
+         * Starts fetching an association and records its duration under {@code fineract.loan.associations.fetch}.
+         *
+         * @param association
+         *            the name of the association, used as metric tag
+         * @param fetcher
+         *            reads the association
+         * @return the future association, to be resolved with {@link #get(Future)}
+         */
+        public <T> Future<T> fetch(String association, Supplier<T> fetcher) {
+            final Timer timer = Timer.builder("fineract.loan.associations.fetch")
+                    .description("Time taken to fetch an association of a loan").tag("association", association).register(meterRegistry);
+            if (TransactionSynchronizationManager.isActualTransactionActive() || !permits.tryAcquire()) {
+                return fetchOnCallerThread(timer, fetcher);
+            }
+
+            final Thread callerThread = Thread.currentThread();
+            final FineractContext context = ThreadLocalContextUtil.getContext();
+            final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            final Future<T> future;
+            try {
+                future = loanAssociationsTaskExecutor.submit(() -> {
+                    // The executor runs the task on the caller thread when it is saturated, its context must be kept then
+                    boolean worker = Thread.currentThread() != callerThread;
+                    if (worker) {
+                        ThreadLocalContextUtil.init(context);
+                        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+                        securityContext.setAuthentication(authentication);
+                        SecurityContextHolder.setContext(securityContext);
+                    }
+                    try {
+                        return timer.record(fetcher);
+                    } finally {
+                        permits.release();
+                        if (worker) {
+                            SecurityContextHolder.clearContext();
+                            ThreadLocalContextUtil.reset();
+                        }
+                    }
+                });
+            } catch (TaskRejectedException e) {
+                permits.release();
+                return fetchOnCallerThread(timer, fetcher);
+            }
+            futures.add(future);
+            return future;
+        }
+
+        /**
+         * Waits for a fetched association. An exception thrown while fetching it is rethrown as is, so that it is mapped
+         * to the same API error as before.
+         */
+        public <T> T get(Future<T> association) {
+            try {
+                return association.get();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while fetching loan associations", e);
+            } catch (ExecutionException e) {
+                cancel();
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Error occurred while fetching loan associations", cause);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancel();
+        }
+
+        private void cancel() {
+            // Running fetches are not interrupted, an interrupt could break the database connection they are using
+            futures.forEach(future -> future.cancel(false));
+        }
+
+        private <T> Future<T> fetchOnCallerThread(Timer timer, Supplier<T> fetcher) {
+            try {
+                return CompletableFuture.completedFuture(timer.record(fetcher));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+    }
+}
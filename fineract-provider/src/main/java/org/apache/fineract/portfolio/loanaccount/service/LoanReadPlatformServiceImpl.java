@@ -53,6 +53,7 @@ import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.FieldProjection;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.infrastructure.security.utils.ColumnValidator;
 import org.apache.fineract.organisation.monetary.data.CurrencyData;
@@ -304,11 +305,13 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         final AppUser currentUser = this.context.authenticatedUser();
         final String hierarchy = currentUser.getOffice().getHierarchy();
         final String hierarchySearchString = hierarchy + "%";
-        final LoanMapper loanMapper = new LoanMapper(sqlGenerator, delinquencyReadPlatformService);
+        final Set<String> responseFields = searchParameters == null ? null : searchParameters.getResponseFields();
+        final LoanMapper loanMapper = new LoanMapper(sqlGenerator, delinquencyReadPlatformService, responseFields);
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
         sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
-        sqlBuilder.append(loanMapper.loanSchema());
+        sqlBuilder.append(LoanMapper.FIELD_PROJECTION.apply(loanMapper.loanSchema(), responseFields,
+                searchParameters == null ? null : searchParameters.getOrderBy()));
 
         // TODO - for time being this will data scope list of loans returned to
         // only loans that have a client associated.
@@ -604,14 +607,40 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
         return loanId;
     }
 
-    private static final class LoanMapper implements RowMapper<LoanAccountData> {
+    static final class LoanMapper implements RowMapper<LoanAccountData> {
+
+        static final FieldProjection FIELD_PROJECTION = FieldProjection.builder()
+                .optionalColumn("(select mg.display_name from m_group mg where mg.id = g.parent_id)", "null", "group")
+                .optionalJoin("la", "left join m_loan_arrears_aging la on la.loan_id = l.id", "summary")
+                .optionalJoin("f", "left join m_fund f on f.id = l.fund_id", "fundName")
+                .optionalJoin("s", "left join m_staff s on s.id = l.loan_officer_id", "loanOfficerName")
+                .optionalJoin("sbu", "left join m_appuser sbu on sbu.id = l.created_by", "timeline")
+                .optionalJoin("rbu", "left join m_appuser rbu on rbu.id = l.rejectedon_userid", "timeline")
+                .optionalJoin("wbu", "left join m_appuser wbu on wbu.id = l.withdrawnon_userid", "timeline")
+                .optionalJoin("abu", "left join m_appuser abu on abu.id = l.approvedon_userid", "timeline")
+                .optionalJoin("dbu", "left join m_appuser dbu on dbu.id = l.disbursedon_userid", "timeline")
+                .optionalJoin("cbu", "left join m_appuser cbu on cbu.id = l.closedon_userid", "timeline")
+                .optionalJoin("cobu", "left join m_appuser cobu on cobu.id = l.charged_off_by_userid", "timeline")
+                .optionalJoin("cv", "left join m_code_value cv on cv.id = l.loanpurpose_cv_id", "loanPurposeName")
+                .optionalJoin("codev", "left join m_code_value codev on codev.id = l.writeoff_reason_cv_id", "summary")
+                .optionalJoin("codec", "left join m_code_value codec on codec.id = l.charge_off_reason_cv_id", "summary")
+                .optionalJoin("lpvi", "left join m_product_loan_variable_installment_config lpvi on lpvi.loan_product_id = l.product_id")
+                .optionalJoin("topup", "left join m_loan_topup as topup on l.id = topup.loan_id", "topupAmount")
+                .optionalJoin("topuploan", "left join m_loan as topuploan on topuploan.id = topup.closure_loan_id").build();
 
         private final DatabaseSpecificSQLGenerator sqlGenerator;
         private final DelinquencyReadPlatformService delinquencyReadPlatformService;
+        private final Set<String> responseFields;
 
         LoanMapper(DatabaseSpecificSQLGenerator sqlGenerator, DelinquencyReadPlatformService delinquencyReadPlatformService) {
+            this(sqlGenerator, delinquencyReadPlatformService, null);
+        }
+
+        LoanMapper(DatabaseSpecificSQLGenerator sqlGenerator, DelinquencyReadPlatformService delinquencyReadPlatformService,
+                Set<String> responseFields) {
             this.sqlGenerator = sqlGenerator;
             this.delinquencyReadPlatformService = delinquencyReadPlatformService;
+            this.responseFields = responseFields;
         }
 
         public String loanSchema() {
@@ -1046,8 +1075,11 @@ public class LoanReadPlatformServiceImpl implements LoanReadPlatformService, Loa
             final String closureLoanAccountNo = rs.getString("closureLoanAccountNo");
             final BigDecimal topupAmount = rs.getBigDecimal("topupAmount");
             final boolean disallowExpectedDisbursements = rs.getBoolean("disallowExpectedDisbursements");
-            // Current Delinquency Range Data
-            DelinquencyRangeData delinquencyRange = this.delinquencyReadPlatformService.retrieveCurrentDelinquencyTag(id);
+            // Current Delinquency Range Data, looked up per loan and never part of a partial response
+            DelinquencyRangeData delinquencyRange = null;
+            if (!FieldProjection.isPartialResponse(responseFields)) {
+                delinquencyRange = this.delinquencyReadPlatformService.retrieveCurrentDelinquencyTag(id);
+            }
 
             final boolean isFraud = rs.getBoolean("isFraud");
             final LocalDate lastClosedBusinessDate = JdbcSupport.getLocalDate(rs, "lastClosedBusinessDate");
@@ -20,19 +20,21 @@ package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
 
 import static org.apache.fineract.portfolio.savings.domain.SavingsAccountStatusType.ACTIVE;
 
-import java.util.ArrayDeque;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
-import org.apache.fineract.infrastructure.core.config.TaskExecutorConstant;
 import org.apache.fineract.infrastructure.core.domain.FineractContext;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
@@ -42,176 +44,214 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
-import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.ApplicationContext;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
 
-@RequiredArgsConstructor
+/**
+ * Posts interest on the active savings accounts as a streaming pipeline.
+ *
+ * The tasklet thread pages through the ids of the accounts due for posting using keyset pagination, loads the data of
+ * every page and splits it into batches of {@code batch-size} accounts. The batches are put onto a bounded queue which
+ * is drained by a dedicated pool of {@code thread-pool-size} workers; once the queue is full the reader waits, so at
+ * most a couple of pages are held in memory at any time. Every batch is posted and committed in its own transaction, a
+ * failing batch is logged and does not stop the others. When the reader fails, or every worker has stopped, the
+ * remaining workers are cancelled instead of waiting on the queue.
+ */
 @Slf4j
 @Component
 public class PostInterestForSavingTasklet implements Tasklet {
 
-    private static final int QUEUE_SIZE = 1;
+    private static final int QUEUED_BATCHES_PER_WORKER = 2;
+    private static final long PROGRESS_LOG_INTERVAL_MILLIS = 30_000L;
+    private static final long QUEUE_OFFER_TIMEOUT_MILLIS = 1_000L;
+    private static final List<SavingsAccountData> END_OF_DATA = new ArrayList<>();
 
     private final SavingsAccountReadPlatformService savingAccountReadPlatformService;
     private final ConfigurationDomainService configurationDomainService;
-    private final Queue<List<SavingsAccountData>> queue = new ArrayDeque<>();
     private final ApplicationContext applicationContext;
-    @Qualifier(TaskExecutorConstant.CONFIGURABLE_TASK_EXECUTOR_BEAN_NAME)
-    private final ThreadPoolTaskExecutor taskExecutor;
+    private final Counter postedAccountsCounter;
+    private final Counter failedAccountsCounter;
+    private final Counter failedBatchesCounter;
+    private final Timer batchTimer;
+    private final AtomicLong remainingAccounts = new AtomicLong();
+    private final AtomicLong queuedBatches = new AtomicLong();
+
+    public PostInterestForSavingTasklet(SavingsAccountReadPlatformService savingAccountReadPlatformService,
+            ConfigurationDomainService configurationDomainService, ApplicationContext applicationContext, MeterRegistry meterRegistry) {
+        this.savingAccountReadPlatformService = savingAccountReadPlatformService;
+        this.configurationDomainService = configurationDomainService;
+        this.applicationContext = applicationContext;
+        this.postedAccountsCounter = Counter.builder("fineract.savings.interest.posting.accounts")
+                .description("Savings accounts the interest posting job posted and committed").register(meterRegistry);
+        this.failedAccountsCounter = Counter.builder("fineract.savings.interest.posting.failed.accounts")
+                .description("Savings accounts of the batches the interest posting job failed to post").register(meterRegistry);
+        this.failedBatchesCounter = Counter.builder("fineract.savings.interest.posting.failed.batches")
+                .description("Savings account batches the interest posting job failed to post").register(meterRegistry);
+        this.batchTimer = Timer.builder("fineract.savings.interest.posting.batch")
+                .description("Time taken to post and commit the interest of a batch of savings accounts").register(meterRegistry);
+        meterRegistry.gauge("fineract.savings.interest.posting.remaining", remainingAccounts);
+        meterRegistry.gauge("fineract.savings.interest.posting.queued.batches", queuedBatches);
+    }
 
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
         final int threadPoolSize = Integer.parseInt((String) chunkContext.getStepContext().getJobParameters().get("thread-pool-size"));
-        taskExecutor.setCorePoolSize(threadPoolSize);
-        taskExecutor.setMaxPoolSize(threadPoolSize);
         final int batchSize = Integer.parseInt((String) chunkContext.getStepContext().getJobParameters().get("batch-size"));
         final int pageSize = batchSize * threadPoolSize;
-        Long maxSavingsIdInList = 0L;
         final boolean backdatedTxnsAllowedTill = this.configurationDomainService.retrievePivotDateConfig();
 
-        long start = System.currentTimeMillis();
+        final long totalAccounts = savingAccountReadPlatformService.countSavingsDataForInterestPosting(ACTIVE.getValue());
+        log.debug("Starting Interest posting - total records - {}", totalAccounts);
+        remainingAccounts.set(totalAccounts);
+        queuedBatches.set(0);
 
-        log.debug("Reading Savings Account Data!");
-        List<SavingsAccountData> savingsAccounts = savingAccountReadPlatformService
-                .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxSavingsIdInList);
-
-        if (savingsAccounts != null && savingsAccounts.size() > 0) {
-            savingsAccounts = Collections.synchronizedList(savingsAccounts);
-            long finish = System.currentTimeMillis();
-            log.debug("Done fetching Data within {} milliseconds", finish - start);
-            queue.add(savingsAccounts);
-
-            if (!CollectionUtils.isEmpty(queue)) {
-                do {
-                    int totalFilteredRecords = savingsAccounts.size();
-                    log.debug("Starting Interest posting - total records - {}", totalFilteredRecords);
-                    List<SavingsAccountData> queueElement = queue.element();
-                    maxSavingsIdInList = queueElement.get(queueElement.size() - 1).getId();
-                    postInterest(queue.remove(), threadPoolSize, backdatedTxnsAllowedTill, pageSize, maxSavingsIdInList);
-                } while (!CollectionUtils.isEmpty(queue));
+        final BlockingQueue<List<SavingsAccountData>> queue = new ArrayBlockingQueue<>(threadPoolSize * QUEUED_BATCHES_PER_WORKER);
+        final AtomicLong postedAccounts = new AtomicLong();
+        final AtomicLong failedAccounts = new AtomicLong();
+        final FineractContext context = ThreadLocalContextUtil.getContext();
+        final ExecutorService workers = Executors.newFixedThreadPool(threadPoolSize,
+                new CustomizableThreadFactory("savingsInterestPosting-"));
+        final List<Future<?>> responses = new ArrayList<>();
+        final long start = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < threadPoolSize; i++) {
+                responses.add(workers.submit(() -> consume(queue, context, backdatedTxnsAllowedTill, postedAccounts, failedAccounts)));
             }
+            produce(queue, responses, pageSize, batchSize, backdatedTxnsAllowedTill, totalAccounts, postedAccounts, start);
+            int signalledWorkers = 0;
+            while (signalledWorkers < threadPoolSize && enqueue(queue, END_OF_DATA, responses)) {
+                signalledWorkers++;
+            }
+            checkCompletion(responses);
+        } finally {
+            // Cancels the workers when the reader failed, they are already finished otherwise
+            workers.shutdownNow();
+            remainingAccounts.set(0);
+            queuedBatches.set(0);
         }
+        log.debug("Interest posting finished - {} records posted, {} records failed within {} milliseconds", postedAccounts.get(),
+                failedAccounts.get(), System.currentTimeMillis() - start);
         return RepeatStatus.FINISHED;
     }
 
-    private void postInterest(List<SavingsAccountData> savingsAccounts, int threadPoolSize, final boolean backdatedTxnsAllowedTill,
-            final int pageSize, Long maxSavingsIdInList) {
-        List<Callable<Void>> posters = new ArrayList<>();
-        int fromIndex = 0;
-        int size = savingsAccounts.size();
-        int batchSize = (int) Math.ceil((double) size / threadPoolSize);
-
-        if (batchSize == 0) {
-            return;
-        }
-
-        int toIndex = (batchSize > size - 1) ? size : batchSize;
-        while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
-            toIndex++;
-        }
-        boolean lastBatch = false;
-        int loopCount = size / batchSize + 1;
-
-        FineractContext context = ThreadLocalContextUtil.getContext();
-
-        Callable<Void> fetchData = () -> {
-            ThreadLocalContextUtil.init(context);
-            Long maxId = maxSavingsIdInList;
-            if (!queue.isEmpty()) {
-                maxId = Math.max(maxSavingsIdInList, queue.element().get(queue.element().size() - 1).getId());
+    private void produce(BlockingQueue<List<SavingsAccountData>> queue, List<Future<?>> workers, int pageSize, int batchSize,
+            boolean backdatedTxnsAllowedTill, long totalAccounts, AtomicLong postedAccounts, long start) throws InterruptedException {
+        Long maxSavingsIdInList = 0L;
+        long lastProgressLog = start;
+        while (true) {
+            // Pages on the account ids alone: a page whose accounts have nothing to replay must not end the run
+            List<Long> savingsIds = savingAccountReadPlatformService.retrieveSavingsIdsForInterestPosting(ACTIVE.getValue(), pageSize,
+                    maxSavingsIdInList);
+            if (savingsIds.isEmpty()) {
+                return;
             }
-
-            while (queue.size() <= QUEUE_SIZE) {
-                log.debug("Fetching while threads are running!");
-                List<SavingsAccountData> savingsAccountDataList = Collections.synchronizedList(this.savingAccountReadPlatformService
-                        .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxId));
-                if (savingsAccountDataList.isEmpty()) {
-                    break;
-                }
-                maxId = savingsAccountDataList.get(savingsAccountDataList.size() - 1).getId();
-                queue.add(savingsAccountDataList);
+            maxSavingsIdInList = savingsIds.get(savingsIds.size() - 1);
+            List<SavingsAccountData> savingsAccounts = savingAccountReadPlatformService
+                    .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, savingsIds);
+            int skippedAccounts = savingsIds.size() - savingsAccounts.size();
+            if (skippedAccounts > 0) {
+                remainingAccounts.updateAndGet(remaining -> Math.max(0, remaining - skippedAccounts));
             }
-            return null;
-        };
-        posters.add(fetchData);
-
-        for (long i = 0; i < loopCount; i++) {
-            List<SavingsAccountData> subList = safeSubList(savingsAccounts, fromIndex, toIndex);
-            SavingsSchedularInterestPosterTask savingsSchedularInterestPosterTask = applicationContext
-                    .getBean(SavingsSchedularInterestPosterTask.class);
-            savingsSchedularInterestPosterTask.setSavingAccounts(subList);
-            savingsSchedularInterestPosterTask.setBackdatedTxnsAllowedTill(backdatedTxnsAllowedTill);
-            savingsSchedularInterestPosterTask.setContext(ThreadLocalContextUtil.getContext());
-
-            posters.add(savingsSchedularInterestPosterTask);
-
-            if (lastBatch) {
-                break;
-            }
-            if (toIndex + batchSize > size - 1) {
-                lastBatch = true;
+            for (List<SavingsAccountData> batch : splitIntoBatches(savingsAccounts, batchSize)) {
+                // Waits while the workers are busy with the already queued batches
+                if (!enqueue(queue, batch, workers)) {
+                    throw new IllegalStateException("Every interest posting worker stopped, " + queue.size() + " batches left unposted");
+                }
             }
-            fromIndex = fromIndex + (toIndex - fromIndex);
-            toIndex = (toIndex + batchSize > size - 1) ? size : toIndex + batchSize;
-            while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
-                toIndex++;
+            long now = System.currentTimeMillis();
+            if (now - lastProgressLog >= PROGRESS_LOG_INTERVAL_MILLIS) {
+                lastProgressLog = now;
+                logProgress(totalAccounts, postedAccounts.get(), now - start);
             }
         }
+    }
 
-        List<Future<Void>> responses = new ArrayList<>();
-        posters.forEach(poster -> responses.add(taskExecutor.submit(poster)));
-        Long maxId = maxSavingsIdInList;
-        if (!queue.isEmpty()) {
-            maxId = Math.max(maxSavingsIdInList, queue.element().get(queue.element().size() - 1).getId());
+    /**
+     * Waits for room on the queue as long as at least one worker is still running, a plain put would block forever once
+     * every worker has stopped.
+     *
+     * @return false when every worker has stopped before the batch could be queued
+     */
+    private boolean enqueue(BlockingQueue<List<SavingsAccountData>> queue, List<SavingsAccountData> batch, List<Future<?>> workers)
+            throws InterruptedException {
+        while (!queue.offer(batch, QUEUE_OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (workers.stream().allMatch(Future::isDone)) {
+                return false;
+            }
         }
+        queuedBatches.set(queue.size());
+        return true;
+    }
 
-        while (queue.size() <= QUEUE_SIZE) {
-            log.debug("Fetching while threads are running!..:: this is not supposed to run........");
-            savingsAccounts = Collections.synchronizedList(this.savingAccountReadPlatformService
-                    .retrieveAllSavingsDataForInterestPosting(backdatedTxnsAllowedTill, pageSize, ACTIVE.getValue(), maxId));
-            if (savingsAccounts.isEmpty()) {
-                break;
+    private void consume(BlockingQueue<List<SavingsAccountData>> queue, FineractContext context, boolean backdatedTxnsAllowedTill,
+            AtomicLong postedAccounts, AtomicLong failedAccounts) {
+        try {
+            while (true) {
+                List<SavingsAccountData> batch = queue.take();
+                queuedBatches.set(queue.size());
+                if (batch == END_OF_DATA) {
+                    return;
+                }
+                SavingsSchedularInterestPosterTask savingsSchedularInterestPosterTask = applicationContext
+                        .getBean(SavingsSchedularInterestPosterTask.class);
+                savingsSchedularInterestPosterTask.setSavingAccounts(batch);
+                savingsSchedularInterestPosterTask.setBackdatedTxnsAllowedTill(backdatedTxnsAllowedTill);
+                savingsSchedularInterestPosterTask.setContext(context);
+                try {
+                    batchTimer.recordCallable(savingsSchedularInterestPosterTask);
+                    postedAccounts.addAndGet(batch.size());
+                    postedAccountsCounter.increment(batch.size());
+                } catch (Exception e) {
+                    failedAccounts.addAndGet(batch.size());
+                    failedAccountsCounter.increment(batch.size());
+                    failedBatchesCounter.increment();
+                    log.error("Execution exception while interest posting entries", e);
+                }
+                remainingAccounts.updateAndGet(remaining -> Math.max(0, remaining - batch.size()));
             }
-            maxId = savingsAccounts.get(savingsAccounts.size() - 1).getId();
-            log.debug("Add to the Queue");
-            queue.add(savingsAccounts);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Interrupted while interest posting entries", e);
+        } finally {
+            ThreadLocalContextUtil.reset();
         }
-
-        checkCompletion(responses);
-        log.debug("Queue size {}", queue.size());
     }
 
-    private <T> List<T> safeSubList(List<T> list, int fromIndex, int toIndex) {
-        int size = list.size();
-        if (fromIndex >= size || toIndex <= 0 || fromIndex >= toIndex) {
-            return Collections.emptyList();
+    /**
+     * Splits a page into batches of the given size, making sure that the entries of the same account never end up in
+     * different batches.
+     */
+    private List<List<SavingsAccountData>> splitIntoBatches(List<SavingsAccountData> savingsAccounts, int batchSize) {
+        List<List<SavingsAccountData>> batches = new ArrayList<>();
+        int size = savingsAccounts.size();
+        int fromIndex = 0;
+        while (fromIndex < size) {
+            int toIndex = Math.min(size, fromIndex + Math.max(1, batchSize));
+            while (toIndex < size && savingsAccounts.get(toIndex - 1).getId().equals(savingsAccounts.get(toIndex).getId())) {
+                toIndex++;
+            }
+            batches.add(new ArrayList<>(savingsAccounts.subList(fromIndex, toIndex)));
+            fromIndex = toIndex;
         }
+        return batches;
+    }
 
-        fromIndex = Math.max(0, fromIndex);
-        toIndex = Math.min(size, toIndex);
-
-        return list.subList(fromIndex, toIndex);
+    private void logProgress(long totalAccounts, long postedAccounts, long elapsedMillis) {
+        double accountsPerSecond = elapsedMillis == 0 ? 0 : postedAccounts * 1000.0 / elapsedMillis;
+        long remaining = Math.max(0, totalAccounts - postedAccounts);
+        long etaSeconds = accountsPerSecond == 0 ? -1 : (long) (remaining / accountsPerSecond);
+        log.info("Interest posting progress - {}/{} records, {} records/s, ETA {}s", postedAccounts, totalAccounts,
+                String.format("%.1f", accountsPerSecond), etaSeconds);
     }
 
-    private void checkCompletion(List<Future<Void>> responses) {
+    private void checkCompletion(List<Future<?>> responses) {
         try {
-            for (Future<Void> f : responses) {
+            for (Future<?> f : responses) {
                 f.get();
             }
-            boolean allThreadsExecuted;
-            int noOfThreadsExecuted = 0;
-            for (Future<Void> future : responses) {
-                if (future.isDone()) {
-                    noOfThreadsExecuted++;
-                }
-            }
-            allThreadsExecuted = noOfThreadsExecuted == responses.size();
-            if (!allThreadsExecuted) {
-                log.error("All threads could not execute.");
-            }
         } catch (InterruptedException e1) {
+            Thread.currentThread().interrupt();
             log.error("Interrupted while interest posting entries", e1);
         } catch (ExecutionException e2) {
             log.error("Execution exception while interest posting entries", e2);
@@ -43,6 +43,7 @@ import org.apache.fineract.infrastructure.core.service.Page;
 import org.apache.fineract.infrastructure.core.service.PaginationHelper;
 import org.apache.fineract.infrastructure.core.service.SearchParameters;
 import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.FieldProjection;
 import org.apache.fineract.infrastructure.dataqueries.data.DatatableData;
 import org.apache.fineract.infrastructure.dataqueries.data.EntityTables;
 import org.apache.fineract.infrastructure.dataqueries.data.StatusEnum;
@@ -191,7 +192,9 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
 
         final StringBuilder sqlBuilder = new StringBuilder(200);
         sqlBuilder.append("select " + sqlGenerator.calcFoundRows() + " ");
-        sqlBuilder.append(this.savingAccountMapper.schema());
+        sqlBuilder.append(SavingAccountMapper.FIELD_PROJECTION.apply(this.savingAccountMapper.schema(),
+                searchParameters == null ? null : searchParameters.getResponseFields(),
+                searchParameters == null ? null : searchParameters.getOrderBy()));
 
         sqlBuilder.append(" join m_office o on o.id = c.office_id");
         sqlBuilder.append(" where o.hierarchy like ?");
@@ -266,28 +269,45 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
     }
 
     @Override
-    public List<SavingsAccountData> retrieveAllSavingsDataForInterestPosting(final boolean backdatedTxnsAllowedTill, final int pageSize,
-            final Integer status, final Long maxSavingsId) {
+    public List<Long> retrieveSavingsIdsForInterestPosting(final Integer status, final int pageSize, final Long maxSavingsId) {
         LocalDate yesterday = DateUtils.getBusinessLocalDate().minusDays(1);
-        String sql = "select " + this.savingAccountMapperForInterestPosting.schema()
-                + "join (select a.id from m_savings_account a where a.id > ? and a.status_enum = ? limit ?) b on b.id = sa.id ";
+        String sql = "select a.id from m_savings_account a where a.id > ? and a.status_enum = ? "
+                + "and (a.interest_posted_till_date is null or a.interest_posted_till_date <= ?) order by a.id limit ?";
+        return this.jdbcTemplate.queryForList(sql, Long.class, maxSavingsId, status, yesterday, pageSize);
+    }
+
+    @Override
+    public List<SavingsAccountData> retrieveAllSavingsDataForInterestPosting(final boolean backdatedTxnsAllowedTill,
+            final List<Long> savingsIds) {
+        if (savingsIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String inSql = String.join(",", Collections.nCopies(savingsIds.size(), "?"));
+        String sql = "select " + this.savingAccountMapperForInterestPosting.schema() + "where sa.id in (" + inSql + ") ";
         if (backdatedTxnsAllowedTill) {
             sql = sql
-                    + "where (CASE WHEN sa.interest_posted_till_date is not null THEN tr.transaction_date >= sa.interest_posted_till_date ELSE tr.transaction_date >= sa.activatedon_date END) ";
+                    + "and (CASE WHEN sa.interest_posted_till_date is not null THEN tr.transaction_date >= sa.interest_posted_till_date ELSE tr.transaction_date >= sa.activatedon_date END) ";
         }
-
-        sql = sql + " and (sa.interest_posted_till_date is null or sa.interest_posted_till_date <= ? ) ";
         // #audit backward compatibility
         sql = sql + " order by sa.id, tr.transaction_date, tr." + CREATED_DATE_DB_FIELD + ", tr.created_date, tr.id";
 
         List<SavingsAccountData> savingsAccountDataList = this.jdbcTemplate.query(sql, this.savingAccountMapperForInterestPosting, // NOSONAR
-                new Object[] { maxSavingsId, status, pageSize, yesterday });
+                savingsIds.toArray());
         for (SavingsAccountData savingsAccountData : savingsAccountDataList) {
             this.savingAccountAssembler.assembleSavings(savingsAccountData);
         }
         return savingsAccountDataList;
     }
 
+    @Override
+    public long countSavingsDataForInterestPosting(final Integer status) {
+        LocalDate yesterday = DateUtils.getBusinessLocalDate().minusDays(1);
+        String sql = "select count(*) from m_savings_account a where a.status_enum = ? "
+                + "and (a.interest_posted_till_date is null or a.interest_posted_till_date <= ?)";
+        Long count = this.jdbcTemplate.queryForObject(sql, Long.class, status, yesterday);
+        return count == null ? 0L : count;
+    }
+
     private static final class SavingAccountMapperForInterestPosting implements ResultSetExtractor<List<SavingsAccountData>> {
 
         private final String schemaSql;
@@ -686,7 +706,19 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
         }
     }
 
-    private static final class SavingAccountMapper implements RowMapper<SavingsAccountData> {
+    static final class SavingAccountMapper implements RowMapper<SavingsAccountData> {
+
+        // The field officer, the timeline and the tax group are not supported response parameters, so no partial response needs them
+        static final FieldProjection FIELD_PROJECTION = FieldProjection.builder()
+                .optionalJoin("g", "left join m_group g ON g.id = sa.group_id", "groupId", "groupName")
+                .optionalJoin("s", "left join m_staff s ON s.id = sa.field_officer_id")
+                .optionalJoin("sbu", "left join m_appuser sbu on sbu.id = sa.submittedon_userid")
+                .optionalJoin("rbu", "left join m_appuser rbu on rbu.id = sa.rejectedon_userid")
+                .optionalJoin("wbu", "left join m_appuser wbu on wbu.id = sa.withdrawnon_userid")
+                .optionalJoin("abu", "left join m_appuser abu on abu.id = sa.approvedon_userid")
+                .optionalJoin("avbu", "left join m_appuser avbu on avbu.id = sa.activatedon_userid")
+                .optionalJoin("cbu", "left join m_appuser cbu on cbu.id = sa.closedon_userid")
+                .optionalJoin("tg", "left join m_tax_group tg on tg.id = sa.tax_group_id").build();
 
         private final String schemaSql;
 
@@ -697,7 +729,7 @@ public class SavingsAccountReadPlatformServiceImpl implements SavingsAccountRead
             sqlBuilder.append("c.id as clientId, c.display_name as clientName, ");
             sqlBuilder.append("g.id as groupId, g.display_name as groupName, ");
             sqlBuilder.append("sp.id as productId, sp.name as productName, ");
-            sqlBuilder.append("s.id fieldOfficerId, s.display_name as fieldOfficerName, ");
+            sqlBuilder.append("s.id as fieldOfficerId, s.display_name as fieldOfficerName, ");
             sqlBuilder.append("sa.status_enum as statusEnum, ");
             sqlBuilder.append("sa.sub_status_enum as subStatusEnum, ");
             sqlBuilder.append("sa.reason_for_block as reasonForBlock, ");
@@ -0,0 +1,74 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Searchable copy of a client, account, client identifier, group or center as held by the {@link SearchIndexService}.
+ * The columns are the ones returned by the SQL search of {@link SearchReadPlatformServiceImpl}, extended with the
+ * hierarchy of the office the entity belongs to.
+ */
+public record SearchIndexDocument(Source source, String entityType, Long entityId, String entityAccountNo, String entityExternalId,
+        String entityName, Long parentId, String parentName, String parentType, String entityMobileNo, Integer entityStatusEnum,
+        Integer subEntityType, String officeHierarchy) {
+
+    /**
+     * The tables the search runs on, in the order their matches are returned.
+     */
+    public enum Source {
+        CLIENT, LOAN, SAVING, SHARE, CLIENT_IDENTIFIER, GROUP
+    }
+
+    /**
+     * Returns the values a search query is matched against, the same columns the SQL search compares with.
+     */
+    public List<String> searchableValues() {
+        List<String> values = new ArrayList<>(4);
+        switch (source) {
+            case CLIENT -> {
+                values.add(entityAccountNo);
+                values.add(entityName);
+                values.add(entityExternalId);
+                values.add(entityMobileNo);
+            }
+            case LOAN, SAVING, SHARE -> {
+                values.add(entityAccountNo);
+                values.add(entityExternalId);
+            }
+            case CLIENT_IDENTIFIER -> values.add(entityName);
+            case GROUP -> {
+                values.add(entityAccountNo);
+                values.add(entityName);
+                values.add(entityExternalId);
+            }
+        }
+        values.removeIf(value -> value == null || value.isEmpty());
+        return values;
+    }
+
+    /**
+     * Accounts without a client (group loans and savings) have no office hierarchy and are visible from every office,
+     * just like in the SQL search.
+     */
+    public boolean isVisibleFrom(String hierarchy) {
+        return officeHierarchy == null || hierarchy == null || officeHierarchy.startsWith(hierarchy);
+    }
+}
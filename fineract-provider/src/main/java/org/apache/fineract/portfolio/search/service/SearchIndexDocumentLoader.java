@@ -0,0 +1,127 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import com.google.common.collect.Lists;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.apache.fineract.infrastructure.core.domain.JdbcSupport;
+import org.apache.fineract.portfolio.search.service.SearchIndexDocument.Source;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the documents of the {@link SearchIndexService} with the same joins as the SQL search, without its search and
+ * office hierarchy conditions.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchIndexDocumentLoader {
+
+    private static final int PARTITION_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Streams every document of the tenant to the given consumer.
+     */
+    public void loadAll(Consumer<SearchIndexDocument> consumer) {
+        for (Source source : Source.values()) {
+            RowCallbackHandler handler = rs -> consumer.accept(mapRow(source, rs));
+            namedParameterJdbcTemplate.query(select(source), new MapSqlParameterSource(), handler);
+        }
+    }
+
+    /**
+     * Returns the documents of the given entities. Entities that no longer exist are missing from the result.
+     */
+    public List<SearchIndexDocument> load(Source source, Collection<Long> entityIds) {
+        List<SearchIndexDocument> documents = new ArrayList<>();
+        RowCallbackHandler handler = rs -> documents.add(mapRow(source, rs));
+        for (List<Long> partitionedEntityIds : Lists.partition(new ArrayList<>(entityIds), PARTITION_SIZE)) {
+            String sql = select(source) + " where " + idColumn(source) + " in (:entityIds)";
+            namedParameterJdbcTemplate.query(sql, new MapSqlParameterSource("entityIds", partitionedEntityIds), handler);
+        }
+        return documents;
+    }
+
+    private static String idColumn(Source source) {
+        return switch (source) {
+            case CLIENT -> "c.id";
+            case LOAN -> "l.id";
+            case SAVING, SHARE -> "s.id";
+            case CLIENT_IDENTIFIER -> "ci.id";
+            case GROUP -> "g.id";
+        };
+    }
+
+    private static String select(Source source) {
+        return switch (source) {
+            case CLIENT -> "select 'CLIENT' as entityType, c.id as entityId, c.display_name as entityName,"
+                    + " c.external_id as entityExternalId, c.account_no as entityAccountNo, c.office_id as parentId,"
+                    + " o.name as parentName, c.mobile_no as entityMobileNo,"
+                    + " c.status_enum as entityStatusEnum, null as subEntityType, null as parentType, o.hierarchy as officeHierarchy"
+                    + " from m_client c join m_office o on o.id = c.office_id";
+            case LOAN -> "select 'LOAN' as entityType, l.id as entityId, pl.name as entityName, l.external_id as entityExternalId,"
+                    + " l.account_no as entityAccountNo, coalesce(c.id, g.id) as parentId,"
+                    + " coalesce(c.display_name, g.display_name) as parentName,"
+                    + " null as entityMobileNo, l.loan_status_id as entityStatusEnum, null as subEntityType,"
+                    + " CASE WHEN g.id is null THEN 'client' ELSE 'group' END as parentType, o.hierarchy as officeHierarchy"
+                    + " from m_loan l left join m_client c on l.client_id = c.id left join m_group g on l.group_id = g.id"
+                    + " left join m_office o on o.id = c.office_id left join m_product_loan pl on pl.id = l.product_id";
+            case SAVING -> "select 'SAVING' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId,"
+                    + " s.account_no as entityAccountNo, coalesce(c.id, g.id) as parentId,"
+                    + " coalesce(c.display_name, g.display_name) as parentName,"
+                    + " null as entityMobileNo, s.status_enum as entityStatusEnum, s.deposit_type_enum as subEntityType,"
+                    + " CASE WHEN g.id is null THEN 'client' ELSE 'group' END as parentType, o.hierarchy as officeHierarchy"
+                    + " from m_savings_account s left join m_client c on s.client_id = c.id left join m_group g on s.group_id = g.id"
+                    + " left join m_office o on o.id = c.office_id left join m_savings_product sp on sp.id = s.product_id";
+            case SHARE -> "select 'SHARE' as entityType, s.id as entityId, sp.name as entityName, s.external_id as entityExternalId,"
+                    + " s.account_no as entityAccountNo, c.id as parentId, c.display_name as parentName, null as entityMobileNo,"
+                    + " s.status_enum as entityStatusEnum, null as subEntityType, 'client' as parentType, o.hierarchy as officeHierarchy"
+                    + " from m_share_account s left join m_client c on s.client_id = c.id left join m_office o on o.id = c.office_id"
+                    + " left join m_share_product sp on sp.id = s.product_id";
+            case CLIENT_IDENTIFIER -> "select 'CLIENTIDENTIFIER' as entityType, ci.id as entityId, ci.document_key as entityName,"
+                    + " null as entityExternalId, null as entityAccountNo, c.id as parentId, c.display_name as parentName,"
+                    + " null as entityMobileNo, c.status_enum as entityStatusEnum, null as subEntityType, null as parentType,"
+                    + " o.hierarchy as officeHierarchy"
+                    + " from m_client_identifier ci join m_client c on ci.client_id = c.id join m_office o on o.id = c.office_id";
+            case GROUP -> "select CASE WHEN g.level_id = 1 THEN 'CENTER' ELSE 'GROUP' END as entityType, g.id as entityId,"
+                    + " g.display_name as entityName, g.external_id as entityExternalId, g.account_no as entityAccountNo,"
+                    + " g.office_id as parentId, o.name as parentName, null as entityMobileNo, g.status_enum as entityStatusEnum,"
+                    + " null as subEntityType, null as parentType, o.hierarchy as officeHierarchy"
+                    + " from m_group g join m_office o on o.id = g.office_id";
+        };
+    }
+
+    private static SearchIndexDocument mapRow(Source source, ResultSet rs) throws SQLException {
+        return new SearchIndexDocument(source, rs.getString("entityType"), JdbcSupport.getLong(rs, "entityId"),
+                rs.getString("entityAccountNo"), rs.getString("entityExternalId"), rs.getString("entityName"),
+                JdbcSupport.getLong(rs, "parentId"), rs.getString("parentName"), rs.getString("parentType"),
+                rs.getString("entityMobileNo"), JdbcSupport.getInteger(rs, "entityStatusEnum"), JdbcSupport.getInteger(rs, "subEntityType"),
+                rs.getString("officeHierarchy"));
+    }
+}
@@ -0,0 +1,332 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import jakarta.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractSearchIndexProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.deposit.FixedDepositAccountBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.deposit.RecurringDepositAccountBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.group.GroupsBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.loan.LoanBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.savings.SavingsAccountBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.domain.share.ShareAccountBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.service.SearchIndexDocument.Source;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * In-process search index used by {@link SearchReadPlatformServiceImpl} instead of the LIKE queries when
+ * {@code fineract.search.index.enabled} is set.
+ *
+ * Every tenant gets its own {@link TenantSearchIndex}, built in the background on the first search and rebuilt once it
+ * is older than {@code fineract.search.index.max-age-in-minutes} or by the Rebuild Search Index job. Clients, groups,
+ * centers and accounts touched by a business event are re-read after the transaction commits. Builds and refreshes run
+ * one after the other on a single thread, so a refresh can never be overwritten by an older build. Until the index of
+ * the tenant is built, or while it is disabled, {@link #search(SearchConditions, String)} returns empty and the search
+ * runs on the database.
+ *
+ * Changes that don't raise a business event on this node (client identifiers, renamed parents of accounts, writes done
+ * by other nodes) are picked up by the next rebuild.
+ */
+@Slf4j
+@Component
+public class SearchIndexService implements DisposableBean {
+
+    private static final int MAX_RESULTS = 50;
+
+    private final FineractSearchIndexProperties properties;
+    private final SearchIndexDocumentLoader loader;
+    private final BusinessEventNotifierService businessEventNotifierService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate refreshTransactionTemplate;
+    private final Map<String, TenantState> tenants = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+
+    public SearchIndexService(FineractProperties fineractProperties, SearchIndexDocumentLoader loader,
+            BusinessEventNotifierService businessEventNotifierService, PlatformTransactionManager transactionManager) {
+        this.properties = fineractProperties.getSearch() == null ? null : fineractProperties.getSearch().getIndex();
+        this.loader = loader;
+        this.businessEventNotifierService = businessEventNotifierService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Refreshes run right after a commit and must see it, so they are not routed to a possibly lagging read replica
+        this.refreshTransactionTemplate = new TransactionTemplate(transactionManager);
+        int queueCapacity = properties == null ? 1 : Math.max(1, properties.getQueueCapacity());
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("searchIndex-"));
+    }
+
+    public boolean isEnabled() {
+        return properties != null && properties.isEnabled();
+    }
+
+    @PostConstruct
+    public void addListeners() {
+        if (!isEnabled()) {
+            return;
+        }
+        businessEventNotifierService.addPostBusinessEventListener(ClientBusinessEvent.class,
+                event -> entityChanged(Source.CLIENT, event.getAggregateRootId()));
+        businessEventNotifierService.addPostBusinessEventListener(GroupsBusinessEvent.class,
+                event -> entityChanged(Source.GROUP, event.getAggregateRootId()));
+        businessEventNotifierService.addPostBusinessEventListener(LoanBusinessEvent.class,
+                event -> entityChanged(Source.LOAN, event.getAggregateRootId()));
+        businessEventNotifierService.addPostBusinessEventListener(SavingsAccountBusinessEvent.class,
+                event -> entityChanged(Source.SAVING, event.getAggregateRootId()));
+        businessEventNotifierService.addPostBusinessEventListener(FixedDepositAccountBusinessEvent.class,
+                event -> entityChanged(Source.SAVING, event.getAggregateRootId()));
+        businessEventNotifierService.addPostBusinessEventListener(RecurringDepositAccountBusinessEvent.class,
+                event -> entityChanged(Source.SAVING, event.getAggregateRootId()));
+        businessEventNotifierService.addPostBusinessEventListener(ShareAccountBusinessEvent.class,
+                event -> entityChanged(Source.SHARE, event.getAggregateRootId()));
+    }
+
+    /**
+     * Searches the index of the current tenant.
+     *
+     * @return the first 50 matches visible from the given office hierarchy, or empty when the search has to run on the
+     *         database because the index is disabled or not built yet
+     */
+    public Optional<List<SearchIndexDocument>> search(SearchConditions searchConditions, String hierarchy) {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (!isEnabled() || tenant == null || StringUtils.isEmpty(searchConditions.getSearchQuery())) {
+            return Optional.empty();
+        }
+        TenantState state = tenants.computeIfAbsent(tenant.getTenantIdentifier(), k -> new TenantState());
+        TenantSearchIndex index = state.index;
+        if (index == null || isExpired(state, index)) {
+            scheduleBuild(tenant, state);
+        }
+        if (index == null) {
+            return Optional.empty();
+        }
+        return Optional.of(index.search(searchConditions.getSearchQuery(), Boolean.TRUE.equals(searchConditions.getExactMatch()),
+                getSources(searchConditions), hierarchy, MAX_RESULTS));
+    }
+
+    /**
+     * Rebuilds the index of the current tenant and waits for it to complete.
+     *
+     * @return the number of documents indexed
+     */
+    public int rebuild() {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (!isEnabled() || tenant == null) {
+            log.debug("Search index is disabled, skipping the rebuild");
+            return 0;
+        }
+        TenantState state = tenants.computeIfAbsent(tenant.getTenantIdentifier(), k -> new TenantState());
+        Future<Integer> build = executor.submit(() -> build(tenant, state));
+        try {
+            return build.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding the search index", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Error occurred while rebuilding the search index", e.getCause());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private boolean isExpired(TenantState state, TenantSearchIndex index) {
+        if (state.expired) {
+            return true;
+        }
+        int maxAgeInMinutes = properties.getMaxAgeInMinutes();
+        return maxAgeInMinutes > 0 && System.nanoTime() - index.getBuiltAt() > TimeUnit.MINUTES.toNanos(maxAgeInMinutes);
+    }
+
+    private void scheduleBuild(FineractPlatformTenant tenant, TenantState state) {
+        if (!state.buildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    build(tenant, state);
+                } catch (Exception e) {
+                    log.error("Error occurred while building the search index of tenant {}: ", tenant.getTenantIdentifier(), e);
+                } finally {
+                    state.buildScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            state.buildScheduled.set(false);
+            log.debug("Search index queue is full, postponing the build of tenant {}", tenant.getTenantIdentifier());
+        }
+    }
+
+    private int build(FineractPlatformTenant tenant, TenantState state) {
+        return inTenant(tenant, () -> {
+            long startedAt = System.nanoTime();
+            state.expired = false;
+            TenantSearchIndex index = new TenantSearchIndex(startedAt);
+            transactionTemplate.executeWithoutResult(status -> loader.loadAll(index::put));
+            state.index = index;
+            log.info("Built search index of tenant {} with {} documents in {}ms", tenant.getTenantIdentifier(), index.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            return index.size();
+        });
+    }
+
+    private void entityChanged(Source source, Long entityId) {
+        FineractPlatformTenant tenant = ThreadLocalContextUtil.getTenant();
+        if (entityId == null || tenant == null || !tenants.containsKey(tenant.getTenantIdentifier())) {
+            // Nothing to refresh before the first search, the build reads everything from the database
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            scheduleRefresh(tenant, Map.of(source, Set.of(entityId)));
+            return;
+        }
+        PendingRefresh pendingRefresh = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(PendingRefresh.class::isInstance).map(PendingRefresh.class::cast).findFirst().orElse(null);
+        if (pendingRefresh == null) {
+            pendingRefresh = new PendingRefresh(tenant);
+            TransactionSynchronizationManager.registerSynchronization(pendingRefresh);
+        }
+        pendingRefresh.entityIds.computeIfAbsent(source, k -> new HashSet<>()).add(entityId);
+    }
+
+    private void scheduleRefresh(FineractPlatformTenant tenant, Map<Source, Set<Long>> entityIds) {
+        TenantState state = tenants.get(tenant.getTenantIdentifier());
+        if (state == null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh(tenant, state, entityIds);
+                } catch (Exception e) {
+                    state.expired = true;
+                    log.warn("Error occurred while refreshing the search index of tenant {}, rebuilding it on the next search: ",
+                            tenant.getTenantIdentifier(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            state.expired = true;
+            log.debug("Search index queue is full, rebuilding the index of tenant {} on the next search", tenant.getTenantIdentifier());
+        }
+    }
+
+    private void refresh(FineractPlatformTenant tenant, TenantState state, Map<Source, Set<Long>> entityIds) {
+        TenantSearchIndex index = state.index;
+        if (index == null) {
+            return;
+        }
+        inTenant(tenant, () -> refreshTransactionTemplate.execute(status -> {
+            entityIds.forEach((source, ids) -> {
+                Set<Long> removedIds = new HashSet<>(ids);
+                for (SearchIndexDocument document : loader.load(source, ids)) {
+                    index.put(document);
+                    removedIds.remove(document.entityId());
+                }
+                removedIds.forEach(entityId -> index.remove(source, entityId));
+            });
+            return null;
+        }));
+    }
+
+    private static <T> T inTenant(FineractPlatformTenant tenant, Supplier<T> action) {
+        ThreadLocalContextUtil.setTenant(tenant);
+        try {
+            return action.get();
+        } finally {
+            ThreadLocalContextUtil.reset();
+        }
+    }
+
+    private static Set<Source> getSources(SearchConditions searchConditions) {
+        Set<Source> sources = EnumSet.noneOf(Source.class);
+        if (Boolean.TRUE.equals(searchConditions.isClientSearch())) {
+            sources.add(Source.CLIENT);
+        }
+        if (Boolean.TRUE.equals(searchConditions.isLoanSeach())) {
+            sources.add(Source.LOAN);
+        }
+        if (Boolean.TRUE.equals(searchConditions.isSavingSeach())) {
+            sources.add(Source.SAVING);
+        }
+        if (Boolean.TRUE.equals(searchConditions.isShareSeach())) {
+            sources.add(Source.SHARE);
+        }
+        if (Boolean.TRUE.equals(searchConditions.isClientIdentifierSearch())) {
+            sources.add(Source.CLIENT_IDENTIFIER);
+        }
+        if (Boolean.TRUE.equals(searchConditions.isGroupSearch())) {
+            sources.add(Source.GROUP);
+        }
+        return sources;
+    }
+
+    private static final class TenantState {
+
+        private volatile TenantSearchIndex index;
+        private volatile boolean expired;
+        private final AtomicBoolean buildScheduled = new AtomicBoolean();
+    }
+
+    private final class PendingRefresh implements TransactionSynchronization {
+
+        private final FineractPlatformTenant tenant;
+        private final Map<Source, Set<Long>> entityIds = new EnumMap<>(Source.class);
+
+        private PendingRefresh(FineractPlatformTenant tenant) {
+            this.tenant = tenant;
+        }
+
+        @Override
+        public void afterCommit() {
+            scheduleRefresh(tenant, entityIds);
+        }
+    }
+}
@@ -22,6 +22,8 @@ import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.fineract.infrastructure.core.data.EnumOptionData;
@@ -56,12 +58,22 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
     private final LoanProductReadPlatformService loanProductReadPlatformService;
     private final OfficeReadPlatformService officeReadPlatformService;
     private final DatabaseSpecificSQLGenerator sqlGenerator;
+    private final SearchIndexService searchIndexService;
 
     @Override
     public Collection<SearchData> retriveMatchingData(final SearchConditions searchConditions) {
         final AppUser currentUser = context.authenticatedUser();
         final String hierarchy = currentUser.getOffice().getHierarchy();
 
+        final Optional<List<SearchIndexDocument>> indexedMatches = searchIndexService.search(searchConditions, hierarchy);
+        if (indexedMatches.isPresent()) {
+            return indexedMatches.get().stream()
+                    .map(document -> createSearchData(document.entityId(), document.entityAccountNo(), document.entityExternalId(),
+                            document.entityName(), document.entityType(), document.parentId(), document.parentName(),
+                            document.entityMobileNo(), document.entityStatusEnum(), document.parentType(), document.subEntityType()))
+                    .toList();
+        }
+
         final SearchMapper rm = new SearchMapper();
 
         final MapSqlParameterSource params = new MapSqlParameterSource();
@@ -158,28 +170,36 @@ public class SearchReadPlatformServiceImpl implements SearchReadPlatformService
             final Integer entityStatusEnum = JdbcSupport.getInteger(rs, "entityStatusEnum");
             final String parentType = rs.getString("parentType");
             final Integer subEntityTypeValue = JdbcSupport.getInteger(rs, "subEntityType");
-            final EnumOptionData subEntityTypeCode = SavingsEnumerations.depositType(subEntityTypeValue);
 
-            EnumOptionData entityStatus = new EnumOptionData(0L, "", "");
+            return createSearchData(entityId, entityAccountNo, entityExternalId, entityName, entityType, parentId, parentName,
+                    entityMobileNo, entityStatusEnum, parentType, subEntityTypeValue);
+        }
 
-            if (entityType.equalsIgnoreCase("client") || entityType.equalsIgnoreCase("clientidentifier")) {
-                entityStatus = ClientEnumerations.status(entityStatusEnum);
-            }
+    }
 
-            else if (entityType.equalsIgnoreCase("group") || entityType.equalsIgnoreCase("center")) {
-                entityStatus = GroupingTypeEnumerations.status(entityStatusEnum);
-            }
+    private static SearchData createSearchData(final Long entityId, final String entityAccountNo, final String entityExternalId,
+            final String entityName, final String entityType, final Long parentId, final String parentName, final String entityMobileNo,
+            final Integer entityStatusEnum, final String parentType, final Integer subEntityTypeValue) {
+        final EnumOptionData subEntityTypeCode = SavingsEnumerations.depositType(subEntityTypeValue);
 
-            else if (entityType.equalsIgnoreCase("loan")) {
-                LoanStatusEnumData loanStatusEnumData = LoanEnumerations.status(entityStatusEnum);
+        EnumOptionData entityStatus = new EnumOptionData(0L, "", "");
 
-                entityStatus = LoanEnumerations.status(loanStatusEnumData);
-            }
+        if (entityType.equalsIgnoreCase("client") || entityType.equalsIgnoreCase("clientidentifier")) {
+            entityStatus = ClientEnumerations.status(entityStatusEnum);
+        }
+
+        else if (entityType.equalsIgnoreCase("group") || entityType.equalsIgnoreCase("center")) {
+            entityStatus = GroupingTypeEnumerations.status(entityStatusEnum);
+        }
+
+        else if (entityType.equalsIgnoreCase("loan")) {
+            LoanStatusEnumData loanStatusEnumData = LoanEnumerations.status(entityStatusEnum);
 
-            return new SearchData(entityId, entityAccountNo, entityExternalId, entityName, entityType, parentId, parentName, parentType,
-                    entityMobileNo, entityStatus, subEntityTypeCode.getCode());
+            entityStatus = LoanEnumerations.status(loanStatusEnumData);
         }
 
+        return new SearchData(entityId, entityAccountNo, entityExternalId, entityName, entityType, parentId, parentName, parentType,
+                entityMobileNo, entityStatus, subEntityTypeCode.getCode());
     }
 
     @Override
@@ -0,0 +1,174 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.fineract.portfolio.search.service.SearchIndexDocument.Source;
+
+/**
+ * In-memory search index of a single tenant.
+ *
+ * Every searchable value is lower cased and broken up into trigrams. A contains query is answered by verifying the
+ * documents of the rarest trigram of the query, an exact query by a lookup of the whole value. Queries shorter than a
+ * trigram fall back to verifying every document. Reads and updates are guarded by a read-write lock, so an update only
+ * holds off the readers for the time it takes to re-index a single document.
+ */
+final class TenantSearchIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private static final Comparator<IndexedDocument> ORDER = Comparator
+            .<IndexedDocument, Source>comparing(indexed -> indexed.document().source())
+            .thenComparing(indexed -> indexed.document().entityId(), Comparator.reverseOrder());
+
+    private final long builtAt;
+    private final Map<Key, IndexedDocument> documents = new HashMap<>();
+    private final Map<String, Set<Key>> grams = new HashMap<>();
+    private final Map<String, Set<Key>> values = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    TenantSearchIndex(long builtAt) {
+        this.builtAt = builtAt;
+    }
+
+    long getBuiltAt() {
+        return builtAt;
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void put(SearchIndexDocument document) {
+        Key key = new Key(document.source(), document.entityId());
+        IndexedDocument indexed = new IndexedDocument(document,
+                document.searchableValues().stream().map(value -> value.toLowerCase(Locale.ROOT)).distinct().toList());
+        lock.writeLock().lock();
+        try {
+            IndexedDocument previous = documents.put(key, indexed);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+            for (String value : indexed.values()) {
+                values.computeIfAbsent(value, k -> new HashSet<>()).add(key);
+                for (String gram : grams(value)) {
+                    grams.computeIfAbsent(gram, k -> new HashSet<>()).add(key);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Source source, Long entityId) {
+        Key key = new Key(source, entityId);
+        lock.writeLock().lock();
+        try {
+            IndexedDocument previous = documents.remove(key);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the documents of the given sources that match the query and are visible from the given office hierarchy,
+     * ordered by source and by descending id.
+     */
+    List<SearchIndexDocument> search(String query, boolean exactMatch, Set<Source> sources, String hierarchy, int limit) {
+        String term = query.toLowerCase(Locale.ROOT);
+        lock.readLock().lock();
+        try {
+            Collection<Key> candidates;
+            if (exactMatch) {
+                candidates = values.getOrDefault(term, Set.of());
+            } else if (term.length() < GRAM_LENGTH) {
+                candidates = documents.keySet();
+            } else {
+                candidates = rarestGramPostings(term);
+            }
+            return candidates.stream().filter(key -> sources.contains(key.source())).map(documents::get)
+                    .filter(indexed -> indexed.document().isVisibleFrom(hierarchy))
+                    .filter(indexed -> exactMatch || indexed.values().stream().anyMatch(value -> value.contains(term))).sorted(ORDER)
+                    .limit(limit).map(IndexedDocument::document).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Key> rarestGramPostings(String term) {
+        Set<Key> rarest = null;
+        for (String gram : grams(term)) {
+            Set<Key> postings = grams.get(gram);
+            if (postings == null) {
+                return Set.of();
+            }
+            if (rarest == null || postings.size() < rarest.size()) {
+                rarest = postings;
+            }
+        }
+        return rarest == null ? Set.of() : rarest;
+    }
+
+    private void unindex(Key key, IndexedDocument indexed) {
+        for (String value : indexed.values()) {
+            removePosting(values, value, key);
+            for (String gram : grams(value)) {
+                removePosting(grams, gram, key);
+            }
+        }
+    }
+
+    private static void removePosting(Map<String, Set<Key>> postings, String token, Key key) {
+        Set<Key> keys = postings.get(token);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            postings.remove(token);
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM_LENGTH));
+        }
+        return result;
+    }
+
+    private record Key(Source source, Long entityId) {
+    }
+
+    private record IndexedDocument(SearchIndexDocument document, List<String> values) {
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecific
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
 import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
 import org.apache.fineract.portfolio.loanproduct.service.LoanProductReadPlatformService;
+import org.apache.fineract.portfolio.search.service.SearchIndexService;
 import org.apache.fineract.portfolio.search.service.SearchReadPlatformService;
 import org.apache.fineract.portfolio.search.service.SearchReadPlatformServiceImpl;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -36,8 +37,9 @@ public class SearchConfiguration {
     @ConditionalOnMissingBean(SearchReadPlatformService.class)
     public SearchReadPlatformService searchReadPlatformService(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
             PlatformSecurityContext context, LoanProductReadPlatformService loanProductReadPlatformService,
-            OfficeReadPlatformService officeReadPlatformService, DatabaseSpecificSQLGenerator sqlGenerator) {
+            OfficeReadPlatformService officeReadPlatformService, DatabaseSpecificSQLGenerator sqlGenerator,
+            SearchIndexService searchIndexService) {
         return new SearchReadPlatformServiceImpl(namedParameterJdbcTemplate, context, loanProductReadPlatformService,
-                officeReadPlatformService, sqlGenerator);
+                officeReadPlatformService, sqlGenerator, searchIndexService);
     }
 }
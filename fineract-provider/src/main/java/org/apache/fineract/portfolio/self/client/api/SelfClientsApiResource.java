@@ -37,6 +37,7 @@ import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
@@ -144,11 +145,12 @@ public class SelfClientsApiResource {
     public Response retrieveImage(@PathParam("clientId") @Parameter(description = "clientId") final Long clientId,
             @QueryParam("maxWidth") @Parameter(example = "maxWidth") final Integer maxWidth,
             @QueryParam("maxHeight") @Parameter(example = "maxHeight") final Integer maxHeight,
-            @QueryParam("output") @Parameter(example = "output") final String output) {
+            @QueryParam("output") @Parameter(example = "output") final String output,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) @Parameter(hidden = true) final String ifNoneMatch) {
 
         validateAppuserClientsMapping(clientId);
 
-        return this.imagesApiResource.retrieveImage("clients", clientId, maxWidth, maxHeight, output, MediaType.TEXT_PLAIN);
+        return this.imagesApiResource.retrieveImage("clients", clientId, maxWidth, maxHeight, output, MediaType.TEXT_PLAIN, ifNoneMatch);
     }
 
     @GET
@@ -0,0 +1,142 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.glaccount.jobs.updatetrialbalancedetails;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class UpdateTrialBalanceDetailsTaskletTest {
+
+    private static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 3, 15);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private StepContribution contribution;
+
+    private final TransactionStatus firstOfficeTransaction = mock(TransactionStatus.class);
+    private final TransactionStatus secondOfficeTransaction = mock(TransactionStatus.class);
+
+    private ThreadPoolTaskExecutor executor;
+    private UpdateTrialBalanceDetailsTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, BUSINESS_DATE)));
+
+        // A single worker handles the offices one after the other, so the first office is committed before the second fails
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        underTest = new UpdateTrialBalanceDetailsTasklet(jdbcTemplate, transactionManager, executor, new SimpleMeterRegistry());
+
+        when(jdbcTemplate.queryForList("select id from m_office", Long.class)).thenReturn(List.of(1L, 2L));
+        when(transactionManager.getTransaction(any())).thenReturn(firstOfficeTransaction, secondOfficeTransaction);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFailingOfficeShouldRollBackItsWholeTransactionAndRethrowTheCause() {
+        // given
+        when(jdbcTemplate.update(anyString(), eq(1L), any(LocalDate.class), eq(BUSINESS_DATE))).thenReturn(3);
+        when(jdbcTemplate.update(anyString(), eq(2L), any(LocalDate.class), eq(BUSINESS_DATE))).thenReturn(2);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(1L), eq(1L)))
+                .thenReturn(List.<Object[]>of(new Object[] { BigDecimal.TEN, 10L }));
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), eq(2L), eq(2L)))
+                .thenReturn(List.<Object[]>of(new Object[] { BigDecimal.ONE, 20L }));
+        DataIntegrityViolationException closingBalanceFailure = new DataIntegrityViolationException("closing balance failed");
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<Object[]> closingBalances = invocation.getArgument(1);
+            if (closingBalances.get(0)[1].equals(20L)) {
+                throw closingBalanceFailure;
+            }
+            return new int[] { 1 };
+        });
+        // when
+        Exception thrown = assertThrows(Exception.class, () -> underTest.execute(contribution, null));
+        // then
+        assertSame(closingBalanceFailure, thrown);
+        verify(transactionManager).commit(firstOfficeTransaction);
+        verify(transactionManager).rollback(secondOfficeTransaction);
+        verify(transactionManager, never()).commit(secondOfficeTransaction);
+        verify(contribution).incrementWriteCount(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOfficesWithoutMissingDatesShouldOnlyCalculateClosingBalances() throws Exception {
+        // given
+        when(jdbcTemplate.queryForObject(anyString(), eq(LocalDate.class), any(Long.class))).thenReturn(BUSINESS_DATE);
+        when(jdbcTemplate.query(anyString(), any(RowMapper.class), any(Long.class), any(Long.class))).thenReturn(List.of());
+        // when
+        RepeatStatus status = underTest.execute(contribution, null);
+        // then
+        assertEquals(RepeatStatus.FINISHED, status);
+        verify(jdbcTemplate, never()).update(anyString(), any(Long.class), any(LocalDate.class), any(LocalDate.class));
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+        verify(transactionManager).commit(firstOfficeTransaction);
+        verify(transactionManager).commit(secondOfficeTransaction);
+    }
+}
@@ -0,0 +1,369 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.accounting.journalentry.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.fineract.accounting.glaccount.domain.GLAccountType;
+import org.apache.fineract.accounting.journalentry.data.JournalEntryDataValidator;
+import org.apache.fineract.accounting.journalentry.domain.JournalEntryType;
+import org.apache.fineract.infrastructure.core.api.JsonCommand;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.serialization.FromJsonHelper;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.domain.OfficeRepositoryWrapper;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class JournalEntryRunningBalanceUpdateServiceImplTest {
+
+    private static final int PAGE_SIZE = 2;
+    private static final Long ASSET_ACCOUNT_ID = 10L;
+    private static final Long OTHER_ACCOUNT_ID = 20L;
+    private static final Long OFFICE_1 = 1L;
+    private static final Long OFFICE_2 = 2L;
+
+    @Mock
+    private OfficeRepositoryWrapper officeRepositoryWrapper;
+    @Mock
+    private JournalEntryDataValidator dataValidator;
+    @Mock
+    private FromJsonHelper fromApiJsonHelper;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private PlatformSecurityContext platformSecurityContext;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private AppUser appUser;
+    @Mock
+    private JsonCommand command;
+
+    private InMemoryJournal journal;
+    private JournalEntryRunningBalanceUpdateServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        when(platformSecurityContext.authenticatedUser()).thenReturn(appUser);
+        when(appUser.getId()).thenReturn(1L);
+        FineractProperties fineractProperties = new FineractProperties();
+        FineractProperties.FineractJobProperties jobProperties = new FineractProperties.FineractJobProperties();
+        jobProperties.setRunningBalanceUpdatePageSize(PAGE_SIZE);
+        jobProperties.setRunningBalanceUpdateThreadCount(2);
+        fineractProperties.setJob(jobProperties);
+
+        journal = new InMemoryJournal();
+        // Office 1 and 2 share the asset account, the calculated entries come first
+        journal.add(1L, OFFICE_1, ASSET_ACCOUNT_ID, "2023-01-01", JournalEntryType.DEBIT, "100", "100", "100");
+        journal.add(2L, OFFICE_2, ASSET_ACCOUNT_ID, "2023-01-02", JournalEntryType.DEBIT, "50", "150", "50");
+        journal.add(3L, OFFICE_1, ASSET_ACCOUNT_ID, "2023-01-03", JournalEntryType.CREDIT, "30", null, null);
+        journal.add(4L, OFFICE_2, ASSET_ACCOUNT_ID, "2023-01-04", JournalEntryType.DEBIT, "20", null, null);
+        journal.add(5L, OFFICE_1, ASSET_ACCOUNT_ID, "2023-01-05", JournalEntryType.DEBIT, "10", null, null);
+        journal.add(6L, OFFICE_1, OTHER_ACCOUNT_ID, "2023-01-02", JournalEntryType.DEBIT, "5", null, null);
+
+        underTest = new JournalEntryRunningBalanceUpdateServiceImpl(journal, officeRepositoryWrapper, dataValidator, fromApiJsonHelper,
+                sqlGenerator, platformSecurityContext, transactionManager, fineractProperties,
+                new TaskExecutorAdapter(new SyncTaskExecutor()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testOrganizationRunShouldCalculateEveryAccountAndStoreCheckpoints() {
+        // when
+        underTest.updateRunningBalance();
+        // then
+        assertBalances(3L, "120", "70");
+        assertBalances(4L, "140", "70");
+        assertBalances(5L, "150", "80");
+        assertBalances(6L, "5", "5");
+        assertEquals(new Checkpoint(LocalDate.parse("2023-01-05"), 5L, new BigDecimal("80")),
+                journal.checkpoints.get(List.of(OFFICE_1, ASSET_ACCOUNT_ID)));
+        assertEquals(new Checkpoint(LocalDate.parse("2023-01-04"), 4L, new BigDecimal("70")),
+                journal.checkpoints.get(List.of(OFFICE_2, ASSET_ACCOUNT_ID)));
+        assertEquals(new Checkpoint(LocalDate.parse("2023-01-02"), 6L, new BigDecimal("5")),
+                journal.checkpoints.get(List.of(OFFICE_1, OTHER_ACCOUNT_ID)));
+    }
+
+    @Test
+    public void testOfficeRunShouldOnlyCalculateTheAccountsOfTheOfficeAndStoreCheckpoints() {
+        // given
+        when(fromApiJsonHelper.extractLongNamed(anyString(), any())).thenReturn(OFFICE_2);
+        // when
+        underTest.updateOfficeRunningBalance(command);
+        // then
+        // The account is shared with office 1, its organization running balance is calculated as a whole
+        assertBalances(3L, "120", "70");
+        assertBalances(4L, "140", "70");
+        assertBalances(5L, "150", "80");
+        assertEquals(new Checkpoint(LocalDate.parse("2023-01-04"), 4L, new BigDecimal("70")),
+                journal.checkpoints.get(List.of(OFFICE_2, ASSET_ACCOUNT_ID)));
+        // The account without entries in office 2 is left to the next run
+        assertFalse(journal.entries.get(6L).calculated);
+        assertNull(journal.checkpoints.get(List.of(OFFICE_1, OTHER_ACCOUNT_ID)));
+    }
+
+    @Test
+    public void testInterruptedRunShouldBeResumedFromTheCheckpoint() {
+        // given the second page of the asset account fails
+        journal.failingBatchUpdate = 2;
+        assertThrows(IllegalStateException.class, () -> underTest.updateRunningBalance());
+        assertBalances(3L, "120", "70");
+        assertBalances(4L, "140", "70");
+        assertFalse(journal.entries.get(5L).calculated);
+        assertEquals(new Checkpoint(LocalDate.parse("2023-01-03"), 3L, new BigDecimal("70")),
+                journal.checkpoints.get(List.of(OFFICE_1, ASSET_ACCOUNT_ID)));
+        // when
+        journal.failingBatchUpdate = 0;
+        journal.officeBalanceLookups.clear();
+        underTest.updateRunningBalance();
+        // then
+        assertBalances(5L, "150", "80");
+        assertTrue(journal.entries.values().stream().allMatch(entry -> entry.calculated));
+        // The office balance of the resumed account comes from its checkpoint instead of the journal entries
+        assertFalse(journal.officeBalanceLookups.contains(List.of(OFFICE_1, ASSET_ACCOUNT_ID)));
+    }
+
+    private void assertBalances(Long entryId, String organizationRunningBalance, String officeRunningBalance) {
+        Entry entry = journal.entries.get(entryId);
+        assertTrue(entry.calculated, "entry " + entryId + " is calculated");
+        assertEquals(0, new BigDecimal(organizationRunningBalance).compareTo(entry.organizationRunningBalance),
+                "organization running balance of entry " + entryId);
+        assertEquals(0, new BigDecimal(officeRunningBalance).compareTo(entry.officeRunningBalance),
+                "office running balance of entry " + entryId);
+    }
+
+    private static ResultSet resultSet(Map<String, Object> row) {
+        List<String> columns = new ArrayList<>(row.keySet());
+        return Mockito.mock(ResultSet.class, invocation -> {
+            Object argument = invocation.getArguments().length == 0 ? null : invocation.getArgument(0);
+            Object value = argument instanceof Integer index ? row.get(columns.get(index - 1)) : row.get(argument);
+            return switch (invocation.getMethod().getName()) {
+                case "findColumn" -> columns.indexOf(argument) + 1;
+                case "getInt" -> ((Number) value).intValue();
+                case "getLong" -> ((Number) value).longValue();
+                case "getBigDecimal" -> value;
+                case "getDate" -> value == null ? null : Date.valueOf((LocalDate) value);
+                case "wasNull" -> false;
+                default -> null;
+            };
+        });
+    }
+
+    private record Checkpoint(LocalDate entryDate, Long journalEntryId, BigDecimal officeRunningBalance) {
+    }
+
+    private static final class Entry {
+
+        private final Long id;
+        private final Long officeId;
+        private final Long accountId;
+        private final LocalDate entryDate;
+        private final JournalEntryType type;
+        private final BigDecimal amount;
+        private boolean calculated;
+        private BigDecimal organizationRunningBalance;
+        private BigDecimal officeRunningBalance;
+
+        private Entry(Long id, Long officeId, Long accountId, LocalDate entryDate, JournalEntryType type, BigDecimal amount) {
+            this.id = id;
+            this.officeId = officeId;
+            this.accountId = accountId;
+            this.entryDate = entryDate;
+            this.type = type;
+            this.amount = amount;
+        }
+    }
+
+    /**
+     * Answers the statements of the running balance update from an in-memory journal of asset accounts.
+     */
+    private static final class InMemoryJournal extends JdbcTemplate {
+
+        private static final Comparator<Entry> ENTRY_ORDER = Comparator.comparing((Entry entry) -> entry.entryDate)
+                .thenComparing(entry -> entry.id);
+
+        private final Map<Long, Entry> entries = new LinkedHashMap<>();
+        private final Map<List<Long>, Checkpoint> checkpoints = new HashMap<>();
+        private final List<List<Long>> officeBalanceLookups = new ArrayList<>();
+        private int batchUpdates;
+        private int failingBatchUpdate;
+
+        private void add(Long id, Long officeId, Long accountId, String entryDate, JournalEntryType type, String amount,
+                String organizationRunningBalance, String officeRunningBalance) {
+            Entry entry = new Entry(id, officeId, accountId, LocalDate.parse(entryDate), type, new BigDecimal(amount));
+            entry.calculated = organizationRunningBalance != null;
+            entry.organizationRunningBalance = organizationRunningBalance == null ? null : new BigDecimal(organizationRunningBalance);
+            entry.officeRunningBalance = officeRunningBalance == null ? null : new BigDecimal(officeRunningBalance);
+            entries.put(id, entry);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper) {
+            return query(sql, rowMapper, new Object[0]);
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            if (sql.contains("MIN(je.entry_date)")) {
+                Map<Long, LocalDate> accounts = new LinkedHashMap<>();
+                entries.values().stream().filter(entry -> !entry.calculated)
+                        .filter(entry -> args.length == 0 || hasUncalculatedEntry(entry.accountId, (Long) args[0]))
+                        .forEach(entry -> accounts.merge(entry.accountId, entry.entryDate, (a, b) -> a.isBefore(b) ? a : b));
+                accounts.forEach((accountId, entityDate) -> rows.add(row("accountId", accountId, "classification",
+                        GLAccountType.ASSET.getValue(), "entityDate", entityDate)));
+            } else {
+                Long accountId = (Long) args[0];
+                LocalDate lastEntryDate = (LocalDate) args[1];
+                Long lastEntryId = (Long) args[3];
+                entries.values().stream().filter(entry -> entry.accountId.equals(accountId))
+                        .filter(entry -> entry.entryDate.isAfter(lastEntryDate)
+                                || (entry.entryDate.isEqual(lastEntryDate) && entry.id > lastEntryId))
+                        .sorted(ENTRY_ORDER).limit(PAGE_SIZE).forEach(entry -> rows.add(row("id", entry.id, "officeId", entry.officeId,
+                                "entryDate", entry.entryDate, "entryType", entry.type.getValue(), "amount", entry.amount)));
+            }
+            List<T> result = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                try {
+                    result.add(rowMapper.mapRow(resultSet(rows.get(i)), i));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler rch, Object... args) {
+            checkpoints.forEach((key, checkpoint) -> {
+                if (key.get(1).equals(args[0])) {
+                    try {
+                        rch.processRow(resultSet(row("officeId", key.get(0), "entryDate", checkpoint.entryDate(), "journalEntryId",
+                                checkpoint.journalEntryId(), "officeRunningBalance", checkpoint.officeRunningBalance())));
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+            boolean office = sql.contains("office_running_balance");
+            Long officeId = office ? (Long) args[0] : null;
+            Long accountId = (Long) args[office ? 1 : 0];
+            LocalDate entityDate = (LocalDate) args[office ? 2 : 1];
+            if (office) {
+                officeBalanceLookups.add(List.of(officeId, accountId));
+            }
+            return entries.values().stream().filter(entry -> entry.accountId.equals(accountId))
+                    .filter(entry -> officeId == null || entry.officeId.equals(officeId))
+                    .filter(entry -> entry.entryDate.isBefore(entityDate))
+                    .max(ENTRY_ORDER).map(entry -> List.of((T) (office ? entry.officeRunningBalance : entry.organizationRunningBalance)))
+                    .orElse(List.of());
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            if (++batchUpdates == failingBatchUpdate) {
+                throw new IllegalStateException("Simulated failure");
+            }
+            for (Object[] params : batchArgs) {
+                Entry entry = entries.get((Long) params[5]);
+                entry.calculated = (Boolean) params[0];
+                entry.organizationRunningBalance = (BigDecimal) params[1];
+                entry.officeRunningBalance = (BigDecimal) params[2];
+            }
+            return new int[batchArgs.size()];
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (sql.startsWith("UPDATE")) {
+                List<Long> key = List.of((Long) args[3], (Long) args[4]);
+                if (!checkpoints.containsKey(key)) {
+                    return 0;
+                }
+                checkpoints.put(key, new Checkpoint((LocalDate) args[0], (Long) args[1], (BigDecimal) args[2]));
+            } else {
+                checkpoints.put(List.of((Long) args[0], (Long) args[1]),
+                        new Checkpoint((LocalDate) args[2], (Long) args[3], (BigDecimal) args[4]));
+            }
+            return 1;
+        }
+
+        private boolean hasUncalculatedEntry(Long accountId, Long officeId) {
+            return entries.values().stream()
+                    .anyMatch(entry -> !entry.calculated && entry.accountId.equals(accountId) && entry.officeId.equals(officeId));
+        }
+
+        private static Map<String, Object> row(Object... keyValues) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < keyValues.length; i += 2) {
+                row.put((String) keyValues[i], Objects.requireNonNull(keyValues[i + 1]));
+            }
+            return row;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import static org.mockito.Mockito.verify;
 import com.google.common.base.Splitter;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.cucumber.java8.En;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
@@ -58,6 +59,7 @@ public class COBBusinessStepServiceStepDefinitions implements En {
     private ConfigurationDomainService configurationDomainService = mock(ConfigurationDomainService.class);
 
     private ReloaderService reloaderService = mock(ReloaderService.class);
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private final COBBusinessStepServiceImpl businessStepService;
 
     private COBBusinessStep cobBusinessStep = mock(COBBusinessStep.class);
@@ -75,7 +77,7 @@ public class COBBusinessStepServiceStepDefinitions implements En {
     @SuppressFBWarnings(value = "CT_CONSTRUCTOR_THROW")
     public COBBusinessStepServiceStepDefinitions() throws Exception {
         businessStepService = new COBBusinessStepServiceImpl(batchBusinessStepRepository, applicationContext, beanFactory,
-                businessEventNotifierService, configurationDomainService, reloaderService);
+                businessEventNotifierService, configurationDomainService, reloaderService, meterRegistry);
 
         Given("/^The COBBusinessStepService.run method with executeMap (.*)$/", (String executionMap) -> {
             if ("null".equals(executionMap)) {
@@ -148,6 +150,7 @@ public class COBBusinessStepServiceStepDefinitions implements En {
         Then("The COBBusinessStepService.run result should match", () -> {
             assertEquals(outputItem, resultItem);
             assertEquals(ActionContext.COB, ThreadLocalContextUtil.getActionContext());
+            assertEquals(1, meterRegistry.get("fineract.cob.business.step").tag("step", "test").tag("outcome", "success").timer().count());
             ThreadLocalContextUtil.setActionContext(ActionContext.DEFAULT);
         });
 
@@ -18,6 +18,7 @@
  */
 package org.apache.fineract.cob.loan;
 
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -82,6 +83,29 @@ class LoanCOBPartitionerTest {
         validatePartitions(partitions, 2, 11,  20);
     }
 
+    @Test
+    public void testLoanCOBPartitionerCostWeighted() {
+        //given
+        when(propertyService.getPartitionSize(LoanCOBConstant.JOB_NAME)).thenReturn(5);
+        when(propertyService.isCostWeightedPartitioning(LoanCOBConstant.JOB_NAME)).thenReturn(true);
+        when(cobBusinessStepService.getCOBBusinessSteps(LoanCOBBusinessStep.class, LoanCOBConstant.LOAN_COB_JOB_NAME))
+                .thenReturn(BUSINESS_STEP_SET);
+        when(retrieveLoanIdService.retrieveCostWeightedLoanCOBPartitions(1L, BUSINESS_DATE, false, 5))
+                .thenReturn(List.of(new LoanCOBPartition(1L,2L, 1L, 2L), new LoanCOBPartition(3L,20L, 2L, 7L)));
+        LoanCOBPartitioner loanCOBPartitioner = new LoanCOBPartitioner(propertyService, cobBusinessStepService, retrieveLoanIdService, jobOperator, jobExplorer, 1L);
+        loanCOBPartitioner.setBusinessDate(BUSINESS_DATE);
+        loanCOBPartitioner.setIsCatchUp(false);
+
+        //when
+        Map<String, ExecutionContext> partitions = loanCOBPartitioner.partition(1);
+
+        //then
+        Assertions.assertEquals(2, partitions.size());
+        validatePartitions(partitions, 1, 1,  2);
+        validatePartitions(partitions, 2, 3,  20);
+        verify(retrieveLoanIdService, never()).retrieveLoanCOBPartitions(1L, BUSINESS_DATE, false, 5);
+    }
+
     @Test
     public void testLoanCOBPartitionerEmptyBusinessSteps() throws NoSuchJobExecutionException, JobExecutionNotRunningException {
         //given
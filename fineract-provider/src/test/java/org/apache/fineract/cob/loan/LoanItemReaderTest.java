@@ -26,12 +26,15 @@ import static org.mockito.Mockito.when;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import org.apache.fineract.cob.common.CustomJobParameterResolver;
 import org.apache.fineract.cob.data.LoanCOBParameter;
 import org.apache.fineract.cob.domain.LoanAccountLock;
@@ -49,6 +52,8 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.item.ExecutionContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 class LoanItemReaderTest {
@@ -107,6 +112,91 @@ class LoanItemReaderTest {
         Mockito.verifyNoMoreInteractions(loanRepository);
     }
 
+    @Test
+    public void testLoanItemReaderPrefetchesLoansWithinTransaction() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.setPrefetchSize(3);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 5L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L, 4L, 5L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L, 4L, 5L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L, 4L, 5L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        Map<Long, Loan> loans = LongStream.rangeClosed(1, 5).boxed().collect(Collectors.toMap(id -> id, id -> {
+            Loan mockLoan = Mockito.mock(Loan.class);
+            Mockito.lenient().when(mockLoan.getId()).thenReturn(id);
+            return mockLoan;
+        }));
+        when(loanRepository.findAllWithAssociationsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(loans.get(3L), loans.get(1L)));
+        when(loanRepository.findAllWithAssociationsByIdIn(List.of(4L, 5L))).thenReturn(List.of(loans.get(4L), loans.get(5L)));
+        when(loanRepository.findById(2L)).thenReturn(Optional.of(loans.get(2L)));
+
+        // when + then
+        loanItemReader.beforeStep(stepExecution);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (long i = 1; i <= 5; i++) {
+                Assertions.assertEquals(loans.get(i), loanItemReader.read());
+            }
+            Assertions.assertNull(loanItemReader.read());
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(loanRepository, times(1)).findAllWithAssociationsByIdIn(List.of(1L, 2L, 3L));
+        verify(loanRepository, times(1)).findAllWithAssociationsByIdIn(List.of(4L, 5L));
+        // loan 2 was not returned by the prefetch, so it is read on its own
+        verify(loanRepository, times(1)).findById(2L);
+        Mockito.verifyNoMoreInteractions(loanRepository);
+    }
+
+    @Test
+    public void testLoanItemReaderReturnsUnreadPrefetchedLoansAfterTransaction() throws Exception {
+        // given
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "test", "test", "UTC", null));
+        LoanItemReader loanItemReader = new LoanItemReader(loanRepository, retrieveLoanIdService, customJobParameterResolver,
+                loanLockingService);
+        loanItemReader.setPrefetchSize(3);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+        LoanCOBParameter loanCOBParameter = new LoanCOBParameter(1L, 3L);
+        when(executionContext.get(LoanCOBConstant.LOAN_COB_PARAMETER)).thenReturn(loanCOBParameter);
+        when(retrieveLoanIdService.retrieveAllNonClosedLoansByLastClosedBusinessDateAndMinAndMaxLoanId(loanCOBParameter, false))
+                .thenReturn(new ArrayList<>(List.of(1L, 2L, 3L)));
+        List<LoanAccountLock> accountLocks = List.of(1L, 2L, 3L).stream()
+                .map(l -> new LoanAccountLock(l, LockOwner.LOAN_COB_CHUNK_PROCESSING, LocalDate.of(2023, 7, 25))).toList();
+        when(loanLockingService.findAllByLoanIdInAndLockOwner(List.of(1L, 2L, 3L), LockOwner.LOAN_COB_CHUNK_PROCESSING))
+                .thenReturn(accountLocks);
+        when(loan.getId()).thenReturn(1L);
+        when(loanRepository.findAllWithAssociationsByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(loan));
+        when(loanRepository.findById(anyLong())).thenReturn(Optional.of(loan));
+
+        // when
+        loanItemReader.beforeStep(stepExecution);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            Assertions.assertEquals(loan, loanItemReader.read());
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // then the loans left in the buffer are read again outside of the transaction
+        Assertions.assertEquals(loan, loanItemReader.read());
+        Assertions.assertEquals(loan, loanItemReader.read());
+        Assertions.assertNull(loanItemReader.read());
+        verify(loanRepository, times(1)).findById(2L);
+        verify(loanRepository, times(1)).findById(3L);
+    }
+
     @Test
     public void testLoanItemReadNoOpenLoansFound() throws Exception {
         // given
@@ -0,0 +1,108 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.cob.loan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.fineract.cob.domain.LockOwner;
+import org.apache.fineract.portfolio.loanaccount.domain.Loan;
+import org.apache.fineract.portfolio.loanaccount.domain.LoanRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.batch.item.Chunk;
+
+@ExtendWith(MockitoExtension.class)
+public class LoanItemWriterTest {
+
+    @Mock
+    private LoanLockingService loanLockingService;
+    @Mock
+    private LoanRepository loanRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    private LoanItemWriter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new LoanItemWriter(loanLockingService);
+        underTest.setRepository(loanRepository);
+        underTest.setEntityManager(entityManager);
+    }
+
+    @Test
+    public void testManagedLoansShouldNotBeMergedAgain() throws Exception {
+        // given
+        Loan managedLoan = loan(1L);
+        Loan otherManagedLoan = loan(2L);
+        when(entityManager.contains(managedLoan)).thenReturn(true);
+        when(entityManager.contains(otherManagedLoan)).thenReturn(true);
+        // when
+        underTest.write(new Chunk<>(managedLoan, otherManagedLoan));
+        // then
+        verify(loanRepository, never()).saveAll(any());
+        verify(loanLockingService).deleteByLoanIdInAndLockOwner(List.of(1L, 2L), LockOwner.LOAN_COB_CHUNK_PROCESSING);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOnlyDetachedLoansShouldBeMerged() throws Exception {
+        // given
+        Loan managedLoan = loan(1L);
+        Loan detachedLoan = loan(2L);
+        when(entityManager.contains(managedLoan)).thenReturn(true);
+        when(entityManager.contains(detachedLoan)).thenReturn(false);
+        // when
+        underTest.write(new Chunk<>(managedLoan, detachedLoan));
+        // then
+        ArgumentCaptor<Iterable<Loan>> savedLoans = ArgumentCaptor.forClass(Iterable.class);
+        verify(loanRepository).saveAll(savedLoans.capture());
+        List<Loan> merged = new ArrayList<>();
+        savedLoans.getValue().forEach(merged::add);
+        assertEquals(List.of(detachedLoan), merged);
+        verify(loanLockingService).deleteByLoanIdInAndLockOwner(List.of(1L, 2L), LockOwner.LOAN_COB_CHUNK_PROCESSING);
+    }
+
+    @Test
+    public void testEmptyChunkShouldNeitherMergeNorReleaseLocks() throws Exception {
+        // when
+        underTest.write(new Chunk<>());
+        // then
+        verifyNoInteractions(loanRepository, loanLockingService, entityManager);
+    }
+
+    private static Loan loan(Long id) {
+        Loan loan = mock(Loan.class);
+        when(loan.getId()).thenReturn(id);
+        return loan;
+    }
+}
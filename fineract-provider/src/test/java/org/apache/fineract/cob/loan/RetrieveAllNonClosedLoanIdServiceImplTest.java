@@ -74,6 +74,26 @@ public class RetrieveAllNonClosedLoanIdServiceImplTest {
         testRetrieveLoanCOBPartitions(expectedSQL, true);
     }
 
+    @Test
+    public void testRetrieveCostWeightedLoanCOBPartitions() {
+        String expectedSQL = """
+                select min(id) as min, max(id) as max, page, count(id) as count from
+                  (select floor((sum(cost) over(order by id) - cost) * count(id) over() / (:pageSize * sum(cost) over())) as page,
+                  t.* from
+                      (select l.id, 1 + (select count(rs.id) from m_loan_repayment_schedule rs where rs.loan_id = l.id) as cost
+                        from m_loan l where l.loan_status_id in (:statusIds) and (last_closed_business_date = :businessDate or last_closed_business_date is null) ) t) t2
+                 group by page
+                 order by page
+                """;
+        RetrieveAllNonClosedLoanIdServiceImpl service = new RetrieveAllNonClosedLoanIdServiceImpl(loanRepository,
+                namedParameterJdbcTemplate);
+        service.retrieveCostWeightedLoanCOBPartitions(1L, LocalDate.parse("2023-06-28"), false, 5);
+        Mockito.verify(namedParameterJdbcTemplate, times(1)).query(sqlCaptor.capture(), paramsCaptor.capture(), rowMapper.capture());
+        Assertions.assertEquals(normalize(expectedSQL), normalize(sqlCaptor.getValue()));
+        Assertions.assertEquals(5, paramsCaptor.getValue().getValue("pageSize"));
+        Assertions.assertEquals(LocalDate.parse("2023-06-27"), paramsCaptor.getValue().getValue("businessDate"));
+    }
+
     private void testRetrieveLoanCOBPartitions(String expectedSQL, boolean isCatchup) {
         RetrieveAllNonClosedLoanIdServiceImpl service = new RetrieveAllNonClosedLoanIdServiceImpl(loanRepository,
                 namedParameterJdbcTemplate);
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.commands.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import org.apache.fineract.commands.domain.CommandWrapper;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.config.FineractProperties.FineractIdempotencyKeyIndexProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class IdempotencyKeyIndexTest {
+
+    private final CommandWrapper wrapper = Mockito.mock(CommandWrapper.class);
+
+    @BeforeEach
+    public void setup() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        when(wrapper.actionName()).thenReturn("CREATE");
+        when(wrapper.entityName()).thenReturn("CLIENT");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testMightContainOnlyReturnsTrueForStoredKeys() {
+        IdempotencyKeyIndex underTest = new IdempotencyKeyIndex(createProperties(true));
+
+        underTest.put(wrapper, "key-1");
+
+        assertTrue(underTest.mightContain(wrapper, "key-1"));
+        assertFalse(underTest.mightContain(wrapper, "key-2"));
+    }
+
+    @Test
+    public void testMightContainIsTenantScoped() {
+        IdempotencyKeyIndex underTest = new IdempotencyKeyIndex(createProperties(true));
+
+        underTest.put(wrapper, "key-1");
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(2L, "other", "Other", "Asia/Kolkata", null));
+
+        assertFalse(underTest.mightContain(wrapper, "key-1"));
+    }
+
+    @Test
+    public void testMightContainAlwaysReturnsTrueWhenDisabled() {
+        IdempotencyKeyIndex underTest = new IdempotencyKeyIndex(createProperties(false));
+
+        assertTrue(underTest.mightContain(wrapper, "key-1"));
+    }
+
+    private FineractProperties createProperties(boolean enabled) {
+        FineractIdempotencyKeyIndexProperties indexProperties = new FineractIdempotencyKeyIndexProperties();
+        indexProperties.setEnabled(enabled);
+        indexProperties.setExpectedKeysPerTenant(1000);
+        indexProperties.setFalsePositiveProbability(0.01);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setIdempotencyKeyIndex(indexProperties);
+        return fineractProperties;
+    }
+}
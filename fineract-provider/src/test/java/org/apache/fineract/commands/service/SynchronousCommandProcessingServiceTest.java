@@ -20,10 +20,12 @@ package org.apache.fineract.commands.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import java.util.Map;
 import org.apache.fineract.commands.domain.CommandProcessingResultType;
@@ -35,6 +37,8 @@ import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDoma
 import org.apache.fineract.infrastructure.core.api.JsonCommand;
 import org.apache.fineract.infrastructure.core.data.CommandProcessingResult;
 import org.apache.fineract.infrastructure.core.domain.FineractRequestContextHolder;
+import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessSucceedException;
+import org.apache.fineract.infrastructure.core.exception.IdempotentCommandProcessUnderProcessingException;
 import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
 import org.apache.fineract.infrastructure.core.serialization.ToApiJsonSerializer;
 import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
@@ -69,6 +73,10 @@ public class SynchronousCommandProcessingServiceTest {
     private IdempotencyKeyResolver idempotencyKeyResolver;
     @Mock
     private CommandSourceService commandSourceService;
+    @Mock
+    private IdempotencyKeyIndex idempotencyKeyIndex;
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
 
     @Spy
     private FineractRequestContextHolder fineractRequestContextHolder;
@@ -127,6 +135,7 @@ public class SynchronousCommandProcessingServiceTest {
         verify(commandSourceService).saveResultSameTransaction(commandSource);
 
         assertEquals(commandProcessingResult, actualCommandProcessingResult);
+        assertEquals(1, meterRegistry.get("fineract.commands").tag("outcome", "success").timer().count());
     }
 
     @Test
@@ -172,6 +181,77 @@ public class SynchronousCommandProcessingServiceTest {
 
         verify(commandSourceService).getCommandSource(commandId);
         verify(commandSourceService).generateErrorInfo(runtimeException);
+        assertEquals(1, meterRegistry.get("fineract.commands").tag("outcome", "failure").tag("exception", "RuntimeException").timer()
+                .count());
+    }
+
+    @Test
+    public void testExecuteCommandSkipsIdempotencyKeyLookupForUnknownKey() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(idempotencyKeyIndex.mightContain(commandWrapper, idk)).thenReturn(false);
+
+        NewCommandSourceHandler commandHandler = Mockito.mock(NewCommandSourceHandler.class);
+        when(commandHandlerProvider.getHandler(Mockito.any(), Mockito.any())).thenReturn(commandHandler);
+        CommandProcessingResult commandProcessingResult = Mockito.mock(CommandProcessingResult.class);
+        CommandSource commandSource = Mockito.mock(CommandSource.class);
+        when(commandSource.getId()).thenReturn(1L);
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk)).thenReturn(commandSource);
+        when(commandSourceService.saveResultSameTransaction(commandSource)).thenReturn(commandSource);
+        when(commandSourceService.processCommand(commandHandler, jsonCommand, commandSource, appUser, false, false))
+                .thenReturn(commandProcessingResult);
+
+        CommandProcessingResult actualCommandProcessingResult = underTest.executeCommand(commandWrapper, jsonCommand, false);
+
+        assertEquals(commandProcessingResult, actualCommandProcessingResult);
+        verify(commandSourceService, never()).findCommandSource(commandWrapper, idk);
+        verify(idempotencyKeyIndex).put(commandWrapper, idk);
+    }
+
+    @Test
+    public void testExecuteCommandLooksUpIdempotencyKeyOnConflictWhenLookupWasSkipped() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(idempotencyKeyIndex.mightContain(commandWrapper, idk)).thenReturn(false);
+
+        AppUser appUser = Mockito.mock(AppUser.class);
+        when(context.authenticatedUser(Mockito.any(CommandWrapper.class))).thenReturn(appUser);
+        when(commandSourceService.saveInitialNewTransaction(commandWrapper, jsonCommand, appUser, idk))
+                .thenThrow(new IdempotentCommandProcessUnderProcessingException(commandWrapper, idk));
+        CommandSource processedCommandSource = Mockito.mock(CommandSource.class);
+        when(processedCommandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
+        when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(processedCommandSource);
+
+        assertThrows(IdempotentCommandProcessSucceedException.class, () -> {
+            underTest.executeCommand(commandWrapper, jsonCommand, false);
+        });
+
+        verify(commandSourceService).findCommandSource(commandWrapper, idk);
+        verify(idempotencyKeyIndex, never()).put(commandWrapper, idk);
+    }
+
+    @Test
+    public void testExecuteCommandLooksUpIdempotencyKeyUpfrontForKnownKey() {
+        CommandWrapper commandWrapper = Mockito.mock(CommandWrapper.class);
+        JsonCommand jsonCommand = Mockito.mock(JsonCommand.class);
+        String idk = "idk";
+        when(idempotencyKeyResolver.resolve(commandWrapper)).thenReturn(idk);
+        when(idempotencyKeyIndex.mightContain(commandWrapper, idk)).thenReturn(true);
+        CommandSource processedCommandSource = Mockito.mock(CommandSource.class);
+        when(processedCommandSource.getStatus()).thenReturn(CommandProcessingResultType.PROCESSED.getValue());
+        when(commandSourceService.findCommandSource(commandWrapper, idk)).thenReturn(processedCommandSource);
+
+        assertThrows(IdempotentCommandProcessSucceedException.class, () -> {
+            underTest.executeCommand(commandWrapper, jsonCommand, false);
+        });
+
+        verify(commandSourceService, never()).saveInitialNewTransaction(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
     }
 
     @Test
@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.bulkimport.importhandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+class ImportRowProcessorTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private ImportRowProcessor underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.initialize();
+        FineractProperties fineractProperties = new FineractProperties();
+        FineractProperties.FineractTaskExecutor taskExecutorProperties = new FineractProperties.FineractTaskExecutor();
+        taskExecutorProperties.setBulkImportTaskExecutorPoolSize(2);
+        fineractProperties.setTaskExecutor(taskExecutorProperties);
+        underTest = new ImportRowProcessor(executor, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testProcessShouldKeepTheOrderOfRowsWithinAPartition() {
+        // given
+        List<String> rows = List.of("a1", "b1", "a2", "c1", "b2", "a3", "c2");
+        Map<Character, List<String>> importedRows = new ConcurrentHashMap<>();
+        // when
+        List<String> results = underTest.process(rows, row -> row.charAt(0), row -> {
+            importedRows.computeIfAbsent(row.charAt(0), k -> Collections.synchronizedList(new ArrayList<>())).add(row);
+            return row.toUpperCase();
+        }, result -> true, ImportProgressListener.NONE);
+        // then
+        assertThat(results).containsExactly("A1", "B1", "A2", "C1", "B2", "A3", "C2");
+        assertThat(importedRows.get('a')).containsExactly("a1", "a2", "a3");
+        assertThat(importedRows.get('b')).containsExactly("b1", "b2");
+        assertThat(importedRows.get('c')).containsExactly("c1", "c2");
+    }
+
+    @Test
+    public void testProcessShouldImportPartitionsInParallelWithTheCallerContext() {
+        // given
+        CountDownLatch bothPartitionsStarted = new CountDownLatch(2);
+        List<String> tenants = Collections.synchronizedList(new ArrayList<>());
+        // when
+        List<Boolean> results = underTest.process(List.of(1L, 2L), row -> row, row -> {
+            tenants.add(ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            bothPartitionsStarted.countDown();
+            try {
+                return bothPartitionsStarted.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }, result -> result, ImportProgressListener.NONE);
+        // then
+        assertThat(results).containsExactly(true, true);
+        assertThat(tenants).containsExactly("default", "default");
+    }
+
+    @Test
+    public void testProcessShouldReportTheFinalTotals() {
+        // given
+        List<int[]> progress = Collections.synchronizedList(new ArrayList<>());
+        // when
+        underTest.process(List.of(1, 2, 3, 4, 5), row -> null, row -> row % 2 == 0, result -> result,
+                (successCount, errorCount) -> progress.add(new int[] { successCount, errorCount }));
+        // then
+        assertThat(progress).isNotEmpty();
+        assertThat(progress.get(progress.size() - 1)).containsExactly(2, 3);
+    }
+}
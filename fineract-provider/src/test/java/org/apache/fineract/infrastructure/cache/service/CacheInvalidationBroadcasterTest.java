@@ -0,0 +1,218 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.DateUtils;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CacheInvalidationBroadcasterTest {
+
+    private static final FineractPlatformTenant TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private static final String OTHER_NODE = "other-node";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+
+    // The committed rows of m_cache_invalidation by id: cache name, cache key and origin node
+    private final Map<Long, String[]> committedRows = new TreeMap<>();
+    private final List<Long> polledFromIds = new ArrayList<>();
+    private OffsetDateTime now = OffsetDateTime.of(2024, 3, 15, 10, 0, 0, 0, ZoneOffset.UTC);
+
+    private MockedStatic<DateUtils> dateUtils;
+    private ConcurrentMapCacheManager nearCacheManager;
+    private Cache codes;
+    private CacheInvalidationBroadcaster underTest;
+
+    @BeforeEach
+    public void setUp() {
+        dateUtils = mockStatic(DateUtils.class, CALLS_REAL_METHODS);
+        dateUtils.when(DateUtils::getAuditOffsetDateTime).thenAnswer(invocation -> now);
+        when(tenantDetailsService.findAllTenants()).thenReturn(List.of(TENANT));
+        doAnswer(invocation -> {
+            long fromId = invocation.getArgument(2);
+            polledFromIds.add(fromId);
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (Map.Entry<Long, String[]> row : committedRows.entrySet()) {
+                if (row.getKey() > fromId) {
+                    handler.processRow(resultSet(row.getKey(), row.getValue()));
+                }
+            }
+            return null;
+        }).when(jdbcTemplate).query(startsWith("SELECT"), any(RowCallbackHandler.class), anyLong());
+
+        FineractProperties fineractProperties = new FineractProperties();
+        FineractProperties.FineractCacheProperties cacheProperties = new FineractProperties.FineractCacheProperties();
+        // Polling is driven by the tests
+        cacheProperties.setInvalidationPollIntervalInMillis(3_600_000);
+        cacheProperties.setInvalidationGapTimeoutInSeconds(60);
+        cacheProperties.setInvalidationRetentionInMinutes(60);
+        cacheProperties.setTenantRefreshIntervalInSeconds(60);
+        fineractProperties.setCache(cacheProperties);
+        underTest = new CacheInvalidationBroadcaster(jdbcTemplate, tenantDetailsService, fineractProperties);
+
+        nearCacheManager = new ConcurrentMapCacheManager("codes");
+        codes = nearCacheManager.getCache("codes");
+        underTest.start(nearCacheManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.stop();
+        dateUtils.close();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testInvalidationCommittedBehindAHigherIdShouldStillBeApplied() {
+        // given: the transaction of id 2 commits after the one of id 3
+        commit(1L, "first", OTHER_NODE);
+        commit(3L, "third", OTHER_NODE);
+        underTest.poll();
+        cache("first", "second", "third");
+        commit(2L, "second", OTHER_NODE);
+        // when
+        underTest.poll();
+        // then
+        assertThat(codes.get("second")).isNull();
+        assertThat(codes.get("first")).isNotNull();
+        assertThat(codes.get("third")).isNotNull();
+        assertThat(polledFromIds).containsExactly(0L, 1L);
+    }
+
+    @Test
+    public void testFilledGapShouldNotBeReadAgain() {
+        // given
+        commit(1L, "first", OTHER_NODE);
+        commit(3L, "third", OTHER_NODE);
+        underTest.poll();
+        commit(2L, "second", OTHER_NODE);
+        underTest.poll();
+        cache("first", "second", "third");
+        // when
+        underTest.poll();
+        // then
+        assertThat(polledFromIds).containsExactly(0L, 1L, 3L);
+        assertThat(codes.get("first")).isNotNull();
+        assertThat(codes.get("second")).isNotNull();
+        assertThat(codes.get("third")).isNotNull();
+    }
+
+    @Test
+    public void testGapShouldBeGivenUpAfterTheTimeout() {
+        // given: the transaction of id 2 rolled back
+        commit(1L, "first", OTHER_NODE);
+        commit(3L, "third", OTHER_NODE);
+        underTest.poll();
+        now = now.plusSeconds(30);
+        underTest.poll();
+        now = now.plusSeconds(31);
+        // when
+        underTest.poll();
+        // then
+        assertThat(polledFromIds).containsExactly(0L, 1L, 3L);
+    }
+
+    @Test
+    public void testInvalidationsOfThisNodeShouldNotBeAppliedAgain() {
+        // given
+        ThreadLocalContextUtil.setTenant(TENANT);
+        doAnswer(invocation -> {
+            commit(committedRows.size() + 1L, invocation.getArgument(2), invocation.getArgument(3));
+            return 1;
+        }).when(jdbcTemplate).update(startsWith("INSERT"), eq("codes"), anyString(), anyString(), any());
+        underTest.publish("codes", "own");
+        commit(2L, "other", OTHER_NODE);
+        cache("own", "other");
+        // when
+        underTest.poll();
+        // then
+        assertThat(codes.get("own")).isNotNull();
+        assertThat(codes.get("other")).isNull();
+    }
+
+    @Test
+    public void testInvalidationWithoutKeyShouldClearTheCache() {
+        // given
+        commit(5L, null, OTHER_NODE);
+        cache("first", "second");
+        // when
+        underTest.poll();
+        // then
+        assertThat(codes.get("first")).isNull();
+        assertThat(codes.get("second")).isNull();
+    }
+
+    private void commit(Long id, String cacheKey, String originNode) {
+        committedRows.put(id, new String[] { "codes", cacheKey, originNode });
+    }
+
+    private void cache(String... keys) {
+        for (String key : keys) {
+            codes.put(key, "value");
+        }
+    }
+
+    private static ResultSet resultSet(Long id, String[] row) throws Exception {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.getLong("id")).thenReturn(id);
+        when(resultSet.getString("cache_name")).thenReturn(row[0]);
+        when(resultSet.getString("cache_key")).thenReturn(row[1]);
+        when(resultSet.getString("origin_node")).thenReturn(row[2]);
+        return resultSet;
+    }
+}
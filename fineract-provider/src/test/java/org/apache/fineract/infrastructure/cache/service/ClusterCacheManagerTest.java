@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.cache.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterCacheManagerTest {
+
+    @Mock
+    private CacheInvalidationBroadcaster broadcaster;
+
+    private ConcurrentMapCacheManager nearCacheManager;
+    private ClusterCacheManager underTest;
+
+    @BeforeEach
+    public void setUp() {
+        nearCacheManager = new ConcurrentMapCacheManager("codes");
+        underTest = new ClusterCacheManager(nearCacheManager, broadcaster);
+    }
+
+    @Test
+    public void testPutShouldOnlyFillTheNearCache() {
+        // when
+        underTest.getCache("codes").put("defaultCD", "value");
+        // then
+        assertThat(nearCacheManager.getCache("codes").get("defaultCD", String.class)).isEqualTo("value");
+        verify(broadcaster, never()).publish(any(), any());
+    }
+
+    @Test
+    public void testEvictShouldEvictTheNearCacheAndBroadcastTheKey() {
+        // given
+        Cache cache = underTest.getCache("codes");
+        cache.put("defaultCD", "value");
+        // when
+        cache.evict("defaultCD");
+        // then
+        assertThat(nearCacheManager.getCache("codes").get("defaultCD")).isNull();
+        verify(broadcaster).publish("codes", "defaultCD");
+    }
+
+    @Test
+    public void testClearShouldClearTheNearCacheAndBroadcastTheWholeCache() {
+        // given
+        Cache cache = underTest.getCache("codes");
+        cache.put("defaultCD", "value");
+        // when
+        cache.clear();
+        // then
+        assertThat(nearCacheManager.getCache("codes").get("defaultCD")).isNull();
+        verify(broadcaster).publish(any(), isNull());
+    }
+
+    @Test
+    public void testGetCacheShouldReturnNullForUnknownCache() {
+        assertThat(underTest.getCache("unknown")).isNull();
+    }
+}
@@ -352,6 +352,28 @@ public class DataSourcePerTenantServiceFactoryTest {
         assertEquals(MASTER_DB_AUTO_COMMIT_ENABLED, hikariConfig.isAutoCommit());
     }
 
+    @Test
+    void testCreateNewReadReplicaDataSourceFor_ShouldUseReadOnlyConfiguration_WhenInAllMode() {
+        // given
+        FineractProperties.FineractModeProperties modeProperties = createModeProps(true, true, true, true);
+        given(fineractProperties.getMode()).willReturn(modeProperties);
+
+        // when
+        DataSource dataSource = underTest.createNewReadReplicaDataSourceFor(defaultTenant.getConnection());
+
+        // then
+        assertNotNull(dataSource);
+        verify(hikariDataSourceFactory).create(hikariConfigCaptor.capture());
+        HikariConfig hikariConfig = hikariConfigCaptor.getValue();
+        assertTrue(hikariConfig.isReadOnly());
+        assertEquals(READONLY_DB_JDBC_URL, hikariConfig.getJdbcUrl());
+        assertEquals(READONLY_DB_SCHEMA_NAME + "_replica_pool", hikariConfig.getPoolName());
+        assertEquals(READONLY_DB_USERNAME, hikariConfig.getUsername());
+        assertEquals(READONLY_DB_PASSWORD, hikariConfig.getPassword());
+        assertEquals(MASTER_DB_INITIAL_SIZE, hikariConfig.getMinimumIdle());
+        assertEquals(MASTER_DB_MAX_ACTIVE, hikariConfig.getMaximumPoolSize());
+    }
+
     private FineractProperties.FineractModeProperties createModeProps(boolean readEnabled, boolean writeEnabled, boolean batchWorkerEnabled,
             boolean batchManagerEnabled) {
         FineractProperties.FineractModeProperties modeProperties = new FineractProperties.FineractModeProperties();
@@ -0,0 +1,172 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenantConnection;
+import org.apache.fineract.infrastructure.core.service.database.DataSourcePerTenantServiceFactory;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseTypeResolver;
+import org.apache.fineract.infrastructure.core.service.database.ReadReplicaRoutingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class ReadReplicaRoutingServiceTest {
+
+    @Mock
+    private DataSourcePerTenantServiceFactory dataSourcePerTenantServiceFactory;
+    @Mock
+    private DatabaseTypeResolver databaseTypeResolver;
+    @Mock
+    private FineractPlatformTenantConnection tenantConnection;
+    @Mock
+    private DataSource primaryDataSource;
+    @Mock
+    private DataSource replicaDataSource;
+    @Mock
+    private ResultSet lagResultSet;
+
+    private ReadReplicaRoutingService underTest;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        given(tenantConnection.getConnectionId()).willReturn(1L);
+        given(tenantConnection.getReadOnlySchemaServer()).willReturn("localhost-readonly");
+        given(dataSourcePerTenantServiceFactory.createNewReadReplicaDataSourceFor(tenantConnection)).willReturn(replicaDataSource);
+        given(databaseTypeResolver.isPostgreSQL()).willReturn(true);
+
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        given(replicaDataSource.getConnection()).willReturn(connection);
+        given(connection.createStatement()).willReturn(statement);
+        given(statement.executeQuery(anyString())).willReturn(lagResultSet);
+        given(lagResultSet.next()).willReturn(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        underTest.destroy();
+    }
+
+    @Test
+    void testRouteShouldUsePrimaryOutsideOfReadOnlyTransaction() {
+        // given
+        underTest = createService(true);
+        // when
+        DataSource dataSource = underTest.route(tenantConnection, primaryDataSource);
+        // then
+        assertThat(dataSource).isSameAs(primaryDataSource);
+        verify(dataSourcePerTenantServiceFactory, never()).createNewReadReplicaDataSourceFor(any());
+    }
+
+    @Test
+    void testRouteShouldUseReplicaInReadOnlyTransactionOnceLagIsAcceptable() throws SQLException, InterruptedException {
+        // given
+        underTest = createService(true);
+        given(lagResultSet.getLong(1)).willReturn(1L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        // when
+        DataSource dataSource = awaitReplica();
+        // then
+        assertThat(dataSource).isNotSameAs(primaryDataSource);
+        dataSource.getConnection();
+        verify(replicaDataSource, times(2)).getConnection();
+        verify(primaryDataSource, never()).getConnection();
+    }
+
+    @Test
+    void testRouteShouldUsePrimaryWhenReplicaLagsBehind() throws SQLException {
+        // given
+        underTest = createService(true);
+        given(lagResultSet.getLong(1)).willReturn(60L);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        // when
+        underTest.route(tenantConnection, primaryDataSource);
+        verify(lagResultSet, timeout(5000)).wasNull();
+        DataSource dataSource = underTest.route(tenantConnection, primaryDataSource);
+        // then
+        assertThat(dataSource).isSameAs(primaryDataSource);
+    }
+
+    @Test
+    void testRouteShouldUsePrimaryWhenDisabled() {
+        // given
+        underTest = createService(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        // when
+        DataSource dataSource = underTest.route(tenantConnection, primaryDataSource);
+        // then
+        assertThat(dataSource).isSameAs(primaryDataSource);
+    }
+
+    private DataSource awaitReplica() throws InterruptedException {
+        // The replica is only used once the asynchronous lag check has finished
+        for (int i = 0; i < 100; i++) {
+            DataSource dataSource = underTest.route(tenantConnection, primaryDataSource);
+            if (dataSource != primaryDataSource) {
+                return dataSource;
+            }
+            Thread.sleep(50);
+        }
+        return primaryDataSource;
+    }
+
+    private ReadReplicaRoutingService createService(boolean enabled) {
+        FineractProperties.FineractReadReplicaProperties readReplicaProperties = new FineractProperties.FineractReadReplicaProperties();
+        readReplicaProperties.setEnabled(enabled);
+        readReplicaProperties.setMaxLagInSeconds(5);
+        readReplicaProperties.setLagCheckIntervalInSeconds(60);
+        FineractProperties.FineractDatabaseProperties databaseProperties = new FineractProperties.FineractDatabaseProperties();
+        databaseProperties.setReadReplica(readReplicaProperties);
+        FineractProperties.FineractModeProperties modeProperties = new FineractProperties.FineractModeProperties();
+        modeProperties.setReadEnabled(true);
+        modeProperties.setWriteEnabled(true);
+        FineractProperties fineractProperties = new FineractProperties();
+        fineractProperties.setDatabase(databaseProperties);
+        fineractProperties.setMode(modeProperties);
+        return new ReadReplicaRoutingService(dataSourcePerTenantServiceFactory, databaseTypeResolver, fineractProperties);
+    }
+}
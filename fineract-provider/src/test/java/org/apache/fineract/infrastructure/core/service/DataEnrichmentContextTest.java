@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.core.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class DataEnrichmentContextTest {
+
+    private final DataEnrichmentContext underTest = new DataEnrichmentContext();
+    private final List<Collection<Long>> loadedKeys = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testValuesAreLoadedOncePerTransaction() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        // when
+        Map<Long, Optional<String>> values = underTest.getAll("test", Arrays.asList(1L, 2L, null, 1L), this::load);
+        Optional<String> first = underTest.get("test", 1L, this::load);
+        Optional<String> second = underTest.get("test", 2L, this::load);
+        // then
+        assertThat(values).containsOnlyKeys(1L, 2L);
+        assertThat(values.get(1L)).contains("value-1");
+        assertThat(values.get(2L)).isEmpty();
+        assertThat(first).contains("value-1");
+        assertThat(second).isEmpty();
+        assertThat(loadedKeys).containsExactly(List.of(1L, 2L));
+    }
+
+    @Test
+    public void testEvictedValueIsLoadedAgain() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        underTest.get("test", 1L, this::load);
+        // when
+        underTest.evict("test", 1L);
+        underTest.get("test", 1L, this::load);
+        // then
+        assertThat(loadedKeys).containsExactly(List.of(1L), List.of(1L));
+    }
+
+    @Test
+    public void testNothingIsMemoizedWithoutTransaction() {
+        // when
+        underTest.get("test", 1L, this::load);
+        underTest.get("test", 1L, this::load);
+        // then
+        assertThat(loadedKeys).hasSize(2);
+    }
+
+    @Test
+    public void testMemoIsDiscardedAfterCompletion() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        underTest.get("test", 1L, this::load);
+        // when
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(0));
+        underTest.get("test", 1L, this::load);
+        // then
+        assertThat(loadedKeys).hasSize(2);
+    }
+
+    private Map<Long, String> load(Collection<Long> keys) {
+        loadedKeys.add(List.copyOf(keys));
+        // Only odd keys have a value
+        return keys.stream().filter(key -> key % 2 == 1).collect(Collectors.toMap(key -> key, key -> "value-" + key));
+    }
+}
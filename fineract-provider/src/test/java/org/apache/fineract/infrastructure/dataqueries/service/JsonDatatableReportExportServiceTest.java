@@ -0,0 +1,130 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.serialization.GoogleGsonSerializerHelper;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseType;
+import org.apache.fineract.infrastructure.dataqueries.data.GenericResultsetData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetRowData;
+import org.apache.fineract.infrastructure.dataqueries.service.export.JsonDatatableReportExportService;
+import org.apache.fineract.infrastructure.dataqueries.service.export.ResponseHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class JsonDatatableReportExportServiceTest {
+
+    @Mock
+    private ReadReportingService readReportingService;
+    @Mock
+    private GenericDataService genericDataService;
+
+    private JsonDatatableReportExportService underTest;
+
+    private final List<ResultsetColumnHeaderData> columnHeaders = List.of(
+            ResultsetColumnHeaderData.basic("id", "BIGINT", DatabaseType.MYSQL),
+            ResultsetColumnHeaderData.basic("name", "VARCHAR", DatabaseType.MYSQL));
+    private List<List<Object>> rows = List.of(Arrays.asList(1L, "first \"quoted\""), Arrays.asList(2L, null));
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new JsonDatatableReportExportService(readReportingService, genericDataService);
+        doAnswer(invocation -> {
+            GenericResultsetStreamHandler handler = invocation.getArgument(4);
+            handler.start(columnHeaders);
+            for (List<Object> row : rows) {
+                handler.row(row);
+            }
+            handler.finish();
+            return null;
+        }).when(readReportingService).streamGenericResultset(anyString(), anyString(), anyMap(), anyBoolean(),
+                any(GenericResultsetStreamHandler.class));
+    }
+
+    @Test
+    public void testStreamedJsonMatchesSerializedGenericResultset() throws Exception {
+        assertThat(export(new MultivaluedHashMap<>())).isEqualTo(GoogleGsonSerializerHelper.createSimpleGson().toJson(expected()));
+    }
+
+    @Test
+    public void testStreamedPrettyJsonMatchesSerializedGenericResultset() throws Exception {
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.putSingle(DatatableExportTargetParameter.PRETTY_JSON.getValue(), "true");
+        assertThat(export(queryParams)).isEqualTo(GoogleGsonSerializerHelper.createGsonBuilder(true).create().toJson(expected()));
+    }
+
+    @Test
+    public void testStreamedRowsMatchBufferedRowsJson() throws Exception {
+        GenericDataServiceImpl rowRenderer = rowRenderer();
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.putSingle("genericResultSet", "false");
+        assertThat(export(queryParams)).isEqualTo(rowRenderer.generateJsonFromGenericResultsetData(expected()));
+    }
+
+    @Test
+    public void testStreamedRowsMatchBufferedRowsJsonWithoutRows() throws Exception {
+        rows = List.of();
+        GenericDataServiceImpl rowRenderer = rowRenderer();
+        MultivaluedMap<String, String> queryParams = new MultivaluedHashMap<>();
+        queryParams.putSingle("genericResultSet", "false");
+        assertThat(export(queryParams)).isEqualTo(rowRenderer.generateJsonFromGenericResultsetData(expected())).isEqualTo("[\n]");
+    }
+
+    private GenericDataServiceImpl rowRenderer() {
+        // Rendering a row doesn't touch any of the collaborators
+        GenericDataServiceImpl rowRenderer = new GenericDataServiceImpl(null, null, null, null, null, null);
+        lenient().when(genericDataService.generateJsonFromGenericResultsetRow(any(), any())).thenAnswer(
+                invocation -> rowRenderer.generateJsonFromGenericResultsetRow(invocation.getArgument(0), invocation.getArgument(1)));
+        return rowRenderer;
+    }
+
+    private GenericResultsetData expected() {
+        List<ResultsetRowData> data = new ArrayList<>();
+        rows.forEach(row -> data.add(ResultsetRowData.create(row)));
+        return new GenericResultsetData(columnHeaders, data);
+    }
+
+    private String export(MultivaluedMap<String, String> queryParams) throws Exception {
+        ResponseHolder response = underTest.export("report", queryParams, Map.of(), false, "report");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ((StreamingOutput) response.entity()).write(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.dataqueries.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
+
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseType;
+import org.apache.fineract.infrastructure.dataqueries.data.ResultsetColumnHeaderData;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.infrastructure.security.service.SqlInjectionPreventerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class ReadReportingServiceImplTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private GenericDataService genericDataService;
+    @Mock
+    private SqlInjectionPreventerService sqlInjectionPreventerService;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private FineractProperties fineractProperties;
+
+    private ReadReportingServiceImpl underTest;
+
+    private final List<ResultsetColumnHeaderData> columnHeaders = List.of(
+            ResultsetColumnHeaderData.basic("id", "BIGINT", DatabaseType.MYSQL),
+            ResultsetColumnHeaderData.basic("name", "VARCHAR", DatabaseType.MYSQL),
+            ResultsetColumnHeaderData.basic("note", "VARCHAR", DatabaseType.MYSQL));
+    private List<List<Object>> rows = List.of(Arrays.asList(1L, "first", "a, \"quoted\" note"), Arrays.asList(2L, null, "multi\nline"));
+
+    @BeforeEach
+    public void setUp() {
+        underTest = spy(new ReadReportingServiceImpl(jdbcTemplate, context, genericDataService, sqlInjectionPreventerService, sqlGenerator,
+                fineractProperties));
+        doAnswer(invocation -> {
+            GenericResultsetStreamHandler handler = invocation.getArgument(4);
+            handler.start(columnHeaders);
+            for (List<Object> row : rows) {
+                handler.row(row);
+            }
+            handler.finish();
+            return null;
+        }).when(underTest).streamGenericResultset(anyString(), anyString(), anyMap(), anyBoolean(),
+                any(GenericResultsetStreamHandler.class));
+    }
+
+    @Test
+    public void testStreamedCsvWritesHeaderAndEscapedRows() throws Exception {
+        assertThat(exportCsv()).isEqualTo("id,name,note\r\n1,first,\"a, \"\"quoted\"\" note\"\r\n2,,\"multi\nline\"\r\n");
+    }
+
+    @Test
+    public void testStreamedCsvWithoutRowsWritesHeaderOnly() throws Exception {
+        rows = List.of();
+        assertThat(exportCsv()).isEqualTo("id,name,note\r\n");
+    }
+
+    private String exportCsv() throws Exception {
+        StreamingOutput output = underTest.retrieveReportCSV("report", "report", Map.of(), false);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        output.write(out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -25,6 +25,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -45,6 +46,8 @@ import org.apache.fineract.infrastructure.event.external.exception.Acknowledgeme
 import org.apache.fineract.infrastructure.event.external.producer.ExternalEventProducer;
 import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.apache.fineract.infrastructure.event.external.service.ExternalEventDispatcher;
+import org.apache.fineract.infrastructure.event.external.service.ExternalEventOutbox;
 import org.apache.fineract.infrastructure.event.external.service.message.MessageFactory;
 import org.apache.fineract.infrastructure.event.external.service.support.ByteBufferConverter;
 import org.junit.jupiter.api.AfterEach;
@@ -60,7 +63,10 @@ import org.mockito.quality.Strictness;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -82,6 +88,13 @@ class SendAsynchronousEventsTaskletTest {
     private ByteBufferConverter byteBufferConverter;
     @Mock
     private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private ExternalEventOutbox outbox;
+    @Mock
+    private ObjectProvider<ThreadPoolTaskExecutor> dispatcherTaskExecutors;
+    private ExternalEventDispatcher dispatcher;
     private SendAsynchronousEventsTasklet underTest;
     private RepeatStatus resultStatus;
 
@@ -94,12 +107,21 @@ class SendAsynchronousEventsTaskletTest {
         ThreadLocalContextUtil
                 .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
         configureExternalEventsProducerReadBatchSizeProperty();
-        underTest = new SendAsynchronousEventsTasklet(fineractProperties, repository, eventProducer, messageFactory, byteBufferConverter,
-                configurationDomainService);
+        when(dispatcherTaskExecutors.getObject()).thenAnswer(invocation -> {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(1);
+            executor.setMaxPoolSize(1);
+            executor.initialize();
+            return executor;
+        });
+        dispatcher = new ExternalEventDispatcher(fineractProperties, repository, eventProducer, messageFactory, byteBufferConverter,
+                transactionManager, new SimpleMeterRegistry(), dispatcherTaskExecutors);
+        underTest = new SendAsynchronousEventsTasklet(fineractProperties, repository, dispatcher, outbox, configurationDomainService);
     }
 
     @AfterEach
     public void tearDown() {
+        dispatcher.destroy();
         ThreadLocalContextUtil.reset();
     }
 
@@ -108,6 +130,12 @@ class SendAsynchronousEventsTaskletTest {
         FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
         FineractProperties.FineractExternalEventsProducerProperties externalEventsProducerProperties = new FineractProperties.FineractExternalEventsProducerProperties();
         FineractProperties.FineractExternalEventsProducerJmsProperties externalEventsProducerJMSProperties = new FineractProperties.FineractExternalEventsProducerJmsProperties();
+        FineractProperties.FineractExternalEventsDispatcherProperties externalEventsDispatcherProperties = new FineractProperties.FineractExternalEventsDispatcherProperties();
+        externalEventsDispatcherProperties.setWorkerCount(2);
+        externalEventsDispatcherProperties.setMaxInFlightEvents(100);
+        externalEventsDispatcherProperties.setMaxRunDurationInSeconds(60);
+        externalEventsDispatcherProperties.setClaimLeaseInSeconds(300);
+        externalProperties.setDispatcher(externalEventsDispatcherProperties);
         externalEventsProducerJMSProperties.setEnabled(true);
         externalProperties.setEnabled(true);
         externalProperties.setPartitionSize(5000);
@@ -116,6 +144,7 @@ class SendAsynchronousEventsTaskletTest {
         eventsProperties.setExternal(externalProperties);
         when(fineractProperties.getEvents()).thenReturn(eventsProperties);
         when(configurationDomainService.retrieveExternalEventBatchSize()).thenReturn(10L);
+        when(repository.findClaimedEventIds(Mockito.any(), Mockito.any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
@@ -128,7 +157,7 @@ class SendAsynchronousEventsTaskletTest {
         MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
                 "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
 
-        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(events);
         when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
         when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
         // when
@@ -147,7 +176,7 @@ class SendAsynchronousEventsTaskletTest {
                 createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L));
         MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
                 "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
-        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(events);
         when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
         when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
         doThrow(new AcknowledgementTimeoutException("Event Send Exception", new RuntimeException())).when(eventProducer)
@@ -156,6 +185,31 @@ class SendAsynchronousEventsTaskletTest {
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
         verify(repository, times(0)).markEventsSent(Mockito.any(), Mockito.any());
+        verify(repository).releaseEvents(Mockito.eq(events.stream().map(ExternalEventView::getId).toList()), Mockito.any());
+        assertEquals(RepeatStatus.FINISHED, resultStatus);
+    }
+
+    @Test
+    public void givenEventClaimedByAnotherRunWhenTaskExecutionThenLaterEventsOfTheSameAggregateAreNotSent() throws Exception {
+        // given
+        ExternalEventView claimedElsewhere = createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L);
+        ExternalEventView successor = createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L);
+        ExternalEventView otherAggregate = createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 2L);
+        List<ExternalEventView> events = Arrays.asList(claimedElsewhere, successor, otherAggregate);
+        MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
+                "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(events);
+        when(repository.findClaimedEventIds(Mockito.any(), Mockito.any())).thenReturn(List.of(successor.getId(), otherAggregate.getId()));
+        when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
+        when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
+        // when
+        resultStatus = underTest.execute(stepContribution, chunkContext);
+        // then
+        verify(repository).claimEvents(Mockito.eq(events.stream().map(ExternalEventView::getId).toList()), Mockito.any(), Mockito.any(),
+                Mockito.any());
+        verify(repository).releaseEvents(Mockito.eq(List.of(successor.getId())), Mockito.any());
+        verify(repository).markEventsSent(Mockito.eq(List.of(otherAggregate.getId())), Mockito.any());
+        verify(eventProducer, times(1)).sendEvents(Mockito.any());
         assertEquals(RepeatStatus.FINISHED, resultStatus);
     }
 
@@ -166,7 +220,7 @@ class SendAsynchronousEventsTaskletTest {
                 .asList(createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", 1L));
         MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
                 "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
-        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(events);
         when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
         when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(new byte[0]);
         // when
@@ -185,7 +239,7 @@ class SendAsynchronousEventsTaskletTest {
                 .asList(createExternalEventView("aType", "aCategory", "aSchema", new byte[0], "aIdempotencyKey", null));
         MessageV1 dummyMessage = new MessageV1(1, "aSource", "aType", "nocategory", "aCreateDate", "aBusinessDate", "aTenantId",
                 "anidempotencyKey", "aSchema", Mockito.mock(ByteBuffer.class));
-        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(events);
         when(messageFactory.createMessage(Mockito.any())).thenReturn(dummyMessage);
         byte[] byteMsg = new byte[0];
         when(byteBufferConverter.convert(Mockito.any(ByteBuffer.class))).thenReturn(byteMsg);
@@ -202,11 +256,11 @@ class SendAsynchronousEventsTaskletTest {
     public void givenEventBatchSizeIsConfiguredAs10WhenTaskExecutionThenEventReadPageSizeIsCorrect() {
         ArgumentCaptor<Pageable> externalEventPageSizeArgumentCaptor = ArgumentCaptor.forClass(Pageable.class);
         List<ExternalEventView> events = new ArrayList<>();
-        when(repository.findByStatusOrderById(Mockito.any(), Mockito.any())).thenReturn(events);
+        when(repository.findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.any(), Mockito.any())).thenReturn(events);
         // when
         resultStatus = underTest.execute(stepContribution, chunkContext);
         // then
-        verify(repository).findByStatusOrderById(Mockito.any(), externalEventPageSizeArgumentCaptor.capture());
+        verify(repository).findByStatusAndIdGreaterThanOrderById(Mockito.any(), Mockito.any(), externalEventPageSizeArgumentCaptor.capture());
         assertThat(externalEventPageSizeArgumentCaptor.getValue().getPageSize()).isEqualTo(10);
     }
 
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.core.service.tenant.TenantDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class ExternalEventBacklogMetricsTest {
+
+    @Mock
+    private TenantDetailsService tenantDetailsService;
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+
+    private ExternalEventBacklogMetrics underTest;
+
+    @BeforeEach
+    public void setUp() {
+        when(tenantDetailsService.findAllTenants()).thenReturn(List.of(tenant));
+        underTest = new ExternalEventBacklogMetrics(tenantDetailsService, jdbcTemplate, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testBacklogIsCountedOnlyOnceWithinTheRefreshInterval() {
+        // given
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("TO_BE_SENT"))).thenReturn(42L);
+        underTest.onApplicationEvent(null);
+        // when
+        double first = meterRegistry.get("fineract.external.events.backlog").tag("tenant", "default").gauge().value();
+        double second = meterRegistry.get("fineract.external.events.backlog").tag("tenant", "default").gauge().value();
+        // then
+        assertThat(first).isEqualTo(42.0);
+        assertThat(second).isEqualTo(42.0);
+        verify(jdbcTemplate, times(1)).queryForObject(anyString(), eq(Long.class), eq("TO_BE_SENT"));
+        assertThat(ThreadLocalContextUtil.getTenant()).isNull();
+    }
+
+    @Test
+    public void testGaugesAreRegisteredOncePerTenant() {
+        // when
+        underTest.onApplicationEvent(null);
+        underTest.onApplicationEvent(null);
+        // then
+        assertThat(meterRegistry.find("fineract.external.events.backlog").gauges()).hasSize(1);
+    }
+}
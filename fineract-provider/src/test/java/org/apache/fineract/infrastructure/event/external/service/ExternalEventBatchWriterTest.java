@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Supplier;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class ExternalEventBatchWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private ExternalEventRepository repository;
+    @Mock
+    private ExternalEventOutbox outbox;
+    @Mock
+    private EntityManager entityManager;
+
+    private ExternalEventBatchWriter underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new ExternalEventBatchWriter(jdbcTemplate, sqlGenerator, repository, outbox);
+        underTest.setEntityManager(entityManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void testWriteShouldSaveRightAwayWithoutTransaction() {
+        // given
+        ExternalEvent externalEvent = Mockito.mock(ExternalEvent.class);
+        // when
+        underTest.write(() -> externalEvent);
+        // then
+        verify(repository).save(externalEvent);
+        verifyNoInteractions(jdbcTemplate, entityManager);
+    }
+
+    @Test
+    public void testWriteShouldInsertEventsOfTheTransactionInOneBatchBeforeCommit() {
+        // given
+        TransactionSynchronizationManager.initSynchronization();
+        // when
+        underTest.write(() -> Mockito.mock(ExternalEvent.class));
+        underTest.write(() -> Mockito.mock(ExternalEvent.class));
+        underTest.write(() -> Mockito.mock(ExternalEvent.class));
+        // then
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        verify(jdbcTemplate, never()).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class));
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+        verify(jdbcTemplate, times(1)).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class));
+        verify(entityManager, times(1)).flush();
+        verify(outbox, times(3)).register(any(ExternalEvent.class));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEventsShouldBeSerializedFromTheFlushedStateBeforeCommit() {
+        // given
+        Supplier<ExternalEvent> firstEvent = Mockito.mock(Supplier.class);
+        Supplier<ExternalEvent> secondEvent = Mockito.mock(Supplier.class);
+        when(firstEvent.get()).thenReturn(Mockito.mock(ExternalEvent.class));
+        when(secondEvent.get()).thenReturn(Mockito.mock(ExternalEvent.class));
+        TransactionSynchronizationManager.initSynchronization();
+        underTest.write(firstEvent);
+        underTest.write(secondEvent);
+        verifyNoInteractions(firstEvent, secondEvent, entityManager);
+        // when
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+        // then
+        InOrder inOrder = inOrder(entityManager, firstEvent, secondEvent, jdbcTemplate);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(firstEvent).get();
+        inOrder.verify(secondEvent).get();
+        inOrder.verify(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class),
+                any(KeyHolder.class));
+    }
+
+    @Test
+    public void testInsertShouldBindCreatedAtAsTimestampOfTheSameInstant() throws SQLException {
+        // given
+        OffsetDateTime createdAt = OffsetDateTime.of(2023, 3, 15, 10, 20, 30, 123456000, ZoneOffset.ofHours(2));
+        ExternalEvent externalEvent = Mockito.mock(ExternalEvent.class);
+        when(externalEvent.getCreatedAt()).thenReturn(createdAt);
+        when(externalEvent.getStatus()).thenReturn(ExternalEventStatus.TO_BE_SENT);
+        PreparedStatement preparedStatement = Mockito.mock(PreparedStatement.class);
+        ArgumentCaptor<BatchPreparedStatementSetter> setterCaptor = ArgumentCaptor.forClass(BatchPreparedStatementSetter.class);
+        TransactionSynchronizationManager.initSynchronization();
+        underTest.write(() -> externalEvent);
+        // when
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.beforeCommit(false));
+        verify(jdbcTemplate).batchUpdate(any(PreparedStatementCreator.class), setterCaptor.capture(), any(KeyHolder.class));
+        setterCaptor.getValue().setValues(preparedStatement, 0);
+        // then
+        verify(preparedStatement).setTimestamp(5, Timestamp.from(createdAt.toInstant()));
+        verify(preparedStatement).setString(6, ExternalEventStatus.TO_BE_SENT.name());
+    }
+}
@@ -0,0 +1,164 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.event.external.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventStatus;
+import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEventView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ExternalEventOutboxTest {
+
+    @Mock
+    private FineractProperties fineractProperties;
+    @Mock
+    private ExternalEventRepository repository;
+    @Mock
+    private ExternalEventDispatcher dispatcher;
+    @Mock
+    private ExternalEventDispatcher.DispatchRun dispatchRun;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ThreadPoolTaskExecutor executor;
+    private ExternalEventOutbox underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        when(dispatcher.startRun()).thenReturn(dispatchRun);
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        underTest.destroy();
+        executor.shutdown();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testRegisterShouldDispatchEventsAfterCommit() {
+        // given
+        underTest = createOutbox(true);
+        ExternalEvent externalEvent = mock(ExternalEvent.class);
+        when(externalEvent.getId()).thenReturn(1L);
+        ExternalEventView eventView = mock(ExternalEventView.class);
+        when(eventView.getId()).thenReturn(1L);
+        when(repository.findByStatusAndIdInOrderById(ExternalEventStatus.TO_BE_SENT, List.of(1L))).thenReturn(List.of(eventView));
+        TransactionSynchronizationManager.initSynchronization();
+        // when
+        underTest.register(externalEvent);
+        underTest.register(externalEvent);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        // then
+        verify(dispatchRun, timeout(5000)).dispatch(List.of(eventView));
+        verify(dispatchRun, timeout(5000)).awaitCompletion();
+        // The events have just been committed, so they are loaded from the primary and not from a read replica
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+    }
+
+    @Test
+    public void testRegisterShouldNotDoAnythingWhenOutboxIsDisabled() {
+        // given
+        underTest = createOutbox(false);
+        TransactionSynchronizationManager.initSynchronization();
+        // when
+        underTest.register(mock(ExternalEvent.class));
+        // then
+        assertThat(underTest.isEnabled()).isFalse();
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        verifyNoInteractions(dispatcher);
+    }
+
+    @Test
+    public void testRegisterShouldLeaveEventsToTheSweeperWithoutTransaction() {
+        // given
+        underTest = createOutbox(true);
+        // when
+        underTest.register(mock(ExternalEvent.class));
+        // then
+        verify(repository, after(1000).never()).findByStatusAndIdInOrderById(eq(ExternalEventStatus.TO_BE_SENT), any());
+        verifyNoInteractions(dispatcher);
+    }
+
+    private ExternalEventOutbox createOutbox(boolean enabled) {
+        FineractProperties.FineractEventsProperties eventsProperties = new FineractProperties.FineractEventsProperties();
+        FineractProperties.FineractExternalEventsProperties externalProperties = new FineractProperties.FineractExternalEventsProperties();
+        FineractProperties.FineractExternalEventsProducerProperties producerProperties = new FineractProperties.FineractExternalEventsProducerProperties();
+        FineractProperties.FineractExternalEventsProducerJmsProperties jmsProperties = new FineractProperties.FineractExternalEventsProducerJmsProperties();
+        FineractProperties.FineractExternalEventsOutboxProperties outboxProperties = new FineractProperties.FineractExternalEventsOutboxProperties();
+        jmsProperties.setEnabled(true);
+        producerProperties.setJms(jmsProperties);
+        producerProperties.setKafka(new FineractProperties.FineractExternalEventsProducerKafkaProperties());
+        outboxProperties.setEnabled(enabled);
+        outboxProperties.setQueueCapacity(10);
+        externalProperties.setEnabled(true);
+        externalProperties.setPartitionSize(5000);
+        externalProperties.setProducer(producerProperties);
+        externalProperties.setOutbox(outboxProperties);
+        eventsProperties.setExternal(externalProperties);
+        when(fineractProperties.getEvents()).thenReturn(eventsProperties);
+        return new ExternalEventOutbox(fineractProperties, repository, dispatcher, transactionManager, new SimpleMeterRegistry(), executor);
+    }
+}
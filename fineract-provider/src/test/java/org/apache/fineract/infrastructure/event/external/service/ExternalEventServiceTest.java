@@ -25,8 +25,8 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
-import jakarta.persistence.EntityManager;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.time.LocalDate;
@@ -36,6 +36,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import org.apache.fineract.avro.BulkMessageItemV1;
 import org.apache.fineract.avro.generator.ByteBufferSerializable;
 import org.apache.fineract.avro.loan.v1.LoanAccountDataV1;
@@ -47,7 +48,6 @@ import org.apache.fineract.infrastructure.core.service.DataEnricherProcessor;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
 import org.apache.fineract.infrastructure.event.business.domain.BulkBusinessEvent;
 import org.apache.fineract.infrastructure.event.business.domain.BusinessEvent;
-import org.apache.fineract.infrastructure.event.external.repository.ExternalEventRepository;
 import org.apache.fineract.infrastructure.event.external.repository.domain.ExternalEvent;
 import org.apache.fineract.infrastructure.event.external.service.idempotency.ExternalEventIdempotencyKeyGenerator;
 import org.apache.fineract.infrastructure.event.external.service.message.BulkMessageItemFactory;
@@ -74,7 +74,7 @@ class ExternalEventServiceTest {
 
     public static final String DUMMY_SETTLEMENT_DATE = "2021-01-01";
     @Mock
-    private ExternalEventRepository repository;
+    private ExternalEventBatchWriter batchWriter;
     @Mock
     private ExternalEventIdempotencyKeyGenerator idempotencyKeyGenerator;
     @Mock
@@ -84,8 +84,6 @@ class ExternalEventServiceTest {
     @Mock
     private BulkMessageItemFactory bulkMessageItemFactory;
     @Mock
-    private EntityManager entityManager;
-    @Mock
     private LoanAccountDataV1Enricher loanAccountDataV1Enricher;
     @Mock
     private LoanTransactionAdjustmentDataV1Enricher loanTransactionAdjustmentDataV1Enricher;
@@ -102,9 +100,8 @@ class ExternalEventServiceTest {
                 .thenReturn(true);
         DataEnricherProcessor dataEnricherProcessor = new DataEnricherProcessor(
                 Optional.of(List.of(loanAccountDataV1Enricher, loanTransactionAdjustmentDataV1Enricher, loanTransactionDataV1Enricher)));
-        underTest = new ExternalEventService(repository, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
+        underTest = new ExternalEventService(batchWriter, idempotencyKeyGenerator, serializerFactory, byteBufferConverter,
                 bulkMessageItemFactory, dataEnricherProcessor);
-        underTest.setEntityManager(entityManager);
         FineractPlatformTenant tenant = new FineractPlatformTenant(1L, "default", "Default Tenant", "Europe/Budapest", null);
         ThreadLocalContextUtil.setTenant(tenant);
         ThreadLocalContextUtil
@@ -135,14 +132,26 @@ class ExternalEventServiceTest {
         ByteBufferSerializable byteBuffer = mock(LoanAccountDataV1.class);
         given(eventSerializer.toAvroDTO(event)).willReturn(byteBuffer);
         given(byteBuffer.toByteBuffer()).willThrow(new IOException(""));
+        underTest.postEvent(event);
         // when & then
-        assertThatThrownBy(() -> underTest.postEvent(event)).isExactlyInstanceOf(RuntimeException.class);
+        assertThatThrownBy(this::serializedEvent).isExactlyInstanceOf(RuntimeException.class);
+    }
+
+    @Test
+    public void testPostEventShouldOnlySerializeWhenTheBatchIsWritten() {
+        // given
+        BusinessEvent event = mock(BusinessEvent.class);
+        given(idempotencyKeyGenerator.generate(event)).willReturn("key");
+        // when
+        underTest.postEvent(event);
+        // then
+        verify(idempotencyKeyGenerator).generate(event);
+        verifyNoInteractions(serializerFactory, bulkMessageItemFactory, byteBufferConverter);
     }
 
     @Test
     public void testPostEventShouldWorkWithRegularEvent() {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
 
         String eventSchema = "org.apache.fineract.avro.loan.v1.LoanAccountDataV1";
         String eventType = "TestType";
@@ -161,10 +170,9 @@ class ExternalEventServiceTest {
         // when
         underTest.postEvent(event);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
+        ExternalEvent externalEvent = serializedEvent();
         verify(loanAccountDataV1Enricher).isDataTypeSupported(LoanAccountDataV1.class);
         verify(loanAccountDataV1Enricher).enrich(loanAccountData);
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
         assertThat(externalEvent.getIdempotencyKey()).isEqualTo(idempotencyKey);
         assertThat(externalEvent.getData()).isEqualTo(data);
         assertThat(externalEvent.getType()).isEqualTo(eventType);
@@ -174,7 +182,6 @@ class ExternalEventServiceTest {
     @Test
     public void testPostEventShouldWorkWithBulkEvent() throws IOException {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
         String eventType = "BulkBusinessEvent";
         String schema = "org.apache.fineract.avro.BulkMessagePayloadV1";
 
@@ -184,14 +191,13 @@ class ExternalEventServiceTest {
         BulkBusinessEvent bulkEvent = new BulkBusinessEvent(List.of(event));
         byte[] data = new byte[0];
 
-        given(bulkMessageItemFactory.createBulkMessageItem(1, event)).willReturn(messageItem);
+        given(bulkMessageItemFactory.createBulkMessageItems(List.of(event))).willReturn(List.of(messageItem));
         given(idempotencyKeyGenerator.generate(bulkEvent)).willReturn(idempotencyKey);
         given(byteBufferConverter.convert(any(ByteBuffer.class))).willReturn(data);
         // when
         underTest.postEvent(bulkEvent);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
+        ExternalEvent externalEvent = serializedEvent();
         assertThat(externalEvent.getIdempotencyKey()).isEqualTo(idempotencyKey);
         assertThat(externalEvent.getData()).isEqualTo(data);
         assertThat(externalEvent.getType()).isEqualTo(eventType);
@@ -201,7 +207,6 @@ class ExternalEventServiceTest {
     @Test
     public void testPostEventShouldSaveEventCategory() {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
         String eventSchema = "org.apache.fineract.avro.loan.v1.LoanAccountDataV1";
         String eventType = "TestType";
         String eventCategory = "TestCategory";
@@ -218,8 +223,7 @@ class ExternalEventServiceTest {
         // when
         underTest.postEvent(event);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
+        ExternalEvent externalEvent = serializedEvent();
         assertThat(externalEvent.getCategory()).isEqualTo(eventCategory);
 
     }
@@ -227,7 +231,6 @@ class ExternalEventServiceTest {
     @Test
     public void testEventShouldSaveDatesInMilliSecondFormat() {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
         String eventSchema = "org.apache.fineract.avro.loan.v1.LoanAccountDataV1";
         String eventType = "TestType";
         String eventCategory = "TestCategory";
@@ -244,15 +247,13 @@ class ExternalEventServiceTest {
         // when
         underTest.postEvent(event);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
+        ExternalEvent externalEvent = serializedEvent();
         assertThat(externalEvent.getCreatedAt().isSupported(ChronoUnit.MILLIS)).isTrue();
     }
 
     @Test
     public void testPostEventShouldWorkWithTransactionEvent() {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
 
         String eventSchema = "org.apache.fineract.avro.loan.v1.LoanTransactionDataV1";
         String eventType = "TestType";
@@ -271,10 +272,9 @@ class ExternalEventServiceTest {
         // when
         underTest.postEvent(event);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
+        ExternalEvent externalEvent = serializedEvent();
         verify(loanTransactionDataV1Enricher).isDataTypeSupported(LoanTransactionDataV1.class);
         verify(loanTransactionDataV1Enricher).enrich(loanTransactionData);
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
         assertThat(externalEvent.getIdempotencyKey()).isEqualTo(idempotencyKey);
         assertThat(externalEvent.getData()).isEqualTo(data);
         assertThat(externalEvent.getType()).isEqualTo(eventType);
@@ -284,7 +284,6 @@ class ExternalEventServiceTest {
     @Test
     public void testPostEventShouldWorkWithTransactionAdjustEvent() {
         // given
-        ArgumentCaptor<ExternalEvent> externalEventArgumentCaptor = ArgumentCaptor.forClass(ExternalEvent.class);
 
         String eventSchema = "org.apache.fineract.avro.loan.v1.LoanTransactionAdjustmentDataV1";
         String eventType = "TestType";
@@ -303,13 +302,18 @@ class ExternalEventServiceTest {
         // when
         underTest.postEvent(event);
         // then
-        verify(repository).save(externalEventArgumentCaptor.capture());
+        ExternalEvent externalEvent = serializedEvent();
         verify(loanTransactionAdjustmentDataV1Enricher).isDataTypeSupported(LoanTransactionAdjustmentDataV1.class);
         verify(loanTransactionAdjustmentDataV1Enricher).enrich(loanTransactionAdjustmentData);
-        ExternalEvent externalEvent = externalEventArgumentCaptor.getValue();
         assertThat(externalEvent.getIdempotencyKey()).isEqualTo(idempotencyKey);
         assertThat(externalEvent.getData()).isEqualTo(data);
         assertThat(externalEvent.getType()).isEqualTo(eventType);
         assertThat(externalEvent.getSchema()).isEqualTo(eventSchema);
     }
+
+    private ExternalEvent serializedEvent() {
+        ArgumentCaptor<Supplier<ExternalEvent>> externalEventFactoryCaptor = ArgumentCaptor.forClass(Supplier.class);
+        verify(batchWriter).write(externalEventFactoryCaptor.capture());
+        return externalEventFactoryCaptor.getValue().get();
+    }
 }
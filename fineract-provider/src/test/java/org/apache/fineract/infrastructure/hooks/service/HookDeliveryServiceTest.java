@@ -0,0 +1,257 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.infrastructure.hooks.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.hooks.data.HookDeliveryStatisticsData;
+import org.apache.fineract.infrastructure.hooks.domain.Hook;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRetry;
+import org.apache.fineract.infrastructure.hooks.domain.HookDeliveryRetryRepository;
+import org.apache.fineract.infrastructure.hooks.domain.HookRepository;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessor;
+import org.apache.fineract.infrastructure.hooks.processor.HookProcessorProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class HookDeliveryServiceTest {
+
+    @Mock
+    private FineractProperties fineractProperties;
+    @Mock
+    private HookProcessorProvider hookProcessorProvider;
+    @Mock
+    private HookRepository hookRepository;
+    @Mock
+    private HookDeliveryRetryRepository retryRepository;
+    @Mock
+    private HookProcessor processor;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private HookDeliveryService underTest;
+    private FineractContext context;
+    private Hook hook;
+    private FineractProperties.FineractHooksProperties hooksProperties;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil
+                .setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.now(ZoneId.systemDefault()))));
+        context = ThreadLocalContextUtil.getContext();
+
+        hooksProperties = new FineractProperties.FineractHooksProperties();
+        hooksProperties.setWorkerCount(2);
+        hooksProperties.setQueueCapacity(10);
+        hooksProperties.setMaxConcurrentDeliveriesPerHook(1);
+        hooksProperties.setMaxIdleConnections(1);
+        hooksProperties.setMaxRetryAttempts(3);
+        hooksProperties.setRetryBackoffInSeconds(60);
+        hooksProperties.setRetryBatchSize(10);
+        when(fineractProperties.getHooks()).thenReturn(hooksProperties);
+
+        hook = new Hook().setIsActive(true);
+        hook.setId(1L);
+        when(hookRepository.findById(1L)).thenReturn(Optional.of(hook));
+        when(hookProcessorProvider.getProcessor(hook)).thenReturn(processor);
+        when(retryRepository.countPendingByHookId()).thenReturn(List.of());
+
+        underTest = new HookDeliveryService(fineractProperties, hookProcessorProvider, hookRepository, retryRepository,
+                new SimpleMeterRegistry(), transactionManager);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testDeliverShouldProcessHookOnWorkerThread() throws Exception {
+        // when
+        underTest.deliver(hook, "{}", "CLIENT", "CREATE", context);
+        // then
+        verify(processor, timeout(5000)).process(hook, "{}", "CLIENT", "CREATE", context);
+        verify(retryRepository, never()).save(any());
+    }
+
+    @Test
+    public void testDeliveriesOverTheHookLimitShouldWaitInsteadOfBeingDeferred() throws Exception {
+        // given
+        CountDownLatch firstDeliveryStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstDelivery = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            if ("FIRST".equals(invocation.getArgument(3))) {
+                firstDeliveryStarted.countDown();
+                assertThat(releaseFirstDelivery.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+            running.decrementAndGet();
+            return null;
+        }).when(processor).process(any(), any(), any(), any(), any());
+        // when
+        underTest.deliver(hook, "{}", "CLIENT", "FIRST", context);
+        assertThat(firstDeliveryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        underTest.deliver(hook, "{}", "CLIENT", "SECOND", context);
+        underTest.deliver(hook, "{}", "CLIENT", "THIRD", context);
+        releaseFirstDelivery.countDown();
+        // then
+        InOrder inOrder = inOrder(processor);
+        inOrder.verify(processor, timeout(5000)).process(hook, "{}", "CLIENT", "FIRST", context);
+        inOrder.verify(processor, timeout(5000)).process(hook, "{}", "CLIENT", "SECOND", context);
+        inOrder.verify(processor, timeout(5000)).process(hook, "{}", "CLIENT", "THIRD", context);
+        assertThat(maxRunning.get()).isEqualTo(1);
+        verify(retryRepository, never()).save(any());
+    }
+
+    @Test
+    public void testDeliveryShouldBeDeferredWhenTheHookBacklogIsFull() throws Exception {
+        // given
+        hooksProperties.setQueueCapacity(1);
+        CountDownLatch firstDeliveryStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstDelivery = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            if ("FIRST".equals(invocation.getArgument(3))) {
+                firstDeliveryStarted.countDown();
+                assertThat(releaseFirstDelivery.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+            return null;
+        }).when(processor).process(any(), any(), any(), any(), any());
+        // when
+        underTest.deliver(hook, "{}", "CLIENT", "FIRST", context);
+        assertThat(firstDeliveryStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        underTest.deliver(hook, "{}", "CLIENT", "SECOND", context);
+        underTest.deliver(hook, "{}", "CLIENT", "THIRD", context);
+        releaseFirstDelivery.countDown();
+        // then
+        ArgumentCaptor<HookDeliveryRetry> retryCaptor = ArgumentCaptor.forClass(HookDeliveryRetry.class);
+        verify(retryRepository).save(retryCaptor.capture());
+        assertThat(retryCaptor.getValue().getActionName()).isEqualTo("THIRD");
+        assertThat(retryCaptor.getValue().getAttempts()).isZero();
+        verify(processor, timeout(5000)).process(hook, "{}", "CLIENT", "SECOND", context);
+        verify(processor, never()).process(hook, "{}", "CLIENT", "THIRD", context);
+    }
+
+    @Test
+    public void testFailedRedeliveryShouldBeRescheduledAfterTheCall() throws Exception {
+        // given
+        HookDeliveryRetry retry = storedRetry(1);
+        doThrow(new IOException("Unsuccessful response status: 503")).when(processor).process(any(), any(), any(), any(), any());
+        // when
+        underTest.redeliver(retry, context);
+        // then
+        InOrder inOrder = inOrder(processor, transactionManager, retryRepository);
+        inOrder.verify(processor).process(hook, "{}", "CLIENT", "CREATE", context);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(retryRepository).save(retry);
+        inOrder.verify(transactionManager).commit(any());
+        assertThat(retry.getAttempts()).isEqualTo(2);
+        assertThat(retry.getLastError()).contains("503");
+        assertThat(retry.getNextAttemptAt()).isAfter(retry.getCreatedAt().plusSeconds(119));
+        verify(retryRepository, never()).delete(any());
+    }
+
+    @Test
+    public void testSuccessfulRedeliveryShouldRemoveTheRetry() throws Exception {
+        // given
+        HookDeliveryRetry retry = storedRetry(1);
+        // when
+        underTest.redeliver(retry, context);
+        // then
+        verify(processor).process(hook, "{}", "CLIENT", "CREATE", context);
+        verify(retryRepository).delete(retry);
+        verify(retryRepository, never()).save(any());
+    }
+
+    @Test
+    public void testDeliveryShouldBeAbandonedAfterMaxAttempts() throws Exception {
+        // given
+        HookDeliveryRetry retry = storedRetry(2);
+        doThrow(new IOException("Unsuccessful response status: 503")).when(processor).process(any(), any(), any(), any(), any());
+        // when
+        underTest.redeliver(retry, context);
+        // then
+        verify(retryRepository).delete(retry);
+        verify(retryRepository, never()).save(any());
+        List<HookDeliveryStatisticsData> statistics = underTest.retrieveStatistics();
+        assertThat(statistics).hasSize(1);
+        assertThat(statistics.get(0).getFailed()).isEqualTo(1L);
+        assertThat(statistics.get(0).getAbandoned()).isEqualTo(1L);
+    }
+
+    @Test
+    public void testRedeliverShouldDropRetryOfInactiveHook() throws Exception {
+        // given
+        hook.setIsActive(false);
+        HookDeliveryRetry retry = storedRetry(1);
+        // when
+        underTest.redeliver(retry, context);
+        // then
+        verify(processor, never()).process(any(), any(), any(), any(), eq(context));
+        verify(retryRepository, times(1)).delete(retry);
+        verify(retryRepository, never()).save(any());
+    }
+
+    private HookDeliveryRetry storedRetry(int attempts) {
+        HookDeliveryRetry retry = new HookDeliveryRetry(1L, "CLIENT", "CREATE", "{}", attempts, null, null);
+        retry.setId(5L);
+        when(retryRepository.findById(5L)).thenReturn(Optional.of(retry));
+        return retry;
+    }
+}
@@ -23,9 +23,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.apache.fineract.infrastructure.jobs.data.JobParameterDTO;
 import org.apache.fineract.infrastructure.jobs.domain.JobParameter;
@@ -42,6 +45,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
@@ -53,6 +57,7 @@ import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParameters;
 import org.springframework.batch.core.JobParametersIncrementer;
 import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
@@ -73,6 +78,8 @@ public class JobStarterTest {
     private List<JobParameterProvider<?>> jobParameterProviders;
     @Mock
     private JobNameService jobNameService;
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     @Captor
     private ArgumentCaptor<Set<JobParameterDTO>> jobParameterDTOCaptor;
 
@@ -108,6 +115,35 @@ public class JobStarterTest {
         setupMocks(jobExecution, job, scheduledJobDetail);
         JobExecution result = underTest.run(job, scheduledJobDetail, Set.of());
         Assertions.assertEquals(jobExecution, result);
+        Assertions.assertEquals(1, meterRegistry.get("fineract.jobs").tag("job", "testEnumstyleName").tag("status", "COMPLETED").timer()
+                .count());
+    }
+
+    @Test
+    public void runRecordsStepMetrics() throws JobInstanceAlreadyCompleteException, JobExecutionAlreadyRunningException,
+            JobParametersInvalidException, JobRestartException, JobExecutionException {
+        JobExecution jobExecution = Mockito.mock(JobExecution.class);
+        Job job = Mockito.mock(Job.class);
+        ScheduledJobDetail scheduledJobDetail = Mockito.mock(ScheduledJobDetail.class);
+        StepExecution stepExecution = new StepExecution("testStep", jobExecution);
+        LocalDateTime startTime = LocalDateTime.now();
+        stepExecution.setStartTime(startTime);
+        stepExecution.setEndTime(startTime.plusSeconds(2));
+        stepExecution.setStatus(BatchStatus.COMPLETED);
+        stepExecution.setReadCount(10);
+        stepExecution.setWriteCount(8);
+        stepExecution.setFilterCount(2);
+        when(jobExecution.getStatus()).thenReturn(BatchStatus.COMPLETED);
+        when(jobExecution.getStepExecutions()).thenReturn(List.of(stepExecution));
+        setupMocks(jobExecution, job, scheduledJobDetail);
+
+        underTest.run(job, scheduledJobDetail, Set.of());
+
+        Assertions.assertEquals(2.0,
+                meterRegistry.get("fineract.jobs.step").tag("step", "testStep").timer().totalTime(TimeUnit.SECONDS));
+        Assertions.assertEquals(10.0, meterRegistry.get("fineract.jobs.step.items").tag("type", "read").counter().count());
+        Assertions.assertEquals(8.0, meterRegistry.get("fineract.jobs.step.items").tag("type", "write").counter().count());
+        Assertions.assertEquals(2.0, meterRegistry.get("fineract.jobs.step.items").tag("type", "filter").counter().count());
     }
 
     @Test
@@ -32,6 +32,7 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.fineract.avro.loan.v1.LoanAccountDataV1;
@@ -39,12 +40,17 @@ import org.apache.fineract.avro.loan.v1.LoanChargeDataV1;
 import org.apache.fineract.avro.loan.v1.LoanTransactionDataV1;
 import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
 import org.apache.fineract.infrastructure.core.domain.ActionContext;
+import org.apache.fineract.infrastructure.core.domain.ExternalId;
 import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
 import org.apache.fineract.infrastructure.core.service.DataEnricherProcessor;
 import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.external.service.serialization.mapper.support.ExternalIdMapper;
+import org.apache.fineract.investor.domain.ExternalAssetOwner;
+import org.apache.fineract.investor.domain.ExternalAssetOwnerTransfer;
 import org.apache.fineract.investor.enricher.LoanAccountDataV1Enricher;
 import org.apache.fineract.investor.enricher.LoanChargeDataV1Enricher;
 import org.apache.fineract.investor.enricher.LoanTransactionDataV1Enricher;
+import org.apache.fineract.investor.service.ActiveExternalAssetOwnerTransferLookup;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -184,4 +190,30 @@ public class EnricherTest {
         assertEquals(PURCHASE_PRICE_RATIO, data.getPurchasePriceRatio());
 
     }
+
+    @Test
+    public void testEnrichAllLooksTheActiveTransfersUpOnce() {
+        ActiveExternalAssetOwnerTransferLookup lookup = mock(ActiveExternalAssetOwnerTransferLookup.class);
+        ExternalAssetOwner owner = new ExternalAssetOwner();
+        owner.setExternalId(new ExternalId("owner"));
+        ExternalAssetOwnerTransfer transfer = new ExternalAssetOwnerTransfer();
+        transfer.setOwner(owner);
+        when(lookup.findActiveTransfers(List.of(1L, 2L, 1L))).thenReturn(Map.of(1L, Optional.of(transfer), 2L, Optional.empty()));
+        LoanTransactionDataV1Enricher loanTransactionDataV1Enricher = new LoanTransactionDataV1Enricher(lookup, new ExternalIdMapper());
+        DataEnricherProcessor dataEnricherProcessor = new DataEnricherProcessor(Optional.of(List.of(loanTransactionDataV1Enricher)));
+
+        LoanTransactionDataV1 first = new LoanTransactionDataV1();
+        first.setLoanId(1L);
+        LoanTransactionDataV1 second = new LoanTransactionDataV1();
+        second.setLoanId(2L);
+        LoanTransactionDataV1 third = new LoanTransactionDataV1();
+        third.setLoanId(1L);
+        dataEnricherProcessor.enrichAll(List.of(first, second, third));
+
+        verify(lookup, times(1)).findActiveTransfers(any());
+        verify(lookup, times(0)).findActiveTransfer(any());
+        assertEquals("owner", first.getExternalOwnerId());
+        assertEquals(null, second.getExternalOwnerId());
+        assertEquals("owner", third.getExternalOwnerId());
+    }
 }
@@ -0,0 +1,121 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.organisation.monetary.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+class MoneyAccumulatorTest {
+
+    private static final MonetaryCurrency USD = new MonetaryCurrency("USD", 2, null);
+    private static final MonetaryCurrency XOF = new MonetaryCurrency("XOF", 0, 50);
+
+    private static final List<String> AMOUNTS = List.of("10.005", "0.015", "-3.335", "1234.5", "0", "0.0049", "-0.005", "99.995",
+            "17.125", "-1000.015");
+
+    private MockedStatic<MoneyHelper> moneyHelper;
+
+    @BeforeEach
+    public void setUp() {
+        moneyHelper = Mockito.mockStatic(MoneyHelper.class);
+        moneyHelper.when(MoneyHelper::getRoundingMode).thenReturn(RoundingMode.HALF_EVEN);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        moneyHelper.close();
+    }
+
+    @Test
+    public void testPlusAndMinusOfMoneyGiveTheSameResultAsChainedMoneyCalls() {
+        Money chained = Money.zero(USD);
+        MoneyAccumulator accumulator = MoneyAccumulator.zero(USD);
+        int i = 0;
+        for (String amount : AMOUNTS) {
+            Money money = Money.of(USD, new BigDecimal(amount));
+            if (i++ % 3 == 2) {
+                chained = chained.minus(money);
+                accumulator.minus(money);
+            } else {
+                chained = chained.plus(money);
+                accumulator.plus(money);
+            }
+            assertEquals(chained.getAmount(), accumulator.getAmount());
+        }
+        assertEquals(chained.getAmount(), accumulator.toMoney().getAmount());
+    }
+
+    @Test
+    public void testPlusAndMinusOfUnroundedAmountsRoundEveryStepLikeMoney() {
+        for (MonetaryCurrency currency : List.of(USD, XOF)) {
+            Money chained = Money.zero(currency);
+            MoneyAccumulator accumulator = MoneyAccumulator.zero(currency);
+            int i = 0;
+            for (String amount : AMOUNTS) {
+                BigDecimal value = new BigDecimal(amount);
+                if (i++ % 4 == 3) {
+                    chained = chained.minus(value);
+                    accumulator.minus(value);
+                } else {
+                    chained = chained.plus(value);
+                    accumulator.plus(value);
+                }
+                assertEquals(chained.getAmount(), accumulator.getAmount());
+            }
+            assertEquals(chained.getAmount(), accumulator.toMoney().getAmount());
+        }
+    }
+
+    @Test
+    public void testTotalMatchesChainedPlus() {
+        List<Money> monies = AMOUNTS.stream().map(amount -> Money.of(XOF, new BigDecimal(amount).movePointRight(2))).toList();
+        Money chained = monies.get(0);
+        for (int i = 1; i < monies.size(); i++) {
+            chained = chained.plus(monies.get(i));
+        }
+        assertEquals(chained.getAmount(), Money.total(monies).getAmount());
+        assertEquals(chained.getAmount(), Money.total(monies.toArray(new Money[0])).getAmount());
+    }
+
+    @Test
+    public void testToMoneyReturnsTheInitialMoneyWhenNothingWasAdded() {
+        Money initial = Money.of(USD, new BigDecimal("12.34"));
+        MoneyAccumulator accumulator = MoneyAccumulator.of(initial).plus(Money.zero(USD)).minus(BigDecimal.ZERO).plus((BigDecimal) null);
+        assertSame(initial, accumulator.toMoney());
+        assertSame(accumulator.toMoney(), accumulator.toMoney());
+    }
+
+    @Test
+    public void testAddingMoneyOfAnotherCurrencyFails() {
+        MoneyAccumulator accumulator = MoneyAccumulator.zero(USD);
+        Money money = Money.of(XOF, BigDecimal.TEN);
+        assertThrows(UnsupportedOperationException.class, () -> accumulator.plus(money));
+        assertThrows(UnsupportedOperationException.class, () -> accumulator.minus(money));
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.client.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.fineract.portfolio.client.api.ClientApiConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class ClientToDataMapperFieldProjectionTest {
+
+    private static final Pattern COLUMN_ALIAS = Pattern.compile("\\bas\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private final String schema = new ClientReadPlatformServiceImpl.ClientToDataMapper().schema();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testProjectionOnlyUsesSupportedResponseParameters() {
+        Set<String> supportedParameters = (Set<String>) ReflectionTestUtils.getField(ClientApiConstants.class,
+                "CLIENT_RESPONSE_DATA_PARAMETERS");
+        assertThat(supportedParameters).containsAll(ClientReadPlatformServiceImpl.ClientToDataMapper.FIELD_PROJECTION.getFields());
+    }
+
+    @Test
+    public void testPartialResponseDropsTheOptionalJoinsButKeepsEveryColumn() {
+        // when
+        String projected = ClientReadPlatformServiceImpl.ClientToDataMapper.FIELD_PROJECTION.apply(schema, Set.of("id", "displayName"),
+                null);
+        // then
+        assertThat(columnAliases(projected)).isEqualTo(columnAliases(schema));
+        assertThat(projected).doesNotContain("m_client_non_person", "m_staff", "m_savings_product", "m_appuser", "m_code_value");
+        assertThat(projected).contains("join m_office o on o.id = c.office_id",
+                "left join m_office transferToOffice on transferToOffice.id = c.transfer_to_office_id");
+    }
+
+    @Test
+    public void testRequestedFieldsKeepTheirJoins() {
+        // when
+        String projected = ClientReadPlatformServiceImpl.ClientToDataMapper.FIELD_PROJECTION.apply(schema,
+                Set.of("id", "clientNonPersonDetails", "gender"), null);
+        // then
+        assertThat(projected).contains("left join m_client_non_person cnp on cnp.client_id = c.id",
+                "left join m_code_value cvConstitution on cvConstitution.id = cnp.constitution_cv_id",
+                "left join m_code_value cvMainBusinessLine on cvMainBusinessLine.id = cnp.main_business_line_cv_id",
+                "left join m_code_value cv on cv.id = c.gender_cv_id");
+        assertThat(projected).doesNotContain("m_staff", "cvSubStatus");
+    }
+
+    @Test
+    public void testOrderByKeepsTheJoinItSortsOn() {
+        // when
+        String projected = ClientReadPlatformServiceImpl.ClientToDataMapper.FIELD_PROJECTION.apply(schema, Set.of("id"), "staffName");
+        // then
+        assertThat(projected).contains("s.display_name as staffName", "left join m_staff s on s.id = c.staff_id");
+        assertThat(projected).doesNotContain("m_savings_product");
+    }
+
+    private static List<String> columnAliases(String sql) {
+        List<String> aliases = new ArrayList<>();
+        Matcher alias = COLUMN_ALIAS.matcher(sql.substring(0, sql.indexOf("from m_client c ")));
+        while (alias.find()) {
+            aliases.add(alias.group(1));
+        }
+        return aliases;
+    }
+}
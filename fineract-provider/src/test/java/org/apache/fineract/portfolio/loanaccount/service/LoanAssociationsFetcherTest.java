@@ -0,0 +1,196 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.exception.PlatformDataIntegrityException;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.portfolio.loanaccount.service.LoanAssociationsFetcher.Fetches;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class LoanAssociationsFetcherTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private SimpleMeterRegistry meterRegistry;
+    private LoanAssociationsFetcher underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(2);
+        executor.initialize();
+        meterRegistry = new SimpleMeterRegistry();
+        FineractProperties fineractProperties = new FineractProperties();
+        FineractProperties.FineractTaskExecutor taskExecutorProperties = new FineractProperties.FineractTaskExecutor();
+        taskExecutorProperties.setLoanAssociationsMaxConcurrentFetchesPerRequest(2);
+        fineractProperties.setTaskExecutor(taskExecutorProperties);
+        underTest = new LoanAssociationsFetcher(executor, meterRegistry, fineractProperties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdown();
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testFetchShouldRunOnAWorkerWithTheCallerTenant() {
+        // given
+        Thread callerThread = Thread.currentThread();
+        try (Fetches fetches = underTest.open()) {
+            // when
+            Future<String> tenant = fetches.fetch("notes", () -> ThreadLocalContextUtil.getTenant().getTenantIdentifier());
+            Future<Boolean> worker = fetches.fetch("charges", () -> Thread.currentThread() != callerThread);
+            // then
+            assertThat(fetches.get(tenant)).isEqualTo("default");
+            assertThat(fetches.get(worker)).isTrue();
+        }
+        assertThat(meterRegistry.get("fineract.loan.associations.fetch").tag("association", "notes").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testWorkerShouldGetTheAuthenticationButNotTheRequestOfTheCaller() {
+        // given
+        Authentication authentication = new TestingAuthenticationToken("mifos", "password");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        SecurityContext callerSecurityContext = SecurityContextHolder.getContext();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        try (Fetches fetches = underTest.open()) {
+            // when
+            Future<Authentication> workerAuthentication = fetches.fetch("notes",
+                    () -> SecurityContextHolder.getContext().getAuthentication());
+            Future<Boolean> sharedSecurityContext = fetches.fetch("charges",
+                    () -> SecurityContextHolder.getContext() == callerSecurityContext);
+            // then
+            assertThat(fetches.get(workerAuthentication)).isSameAs(authentication);
+            assertThat(fetches.get(sharedSecurityContext)).isFalse();
+            Future<RequestAttributes> workerRequestAttributes = fetches.fetch("meeting", RequestContextHolder::getRequestAttributes);
+            assertThat(fetches.get(workerRequestAttributes)).isNull();
+        }
+    }
+
+    @Test
+    public void testGetShouldRethrowTheExceptionOfTheFetch() {
+        // given
+        PlatformDataIntegrityException exception = new PlatformDataIntegrityException("error.msg.test", "Test");
+        try (Fetches fetches = underTest.open()) {
+            // when
+            Future<Object> association = fetches.fetch("guarantors", () -> {
+                throw exception;
+            });
+            // then
+            assertThatThrownBy(() -> fetches.get(association)).isSameAs(exception);
+        }
+    }
+
+    @Test
+    public void testFetchesBeyondThePerRequestLimitShouldRunOnTheCallerThread() throws Exception {
+        // given
+        Thread callerThread = Thread.currentThread();
+        CountDownLatch release = new CountDownLatch(1);
+        try (Fetches fetches = underTest.open()) {
+            Future<Boolean> first = fetches.fetch("notes", () -> await(release));
+            Future<Boolean> second = fetches.fetch("charges", () -> await(release));
+            // when
+            Future<Boolean> third = fetches.fetch("meeting", () -> Thread.currentThread() == callerThread);
+            // then
+            assertThat(third.isDone()).isTrue();
+            assertThat(fetches.get(third)).isTrue();
+            release.countDown();
+            assertThat(fetches.get(first)).isTrue();
+            assertThat(fetches.get(second)).isTrue();
+        }
+    }
+
+    @Test
+    public void testFailedFetchShouldCancelTheFetchesThatHaveNotStarted() {
+        // given: a single worker that is busy, so the second fetch waits in the queue
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean queuedFetchRan = new AtomicBoolean();
+        PlatformDataIntegrityException exception = new PlatformDataIntegrityException("error.msg.test", "Test");
+        try (Fetches fetches = underTest.open()) {
+            Future<Boolean> running = fetches.fetch("notes", () -> await(release));
+            Future<Boolean> queued = fetches.fetch("charges", () -> queuedFetchRan.getAndSet(true));
+            // The per request limit is reached, so this one fails on the caller thread
+            Future<Object> failed = fetches.fetch("guarantors", () -> {
+                throw exception;
+            });
+            // when
+            assertThatThrownBy(() -> fetches.get(failed)).isSameAs(exception);
+            // then
+            assertThat(queued.isCancelled()).isTrue();
+            release.countDown();
+            assertThat(running.isDone()).isTrue();
+        }
+        executor.shutdown();
+        executor.getThreadPoolExecutor().awaitTermination(10, TimeUnit.SECONDS);
+        assertThat(queuedFetchRan).isFalse();
+    }
+
+    @Test
+    public void testCloseShouldCancelOutstandingFetches() {
+        // given
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Boolean> queued;
+        try (Fetches fetches = underTest.open()) {
+            fetches.fetch("notes", () -> await(release));
+            queued = fetches.fetch("charges", () -> true);
+        }
+        // then
+        assertThat(queued.isCancelled()).isTrue();
+        release.countDown();
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.loanaccount.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.portfolio.loanaccount.api.LoansApiResource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class LoanMapperFieldProjectionTest {
+
+    private static final Pattern COLUMN_ALIAS = Pattern.compile("\\bas\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private String schema;
+
+    @BeforeEach
+    public void setUp() {
+        DatabaseSpecificSQLGenerator sqlGenerator = mock(DatabaseSpecificSQLGenerator.class);
+        when(sqlGenerator.escape(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        schema = new LoanReadPlatformServiceImpl.LoanMapper(sqlGenerator, null).loanSchema();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testProjectionOnlyUsesSupportedResponseParameters() {
+        Set<String> supportedParameters = (Set<String>) ReflectionTestUtils.getField(LoansApiResource.class, "LOAN_DATA_PARAMETERS");
+        assertThat(supportedParameters).containsAll(LoanReadPlatformServiceImpl.LoanMapper.FIELD_PROJECTION.getFields());
+    }
+
+    @Test
+    public void testPartialResponseDropsTheOptionalJoinsButKeepsEveryColumn() {
+        // when
+        String projected = LoanReadPlatformServiceImpl.LoanMapper.FIELD_PROJECTION.apply(schema, Set.of("id", "accountNo"), null);
+        // then
+        assertThat(columnAliases(projected)).isEqualTo(columnAliases(schema));
+        assertThat(projected).doesNotContain("m_fund", "m_staff", "m_appuser", "m_code_value", "m_loan_arrears_aging",
+                "m_product_loan_variable_installment_config", "m_loan_topup", "m_loan as topuploan", "from m_group mg");
+        assertThat(projected).contains("join m_product_loan lp on lp.id = l.product_id",
+                "left join m_loan_recalculation_details lir on lir.loan_id = l.id", "join m_currency rc",
+                "left join m_client c on c.id = l.client_id", "left join m_group g on g.id = l.group_id");
+    }
+
+    @Test
+    public void testRequestedFieldsKeepTheirJoins() {
+        // when
+        String projected = LoanReadPlatformServiceImpl.LoanMapper.FIELD_PROJECTION.apply(schema,
+                Set.of("id", "timeline", "topupAmount", "group"), null);
+        // then
+        assertThat(projected).contains("left join m_appuser sbu on sbu.id = l.created_by",
+                "left join m_appuser cobu on cobu.id = l.charged_off_by_userid", "left join m_loan_topup as topup on l.id = topup.loan_id",
+                "(select mg.display_name from m_group mg where mg.id = g.parent_id) as centerName");
+        assertThat(projected).doesNotContain("m_loan as topuploan", "m_staff");
+    }
+
+    @Test
+    public void testOrderByKeepsTheJoinItSortsOn() {
+        for (String orderBy : List.of("loanOfficerName", "s.display_name")) {
+            // when
+            String projected = LoanReadPlatformServiceImpl.LoanMapper.FIELD_PROJECTION.apply(schema, Set.of("id"), orderBy);
+            // then
+            assertThat(projected).contains("s.display_name as loanOfficerName", "left join m_staff s on s.id = l.loan_officer_id");
+            assertThat(projected).doesNotContain("m_fund");
+        }
+    }
+
+    private static List<String> columnAliases(String sql) {
+        List<String> aliases = new ArrayList<>();
+        Matcher alias = COLUMN_ALIAS.matcher(sql.substring(0, sql.indexOf(" from m_loan l")));
+        while (alias.find()) {
+            aliases.add(alias.group(1));
+        }
+        return aliases;
+    }
+}
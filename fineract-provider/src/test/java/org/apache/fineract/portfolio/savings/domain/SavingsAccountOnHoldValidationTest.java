@@ -0,0 +1,215 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.domain;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.fineract.infrastructure.core.exception.PlatformApiDataValidationException;
+import org.apache.fineract.organisation.monetary.domain.MonetaryCurrency;
+import org.apache.fineract.organisation.monetary.domain.Money;
+import org.apache.fineract.organisation.monetary.domain.MoneyHelper;
+import org.apache.fineract.portfolio.savings.exception.InsufficientAccountBalanceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+/**
+ * The on hold transactions used to be applied by looping over all of them for every replayed savings transaction. They
+ * are now applied in a single pass over both date ordered lists; these tests replay the same accounts through the
+ * previous per hold loop and expect the same outcome from both balance validations.
+ */
+public class SavingsAccountOnHoldValidationTest {
+
+    private static final MonetaryCurrency CURRENCY = new MonetaryCurrency("USD", 2, null);
+    private static final LocalDate START_DATE = LocalDate.of(2024, 1, 1);
+
+    private MockedStatic<MoneyHelper> moneyHelper;
+
+    @BeforeEach
+    public void setUp() {
+        moneyHelper = mockStatic(MoneyHelper.class);
+        moneyHelper.when(MoneyHelper::getRoundingMode).thenReturn(RoundingMode.HALF_EVEN);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        moneyHelper.close();
+    }
+
+    @Test
+    public void testHoldIsAppliedOnceWithTheFirstTransactionOnOrAfterItsDate() {
+        // given: the hold of 60 is placed between the deposit and two withdrawals of the same day
+        List<ReplayedTransaction> transactions = List.of(new ReplayedTransaction(START_DATE, "100", true, false),
+                new ReplayedTransaction(START_DATE.plusDays(2), "20", false, false),
+                new ReplayedTransaction(START_DATE.plusDays(2), "20", false, false));
+        List<DepositAccountOnHoldTransaction> onHoldTransactions = List.of(hold(START_DATE.plusDays(1), "60"));
+        // then: 100 - 40 still covers the hold, counting it twice would not
+        assertFalse(previousPerHoldValidationFails(transactions, onHoldTransactions, true));
+        assertSameOutcome(transactions, onHoldTransactions);
+    }
+
+    @Test
+    public void testReleasedAndUnorderedHoldsMatchThePreviousPerHoldLoop() {
+        // given
+        List<ReplayedTransaction> transactions = List.of(new ReplayedTransaction(START_DATE, "100", true, false),
+                new ReplayedTransaction(START_DATE.plusDays(3), "70", false, false),
+                new ReplayedTransaction(START_DATE.plusDays(5), "20", false, true),
+                new ReplayedTransaction(START_DATE.plusDays(6), "10", false, false));
+        List<DepositAccountOnHoldTransaction> onHoldTransactions = List.of(release(START_DATE.plusDays(2), "50"),
+                hold(START_DATE.minusDays(1), "80"), hold(START_DATE.plusDays(9), "500"));
+        // then: the release brings the required balance down to 30, so only the last withdrawal goes below it
+        assertTrue(previousPerHoldValidationFails(transactions, onHoldTransactions, true));
+        assertSameOutcome(transactions, onHoldTransactions);
+    }
+
+    @Test
+    public void testRandomAccountsMatchThePreviousPerHoldLoop() {
+        Random random = new Random(20240101L);
+        for (int i = 0; i < 500; i++) {
+            // given
+            List<ReplayedTransaction> transactions = new ArrayList<>();
+            LocalDate transactionDate = START_DATE;
+            transactions.add(new ReplayedTransaction(transactionDate, "200", true, false));
+            for (int j = random.nextInt(8); j > 0; j--) {
+                transactionDate = transactionDate.plusDays(random.nextInt(3));
+                transactions.add(new ReplayedTransaction(transactionDate, String.valueOf(1 + random.nextInt(80)), random.nextInt(3) == 0,
+                        random.nextInt(5) == 0));
+            }
+            List<DepositAccountOnHoldTransaction> onHoldTransactions = new ArrayList<>();
+            for (int j = random.nextInt(6); j > 0; j--) {
+                LocalDate onHoldDate = START_DATE.plusDays(random.nextInt(16) - 2L);
+                String amount = String.valueOf(1 + random.nextInt(120));
+                onHoldTransactions.add(random.nextInt(3) == 0 ? release(onHoldDate, amount) : hold(onHoldDate, amount));
+            }
+            // then
+            assertSameOutcome(transactions, onHoldTransactions);
+        }
+    }
+
+    private static void assertSameOutcome(List<ReplayedTransaction> transactions,
+            List<DepositAccountOnHoldTransaction> onHoldTransactions) {
+        SavingsAccount account = new ReplayedSavingsAccount(transactions);
+
+        boolean expectedFailure = previousPerHoldValidationFails(transactions, onHoldTransactions, true);
+        if (expectedFailure) {
+            assertThrows(InsufficientAccountBalanceException.class,
+                    () -> account.validateAccountBalanceDoesNotBecomeNegative(BigDecimal.ONE, false, onHoldTransactions, false));
+        } else {
+            account.validateAccountBalanceDoesNotBecomeNegative(BigDecimal.ONE, false, onHoldTransactions, false);
+        }
+
+        expectedFailure = previousPerHoldValidationFails(transactions, onHoldTransactions, false);
+        if (expectedFailure) {
+            assertThrows(PlatformApiDataValidationException.class,
+                    () -> account.validateAccountBalanceDoesNotBecomeNegative("withdrawal", onHoldTransactions, false));
+        } else {
+            account.validateAccountBalanceDoesNotBecomeNegative("withdrawal", onHoldTransactions, false);
+        }
+    }
+
+    /**
+     * The on hold handling as it was before the single pass: every on hold transaction is compared with every replayed
+     * savings transaction and applied when it falls after the previous savings date and not after the current one.
+     */
+    private static boolean previousPerHoldValidationFails(List<ReplayedTransaction> transactions,
+            List<DepositAccountOnHoldTransaction> onHoldTransactions, boolean skipReversed) {
+        BigDecimal runningBalance = BigDecimal.ZERO;
+        BigDecimal minRequiredBalance = BigDecimal.ZERO;
+        LocalDate lastSavingsDate = null;
+        for (ReplayedTransaction transaction : transactions) {
+            if (!transaction.reversed()) {
+                runningBalance = transaction.credit() ? runningBalance.add(transaction.amount())
+                        : runningBalance.subtract(transaction.amount());
+            } else if (skipReversed) {
+                continue;
+            }
+            for (DepositAccountOnHoldTransaction onHoldTransaction : onHoldTransactions) {
+                if (!onHoldTransaction.getTransactionDate().isAfter(transaction.date())
+                        && (lastSavingsDate == null || onHoldTransaction.getTransactionDate().isAfter(lastSavingsDate))) {
+                    minRequiredBalance = onHoldTransaction.getTransactionType().isHold()
+                            ? minRequiredBalance.add(onHoldTransaction.getAmount())
+                            : minRequiredBalance.subtract(onHoldTransaction.getAmount());
+                }
+            }
+            if (!transaction.credit() && runningBalance.subtract(minRequiredBalance).signum() < 0) {
+                return true;
+            }
+            lastSavingsDate = transaction.date();
+        }
+        return false;
+    }
+
+    private static DepositAccountOnHoldTransaction hold(LocalDate date, String amount) {
+        return DepositAccountOnHoldTransaction.hold(null, new BigDecimal(amount), date);
+    }
+
+    private static DepositAccountOnHoldTransaction release(LocalDate date, String amount) {
+        return DepositAccountOnHoldTransaction.release(null, new BigDecimal(amount), date);
+    }
+
+    private record ReplayedTransaction(LocalDate date, BigDecimal amount, boolean credit, boolean reversed) {
+
+        ReplayedTransaction(LocalDate date, String amount, boolean credit, boolean reversed) {
+            this(date, new BigDecimal(amount), credit, reversed);
+        }
+
+        SavingsAccountTransaction toTransaction() {
+            SavingsAccountTransaction transaction = mock(SavingsAccountTransaction.class);
+            when(transaction.getTransactionDate()).thenReturn(date);
+            when(transaction.getAmount()).thenReturn(amount);
+            when(transaction.getAmount(any())).thenReturn(Money.of(CURRENCY, amount));
+            when(transaction.isCredit()).thenReturn(credit);
+            when(transaction.isDebit()).thenReturn(!credit);
+            when(transaction.isNotReversed()).thenReturn(!reversed);
+            when(transaction.isReversalTransaction()).thenReturn(false);
+            when(transaction.canProcessBalanceCheck()).thenReturn(!credit);
+            return transaction;
+        }
+    }
+
+    private static final class ReplayedSavingsAccount extends SavingsAccount {
+
+        private final List<SavingsAccountTransaction> replayedTransactions;
+
+        private ReplayedSavingsAccount(List<ReplayedTransaction> transactions) {
+            this.currency = CURRENCY;
+            this.summary = mock(SavingsAccountSummary.class);
+            when(this.summary.getAccountBalance(any())).thenReturn(Money.zero(CURRENCY));
+            this.replayedTransactions = transactions.stream().map(ReplayedTransaction::toTransaction).toList();
+        }
+
+        @Override
+        protected List<SavingsAccountTransaction> retrieveListOfTransactions() {
+            return replayedTransactions;
+        }
+    }
+}
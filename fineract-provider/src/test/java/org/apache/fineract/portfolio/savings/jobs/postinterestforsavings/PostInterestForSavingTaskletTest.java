@@ -0,0 +1,179 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.jobs.postinterestforsavings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.fineract.infrastructure.businessdate.domain.BusinessDateType;
+import org.apache.fineract.infrastructure.configuration.domain.ConfigurationDomainService;
+import org.apache.fineract.infrastructure.core.domain.FineractContext;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.jobs.exception.JobExecutionException;
+import org.apache.fineract.portfolio.savings.data.SavingsAccountData;
+import org.apache.fineract.portfolio.savings.service.SavingsAccountReadPlatformService;
+import org.apache.fineract.portfolio.savings.service.SavingsSchedularInterestPosterTask;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.context.ApplicationContext;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class PostInterestForSavingTaskletTest {
+
+    @Mock
+    private SavingsAccountReadPlatformService savingAccountReadPlatformService;
+    @Mock
+    private ConfigurationDomainService configurationDomainService;
+    @Mock
+    private ApplicationContext applicationContext;
+    @Mock
+    private SavingsSchedularInterestPosterTask posterTask;
+    @Mock
+    private StepContribution contribution;
+
+    private final ChunkContext chunkContext = mock(ChunkContext.class, RETURNS_DEEP_STUBS);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PostInterestForSavingTasklet underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null));
+        ThreadLocalContextUtil.setBusinessDates(new HashMap<>(Map.of(BusinessDateType.BUSINESS_DATE, LocalDate.of(2024, 3, 15))));
+        when(chunkContext.getStepContext().getJobParameters()).thenReturn(Map.of("thread-pool-size", "1", "batch-size", "10"));
+        when(configurationDomainService.retrievePivotDateConfig()).thenReturn(false);
+        when(applicationContext.getBean(SavingsSchedularInterestPosterTask.class)).thenReturn(posterTask);
+        underTest = new PostInterestForSavingTasklet(savingAccountReadPlatformService, configurationDomainService, applicationContext,
+                meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testPageWithoutDataShouldNotEndTheRun() throws Exception {
+        // given
+        SavingsAccountData account = account(3L);
+        when(savingAccountReadPlatformService.countSavingsDataForInterestPosting(any())).thenReturn(3L);
+        when(savingAccountReadPlatformService.retrieveSavingsIdsForInterestPosting(any(), eq(10), eq(0L))).thenReturn(List.of(1L, 2L));
+        when(savingAccountReadPlatformService.retrieveSavingsIdsForInterestPosting(any(), eq(10), eq(2L))).thenReturn(List.of(3L));
+        when(savingAccountReadPlatformService.retrieveSavingsIdsForInterestPosting(any(), eq(10), eq(3L))).thenReturn(List.of());
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, List.of(1L, 2L))).thenReturn(List.of());
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, List.of(3L))).thenReturn(List.of(account));
+        // when
+        underTest.execute(contribution, chunkContext);
+        // then
+        verify(savingAccountReadPlatformService, times(3)).retrieveSavingsIdsForInterestPosting(any(), anyInt(), anyLong());
+        verify(posterTask).setSavingAccounts(List.of(account));
+        verify(posterTask, times(1)).call();
+    }
+
+    @Test
+    public void testFailedBatchShouldNotBeCountedAsPosted() throws Exception {
+        // given
+        SavingsAccountData failingAccount = account(1L);
+        SavingsAccountData account = account(2L);
+        when(chunkContext.getStepContext().getJobParameters()).thenReturn(Map.of("thread-pool-size", "1", "batch-size", "1"));
+        when(savingAccountReadPlatformService.countSavingsDataForInterestPosting(any())).thenReturn(2L);
+        when(savingAccountReadPlatformService.retrieveSavingsIdsForInterestPosting(any(), eq(1), eq(0L))).thenReturn(List.of(1L));
+        when(savingAccountReadPlatformService.retrieveSavingsIdsForInterestPosting(any(), eq(1), eq(1L))).thenReturn(List.of(2L));
+        when(savingAccountReadPlatformService.retrieveSavingsIdsForInterestPosting(any(), eq(1), eq(2L))).thenReturn(List.of());
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, List.of(1L)))
+                .thenReturn(List.of(failingAccount));
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(false, List.of(2L))).thenReturn(List.of(account));
+        when(posterTask.call()).thenThrow(new JobExecutionException(List.of(new IllegalStateException("posting failed")))).thenReturn(null);
+        // when
+        underTest.execute(contribution, chunkContext);
+        // then
+        verify(posterTask, times(2)).call();
+        assertEquals(1.0, meterRegistry.counter("fineract.savings.interest.posting.accounts").count());
+        assertEquals(1.0, meterRegistry.counter("fineract.savings.interest.posting.failed.accounts").count());
+        assertEquals(1.0, meterRegistry.counter("fineract.savings.interest.posting.failed.batches").count());
+    }
+
+    @Test
+    public void testStoppedWorkersShouldFailTheRunInsteadOfBlockingTheReader() {
+        // given
+        when(applicationContext.getBean(SavingsSchedularInterestPosterTask.class)).thenThrow(new IllegalStateException("no poster"));
+        when(savingAccountReadPlatformService.countSavingsDataForInterestPosting(any())).thenReturn(100L);
+        when(savingAccountReadPlatformService.retrieveSavingsIdsForInterestPosting(any(), anyInt(), anyLong()))
+                .thenAnswer(invocation -> List.of(invocation.<Long>getArgument(2) + 1));
+        when(savingAccountReadPlatformService.retrieveAllSavingsDataForInterestPosting(eq(false), anyList()))
+                .thenAnswer(invocation -> List.of(mock(SavingsAccountData.class)));
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        // when
+        IllegalStateException exception = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            ThreadLocalContextUtil.init(context);
+            return assertThrows(IllegalStateException.class, () -> underTest.execute(contribution, chunkContext));
+        });
+        // then
+        assertEquals("Every interest posting worker stopped, 2 batches left unposted", exception.getMessage());
+    }
+
+    @Test
+    public void testFailingReaderShouldCancelTheWorkers() {
+        // given
+        when(savingAccountReadPlatformService.countSavingsDataForInterestPosting(any())).thenReturn(1L);
+        when(savingAccountReadPlatformService.retrieveSavingsIdsForInterestPosting(any(), anyInt(), anyLong()))
+                .thenThrow(new IllegalArgumentException("read failed"));
+        FineractContext context = ThreadLocalContextUtil.getContext();
+        // when
+        IllegalArgumentException exception = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            ThreadLocalContextUtil.init(context);
+            return assertThrows(IllegalArgumentException.class, () -> underTest.execute(contribution, chunkContext));
+        });
+        // then
+        assertEquals("read failed", exception.getMessage());
+    }
+
+    private static SavingsAccountData account(Long id) {
+        SavingsAccountData account = mock(SavingsAccountData.class);
+        when(account.getId()).thenReturn(id);
+        return account;
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.savings.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.fineract.portfolio.savings.api.SavingsApiSetConstants;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+public class SavingAccountMapperFieldProjectionTest {
+
+    private static final Pattern COLUMN_ALIAS = Pattern.compile("\\bas\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+
+    private final String schema = new SavingsAccountReadPlatformServiceImpl.SavingAccountMapper().schema();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testProjectionOnlyUsesSupportedResponseParameters() {
+        Set<String> supportedParameters = (Set<String>) ReflectionTestUtils.getField(SavingsApiSetConstants.class,
+                "SAVINGS_ACCOUNT_RESPONSE_DATA_PARAMETERS");
+        assertThat(supportedParameters).containsAll(SavingsAccountReadPlatformServiceImpl.SavingAccountMapper.FIELD_PROJECTION.getFields());
+    }
+
+    @Test
+    public void testPartialResponseDropsTheOptionalJoinsButKeepsEveryColumn() {
+        // when
+        String projected = SavingsAccountReadPlatformServiceImpl.SavingAccountMapper.FIELD_PROJECTION.apply(schema,
+                Set.of("id", "accountNo", "summary"), null);
+        // then
+        assertThat(columnAliases(projected)).isEqualTo(columnAliases(schema));
+        assertThat(projected).doesNotContain("m_group", "m_staff", "m_appuser", "m_tax_group");
+        assertThat(projected).contains("join m_savings_product sp ON sa.product_id = sp.id", "join m_currency curr",
+                "left join m_client c ON c.id = sa.client_id",
+                "(select COALESCE(max(sat.transaction_date),sa.activatedon_date) from m_savings_account_transaction as sat");
+    }
+
+    @Test
+    public void testRequestedFieldsKeepTheirJoins() {
+        // when
+        String projected = SavingsAccountReadPlatformServiceImpl.SavingAccountMapper.FIELD_PROJECTION.apply(schema,
+                Set.of("id", "groupName"), null);
+        // then
+        assertThat(projected).contains("g.id as groupId, g.display_name as groupName", "left join m_group g ON g.id = sa.group_id");
+        assertThat(projected).doesNotContain("m_staff");
+    }
+
+    @Test
+    public void testOrderByKeepsTheJoinItSortsOn() {
+        // when
+        String projected = SavingsAccountReadPlatformServiceImpl.SavingAccountMapper.FIELD_PROJECTION.apply(schema, Set.of("id"),
+                "fieldOfficerName");
+        // then
+        assertThat(projected).contains("s.display_name as fieldOfficerName", "left join m_staff s ON s.id = sa.field_officer_id");
+        assertThat(projected).doesNotContain("m_tax_group");
+    }
+
+    private static List<String> columnAliases(String sql) {
+        List<String> aliases = new ArrayList<>();
+        Matcher alias = COLUMN_ALIAS.matcher(sql.substring(0, sql.indexOf("from m_savings_account sa ")));
+        while (alias.find()) {
+            aliases.add(alias.group(1));
+        }
+        return aliases;
+    }
+}
@@ -0,0 +1,295 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.apache.fineract.infrastructure.core.config.FineractProperties;
+import org.apache.fineract.infrastructure.core.domain.FineractPlatformTenant;
+import org.apache.fineract.infrastructure.core.service.ThreadLocalContextUtil;
+import org.apache.fineract.infrastructure.event.business.BusinessEventListener;
+import org.apache.fineract.infrastructure.event.business.domain.client.ClientBusinessEvent;
+import org.apache.fineract.infrastructure.event.business.service.BusinessEventNotifierService;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.service.SearchIndexDocument.Source;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class SearchIndexServiceTest {
+
+    private static final FineractPlatformTenant TENANT = new FineractPlatformTenant(1L, "default", "Default", "Asia/Kolkata", null);
+    private static final SearchConditions SEARCH_DOE = new SearchConditions("doe", null, false);
+
+    @Mock
+    private SearchIndexDocumentLoader loader;
+    @Mock
+    private BusinessEventNotifierService businessEventNotifierService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Captor
+    private ArgumentCaptor<BusinessEventListener<ClientBusinessEvent>> clientListener;
+
+    private final List<SearchIndexDocument> documents = new ArrayList<>();
+    private SearchIndexService underTest;
+
+    @BeforeEach
+    public void setUp() {
+        ThreadLocalContextUtil.setTenant(TENANT);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> mock(TransactionStatus.class));
+        doAnswer(invocation -> {
+            Consumer<SearchIndexDocument> consumer = invocation.getArgument(0);
+            List.copyOf(documents).forEach(consumer);
+            return null;
+        }).when(loader).loadAll(any());
+
+        FineractProperties fineractProperties = new FineractProperties();
+        FineractProperties.FineractSearchProperties searchProperties = new FineractProperties.FineractSearchProperties();
+        FineractProperties.FineractSearchIndexProperties indexProperties = new FineractProperties.FineractSearchIndexProperties();
+        indexProperties.setEnabled(true);
+        indexProperties.setMaxAgeInMinutes(60);
+        indexProperties.setQueueCapacity(1);
+        searchProperties.setIndex(indexProperties);
+        fineractProperties.setSearch(searchProperties);
+        underTest = new SearchIndexService(fineractProperties, loader, businessEventNotifierService, transactionManager);
+        underTest.addListeners();
+        verify(businessEventNotifierService).addPostBusinessEventListener(eq(ClientBusinessEvent.class), clientListener.capture());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        underTest.destroy();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ThreadLocalContextUtil.reset();
+    }
+
+    @Test
+    public void testFirstSearchShouldFallBackToTheDatabaseWhileTheIndexIsBuilt() throws Exception {
+        // given
+        documents.add(client(1L, "John Doe"));
+        CountDownLatch buildStarted = new CountDownLatch(1);
+        CountDownLatch loaded = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            buildStarted.countDown();
+            assertThat(loaded.await(10, TimeUnit.SECONDS)).isTrue();
+            Consumer<SearchIndexDocument> consumer = invocation.getArgument(0);
+            documents.forEach(consumer);
+            return null;
+        }).when(loader).loadAll(any());
+        // when
+        Optional<List<SearchIndexDocument>> firstSearch = underTest.search(SEARCH_DOE, ".");
+        assertThat(buildStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        Optional<List<SearchIndexDocument>> searchDuringBuild = underTest.search(SEARCH_DOE, ".");
+        loaded.countDown();
+        // then
+        assertThat(firstSearch).isEmpty();
+        assertThat(searchDuringBuild).isEmpty();
+        awaitSearch(SEARCH_DOE, 1L);
+        // A single build is scheduled however many searches arrive before it completes
+        verify(loader, times(1)).loadAll(any());
+    }
+
+    @Test
+    public void testDisabledIndexShouldAlwaysFallBackToTheDatabase() {
+        // given
+        SearchIndexService disabled = new SearchIndexService(new FineractProperties(), loader, businessEventNotifierService,
+                transactionManager);
+        try {
+            // when
+            Optional<List<SearchIndexDocument>> result = disabled.search(SEARCH_DOE, ".");
+            // then
+            assertThat(result).isEmpty();
+            assertThat(disabled.rebuild()).isZero();
+            verify(loader, never()).loadAll(any());
+        } finally {
+            disabled.destroy();
+        }
+    }
+
+    @Test
+    public void testRebuildShouldReplaceTheIndex() {
+        // given
+        documents.add(client(1L, "John Doe"));
+        assertThat(underTest.rebuild()).isEqualTo(1);
+        documents.add(client(2L, "Jane Doe"));
+        // when
+        int indexed = underTest.rebuild();
+        // then
+        assertThat(indexed).isEqualTo(2);
+        assertThat(underTest.search(SEARCH_DOE, ".")).hasValueSatisfying(
+                result -> assertThat(result).extracting(SearchIndexDocument::entityId).containsExactly(2L, 1L));
+    }
+
+    @Test
+    public void testChangesShouldOnlyBeRefreshedAfterTheTransactionCommits() {
+        // given
+        documents.add(client(1L, "John Doe"));
+        documents.add(client(2L, "Jane Doe"));
+        underTest.search(SEARCH_DOE, ".");
+        underTest.rebuild();
+        when(loader.load(Source.CLIENT, Set.of(1L, 2L))).thenReturn(List.of(client(1L, "John Smith")));
+        TransactionSynchronizationManager.initSynchronization();
+        // when
+        clientListener.getValue().onBusinessEvent(clientEvent(1L));
+        clientListener.getValue().onBusinessEvent(clientEvent(2L));
+        // then
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        verify(loader, never()).load(any(), any());
+
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        verify(loader, timeout(10_000)).load(Source.CLIENT, Set.of(1L, 2L));
+        // The refresh has to see the commit, so it is not routed to a read replica
+        verify(transactionManager).getTransaction(argThat(definition -> !definition.isReadOnly()));
+        // The client that is no longer found is dropped from the index
+        awaitSearch(SEARCH_DOE);
+        awaitSearch(new SearchConditions("smith", null, false), 1L);
+    }
+
+    @Test
+    public void testChangesBeforeTheFirstSearchShouldNotBeRefreshed() {
+        // when
+        clientListener.getValue().onBusinessEvent(clientEvent(1L));
+        // then
+        underTest.rebuild();
+        verify(loader, never()).load(any(), any());
+    }
+
+    @Test
+    public void testFailedRefreshShouldExpireTheIndex() {
+        // given
+        documents.add(client(1L, "John Doe"));
+        underTest.search(SEARCH_DOE, ".");
+        underTest.rebuild();
+        when(loader.load(any(), any())).thenThrow(new IllegalStateException("refresh failed"));
+        clientListener.getValue().onBusinessEvent(clientEvent(1L));
+        verify(loader, timeout(10_000)).load(Source.CLIENT, Set.of(1L));
+        documents.add(client(2L, "Jane Doe"));
+        // when: the expired index keeps answering until one of the searches has scheduled the rebuild
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (countLoadAll() < 3 && System.nanoTime() < deadline) {
+            assertThat(underTest.search(SEARCH_DOE, ".")).isPresent();
+        }
+        // then
+        awaitSearch(SEARCH_DOE, 2L, 1L);
+    }
+
+    @Test
+    public void testFullQueueShouldExpireTheIndex() throws Exception {
+        // given: the only worker is busy with a rebuild and the queue already holds a refresh
+        documents.add(client(1L, "John Doe"));
+        underTest.search(SEARCH_DOE, ".");
+        underTest.rebuild();
+        CountDownLatch buildStarted = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            buildStarted.countDown();
+            assertThat(released.await(10, TimeUnit.SECONDS)).isTrue();
+            return null;
+        }).doAnswer(invocation -> {
+            Consumer<SearchIndexDocument> consumer = invocation.getArgument(0);
+            documents.forEach(consumer);
+            return null;
+        }).when(loader).loadAll(any());
+        Thread rebuild = new Thread(() -> {
+            ThreadLocalContextUtil.setTenant(TENANT);
+            underTest.rebuild();
+        });
+        rebuild.start();
+        assertThat(buildStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        when(loader.load(any(), any())).thenReturn(List.of(client(1L, "John Doe")));
+        clientListener.getValue().onBusinessEvent(clientEvent(1L));
+        // when
+        clientListener.getValue().onBusinessEvent(clientEvent(2L));
+        released.countDown();
+        rebuild.join(10_000);
+        // then: the rejected refresh is made up for by a rebuild on the next search
+        verify(loader, timeout(10_000)).load(Source.CLIENT, Set.of(1L));
+        verify(loader, never()).load(Source.CLIENT, Set.of(2L));
+        underTest.search(SEARCH_DOE, ".");
+        verify(loader, timeout(10_000).times(4)).loadAll(any());
+    }
+
+    /**
+     * Searches until the background build or refresh has been applied and returned the expected entities.
+     */
+    private void awaitSearch(SearchConditions searchConditions, Long... expectedIds) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<Long> foundIds = foundIds(searchConditions);
+        while (!List.of(expectedIds).equals(foundIds) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            foundIds = foundIds(searchConditions);
+        }
+        assertThat(foundIds).containsExactly(expectedIds);
+    }
+
+    private List<Long> foundIds(SearchConditions searchConditions) {
+        return underTest.search(searchConditions, ".").map(result -> result.stream().map(SearchIndexDocument::entityId).toList())
+                .orElse(null);
+    }
+
+    private long countLoadAll() {
+        return mockingDetails(loader).getInvocations().stream().filter(invocation -> invocation.getMethod().getName().equals("loadAll"))
+                .count();
+    }
+
+    private static ClientBusinessEvent clientEvent(Long clientId) {
+        ClientBusinessEvent event = mock(ClientBusinessEvent.class);
+        when(event.getAggregateRootId()).thenReturn(clientId);
+        return event;
+    }
+
+    private static SearchIndexDocument client(Long id, String name) {
+        return new SearchIndexDocument(Source.CLIENT, "CLIENT", id, String.format("%09d", id), null, name, 1L, "Head Office", null, null,
+                300, null, ".");
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.apache.fineract.infrastructure.core.service.database.DatabaseSpecificSQLGenerator;
+import org.apache.fineract.infrastructure.security.service.PlatformSecurityContext;
+import org.apache.fineract.organisation.office.service.OfficeReadPlatformService;
+import org.apache.fineract.portfolio.loanproduct.service.LoanProductReadPlatformService;
+import org.apache.fineract.portfolio.search.data.SearchConditions;
+import org.apache.fineract.portfolio.search.data.SearchData;
+import org.apache.fineract.portfolio.search.service.SearchIndexDocument.Source;
+import org.apache.fineract.useradministration.domain.AppUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class SearchReadPlatformServiceImplTest {
+
+    private static final SearchConditions SEARCH_DOE = new SearchConditions("doe", null, false);
+
+    @Mock
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Mock
+    private PlatformSecurityContext context;
+    @Mock
+    private LoanProductReadPlatformService loanProductReadPlatformService;
+    @Mock
+    private OfficeReadPlatformService officeReadPlatformService;
+    @Mock
+    private DatabaseSpecificSQLGenerator sqlGenerator;
+    @Mock
+    private SearchIndexService searchIndexService;
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private AppUser currentUser;
+
+    @InjectMocks
+    private SearchReadPlatformServiceImpl underTest;
+
+    @BeforeEach
+    public void setUp() {
+        when(context.authenticatedUser()).thenReturn(currentUser);
+        when(currentUser.getOffice().getHierarchy()).thenReturn(".1.");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testIndexedMatchesShouldBeReturnedWithoutQueryingTheDatabase() {
+        // given
+        SearchIndexDocument client = new SearchIndexDocument(Source.CLIENT, "CLIENT", 1L, "000000001", "ext-1", "John Doe", 1L,
+                "Head Office", null, "0123", 300, null, ".1.");
+        when(searchIndexService.search(SEARCH_DOE, ".1.")).thenReturn(Optional.of(List.of(client)));
+        // when
+        Collection<SearchData> result = underTest.retriveMatchingData(SEARCH_DOE);
+        // then
+        assertThat(result).singleElement().satisfies(data -> {
+            assertThat(data.getEntityId()).isEqualTo(1L);
+            assertThat(data.getEntityType()).isEqualTo("CLIENT");
+            assertThat(data.getEntityName()).isEqualTo("John Doe");
+            assertThat(data.getEntityAccountNo()).isEqualTo("000000001");
+            assertThat(data.getEntityStatus().getId()).isEqualTo(300L);
+        });
+        verify(namedParameterJdbcTemplate, never()).query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSearchShouldRunOnTheDatabaseWhenTheIndexCannotAnswer() {
+        // given
+        SearchData match = new SearchData(1L, "000000001", null, "John Doe", "CLIENT", 1L, "Head Office", null, null, null, null);
+        when(searchIndexService.search(SEARCH_DOE, ".1.")).thenReturn(Optional.empty());
+        when(namedParameterJdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(match));
+        // when
+        Collection<SearchData> result = underTest.retriveMatchingData(SEARCH_DOE);
+        // then
+        assertThat(result).containsExactly(match);
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.fineract.portfolio.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.fineract.portfolio.search.service.SearchIndexDocument.Source;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TenantSearchIndexTest {
+
+    private static final Set<Source> ALL_SOURCES = EnumSet.allOf(Source.class);
+
+    private TenantSearchIndex underTest;
+
+    @BeforeEach
+    public void setUp() {
+        underTest = new TenantSearchIndex(System.nanoTime());
+        underTest.put(client(1L, "000000001", "John Doe", ".1.2."));
+        underTest.put(client(2L, "000000002", "Jane Doe", ".1.3."));
+        underTest.put(loan(3L, "000000003", null));
+        underTest.put(loan(4L, "000000004", ".1.2."));
+        underTest.put(group(5L, "000000005", "Doe Family", ".1.3."));
+    }
+
+    @Test
+    public void testSearchShouldMatchContainedValuesIgnoringCase() {
+        List<SearchIndexDocument> result = underTest.search("DOE", false, ALL_SOURCES, ".", 50);
+
+        assertThat(result).extracting(SearchIndexDocument::entityId).containsExactly(2L, 1L, 5L);
+    }
+
+    @Test
+    public void testSearchShouldOrderBySourceAndDescendingId() {
+        List<SearchIndexDocument> result = underTest.search("0000", false, ALL_SOURCES, ".", 50);
+
+        assertThat(result).extracting(SearchIndexDocument::entityId).containsExactly(2L, 1L, 4L, 3L, 5L);
+    }
+
+    @Test
+    public void testSearchShouldMatchShortQueriesAndApplyTheLimit() {
+        List<SearchIndexDocument> result = underTest.search("5", false, ALL_SOURCES, ".", 50);
+        List<SearchIndexDocument> limited = underTest.search("0", false, ALL_SOURCES, ".", 2);
+
+        assertThat(result).extracting(SearchIndexDocument::entityId).containsExactly(5L);
+        assertThat(limited).extracting(SearchIndexDocument::entityId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    public void testExactSearchShouldOnlyMatchWholeValues() {
+        assertThat(underTest.search("john doe", true, ALL_SOURCES, ".", 50)).extracting(SearchIndexDocument::entityId)
+                .containsExactly(1L);
+        assertThat(underTest.search("john", true, ALL_SOURCES, ".", 50)).isEmpty();
+    }
+
+    @Test
+    public void testSearchShouldFilterBySourceAndOfficeHierarchy() {
+        List<SearchIndexDocument> loans = underTest.search("0000", false, EnumSet.of(Source.LOAN), ".1.3.", 50);
+        List<SearchIndexDocument> visible = underTest.search("doe", false, ALL_SOURCES, ".1.2.", 50);
+
+        // Loans without a client office are visible from every office
+        assertThat(loans).extracting(SearchIndexDocument::entityId).containsExactly(3L);
+        assertThat(visible).extracting(SearchIndexDocument::entityId).containsExactly(1L);
+    }
+
+    @Test
+    public void testPutShouldReplaceAndRemoveShouldDropTheDocument() {
+        underTest.put(client(1L, "000000001", "John Smith", ".1.2."));
+        underTest.remove(Source.LOAN, 4L);
+
+        assertThat(underTest.search("doe", false, ALL_SOURCES, ".", 50)).extracting(SearchIndexDocument::entityId)
+                .containsExactly(2L, 5L);
+        assertThat(underTest.search("smith", false, ALL_SOURCES, ".", 50)).extracting(SearchIndexDocument::entityId)
+                .containsExactly(1L);
+        assertThat(underTest.search("000000004", false, ALL_SOURCES, ".", 50)).isEmpty();
+        assertThat(underTest.size()).isEqualTo(4);
+    }
+
+    private static SearchIndexDocument client(Long id, String accountNo, String name, String hierarchy) {
+        return new SearchIndexDocument(Source.CLIENT, "CLIENT", id, accountNo, null, name, 1L, "Head Office", null, null, 300, null,
+                hierarchy);
+    }
+
+    private static SearchIndexDocument loan(Long id, String accountNo, String hierarchy) {
+        return new SearchIndexDocument(Source.LOAN, "LOAN", id, accountNo, null, "Personal Loan", 1L, "John Doe", "client", null, 300,
+                null, hierarchy);
+    }
+
+    private static SearchIndexDocument group(Long id, String accountNo, String name, String hierarchy) {
+        return new SearchIndexDocument(Source.GROUP, "GROUP", id, accountNo, null, name, 1L, "Head Office", null, null, 300, null,
+                hierarchy);
+    }
+}
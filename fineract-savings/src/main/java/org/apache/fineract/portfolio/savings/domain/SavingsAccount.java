@@ -1455,7 +1455,9 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
         }
 
         Money minRequiredBalance = minRequiredBalanceDerived(getCurrency());
-        LocalDate lastSavingsDate = null;
+        final List<DepositAccountOnHoldTransaction> onHoldTransactionsSortedByDate = sortOnHoldTransactionsByDate(
+                depositAccountOnHoldTransactions);
+        int onHoldIndex = 0;
         final BigDecimal withdrawalFee = null;
         for (final SavingsAccountTransaction transaction : transactionsSortedByDate) {
             if (transaction.isNotReversed() && transaction.isCredit() && !transaction.isReversalTransaction()) {
@@ -1467,20 +1469,17 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
             }
 
             /*
-             * Loop through the onHold funds and see if we need to deduct or add to minimum required balance and the
-             * point in time the transaction was made:
+             * Add or deduct the onHold funds up to the point in time the transaction was made to the minimum required
+             * balance. Both lists are ordered by date, so every onHold transaction is applied exactly once, together
+             * with the first savings transaction on or after its date:
              */
-            if (depositAccountOnHoldTransactions != null) {
-                for (final DepositAccountOnHoldTransaction onHoldTransaction : depositAccountOnHoldTransactions) {
-                    // Compare the balance of the on hold:
-                    if (!DateUtils.isAfter(onHoldTransaction.getTransactionDate(), transaction.getTransactionDate())
-                            && (lastSavingsDate == null || DateUtils.isAfter(onHoldTransaction.getTransactionDate(), lastSavingsDate))) {
-                        if (onHoldTransaction.getTransactionType().isHold()) {
-                            minRequiredBalance = minRequiredBalance.plus(onHoldTransaction.getAmount(this.currency));
-                        } else {
-                            minRequiredBalance = minRequiredBalance.minus(onHoldTransaction.getAmount(this.currency));
-                        }
-                    }
+            while (onHoldIndex < onHoldTransactionsSortedByDate.size() && !DateUtils
+                    .isAfter(onHoldTransactionsSortedByDate.get(onHoldIndex).getTransactionDate(), transaction.getTransactionDate())) {
+                final DepositAccountOnHoldTransaction onHoldTransaction = onHoldTransactionsSortedByDate.get(onHoldIndex++);
+                if (onHoldTransaction.getTransactionType().isHold()) {
+                    minRequiredBalance = minRequiredBalance.plus(onHoldTransaction.getAmount(this.currency));
+                } else {
+                    minRequiredBalance = minRequiredBalance.minus(onHoldTransaction.getAmount(this.currency));
                 }
             }
 
@@ -1492,8 +1491,6 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
                             transactionAmount);
                 }
             }
-            lastSavingsDate = transaction.getTransactionDate();
-
         }
 
         // In overdraft cases, minRequiredBalance can be in violation after
@@ -1537,7 +1534,9 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
         }
 
         Money minRequiredBalance = minRequiredBalanceDerived(getCurrency());
-        LocalDate lastSavingsDate = null;
+        final List<DepositAccountOnHoldTransaction> onHoldTransactionsSortedByDate = sortOnHoldTransactionsByDate(
+                depositAccountOnHoldTransactions);
+        int onHoldIndex = 0;
         for (final SavingsAccountTransaction transaction : transactionsSortedByDate) {
 
             transactionAmount = transaction.getAmount();
@@ -1549,20 +1548,17 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
             }
 
             /*
-             * Loop through the onHold funds and see if we need to deduct or add to minimum required balance and the
-             * point in time the transaction was made:
+             * Add or deduct the onHold funds up to the point in time the transaction was made to the minimum required
+             * balance. Both lists are ordered by date, so every onHold transaction is applied exactly once, together
+             * with the first savings transaction on or after its date:
              */
-            if (depositAccountOnHoldTransactions != null) {
-                for (final DepositAccountOnHoldTransaction onHoldTransaction : depositAccountOnHoldTransactions) {
-                    // Compare the balance of the on hold:
-                    if (!DateUtils.isAfter(onHoldTransaction.getTransactionDate(), transaction.getTransactionDate())
-                            && (lastSavingsDate == null || DateUtils.isAfter(onHoldTransaction.getTransactionDate(), lastSavingsDate))) {
-                        if (onHoldTransaction.getTransactionType().isHold()) {
-                            minRequiredBalance = minRequiredBalance.plus(onHoldTransaction.getAmount(this.currency));
-                        } else {
-                            minRequiredBalance = minRequiredBalance.minus(onHoldTransaction.getAmount(this.currency));
-                        }
-                    }
+            while (onHoldIndex < onHoldTransactionsSortedByDate.size() && !DateUtils
+                    .isAfter(onHoldTransactionsSortedByDate.get(onHoldIndex).getTransactionDate(), transaction.getTransactionDate())) {
+                final DepositAccountOnHoldTransaction onHoldTransaction = onHoldTransactionsSortedByDate.get(onHoldIndex++);
+                if (onHoldTransaction.getTransactionType().isHold()) {
+                    minRequiredBalance = minRequiredBalance.plus(onHoldTransaction.getAmount(this.currency));
+                } else {
+                    minRequiredBalance = minRequiredBalance.minus(onHoldTransaction.getAmount(this.currency));
                 }
             }
 
@@ -1580,7 +1576,6 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
                     }
                 }
             }
-            lastSavingsDate = transaction.getTransactionDate();
         }
 
         BigDecimal withdrawalFee = null;
@@ -1591,6 +1586,16 @@ public class SavingsAccount extends AbstractAuditableWithUTCDateTimeCustom<Long>
         }
     }
 
+    private static List<DepositAccountOnHoldTransaction> sortOnHoldTransactionsByDate(
+            final List<DepositAccountOnHoldTransaction> depositAccountOnHoldTransactions) {
+        if (depositAccountOnHoldTransactions == null) {
+            return List.of();
+        }
+        final List<DepositAccountOnHoldTransaction> onHoldTransactionsSortedByDate = new ArrayList<>(depositAccountOnHoldTransactions);
+        onHoldTransactionsSortedByDate.sort((o1, o2) -> DateUtils.compare(o1.getTransactionDate(), o2.getTransactionDate()));
+        return onHoldTransactionsSortedByDate;
+    }
+
     public void validateAccountBalanceDoesNotViolateOverdraft(final List<SavingsAccountTransaction> savingsAccountTransaction,
             final BigDecimal amountPaid) {
         if (savingsAccountTransaction != null) {
@@ -65,8 +65,11 @@ public interface SavingsAccountReadPlatformService {
 
     List<Long> getAccountsIdsByStatusPaged(Integer status, int pageSize, Long maxSavingsIdInList);
 
-    List<SavingsAccountData> retrieveAllSavingsDataForInterestPosting(boolean backdatedTxnsAllowedTill, int pageSize, Integer status,
-            Long maxSavingsId);
+    List<Long> retrieveSavingsIdsForInterestPosting(Integer status, int pageSize, Long maxSavingsId);
+
+    List<SavingsAccountData> retrieveAllSavingsDataForInterestPosting(boolean backdatedTxnsAllowedTill, List<Long> savingsIds);
+
+    long countSavingsDataForInterestPosting(Integer status);
 
     List<SavingsAccountTransactionData> retrieveAllTransactionData(List<String> refNo);
 